@@ -68,6 +68,7 @@ public class ParkingLotApplication {
             lot.printLotSummary();
 
             if (mode == RunningMode.LIVE) {
+                System.out.println("Metrics registered over JMX as " + lot.getMetrics().registerMBean("live"));
                 Scanner scanner = new Scanner(System.in);
                 while (true) {
                     System.out.println("\nSelect an option:");
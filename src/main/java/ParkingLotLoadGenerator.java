@@ -0,0 +1,143 @@
+import parking.enums.ParkingLotAdminType;
+import parking.enums.VehicleType;
+import parking.exception.IllegalParkingLotAdminException;
+import parking.exception.IllegalSpotTypeException;
+import parking.load.ReplayReport;
+import parking.load.SyntheticTraceGenerator;
+import parking.load.TraceEvent;
+import parking.load.TraceFile;
+import parking.load.TraceReplayer;
+import parking.lot.ParkingLot;
+import parking.metrics.MetricsSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load generator for the parking engine: writes synthetic gate traces and replays
+ * traces against a lot with several simulated gates, reporting throughput and latency.
+ */
+public class ParkingLotLoadGenerator {
+
+    private static final String USAGE = """
+            Usage:
+              java ParkingLotLoadGenerator generate <traceFile> <arrivalsPerHour[,arrivalsPerHour...]> [<meanStayMinutes>] [<vehicleMix>] [<seed>]
+              java ParkingLotLoadGenerator replay <traceFile> <numOfRows> <rowSequence> [<parkingLotAdminType>] [<gates>] [<speed>]
+
+            generate: one arrival rate per hour of the trace, e.g. 200,900,400; mean stay defaults to 120 minutes,
+                      vehicle mix to CAR=70,MOTORCYCLE=20,VAN=10 and seed to 42.
+            replay:   admin type defaults to CONCURRENT_COMPACT_REGULAR and gates to 4; speed is trace time per
+                      wall-clock time (60 replays an hour per minute), 0 (default) replays as fast as possible.""";
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            exit(USAGE);
+        }
+        try {
+            switch (args[0].trim().toLowerCase()) {
+                case "generate" -> generate(args);
+                case "replay" -> replay(args);
+                default -> exit(USAGE);
+            }
+        } catch (IOException e) {
+            exit("Error: cannot access trace file: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            exit("Error: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exit("Error: interrupted");
+        }
+    }
+
+    private static void generate(String[] args) throws IOException {
+        if (args.length > 6) {
+            exit(USAGE);
+        }
+        Path traceFile = Path.of(args[1].trim());
+        String[] rates = args[2].split(",");
+        double[] arrivalsPerHour = new double[rates.length];
+        for (int hour = 0; hour < rates.length; hour++) {
+            arrivalsPerHour[hour] = parseNumber(rates[hour], "arrivalsPerHour");
+        }
+        double meanStayMinutes = args.length > 3 ? parseNumber(args[3], "meanStayMinutes") : 120;
+        Map<VehicleType, Double> vehicleMix = parseVehicleMix(args.length > 4 ? args[4] : "CAR=70,MOTORCYCLE=20,VAN=10");
+        long seed = args.length > 5 ? (long) parseNumber(args[5], "seed") : 42;
+
+        List<TraceEvent> events = new SyntheticTraceGenerator(arrivalsPerHour, meanStayMinutes, vehicleMix, seed).generate();
+        TraceFile.write(traceFile, events);
+        System.out.println("Wrote " + events.size() + " events covering " + rates.length + " hours to " + traceFile);
+    }
+
+    private static void replay(String[] args) throws IOException, InterruptedException {
+        if (args.length < 4 || args.length > 7) {
+            exit(USAGE);
+        }
+        Path traceFile = Path.of(args[1].trim());
+        int numOfRows = (int) parseNumber(args[2], "numOfRows");
+        if (numOfRows <= 0) {
+            exit("Error: <numOfRows> must be a positive integer.");
+        }
+        String rowSequence = args[3].trim();
+        ParkingLotAdminType adminType = ParkingLotAdminType.CONCURRENT_COMPACT_REGULAR;
+        if (args.length > 4) {
+            try {
+                adminType = ParkingLotAdminType.valueOf(args[4].trim());
+            } catch (IllegalArgumentException e) {
+                adminType = ParkingLotAdminType.UNSUPPORTED_TYPE;
+            }
+        }
+        int gates = args.length > 5 ? (int) parseNumber(args[5], "gates") : 4;
+        double speed = args.length > 6 ? parseNumber(args[6], "speed") : 0;
+
+        ParkingLot lot;
+        try {
+            lot = new ParkingLot(numOfRows, rowSequence, adminType);
+        } catch (IllegalSpotTypeException | IllegalParkingLotAdminException e) {
+            exit("Error: " + e.getMessage() + System.lineSeparator() + "Parking lot creation failed.");
+            return;
+        }
+        List<TraceEvent> events = TraceFile.read(traceFile);
+        if (!adminType.isThreadSafe() && gates > 1) {
+            System.out.println(adminType + " is not thread-safe; gates take turns through a lock.");
+        }
+        System.out.println("Replaying " + events.size() + " events against " + lot.getParkingLotSize()
+                + " spots (" + adminType + ")");
+
+        lot.getMetrics().registerMBean("replay");
+        ReplayReport report = new TraceReplayer(lot, gates, speed, adminType.isThreadSafe()).replay(events);
+        report.print(System.out);
+        MetricsSnapshot metrics = lot.getMetrics().snapshot();
+        System.out.println("Motorcycles parked in REGULAR spots: " + metrics.getMotorcycleFallbacks()
+                + ", Vans rejected by fragmentation: " + metrics.getVanFragmentationRejections());
+        System.out.println();
+        lot.printLotSummary();
+    }
+
+    private static Map<VehicleType, Double> parseVehicleMix(String mix) {
+        Map<VehicleType, Double> shares = new EnumMap<>(VehicleType.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("<vehicleMix> entries must look like CAR=70: " + entry);
+            }
+            shares.put(VehicleType.valueOf(parts[0].trim().toUpperCase()), parseNumber(parts[1], "vehicleMix"));
+        }
+        return shares;
+    }
+
+    private static double parseNumber(String value, String name) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("<" + name + "> must be a number: " + value);
+        }
+    }
+
+    private static void exit(String message) {
+        System.err.println(message);
+        System.exit(1);
+    }
+}
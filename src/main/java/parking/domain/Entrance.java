@@ -0,0 +1,64 @@
+package parking.domain;
+
+/**
+ * Entrance of a parking lot, located on the lot's row and column grid.
+ *
+ * <p>An entrance usually sits just outside the rows, e.g. {@code R1-0} is beside the
+ * first spot of row 1. The distance from an entrance to a spot is the number of rows
+ * plus the number of columns between them, as walked along the lanes.</p>
+ *
+ * @param row    the row the entrance opens onto, 0 or more
+ * @param column the column the entrance opens onto, 0 or more
+ */
+public record Entrance(int row, int column) {
+
+    /**
+     * Entrance beside the first spot of the first row.
+     */
+    public static final Entrance DEFAULT = new Entrance(1, 0);
+
+    /**
+     * @throws IllegalArgumentException if row or column is negative
+     */
+    public Entrance {
+        if (row < 0 || column < 0) {
+            throw new IllegalArgumentException("Entrance row and column must not be negative");
+        }
+    }
+
+    /**
+     * Parses an entrance written like a spot ID, e.g. {@code R1-0}.
+     *
+     * @param location the entrance location
+     * @return the entrance
+     * @throws IllegalArgumentException if the location is not of the form R{row}-{column}
+     */
+    public static Entrance parse(String location) {
+        String trimmed = location.trim();
+        int separator = trimmed.indexOf('-');
+        if (trimmed.length() < 4 || Character.toUpperCase(trimmed.charAt(0)) != 'R' || separator < 2) {
+            throw new IllegalArgumentException("Entrance must look like R1-0: " + location);
+        }
+        try {
+            return new Entrance(Integer.parseInt(trimmed, 1, separator, 10),
+                    Integer.parseInt(trimmed, separator + 1, trimmed.length(), 10));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Entrance must look like R1-0: " + location);
+        }
+    }
+
+    /**
+     * Returns the walking distance from this entrance to a spot.
+     *
+     * @param spot a spot with a row and column
+     * @return rows plus columns between the entrance and the spot
+     */
+    public int distanceTo(ParkingSpot spot) {
+        return Math.abs(spot.getRow() - row) + Math.abs(spot.getColumn() - column);
+    }
+
+    @Override
+    public String toString() {
+        return "R" + row + "-" + column;
+    }
+}
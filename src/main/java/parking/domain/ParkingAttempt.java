@@ -0,0 +1,50 @@
+package parking.domain;
+
+import parking.enums.ParkingStatus;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reusable holder for the outcome of {@code tryPark}: a status code and the spots the
+ * vehicle holds. A gate can keep one instance and pass it to every attempt, so that a
+ * rejected vehicle costs neither an exception nor a new result object.
+ */
+public final class ParkingAttempt {
+    private ParkingStatus status;
+    private List<ParkingSpot> spots = Collections.emptyList();
+
+    /**
+     * Records the outcome of an attempt, replacing the previous one.
+     *
+     * @param status the outcome of the attempt
+     * @param spots  the spots the vehicle holds, empty if it was not parked
+     * @return the given status
+     */
+    public ParkingStatus record(ParkingStatus status, List<ParkingSpot> spots) {
+        this.status = status;
+        this.spots = spots;
+        return status;
+    }
+
+    /**
+     * @return the outcome of the last attempt, or null if nothing was attempted yet
+     */
+    public ParkingStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the spots the vehicle holds, empty if the last attempt found the lot full
+     */
+    public List<ParkingSpot> getSpots() {
+        return spots;
+    }
+
+    /**
+     * @return the primary spot the vehicle holds, or null if the last attempt found the lot full
+     */
+    public ParkingSpot getSpot() {
+        return spots.isEmpty() ? null : spots.get(0);
+    }
+}
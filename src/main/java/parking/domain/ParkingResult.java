@@ -0,0 +1,57 @@
+package parking.domain;
+
+import parking.enums.ParkingStatus;
+
+import java.util.List;
+
+/**
+ * Outcome of parking one vehicle of a batch.
+ * Holds the status of the attempt and the spots the vehicle holds, or no spots if it
+ * could not be parked.
+ */
+public final class ParkingResult {
+    private final String identifier;
+    private final ParkingStatus status;
+    private final List<ParkingSpot> spots;
+
+    /**
+     * Constructs a result for the given vehicle.
+     *
+     * @param identifier the vehicle identifier
+     * @param status     the outcome of the attempt
+     * @param spots      the spots the vehicle holds, empty if it was not parked
+     */
+    public ParkingResult(String identifier, ParkingStatus status, List<ParkingSpot> spots) {
+        this.identifier = identifier;
+        this.status = status;
+        this.spots = spots;
+    }
+
+    /**
+     * @return the vehicle identifier
+     */
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * @return the outcome of the attempt
+     */
+    public ParkingStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the spots the vehicle holds, empty if it was not parked
+     */
+    public List<ParkingSpot> getSpots() {
+        return spots;
+    }
+
+    /**
+     * @return true if the vehicle is parked, either by this batch or before it
+     */
+    public boolean isParked() {
+        return !spots.isEmpty();
+    }
+}
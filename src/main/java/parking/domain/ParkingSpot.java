@@ -4,28 +4,92 @@ import parking.enums.VehicleType;
 import parking.enums.ParkingSpotType;
 import parking.exception.DoubleParkingException;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+
 /**
  * Represents a parking spot in the parking lot.
  * Each spot has a unique ID, a type, and may be occupied by a vehicle.
+ *
+ * <p>Spots created by the lot are located by numeric row and column; their
+ * "R{row}-{column}" ID is only formatted when a caller asks for it.</p>
  */
 public class ParkingSpot {
+    private static final VarHandle VEHICLE;
+
+    static {
+        try {
+            VEHICLE = MethodHandles.lookup().findVarHandle(ParkingSpot.class, "vehicle", Vehicle.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 
-    private final String spotId;
+    private final String spotId;   // explicit ID, or null when derived from row and column
+    private final int row;         // 1-based row, or 0 if the spot has no coordinates
+    private final int column;      // 1-based column, or 0 if the spot has no coordinates
     private final ParkingSpotType spotType;
-    private Vehicle vehicle;
+    private volatile Vehicle vehicle; // claimed with compare-and-set so concurrent assigns cannot both succeed
+    private SpotOccupancyListener occupancyListener; // index kept in sync with this spot, if any
+    private int position = -1;                        // position of this spot within its index
+
+    /**
+     * Constructs a ParkingSpot located at the given row and column.
+     *
+     * @param row      the 1-based row of the spot
+     * @param column   the 1-based column of the spot within its row
+     * @param spotType the type of the parking spot
+     * @throws IllegalArgumentException if row or column is not positive
+     */
+    public ParkingSpot(int row, int column, ParkingSpotType spotType) {
+        if (row <= 0 || column <= 0) {
+            throw new IllegalArgumentException("Row and column must be positive");
+        }
+        this.spotId = null;
+        this.row = row;
+        this.column = column;
+        this.spotType = spotType;
+        this.vehicle = null;
+    }
 
     /**
      * Constructs a ParkingSpot with the given ID and type.
+     * IDs of the form "R{row}-{column}" also give the spot its coordinates.
      *
      * @param spotId   the unique identifier for the parking spot
      * @param spotType the type of the parking spot
      */
     public ParkingSpot(String spotId, ParkingSpotType spotType) {
         this.spotId = spotId;
+        long coordinates = parseCoordinates(spotId);
+        this.row = (int) (coordinates >>> 32);
+        this.column = (int) coordinates;
         this.spotType = spotType;
         this.vehicle = null;
     }
 
+    /**
+     * Binds this spot to a listener that is notified whenever the spot becomes
+     * occupied or available again.
+     *
+     * @param listener the listener to notify
+     * @param position the position of this spot as known by the listener
+     */
+    public void bindOccupancyListener(SpotOccupancyListener listener, int position) {
+        this.occupancyListener = listener;
+        this.position = position;
+    }
+
+    /**
+     * Returns the position of this spot as known by its occupancy listener.
+     *
+     * @return the position, or -1 if the spot is not bound to a listener
+     */
+    public int getPosition() {
+        return position;
+    }
+
     /**
      * Checks if the parking spot is available (not occupied by any vehicle).
      *
@@ -41,7 +105,34 @@ public class ParkingSpot {
      * @return the parking spot ID
      */
     public String getParkingSpotId() {
-        return spotId;
+        return spotId != null ? spotId : "R" + row + "-" + column;
+    }
+
+    /**
+     * Returns the 1-based row of the parking spot.
+     *
+     * @return the row, or 0 if the spot has no coordinates
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Returns the 1-based column of the parking spot within its row.
+     *
+     * @return the column, or 0 if the spot has no coordinates
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Checks whether the spot has a row and column.
+     *
+     * @return true if the spot has coordinates
+     */
+    public boolean hasCoordinates() {
+        return row > 0;
     }
 
     /**
@@ -59,26 +150,94 @@ public class ParkingSpot {
      * @return the vehicle type, or null if no vehicle is present
      */
     public VehicleType getVehicleType() {
-        return vehicle != null ? vehicle.getType() : null;
+        Vehicle current = vehicle;
+        return current != null ? current.getType() : null;
     }
 
     /**
-     * Assigns a vehicle to this parking spot.
+     * Assigns a vehicle to this parking spot. The spot is claimed atomically, so when
+     * several threads assign the same free spot exactly one of them succeeds.
      *
      * @param vehicle the vehicle to assign
      * @throws DoubleParkingException if the spot is already occupied
      */
     public void assignVehicle(Vehicle vehicle) throws DoubleParkingException {
-        if(!isAvailable()) {
-            throw new DoubleParkingException("Parking spot is already occupied by vehicle: " + this.vehicle.getIdentifier());
+        Vehicle current = (Vehicle) VEHICLE.compareAndExchange(this, (Vehicle) null, vehicle);
+        if (current != null) {
+            throw new DoubleParkingException("Parking spot is already occupied by vehicle: " + current.getIdentifier());
+        }
+        if (occupancyListener != null) {
+            occupancyListener.onOccupied(this, position, vehicle);
+        }
+    }
+
+    /**
+     * Assigns one vehicle to several spots, all or none. Spots are claimed in list order;
+     * if one of them is already occupied, the spots claimed so far are released again
+     * before the exception is thrown, so a multi-spot vehicle is never left half-parked.
+     *
+     * @param spots   the spots to claim, e.g. the adjacent spots of a van
+     * @param vehicle the vehicle to assign
+     * @throws DoubleParkingException if any of the spots is already occupied
+     */
+    public static void claimAll(List<ParkingSpot> spots, Vehicle vehicle) throws DoubleParkingException {
+        for (int claimed = 0; claimed < spots.size(); claimed++) {
+            try {
+                spots.get(claimed).assignVehicle(vehicle);
+            } catch (DoubleParkingException e) {
+                for (int i = claimed - 1; i >= 0; i--) {
+                    spots.get(i).releaseIfHeldBy(vehicle);
+                }
+                throw e;
+            }
         }
-        this.vehicle = vehicle;
     }
 
     /**
      * Removes the vehicle from this parking spot, making it available.
      */
     public void removeVehicle() {
-        this.vehicle = null;
+        Vehicle previous = (Vehicle) VEHICLE.getAndSet(this, (Vehicle) null);
+        if (previous == null) {
+            return;
+        }
+        if (occupancyListener != null) {
+            occupancyListener.onReleased(this, position, previous);
+        }
+    }
+
+    /**
+     * Frees the spot only if it is still held by the given vehicle, so rolling back a
+     * claim can never evict a vehicle that took the spot in the meantime.
+     *
+     * @param owner the vehicle whose claim is rolled back
+     */
+    protected void releaseIfHeldBy(Vehicle owner) {
+        if (VEHICLE.compareAndSet(this, owner, (Vehicle) null) && occupancyListener != null) {
+            occupancyListener.onReleased(this, position, owner);
+        }
+    }
+
+    /**
+     * Parses an "R{row}-{column}" ID into a packed row/column pair.
+     *
+     * @param spotId the ID to parse
+     * @return row in the high 32 bits and column in the low 32 bits, or 0 if the ID has another format
+     */
+    private static long parseCoordinates(String spotId) {
+        if (spotId == null || spotId.length() < 4 || spotId.charAt(0) != 'R') {
+            return 0;
+        }
+        int separator = spotId.indexOf('-');
+        if (separator < 2 || separator == spotId.length() - 1) {
+            return 0;
+        }
+        try {
+            int row = Integer.parseInt(spotId, 1, separator, 10);
+            int column = Integer.parseInt(spotId, separator + 1, spotId.length(), 10);
+            return row > 0 && column > 0 ? ((long) row << 32) | column : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 }
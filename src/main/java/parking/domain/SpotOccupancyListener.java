@@ -0,0 +1,27 @@
+package parking.domain;
+
+/**
+ * Callback notified whenever a {@link ParkingSpot} changes occupancy.
+ * Lot indexes implement this to stay in sync with the spots they track
+ * without having to rescan them.
+ */
+public interface SpotOccupancyListener {
+
+    /**
+     * Called after a vehicle has been assigned to the spot.
+     *
+     * @param spot     the spot that became occupied
+     * @param position the position the spot was bound with
+     * @param vehicle  the vehicle now in the spot
+     */
+    void onOccupied(ParkingSpot spot, int position, Vehicle vehicle);
+
+    /**
+     * Called after the vehicle has been removed from the spot.
+     *
+     * @param spot     the spot that became available
+     * @param position the position the spot was bound with
+     * @param vehicle  the vehicle that left the spot
+     */
+    void onReleased(ParkingSpot spot, int position, Vehicle vehicle);
+}
@@ -7,10 +7,81 @@ public enum ParkingLotAdminType {
     /**
      * Administration type for compact and regular parking spots.
      */
-    COMPACT_REGULAR,
+    COMPACT_REGULAR(false),
+
+    /**
+     * Administration type for compact and regular parking spots, stored in primitive
+     * arrays instead of spot objects to keep very large lots small in memory.
+     */
+    COMPACT_REGULAR_ARRAY(false),
+
+    /**
+     * Administration type for compact and regular parking spots that can be shared by
+     * many entry gates, parking and removing vehicles concurrently without locks.
+     */
+    CONCURRENT_COMPACT_REGULAR(true),
+
+    /**
+     * Lock-free administration type like {@link #CONCURRENT_COMPACT_REGULAR}, where every gate
+     * searches from its own rotating cursor so that concurrent gates rarely race for the same spot.
+     */
+    CONCURRENT_SPREAD_COMPACT_REGULAR(true),
+
+    /**
+     * Administration type for compact and regular parking spots split into row shards,
+     * each with its own lock, so that gates parking in different shards never wait on each other.
+     */
+    SHARDED_COMPACT_REGULAR(true),
+
+    /**
+     * Administration type for compact and regular parking spots that parks every vehicle
+     * in the free spot nearest to one of the lot's entrances.
+     */
+    NEAREST_ENTRANCE_COMPACT_REGULAR(false),
+
+    /**
+     * Administration type for compact and regular parking spots that places single-spot
+     * vehicles so as to keep free adjacent regular spots together for vans.
+     */
+    PAIR_PRESERVING_COMPACT_REGULAR(false),
+
+    /**
+     * Administration type for compact and regular parking spots that parks single-spot
+     * vehicles next-fit, continuing from the previous allocation instead of the first spot.
+     */
+    NEXT_FIT_COMPACT_REGULAR(false),
+
+    /**
+     * Administration type for compact and regular parking spots that stores the row layout
+     * once and keeps state only for rows with parked vehicles, so huge lots are built
+     * almost instantly and use memory in proportion to their occupancy.
+     */
+    ROW_TEMPLATE_COMPACT_REGULAR(false),
+
+    /**
+     * Administration type for compact and regular parking spots whose spot objects are
+     * created on first use, so sparsely used lots start fast and hold only the spots they hand out.
+     */
+    LAZY_COMPACT_REGULAR(false),
 
     /**
      * Placeholder for unsupported or unknown administration types.
      */
-    UNSUPPORTED_TYPE
+    UNSUPPORTED_TYPE(false);
+
+    private final boolean threadSafe;
+
+    ParkingLotAdminType(boolean threadSafe) {
+        this.threadSafe = threadSafe;
+    }
+
+    /**
+     * Checks whether one lot of this type may be used by several threads at once,
+     * e.g. one per entry gate, without external locking.
+     *
+     * @return true if the administrator is thread-safe
+     */
+    public boolean isThreadSafe() {
+        return threadSafe;
+    }
 }
@@ -0,0 +1,27 @@
+package parking.enums;
+
+/**
+ * Enum representing the outcome of an attempt to park a vehicle.
+ */
+public enum ParkingStatus {
+    /**
+     * The vehicle was parked in newly allocated spots.
+     */
+    OK,
+
+    /**
+     * No suitable spots are available for the vehicle.
+     */
+    FULL,
+
+    /**
+     * The vehicle was already parked; its current spots are kept.
+     */
+    ALREADY_PARKED,
+
+    /**
+     * A spot chosen for the vehicle had been taken outside the lot administrator, e.g.
+     * directly on its spot object. No spot was claimed and the vehicle is not parked.
+     */
+    CONFLICT
+}
@@ -2,20 +2,22 @@ package parking.enums;
 
 /**
  * Enum representing the types of vehicles supported by the parking lot system.
+ * Which spots each type may take, and how many adjacent spots it spans, is set by the
+ * lot's {@link parking.lot.strategy.CompatibilityTable}.
  */
 public enum VehicleType {
     /**
-     * Motorcycle, which prefers compact spots but can also use regular spots.
+     * Motorcycle, which by default prefers compact spots but can also use regular spots.
      */
     MOTORCYCLE,
 
     /**
-     * Car, which can only use regular spots.
+     * Car, which by default can only use regular spots.
      */
     CAR,
 
     /**
-     * Van, which requires two adjacent regular spots in order to park.
+     * Van, which by default requires two adjacent regular spots in order to park.
      */
     VAN
 }
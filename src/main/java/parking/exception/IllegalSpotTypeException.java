@@ -5,6 +5,10 @@ package parking.exception;
  * is encountered in the parking lot configuration.
  */
 public class IllegalSpotTypeException extends Exception {
+    public IllegalSpotTypeException(String message) {
+        super(message);
+    }
+
     public IllegalSpotTypeException(String message, Throwable cause) {
         super(message, cause);
     }
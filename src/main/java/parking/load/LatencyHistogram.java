@@ -0,0 +1,84 @@
+package parking.load;
+
+import parking.metrics.LogLinearBuckets;
+
+/**
+ * Log-linear histogram of latencies in nanoseconds with a fixed relative precision.
+ *
+ * <p>Values below 64 ns are counted exactly. Above that, every power-of-two range is
+ * split into 32 equal buckets, so a reported percentile is at most about 3% above the
+ * recorded value, at any magnitude, with a fixed footprint of under 2k counters.</p>
+ *
+ * <p>Not thread-safe: record into one histogram per thread and {@link #merge} them.</p>
+ */
+public final class LatencyHistogram {
+    private static final LogLinearBuckets BUCKETS = new LogLinearBuckets(5);
+
+    private final long[] counts = new long[BUCKETS.bucketCount()];
+    private long count;
+    private long sum;
+    private long max;
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos the latency in nanoseconds; negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts[BUCKETS.indexOf(value)]++;
+        count++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds every latency recorded by another histogram to this one.
+     *
+     * @param other the histogram to add
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @return number of latencies recorded
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return highest latency recorded, in nanoseconds, or 0 if none
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return mean latency in nanoseconds, or 0 if none were recorded
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the latency that the given percentage of recorded latencies do not exceed,
+     * rounded up to the end of its bucket.
+     *
+     * @param percentile percentage between 0 and 100, e.g. 99.9
+     * @return the latency in nanoseconds, or 0 if none were recorded
+     * @throws IllegalArgumentException if percentile is outside 0..100
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        return BUCKETS.valueAtPercentile(counts, count, max, percentile);
+    }
+}
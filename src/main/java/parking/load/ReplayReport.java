@@ -0,0 +1,89 @@
+package parking.load;
+
+import java.io.PrintStream;
+
+/**
+ * Outcome of a {@link TraceReplayer} run: what happened to the vehicles, how long the
+ * replay took and the latency of every park and remove call.
+ */
+public final class ReplayReport {
+    private final int gates;
+    private final long events;
+    private final long parked;
+    private final long rejected;
+    private final long alreadyParked;
+    private final long removed;
+    private final long elapsedNanos;
+    private final LatencyHistogram parkLatency;
+    private final LatencyHistogram removeLatency;
+
+    ReplayReport(int gates, long events, long parked, long rejected, long alreadyParked, long removed,
+                 long elapsedNanos, LatencyHistogram parkLatency, LatencyHistogram removeLatency) {
+        this.gates = gates;
+        this.events = events;
+        this.parked = parked;
+        this.rejected = rejected;
+        this.alreadyParked = alreadyParked;
+        this.removed = removed;
+        this.elapsedNanos = elapsedNanos;
+        this.parkLatency = parkLatency;
+        this.removeLatency = removeLatency;
+    }
+
+    /** @return number of events replayed */
+    public long getEvents() { return events; }
+
+    /** @return number of arrivals that got a spot */
+    public long getParked() { return parked; }
+
+    /** @return number of arrivals turned away because no suitable spot was free */
+    public long getRejected() { return rejected; }
+
+    /** @return number of arrivals of vehicles that were already parked */
+    public long getAlreadyParked() { return alreadyParked; }
+
+    /** @return number of departures replayed */
+    public long getRemoved() { return removed; }
+
+    /** @return wall-clock duration of the replay in nanoseconds */
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    /** @return latencies of park calls */
+    public LatencyHistogram getParkLatency() { return parkLatency; }
+
+    /** @return latencies of remove calls */
+    public LatencyHistogram getRemoveLatency() { return removeLatency; }
+
+    /**
+     * @return events replayed per second of wall-clock time
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : events * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Prints a human-readable report.
+     *
+     * @param out the stream to print to
+     */
+    public void print(PrintStream out) {
+        out.println("=== Trace Replay ===");
+        out.printf("Events: %d over %d gates in %.3f s -> %.0f events/s%n",
+                events, gates, elapsedNanos / 1e9, getThroughput());
+        out.printf("Parked: %d, Rejected (full): %d, Already parked: %d, Removed: %d%n",
+                parked, rejected, alreadyParked, removed);
+        out.println("=== Latency (us) ===");
+        out.printf("%-7s %10s %10s %10s %10s %10s %10s%n", "", "count", "mean", "p50", "p99", "p999", "max");
+        printLatency(out, "PARK", parkLatency);
+        printLatency(out, "REMOVE", removeLatency);
+    }
+
+    private static void printLatency(PrintStream out, String label, LatencyHistogram histogram) {
+        out.printf("%-7s %10d %10.2f %10.2f %10.2f %10.2f %10.2f%n", label, histogram.getCount(),
+                histogram.getMean() / 1e3,
+                histogram.getValueAtPercentile(50) / 1e3,
+                histogram.getValueAtPercentile(99) / 1e3,
+                histogram.getValueAtPercentile(99.9) / 1e3,
+                histogram.getMax() / 1e3);
+    }
+}
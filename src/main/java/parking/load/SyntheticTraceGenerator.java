@@ -0,0 +1,128 @@
+package parking.load;
+
+import parking.enums.VehicleType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates arrival/departure traces for lots without recorded gate events.
+ *
+ * <p>Arrivals form a Poisson process whose rate is set per hour, so a trace can model
+ * quiet nights and rush hours. Every arriving vehicle gets a fresh plate, a type drawn
+ * from the vehicle mix and an exponentially distributed stay; it leaves when the stay
+ * ends, unless that is after the end of the trace. The same seed gives the same trace.</p>
+ */
+public final class SyntheticTraceGenerator {
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+
+    private final double[] arrivalsPerHour;
+    private final double meanStayMillis;
+    private final double[] cumulativeMix;   // by VehicleType ordinal, ending at 1
+    private final long seed;
+
+    /**
+     * Constructs a generator.
+     *
+     * @param arrivalsPerHour mean number of arrivals in each hour of the trace; the trace
+     *                        lasts one hour per entry
+     * @param meanStayMinutes mean time a vehicle stays parked
+     * @param vehicleMix      relative share of each vehicle type, e.g. {@code CAR=70, MOTORCYCLE=20, VAN=10};
+     *                        types not in the map do not arrive
+     * @param seed            seed of the random number generator
+     * @throws IllegalArgumentException if no hour is given, a rate or share is negative,
+     *                                  the mean stay is not positive or all shares are zero
+     */
+    public SyntheticTraceGenerator(double[] arrivalsPerHour, double meanStayMinutes,
+                                   Map<VehicleType, Double> vehicleMix, long seed) {
+        if (arrivalsPerHour.length == 0) {
+            throw new IllegalArgumentException("At least one hourly arrival rate is required");
+        }
+        for (double rate : arrivalsPerHour) {
+            if (!(rate >= 0)) {
+                throw new IllegalArgumentException("Arrival rates must not be negative: " + rate);
+            }
+        }
+        if (!(meanStayMinutes > 0)) {
+            throw new IllegalArgumentException("Mean stay must be positive: " + meanStayMinutes);
+        }
+        this.arrivalsPerHour = arrivalsPerHour.clone();
+        this.meanStayMillis = meanStayMinutes * 60_000;
+        this.cumulativeMix = cumulativeShares(vehicleMix);
+        this.seed = seed;
+    }
+
+    /**
+     * Generates the trace.
+     *
+     * @return the events in timestamp order
+     */
+    public List<TraceEvent> generate() {
+        Random random = new Random(seed);
+        long end = arrivalsPerHour.length * HOUR_MILLIS;
+        List<TraceEvent> events = new ArrayList<>();
+        int vehicles = 0;
+        for (int hour = 0; hour < arrivalsPerHour.length; hour++) {
+            if (arrivalsPerHour[hour] == 0) {
+                continue;
+            }
+            double meanGapMillis = HOUR_MILLIS / arrivalsPerHour[hour];
+            long hourEnd = (hour + 1) * HOUR_MILLIS;
+            for (double time = hour * HOUR_MILLIS + exponential(random, meanGapMillis); time < hourEnd;
+                 time += exponential(random, meanGapMillis)) {
+                long arrival = (long) time;
+                String plate = String.format("P%07d", vehicles++);
+                VehicleType type = vehicleType(random.nextDouble());
+                events.add(new TraceEvent(arrival, plate, type, TraceEvent.Action.PARK));
+                long departure = arrival + Math.max(1, (long) exponential(random, meanStayMillis));
+                if (departure < end) {
+                    events.add(new TraceEvent(departure, plate, type, TraceEvent.Action.REMOVE));
+                }
+            }
+        }
+        events.sort(Comparator.comparingLong(TraceEvent::timestampMillis));
+        return events;
+    }
+
+    private VehicleType vehicleType(double draw) {
+        for (int type = 0; type < cumulativeMix.length; type++) {
+            if (draw < cumulativeMix[type]) {
+                return VEHICLE_TYPES[type];
+            }
+        }
+        // Rounding can leave the last share slightly below 1
+        for (int type = cumulativeMix.length - 1; ; type--) {
+            if (type == 0 || cumulativeMix[type] > cumulativeMix[type - 1]) {
+                return VEHICLE_TYPES[type];
+            }
+        }
+    }
+
+    private static double exponential(Random random, double mean) {
+        return -mean * Math.log(1 - random.nextDouble());
+    }
+
+    private static double[] cumulativeShares(Map<VehicleType, Double> vehicleMix) {
+        double total = 0;
+        for (Double share : vehicleMix.values()) {
+            if (!(share >= 0)) {
+                throw new IllegalArgumentException("Vehicle shares must not be negative: " + share);
+            }
+            total += share;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one vehicle type needs a positive share");
+        }
+        double[] cumulative = new double[VEHICLE_TYPES.length];
+        double sum = 0;
+        for (VehicleType type : VEHICLE_TYPES) {
+            sum += vehicleMix.getOrDefault(type, 0.0) / total;
+            cumulative[type.ordinal()] = sum;
+        }
+        return cumulative;
+    }
+}
@@ -0,0 +1,60 @@
+package parking.load;
+
+import parking.enums.VehicleType;
+
+/**
+ * One gate event of an arrival/departure trace.
+ *
+ * <p>In a trace file every event is one line of the form
+ * {@code <timestampMillis>,<plate>,<VehicleType>,<PARK|REMOVE>}, e.g.
+ * {@code 3600000,KA-0042,CAR,PARK}. Timestamps are milliseconds on any clock; a replay
+ * only uses their offset from the first event.</p>
+ *
+ * @param timestampMillis when the vehicle reached the gate
+ * @param plate           vehicle identifier
+ * @param vehicleType     type of the vehicle
+ * @param action          whether the vehicle arrives or leaves
+ */
+public record TraceEvent(long timestampMillis, String plate, VehicleType vehicleType, Action action) {
+
+    /**
+     * What the vehicle does at the gate.
+     */
+    public enum Action {
+        /** The vehicle arrives and asks for a spot. */
+        PARK,
+        /** The vehicle leaves and frees its spots. */
+        REMOVE
+    }
+
+    /**
+     * Parses one trace line.
+     *
+     * @param line the line to parse
+     * @return the event described by the line
+     * @throws IllegalArgumentException if the line is not a valid event
+     */
+    public static TraceEvent parse(String line) {
+        String[] fields = line.split(",");
+        if (fields.length != 4) {
+            throw new IllegalArgumentException("Expected <timestampMillis>,<plate>,<VehicleType>,<PARK|REMOVE>: " + line);
+        }
+        String plate = fields[1].trim();
+        if (plate.isEmpty()) {
+            throw new IllegalArgumentException("Plate must not be empty: " + line);
+        }
+        try {
+            return new TraceEvent(Long.parseLong(fields[0].trim()), plate,
+                    VehicleType.valueOf(fields[2].trim().toUpperCase()), Action.valueOf(fields[3].trim().toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid trace event: " + line, e);
+        }
+    }
+
+    /**
+     * @return the event as a trace line, without line terminator
+     */
+    public String toLine() {
+        return timestampMillis + "," + plate + "," + vehicleType + "," + action;
+    }
+}
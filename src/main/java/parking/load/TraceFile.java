@@ -0,0 +1,73 @@
+package parking.load;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes trace files: one {@link TraceEvent} per line, in timestamp order.
+ * Blank lines and lines starting with {@code #} are ignored.
+ */
+public final class TraceFile {
+
+    private TraceFile() {
+    }
+
+    /**
+     * Reads every event of a trace file.
+     *
+     * @param path the trace file
+     * @return the events in file order
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if a line is not a valid event or timestamps go backwards
+     */
+    public static List<TraceEvent> read(Path path) throws IOException {
+        List<TraceEvent> events = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            long lastTimestamp = Long.MIN_VALUE;
+            int lineNumber = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                TraceEvent event;
+                try {
+                    event = TraceEvent.parse(trimmed);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(path + ":" + lineNumber + ": " + e.getMessage(), e);
+                }
+                if (event.timestampMillis() < lastTimestamp) {
+                    throw new IllegalArgumentException(path + ":" + lineNumber + ": timestamps must not decrease");
+                }
+                lastTimestamp = event.timestampMillis();
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Writes events to a trace file, replacing it if it exists.
+     *
+     * @param path   the trace file
+     * @param events the events, in timestamp order
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, List<TraceEvent> events) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("# timestampMillis,plate,vehicleType,action");
+            writer.newLine();
+            for (TraceEvent event : events) {
+                writer.write(event.toLine());
+                writer.newLine();
+            }
+        }
+    }
+}
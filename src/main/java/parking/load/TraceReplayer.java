@@ -0,0 +1,159 @@
+package parking.load;
+
+import parking.domain.ParkingAttempt;
+import parking.enums.ParkingStatus;
+import parking.lot.ParkingLot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Replays an arrival/departure trace against a {@link ParkingLot} with several
+ * simulated gates, each running on its own virtual thread.
+ *
+ * <p>Every plate is always handled by the same gate, so a vehicle's arrival and
+ * departure are replayed in trace order. Gates replay their events either as fast as
+ * they can or paced by the trace timestamps, scaled by a speed factor. When paced, a
+ * call's latency is measured from the moment the trace says the vehicle reached the
+ * gate, so a gate that falls behind shows the delay in its latencies instead of hiding
+ * it; unpaced, only the call itself is measured.</p>
+ */
+public final class TraceReplayer {
+    private final ParkingLot lot;
+    private final int gates;
+    private final double speed;
+    private final ReentrantLock lotLock;    // serializes calls to a lot that is not thread-safe, or null
+
+    /**
+     * Constructs a replayer.
+     *
+     * @param lot        the lot to drive
+     * @param gates      number of simulated gates
+     * @param speed      trace time replayed per unit of wall-clock time, e.g. 60 replays a
+     *                   trace hour in one minute; 0 replays as fast as possible
+     * @param threadSafe whether the lot may be called by several gates at once; if not,
+     *                   gates take turns through a lock
+     * @throws IllegalArgumentException if gates is not positive or speed is negative
+     */
+    public TraceReplayer(ParkingLot lot, int gates, double speed, boolean threadSafe) {
+        if (gates <= 0) {
+            throw new IllegalArgumentException("Number of gates must be positive");
+        }
+        if (!(speed >= 0)) {
+            throw new IllegalArgumentException("Speed must not be negative");
+        }
+        this.lot = lot;
+        this.gates = gates;
+        this.speed = speed;
+        this.lotLock = threadSafe ? null : new ReentrantLock();
+    }
+
+    /**
+     * Replays the events and waits until every gate is done.
+     *
+     * @param events the events in timestamp order
+     * @return the report of the replay
+     * @throws InterruptedException if interrupted while waiting for the gates
+     */
+    public ReplayReport replay(List<TraceEvent> events) throws InterruptedException {
+        List<Gate> gateList = new ArrayList<>(gates);
+        for (int i = 0; i < gates; i++) {
+            gateList.add(new Gate());
+        }
+        for (TraceEvent event : events) {
+            gateList.get(Math.floorMod(event.plate().hashCode(), gates)).events.add(event);
+        }
+        long firstTimestamp = events.isEmpty() ? 0 : events.get(0).timestampMillis();
+
+        CountDownLatch start = new CountDownLatch(1);
+        long[] startNanos = new long[1];
+        List<Future<?>> futures = new ArrayList<>(gates);
+        long elapsedNanos;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Gate gate : gateList) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    gate.run(startNanos[0], firstTimestamp);
+                    return null;
+                }));
+            }
+            startNanos[0] = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            elapsedNanos = System.nanoTime() - startNanos[0];
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Gate failed during replay", e.getCause());
+        }
+
+        LatencyHistogram parkLatency = new LatencyHistogram();
+        LatencyHistogram removeLatency = new LatencyHistogram();
+        long parked = 0, rejected = 0, alreadyParked = 0, removed = 0;
+        for (Gate gate : gateList) {
+            parkLatency.merge(gate.parkLatency);
+            removeLatency.merge(gate.removeLatency);
+            parked += gate.parked;
+            rejected += gate.rejected;
+            alreadyParked += gate.alreadyParked;
+            removed += gate.removed;
+        }
+        return new ReplayReport(gates, events.size(), parked, rejected, alreadyParked, removed,
+                elapsedNanos, parkLatency, removeLatency);
+    }
+
+    /**
+     * One simulated gate: its share of the trace and what it measured.
+     */
+    private final class Gate {
+        private final List<TraceEvent> events = new ArrayList<>();
+        private final ParkingAttempt attempt = new ParkingAttempt();
+        private final LatencyHistogram parkLatency = new LatencyHistogram();
+        private final LatencyHistogram removeLatency = new LatencyHistogram();
+        private long parked, rejected, alreadyParked, removed;
+
+        void run(long startNanos, long firstTimestamp) {
+            for (TraceEvent event : events) {
+                long begin;
+                if (speed > 0) {
+                    begin = startNanos + (long) ((event.timestampMillis() - firstTimestamp) * 1e6 / speed);
+                    for (long wait = begin - System.nanoTime(); wait > 0; wait = begin - System.nanoTime()) {
+                        LockSupport.parkNanos(wait);
+                    }
+                } else {
+                    begin = System.nanoTime();
+                }
+
+                if (lotLock != null) {
+                    lotLock.lock();
+                }
+                try {
+                    if (event.action() == TraceEvent.Action.PARK) {
+                        ParkingStatus status = lot.tryParkVehicle(event.plate(), event.vehicleType(), attempt);
+                        parkLatency.record(System.nanoTime() - begin);
+                        switch (status) {
+                            case OK -> parked++;
+                            case FULL, CONFLICT -> rejected++;
+                            case ALREADY_PARKED -> alreadyParked++;
+                        }
+                    } else {
+                        lot.removeVehicle(event.plate());
+                        removeLatency.record(System.nanoTime() - begin);
+                        removed++;
+                    }
+                } finally {
+                    if (lotLock != null) {
+                        lotLock.unlock();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package parking.lot;
+
+import parking.domain.ParkingLotSummary;
+import parking.domain.ParkingSpot;
+import parking.enums.ParkingSpotType;
+import parking.exception.IllegalSpotTypeException;
+import parking.lot.index.FreeSpotIndex;
+import parking.lot.index.UniformRowRunIndex;
+import parking.lot.index.VehicleIndex;
+import parking.lot.strategy.CompatibilityTable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parking lot administrator for very large lots with regular and compact spots.
+ *
+ * <p>Spots are not stored as objects. The row layout is kept once as a type byte per
+ * column, occupancy lives in one {@link FreeSpotIndex} per spot type, and every spot
+ * holds an int slot into a table of parked vehicles, looked up by identifier through a
+ * {@link VehicleIndex}. {@link ParkingSpot} objects are only created as views when a
+ * caller asks for them; assigning or removing a vehicle through a view updates the arrays.</p>
+ *
+ * <p>Allocation follows the same rules as {@link parking.lot.strategy.RegularCompactAllocationStrategy}:
+ * each of the vehicle's candidates in a {@link CompatibilityTable} is tried in order and
+ * the first free spot, or run of adjacent spots, is taken.</p>
+ */
+public class ArrayBackedLotAdmin extends UniformRowLotAdmin {
+    private final int[] columnSlots;          // slot of each column among the columns of its type
+    private final FreeSpotIndex[] freeSpots;  // per type, over positions row * typeColumns[type].length + slot
+    private final int[] spotVehicles;         // vehicle table slot of each spot, or NO_VEHICLE
+    private final int[] rowAvailable;         // available spots of each 0-based row
+    private final UniformRowRunIndex[] typeRuns; // per type, built on the first multi-spot request for it
+
+    /**
+     * Constructs a lot administrator with the given row configuration.
+     *
+     * @param numOfRows    number of rows in the lot
+     * @param rowSequence  comma-separated list of spot types per row (e.g., "REGULAR, COMPACT")
+     * @throws IllegalSpotTypeException if the row sequence contains an invalid spot type
+     * @throws IllegalArgumentException if the lot has more spots than an array can hold
+     */
+    public ArrayBackedLotAdmin(int numOfRows, String rowSequence) throws IllegalSpotTypeException {
+        this(LotLayout.uniform(numOfRows, rowSequence));
+    }
+
+    /**
+     * Constructs a lot administrator for the given layout. The row layout is stored once,
+     * so every row must have the same spot types.
+     *
+     * @param layout spot types of every row
+     * @throws IllegalArgumentException if the rows differ, or the lot has more spots than an array can hold
+     */
+    public ArrayBackedLotAdmin(LotLayout layout) {
+        this(layout, CompatibilityTable.DEFAULT);
+    }
+
+    /**
+     * Constructs a lot administrator for the given layout that parks vehicles by the given rules.
+     * The row layout is stored once, so every row must have the same spot types.
+     *
+     * @param layout        spot types of every row
+     * @param compatibility spots each vehicle type may take, in order of preference
+     * @throws IllegalArgumentException if the rows differ, or the lot has more spots than an array can hold
+     */
+    public ArrayBackedLotAdmin(LotLayout layout, CompatibilityTable compatibility) {
+        super(layout, compatibility);
+        long totalSpots = layout.totalSpots();
+        if (totalSpots > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Lot too large for array-backed storage: " + totalSpots + " spots");
+        }
+
+        this.columnSlots = new int[columnTypes.length];
+        this.freeSpots = new FreeSpotIndex[SPOT_TYPES.length];
+        this.typeRuns = new UniformRowRunIndex[SPOT_TYPES.length];
+        for (int type = 0; type < SPOT_TYPES.length; type++) {
+            for (int slot = 0; slot < typeColumns[type].length; slot++) {
+                columnSlots[typeColumns[type][slot]] = slot;
+            }
+            freeSpots[type] = new FreeSpotIndex(numOfRows * typeColumns[type].length);
+            freeSpots[type].markAllFree();
+        }
+
+        this.spotVehicles = new int[(int) totalSpots];
+        Arrays.fill(spotVehicles, NO_VEHICLE);
+        this.rowAvailable = new int[numOfRows];
+        Arrays.fill(rowAvailable, columnTypes.length);
+    }
+
+    // ===============================
+    // Query Lot Status
+    // ===============================
+
+    /**
+     * Builds an immutable summary of the lot's current state from the free counts,
+     * in O(rows + types).
+     *
+     * @return snapshot summary object
+     */
+    @Override
+    public ParkingLotSummary generateLotSummary() {
+        if (spotVehicles.length == 0) {
+            return new ParkingLotSummary(0, 0, 0, Collections.emptyMap(), true, true, 0, Collections.emptyMap());
+        }
+
+        Map<ParkingSpotType, ParkingLotSummary.SpotTypeStatus> byType = new HashMap<>();
+        long total = 0, available = 0;
+        for (int type = 0; type < SPOT_TYPES.length; type++) {
+            if (typeColumns[type].length == 0) continue;
+            long typeTotal = freeSpots[type].size();
+            long typeAvailable = freeSpots[type].freeCount();
+            total += typeTotal;
+            available += typeAvailable;
+            byType.put(SPOT_TYPES[type], new ParkingLotSummary.SpotTypeStatus(typeTotal, typeAvailable, typeTotal - typeAvailable));
+        }
+
+        Map<String, ParkingLotSummary.RowStatus> byRow = new LinkedHashMap<>();
+        int rowWidth = columnTypes.length;
+        for (int row = 0; row < numOfRows; row++) {
+            byRow.put("R" + (row + 1), new ParkingLotSummary.RowStatus(rowWidth, rowAvailable[row], rowWidth - rowAvailable[row]));
+        }
+
+        long occupied = total - available;
+        return new ParkingLotSummary(total, available, occupied, byType, available == 0, occupied == 0, vanSpotCount(), byRow);
+    }
+
+    /**
+     * Finds the first free spot, or run of {@code span} adjacent free spots, of one type.
+     *
+     * @return global index of the first spot, or -1 if none is available
+     */
+    @Override
+    long findSpots(int type, int span) {
+        if (span == 1) {
+            return toSpot(type, freeSpots[type].firstFree());
+        }
+        if (typeColumns[type].length == 0) {
+            return -1;
+        }
+        if (typeRuns[type] == null) {
+            typeRuns[type] = new UniformRowRunIndex(freeSpots[type], numOfRows, typeColumns[type]);
+        }
+        return toSpot(type, typeRuns[type].findRun(span));
+    }
+
+    /**
+     * @return available spots of a type, read from the type's free-spot index
+     */
+    @Override
+    public long availableSpots(ParkingSpotType spotType) {
+        return freeSpots[spotType.ordinal()].freeCount();
+    }
+
+    /**
+     * Converts a position within a type's free index into a global spot index.
+     */
+    private int toSpot(int type, int position) {
+        if (position < 0) {
+            return -1;
+        }
+        int slotsPerRow = typeColumns[type].length;
+        return (position / slotsPerRow) * columnTypes.length + typeColumns[type][position % slotsPerRow];
+    }
+
+    @Override
+    int occupant(long spot) {
+        return spotVehicles[(int) spot];
+    }
+
+    /**
+     * Changes the occupant of adjacent spots and keeps the free index, the run index and
+     * the row's free count in step.
+     */
+    @Override
+    void setOccupants(long firstSpot, int count, int vehicleSlot) {
+        int rowWidth = columnTypes.length;
+        for (int spot = (int) firstSpot; spot < firstSpot + count; spot++) {
+            spotVehicles[spot] = vehicleSlot;
+            int col = spot % rowWidth;
+            int type = columnTypes[col];
+            int position = (spot / rowWidth) * typeColumns[type].length + columnSlots[col];
+            if (vehicleSlot == NO_VEHICLE) {
+                freeSpots[type].markFree(position);
+            } else {
+                freeSpots[type].markOccupied(position);
+            }
+            if (typeRuns[type] != null) {
+                typeRuns[type].refresh(position);
+            }
+        }
+        rowAvailable[(int) (firstSpot / rowWidth)] += vehicleSlot == NO_VEHICLE ? count : -count;
+    }
+}
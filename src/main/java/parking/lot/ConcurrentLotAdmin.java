@@ -0,0 +1,457 @@
+package parking.lot;
+
+import parking.domain.ParkingAttempt;
+import parking.domain.ParkingLotSummary;
+import parking.domain.ParkingResult;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.enums.ParkingStatus;
+import parking.enums.VehicleType;
+import parking.exception.DoubleParkingException;
+import parking.exception.IllegalSpotTypeException;
+import parking.lot.index.ConcurrentFreeSpotIndex;
+import parking.lot.strategy.CompatibilityTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe parking lot administrator for lots with regular and compact spots,
+ * allowing many entry gates to park and remove vehicles at the same time.
+ *
+ * <p>Spots are claimed lock-free through one {@link ConcurrentFreeSpotIndex} per type,
+ * where claiming a spot atomically clears its bit. Multi-spot vehicles claim all their
+ * adjacent spots or none. Parked vehicles are tracked in a {@link ConcurrentHashMap}
+ * and summary counters are striped, so no operation takes a lock.</p>
+ *
+ * <p>Allocation follows the same rules as {@link parking.lot.strategy.RegularCompactAllocationStrategy}:
+ * each of the vehicle's candidates in a {@link CompatibilityTable} is tried in order.
+ * Summaries generated while vehicles are being parked are weakly consistent snapshots.</p>
+ *
+ * <p>By default every search starts at the first spot of its type, so concurrent gates
+ * race for the same lowest free spots. With gate cursors, each thread instead starts at
+ * its own hashed offset into the lot, continues after its previous claim and wraps
+ * around at the end, which spreads concurrent claims across the lot at the cost of
+ * filling it unevenly. {@link #getClaimConflicts()} counts the claims lost to other gates.</p>
+ */
+public class ConcurrentLotAdmin implements ParkingLotAdmin {
+    private static final ParkingSpotType[] SPOT_TYPES = ParkingSpotType.values();
+
+    private final CompatibilityTable compatibility;
+    private final Map<ParkingSpotType, List<ParkingSpot>> parkingSpotTypeMap; // spots grouped by type, never modified
+    private final ParkingSpot[][] spotsByType;                  // spots of each type, by ParkingSpotType ordinal
+    private final ConcurrentFreeSpotIndex[] freeSpots;          // free positions of each type, by ordinal
+    private final long[][] adjacency;                           // bit i set when spot i + 1 follows spot i in its row
+    private final ConcurrentMap<String, Allocation> vehicleAllocations;
+    private final int numOfRows;
+    private final long[] rowTotals;                             // spots per 1-based row
+    private final AtomicLongArray rowAvailable;                 // available spots per 1-based row
+    private final LongAdder vanSpotCount;
+    private final ThreadLocal<int[]> gateCursors;               // per-gate search starts, see park; null if searches start at 0
+
+    /**
+     * Spots held by one parked vehicle: {@code length} consecutive positions of one type.
+     */
+    private record Allocation(List<ParkingSpot> spots, int type, int start, int length) {
+    }
+
+    /**
+     * Constructs a lot administrator with the given row configuration.
+     *
+     * @param numOfRows    number of rows in the lot
+     * @param rowSequence  comma-separated list of spot types per row (e.g., "REGULAR, COMPACT")
+     * @throws IllegalSpotTypeException if the row sequence contains an invalid spot type
+     */
+    public ConcurrentLotAdmin(int numOfRows, String rowSequence) throws IllegalSpotTypeException {
+        this(numOfRows, rowSequence, false);
+    }
+
+    /**
+     * Constructs a lot administrator whose gates may each search from their own cursor.
+     *
+     * @param numOfRows   number of rows in the lot
+     * @param rowSequence comma-separated list of spot types per row (e.g., "REGULAR, COMPACT")
+     * @param gateCursors true to start each thread's searches at a per-thread rotating cursor,
+     *                    false to start every search at the first spot
+     * @throws IllegalSpotTypeException if the row sequence contains an invalid spot type
+     */
+    public ConcurrentLotAdmin(int numOfRows, String rowSequence, boolean gateCursors) throws IllegalSpotTypeException {
+        this(LotLayout.uniform(numOfRows, rowSequence), gateCursors);
+    }
+
+    /**
+     * Constructs a lot administrator for the given layout, whose rows may differ.
+     *
+     * @param layout      spot types of every row
+     * @param gateCursors true to start each thread's searches at a per-thread rotating cursor,
+     *                    false to start every search at the first spot
+     */
+    public ConcurrentLotAdmin(LotLayout layout, boolean gateCursors) {
+        this(layout, gateCursors, CompatibilityTable.DEFAULT);
+    }
+
+    /**
+     * Constructs a lot administrator for the given layout that parks vehicles by the given rules.
+     *
+     * @param layout        spot types of every row
+     * @param gateCursors   true to start each thread's searches at a per-thread rotating cursor,
+     *                      false to start every search at the first spot
+     * @param compatibility spots each vehicle type may take, in order of preference
+     */
+    public ConcurrentLotAdmin(LotLayout layout, boolean gateCursors, CompatibilityTable compatibility) {
+        this.compatibility = compatibility;
+        this.numOfRows = layout.numOfRows();
+        this.rowTotals = new long[numOfRows + 1];
+        this.rowAvailable = new AtomicLongArray(numOfRows + 1);
+        for (int row = 1; row <= numOfRows; row++) {
+            rowTotals[row] = layout.rowWidth(row);
+            rowAvailable.set(row, rowTotals[row]);
+        }
+        this.vanSpotCount = new LongAdder();
+        this.vehicleAllocations = new ConcurrentHashMap<>();
+
+        Map<ParkingSpotType, List<ParkingSpot>> spotMap = new EnumMap<>(ParkingSpotType.class);
+        for (int row = 1; row <= numOfRows; row++) {
+            ParkingSpotType[] spotArrangement = layout.row(row);
+            for (int col = 0; col < spotArrangement.length; col++) {
+                spotMap.computeIfAbsent(spotArrangement[col], k -> new ArrayList<>())
+                        .add(new ParkingSpot(row, col + 1, spotArrangement[col]));
+            }
+        }
+
+        this.spotsByType = new ParkingSpot[SPOT_TYPES.length][];
+        this.freeSpots = new ConcurrentFreeSpotIndex[SPOT_TYPES.length];
+        this.adjacency = new long[SPOT_TYPES.length][];
+        for (ParkingSpotType type : SPOT_TYPES) {
+            ParkingSpot[] spots = spotMap.getOrDefault(type, Collections.emptyList()).toArray(new ParkingSpot[0]);
+            long[] adjacent = new long[Math.max(1, (spots.length + 63) >>> 6)];
+            for (int i = 0; i + 1 < spots.length; i++) {
+                if (spots[i + 1].getRow() == spots[i].getRow() && spots[i + 1].getColumn() == spots[i].getColumn() + 1) {
+                    adjacent[i >>> 6] |= 1L << i;
+                }
+            }
+            spotsByType[type.ordinal()] = spots;
+            freeSpots[type.ordinal()] = new ConcurrentFreeSpotIndex(spots.length);
+            adjacency[type.ordinal()] = adjacent;
+        }
+
+        Map<ParkingSpotType, List<ParkingSpot>> unmodifiableSpots = new HashMap<>();
+        spotMap.forEach((type, spots) -> unmodifiableSpots.put(type, Collections.unmodifiableList(spots)));
+        this.parkingSpotTypeMap = Collections.unmodifiableMap(unmodifiableSpots);
+        // The initializer captures only locals, so the constructor never lets this escape
+        int[] typeSizes = new int[SPOT_TYPES.length];
+        for (int type = 0; type < SPOT_TYPES.length; type++) {
+            typeSizes[type] = freeSpots[type].size();
+        }
+        AtomicInteger nextGate = new AtomicInteger(); // ordinal of the next gate thread seen
+        this.gateCursors = gateCursors
+                ? ThreadLocal.withInitial(() -> startCursors(nextGate.getAndIncrement(), typeSizes))
+                : null;
+    }
+
+    /**
+     * Parks a vehicle if suitable spots are available, without raising an exception when
+     * it does not fit. The free counts of the indexes are checked first, so a full lot
+     * answers {@link ParkingStatus#FULL} without a search. A claimed spot that had been
+     * taken directly on its spot object ends the attempt with {@link ParkingStatus#CONFLICT}.
+     * Safe to call from many threads.
+     *
+     * @param identifier  unique vehicle identifier
+     * @param vehicleType type of the vehicle
+     * @param attempt     receives the status and the vehicle's spots
+     * @return the status of the attempt
+     */
+    @Override
+    public ParkingStatus tryPark(String identifier, VehicleType vehicleType, ParkingAttempt attempt) {
+        Allocation existing = vehicleAllocations.get(identifier);
+        if (existing != null) {
+            return attempt.record(ParkingStatus.ALREADY_PARKED, existing.spots());
+        }
+        if (!hasRoomFor(vehicleType)) {
+            return attempt.record(ParkingStatus.FULL, Collections.emptyList());
+        }
+        int[] searchFrom = gateCursors != null ? gateCursors.get() : null;
+        try {
+            return park(identifier, vehicleType, searchFrom, true, attempt);
+        } catch (DoubleParkingException e) {
+            return attempt.record(ParkingStatus.CONFLICT, Collections.emptyList());
+        }
+    }
+
+    /**
+     * Parks a batch of vehicles. Each spot type is searched with a cursor that carries
+     * over from one vehicle to the next, so the batch makes a single pass over the free
+     * indexes instead of searching from the first spot for every vehicle. Spots freed by
+     * other threads behind the cursor are not revisited by the batch.
+     *
+     * @param vehicles the vehicles to park
+     * @return one result per vehicle, in the same order as {@code vehicles}
+     */
+    @Override
+    public List<ParkingResult> parkVehicles(List<Vehicle> vehicles) {
+        int[] searchFrom = new int[2 * SPOT_TYPES.length];
+        ParkingAttempt attempt = new ParkingAttempt();
+        List<ParkingResult> results = new ArrayList<>(vehicles.size());
+        for (Vehicle vehicle : vehicles) {
+            ParkingStatus status;
+            try {
+                status = park(vehicle.getIdentifier(), vehicle.getType(), searchFrom, false, attempt);
+            } catch (DoubleParkingException e) {
+                status = attempt.record(ParkingStatus.CONFLICT, Collections.emptyList());
+            }
+            results.add(new ParkingResult(vehicle.getIdentifier(), status, attempt.getSpots()));
+        }
+        return results;
+    }
+
+    /**
+     * Parks a vehicle, or reports its spots as {@link ParkingStatus#ALREADY_PARKED} if it is
+     * already parked, including when another gate parks it while this one is claiming spots.
+     *
+     * @param searchFrom first position to search for single spots of each type, advanced past
+     *                   each claim, followed by the first position to search for runs of each type;
+     *                   {@code null} to search every type from its first spot
+     * @param wrap       true to search the positions before {@code searchFrom} as well
+     * @param attempt    receives the status and the vehicle's spots
+     * @return the status of the attempt: {@link ParkingStatus#OK}, {@link ParkingStatus#FULL}
+     *         or {@link ParkingStatus#ALREADY_PARKED}
+     * @throws DoubleParkingException if a claimed spot was occupied directly on its spot object;
+     *                                the claim is released and no spot is left assigned
+     */
+    private ParkingStatus park(String identifier, VehicleType vehicleType, int[] searchFrom, boolean wrap,
+                               ParkingAttempt attempt) {
+        Allocation existing = vehicleAllocations.get(identifier);
+        if (existing != null) {
+            return attempt.record(ParkingStatus.ALREADY_PARKED, existing.spots());
+        }
+
+        Allocation allocation = claimSpots(vehicleType, searchFrom, wrap);
+        if (allocation == null) {
+            return attempt.record(ParkingStatus.FULL, Collections.emptyList());
+        }
+        Vehicle vehicle = new Vehicle(identifier, vehicleType);
+        try {
+            ParkingSpot.claimAll(allocation.spots(), vehicle); // all or none
+        } catch (RuntimeException e) {
+            freeSpots[allocation.type()].releaseRun(allocation.start(), allocation.length());
+            throw e;
+        }
+
+        // Another gate may have parked the same vehicle meanwhile; keep its spots and give ours back
+        existing = vehicleAllocations.putIfAbsent(identifier, allocation);
+        if (existing != null) {
+            release(allocation);
+            return attempt.record(ParkingStatus.ALREADY_PARKED, existing.spots());
+        }
+        for (ParkingSpot spot : allocation.spots()) {
+            rowAvailable.decrementAndGet(spot.getRow());
+        }
+        if (vehicleType == VehicleType.VAN) {
+            vanSpotCount.add(allocation.length());
+        }
+        return attempt.record(ParkingStatus.OK, allocation.spots());
+    }
+
+    /**
+     * Removes a vehicle and frees its allocated spots. Safe to call from many threads.
+     *
+     * @param identifier vehicle identifier
+     * @return the type of the removed vehicle, or {@code null} if it was not parked
+     */
+    @Override
+    public VehicleType removeVehicle(String identifier) {
+        Allocation allocation = vehicleAllocations.remove(identifier);
+        if (allocation == null) {
+            return null;
+        }
+        VehicleType vehicleType = allocation.spots().get(0).getVehicleType();
+        if (vehicleType == VehicleType.VAN) {
+            vanSpotCount.add(-allocation.length());
+        }
+        for (ParkingSpot spot : allocation.spots()) {
+            rowAvailable.incrementAndGet(spot.getRow());
+        }
+        release(allocation);
+        return vehicleType;
+    }
+
+    /**
+     * @return unmodifiable view of all spots grouped by type
+     */
+    @Override
+    public Map<ParkingSpotType, List<ParkingSpot>> getSpotsByType() {
+        return parkingSpotTypeMap;
+    }
+
+    /**
+     * @return unmodifiable snapshot of vehicles mapped to their allocated spots
+     */
+    @Override
+    public Map<String, List<ParkingSpot>> getVehicleSpotsMap() {
+        Map<String, List<ParkingSpot>> vehicleSpotsMap = new HashMap<>();
+        vehicleAllocations.forEach((identifier, allocation) -> vehicleSpotsMap.put(identifier, allocation.spots()));
+        return Collections.unmodifiableMap(vehicleSpotsMap);
+    }
+
+    // ===============================
+    // Query Lot Status
+    // ===============================
+
+    /**
+     * Prints a human-readable summary of the lot.
+     */
+    @Override
+    public void printLotSummary() {
+        LotSummaryPrinter.print(generateLotSummary());
+    }
+
+    /**
+     * Builds an immutable summary of the lot from its counters. While other threads
+     * park or remove vehicles the figures are a weakly consistent snapshot.
+     *
+     * @return snapshot summary object
+     */
+    @Override
+    public ParkingLotSummary generateLotSummary() {
+        if (parkingSpotTypeMap.isEmpty()) {
+            return new ParkingLotSummary(0, 0, 0, Collections.emptyMap(), true, true, 0, Collections.emptyMap());
+        }
+
+        Map<ParkingSpotType, ParkingLotSummary.SpotTypeStatus> byType = new HashMap<>();
+        long total = 0, available = 0;
+        for (ParkingSpotType type : parkingSpotTypeMap.keySet()) {
+            ConcurrentFreeSpotIndex index = freeSpots[type.ordinal()];
+            long typeTotal = index.size();
+            long typeFree = Math.min(index.freeCount(), typeTotal);
+            total += typeTotal;
+            available += typeFree;
+            byType.put(type, new ParkingLotSummary.SpotTypeStatus(typeTotal, typeFree, typeTotal - typeFree));
+        }
+
+        Map<String, ParkingLotSummary.RowStatus> byRow = new LinkedHashMap<>();
+        for (int row = 1; row <= numOfRows; row++) {
+            long rowFree = Math.min(rowAvailable.get(row), rowTotals[row]);
+            byRow.put("R" + row, new ParkingLotSummary.RowStatus(rowTotals[row], rowFree, rowTotals[row] - rowFree));
+        }
+
+        long occupied = total - available;
+        return new ParkingLotSummary(total, available, occupied, byType, available == 0, occupied == 0,
+                Math.max(vanSpotCount.sum(), 0), byRow);
+    }
+
+    /**
+     * @return available spots of a type, read from the type's free index; while other
+     *         threads park or remove vehicles the count is a hint
+     */
+    @Override
+    public long availableSpots(ParkingSpotType spotType) {
+        return freeSpots[spotType.ordinal()].freeCount();
+    }
+
+    /**
+     * @return the spots each vehicle type may park in
+     */
+    @Override
+    public CompatibilityTable compatibility() {
+        return compatibility;
+    }
+
+    /**
+     * @return number of times a gate found free spots but lost them to another gate before claiming them
+     */
+    public long getClaimConflicts() {
+        long conflicts = 0;
+        for (ConcurrentFreeSpotIndex index : freeSpots) {
+            conflicts += index.claimConflicts();
+        }
+        return conflicts;
+    }
+
+    /**
+     * Claims spots for the given vehicle type, trying its candidates in order.
+     *
+     * @return the claimed allocation, or {@code null} if no suitable spots are free
+     */
+    private Allocation claimSpots(VehicleType vehicleType, int[] searchFrom, boolean wrap) {
+        Allocation allocation = null;
+        int end = compatibility.candidateEnd(vehicleType);
+        for (int candidate = compatibility.candidateStart(vehicleType); candidate < end && allocation == null; candidate++) {
+            int type = compatibility.spotType(candidate).ordinal();
+            int span = compatibility.span(candidate);
+            allocation = span == 1 ? claimSingle(type, searchFrom, wrap) : claimRun(type, span, searchFrom, wrap);
+        }
+        return allocation;
+    }
+
+    private Allocation claimRun(int type, int length, int[] searchFrom, boolean wrap) {
+        int cursor = SPOT_TYPES.length + type;
+        int from = searchFrom != null ? searchFrom[cursor] : 0;
+        int start = freeSpots[type].claimNextRun(from, length, adjacency[type]);
+        if (start < 0 && wrap && from > 0) {
+            start = freeSpots[type].claimNextRun(0, length, adjacency[type]);
+        }
+        if (searchFrom != null) {
+            searchFrom[cursor] = start >= 0 ? start : wrap ? from : freeSpots[type].size();
+        }
+        return start < 0 ? null : allocation(type, start, length);
+    }
+
+    private Allocation claimSingle(int type, int[] searchFrom, boolean wrap) {
+        int from = searchFrom != null ? searchFrom[type] : 0;
+        int position = freeSpots[type].claimNextFree(from);
+        if (position < 0 && wrap && from > 0) {
+            position = freeSpots[type].claimNextFree(0);
+        }
+        if (searchFrom != null) {
+            searchFrom[type] = position >= 0 ? position + 1 : wrap ? from : freeSpots[type].size();
+        }
+        return position < 0 ? null : allocation(type, position, 1);
+    }
+
+    /**
+     * Places a new gate's cursors at a Fibonacci-hashed fraction of each type's spots,
+     * so that consecutive gates start far apart.
+     *
+     * @param gate      ordinal of the gate thread
+     * @param typeSizes number of spots of each type, by ordinal
+     */
+    private static int[] startCursors(int gate, int[] typeSizes) {
+        long fraction = (gate * 0x9E3779B97F4A7C15L) >>> 32;
+        int[] cursors = new int[2 * SPOT_TYPES.length];
+        for (int type = 0; type < SPOT_TYPES.length; type++) {
+            cursors[type] = (int) ((fraction * typeSizes[type]) >>> 32);
+            cursors[SPOT_TYPES.length + type] = cursors[type];
+        }
+        return cursors;
+    }
+
+    private Allocation allocation(int type, int start, int length) {
+        ParkingSpot[] spots = spotsByType[type];
+        List<ParkingSpot> allocated = length == 1
+                ? Collections.singletonList(spots[start])
+                : List.of(Arrays.copyOfRange(spots, start, start + length));
+        return new Allocation(allocated, type, start, length);
+    }
+
+    /**
+     * Frees the spots of an allocation: clears the spots first, then publishes them as free.
+     */
+    private void release(Allocation allocation) {
+        for (ParkingSpot spot : allocation.spots()) {
+            spot.removeVehicle();
+        }
+        freeSpots[allocation.type()].releaseRun(allocation.start(), allocation.length());
+    }
+}
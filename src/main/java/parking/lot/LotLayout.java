@@ -0,0 +1,422 @@
+package parking.lot;
+
+import parking.domain.ParkingSpot;
+import parking.enums.ParkingSpotType;
+import parking.exception.IllegalSpotTypeException;
+import parking.lot.index.SpotRows;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Spot types of every row of a lot.
+ *
+ * <p>Consecutive rows with the same spot types are stored once, as a run of rows, so a
+ * lot where every row is alike costs one row sequence however many rows it has. Rows are
+ * described by row sequences such as {@code "COMPACT*50,REGULAR*350"}; see
+ * {@link #parse(Reader)} for the layout file format.</p>
+ *
+ * <p>Instances are immutable.</p>
+ */
+public final class LotLayout {
+    private final ParkingSpotType[][] runLayouts; // spot types of each run of identical rows
+    private final int[] runEnds;                  // 1-based last row of each run
+    private final long[][] runTypeStarts;         // spots of each type before each run, by type ordinal
+    private final int[][] runTypeCounts;          // spots of each type in one row of each run, by type ordinal
+    private final int[][][] runTypeColumns;       // 1-based columns of each type in a row of each run, by type ordinal
+    private final long totalSpots;
+
+    private LotLayout(List<ParkingSpotType[]> runLayouts, List<Integer> runEnds) {
+        this.runLayouts = runLayouts.toArray(new ParkingSpotType[0][]);
+        this.runEnds = new int[runEnds.size()];
+        this.runTypeStarts = new long[this.runEnds.length][ParkingSpotType.values().length];
+        this.runTypeCounts = new int[this.runEnds.length][ParkingSpotType.values().length];
+        this.runTypeColumns = new int[this.runEnds.length][ParkingSpotType.values().length][];
+        long[] typeSpots = new long[ParkingSpotType.values().length];
+        int previousEnd = 0;
+        for (int run = 0; run < this.runEnds.length; run++) {
+            this.runEnds[run] = runEnds.get(run);
+            runTypeStarts[run] = typeSpots.clone();
+            for (ParkingSpotType spotType : this.runLayouts[run]) {
+                runTypeCounts[run][spotType.ordinal()]++;
+            }
+            int[] next = new int[typeSpots.length];
+            for (int type = 0; type < typeSpots.length; type++) {
+                typeSpots[type] += (long) (this.runEnds[run] - previousEnd) * runTypeCounts[run][type];
+                runTypeColumns[run][type] = new int[runTypeCounts[run][type]];
+            }
+            for (int col = 0; col < this.runLayouts[run].length; col++) {
+                int type = this.runLayouts[run][col].ordinal();
+                runTypeColumns[run][type][next[type]++] = col + 1;
+            }
+            previousEnd = this.runEnds[run];
+        }
+        this.totalSpots = Arrays.stream(typeSpots).sum();
+    }
+
+    /**
+     * Creates a layout where every row has the same spot types.
+     *
+     * @param numOfRows   number of rows in the lot
+     * @param rowSequence spot types of each row (e.g., "REGULAR, COMPACT" or "COMPACT*50,REGULAR*350")
+     * @return the layout
+     * @throws IllegalSpotTypeException if the row sequence contains an invalid spot type or count
+     */
+    public static LotLayout uniform(int numOfRows, String rowSequence) throws IllegalSpotTypeException {
+        return new LotLayout(Collections.singletonList(RowSequenceParser.parse(rowSequence)), List.of(Math.max(numOfRows, 0)));
+    }
+
+    /**
+     * Reads a layout file; see {@link #parse(Reader)} for the format.
+     *
+     * @param path the layout file, in UTF-8
+     * @return the layout
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalSpotTypeException if a row is invalid
+     */
+    public static LotLayout load(Path path) throws IOException, IllegalSpotTypeException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * Reads a layout, one row sequence per line, in a single streaming pass. A line may start
+     * with {@code count:} to repeat its row, text from {@code #} to the end of the line is
+     * a comment, and blank lines are skipped:
+     * <pre>
+     * # entrance level
+     * 2: COMPACT*50, REGULAR*350
+     * REGULAR*400
+     * </pre>
+     *
+     * @param reader the layout; not closed
+     * @return the layout
+     * @throws IOException              if the layout cannot be read
+     * @throws IllegalSpotTypeException if a row is invalid, or the lot has more rows than an int can count
+     */
+    public static LotLayout parse(Reader reader) throws IOException, IllegalSpotTypeException {
+        Builder builder = new Builder();
+        RowSequenceParser parser = new RowSequenceParser();
+        char[] buffer = new char[8192];
+        int line = 1;
+        long repeat = -1;        // row count of the current line, -1 until one is read or ruled out
+        boolean rowStarted = false;
+        boolean comment = false;
+        for (int read = reader.read(buffer); read >= 0; read = reader.read(buffer)) {
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+                if (c == '\n') {
+                    endLine(builder, parser, line++, repeat, rowStarted);
+                    repeat = -1;
+                    rowStarted = false;
+                    comment = false;
+                } else if (comment) {
+                    continue;
+                } else if (c == '#') {
+                    comment = true;
+                } else if (rowStarted) {
+                    accept(parser, c, line);
+                } else if (Character.isWhitespace(c)) {
+                    continue;
+                } else if (c >= '0' && c <= '9') {
+                    repeat = Math.max(repeat, 0) * 10 + (c - '0');
+                    if (repeat > Integer.MAX_VALUE) {
+                        throw new IllegalSpotTypeException("Row count too large on line " + line);
+                    }
+                } else if (c == ':' && repeat >= 0) {
+                    rowStarted = true;
+                } else if (repeat >= 0) {
+                    throw new IllegalSpotTypeException("Expected ':' after the row count on line " + line);
+                } else {
+                    rowStarted = true;
+                    accept(parser, c, line);
+                }
+            }
+        }
+        endLine(builder, parser, line, repeat, rowStarted);
+        return builder.build();
+    }
+
+    private static void accept(RowSequenceParser parser, char c, int line) throws IllegalSpotTypeException {
+        try {
+            parser.accept(c);
+        } catch (IllegalSpotTypeException e) {
+            throw new IllegalSpotTypeException(e.getMessage() + " on line " + line, e);
+        }
+    }
+
+    private static void endLine(Builder builder, RowSequenceParser parser, int line, long repeat, boolean rowStarted)
+            throws IllegalSpotTypeException {
+        if (!rowStarted) {
+            if (repeat >= 0) {
+                throw new IllegalSpotTypeException("Row count without a row sequence on line " + line);
+            }
+            return;
+        }
+        try {
+            builder.addRows(repeat >= 0 ? (int) repeat : 1, parser.finishRow());
+        } catch (IllegalSpotTypeException e) {
+            throw new IllegalSpotTypeException(e.getMessage() + " on line " + line, e);
+        }
+    }
+
+    /**
+     * @return a builder for a layout without rows
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return number of rows in the lot
+     */
+    public int numOfRows() {
+        return runEnds.length == 0 ? 0 : runEnds[runEnds.length - 1];
+    }
+
+    /**
+     * @return number of spots in the lot
+     */
+    public long totalSpots() {
+        return totalSpots;
+    }
+
+    /**
+     * @return true if every row has the same spot types
+     */
+    public boolean isUniform() {
+        return runLayouts.length <= 1;
+    }
+
+    /**
+     * @param row 1-based row
+     * @return number of spots in the row
+     * @throws IndexOutOfBoundsException if the lot has no such row
+     */
+    public int rowWidth(int row) {
+        return row(row).length;
+    }
+
+    /**
+     * Returns the spot types of a row. The array is shared with every other row of its run
+     * and must not be modified.
+     *
+     * @param row 1-based row
+     * @return spot type of each column of the row
+     * @throws IndexOutOfBoundsException if the lot has no such row
+     */
+    ParkingSpotType[] row(int row) {
+        if (row < 1 || row > numOfRows()) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for " + numOfRows() + " rows");
+        }
+        return runLayouts[runOfRow(row)];
+    }
+
+    /**
+     * @return the run holding a 1-based row of the lot
+     */
+    private int runOfRow(int row) {
+        int run = Arrays.binarySearch(runEnds, row);
+        return run >= 0 ? run : -run - 1;
+    }
+
+    /**
+     * @return 1-based first row of a run
+     */
+    private int runFirstRow(int run) {
+        return run == 0 ? 1 : runEnds[run - 1] + 1;
+    }
+
+    /**
+     * Counts the spots of one type in the rows before the given row, e.g. to find where a
+     * row's spots start among all spots of that type.
+     *
+     * @param row  1-based row, or one past the last row to count the whole lot
+     * @param type the spot type
+     * @return number of spots of the type in rows {@code 1} to {@code row - 1}
+     */
+    long typeSpotsBefore(int row, ParkingSpotType type) {
+        if (runEnds.length == 0) {
+            return 0;
+        }
+        int run = Math.min(runOfRow(row), runEnds.length - 1);
+        return runTypeStarts[run][type.ordinal()] + (long) (row - runFirstRow(run)) * runTypeCounts[run][type.ordinal()];
+    }
+
+    /**
+     * Creates the spot at a position among all spots of one type, in lot order (row by
+     * row, then by column), without building the spots before it.
+     *
+     * @param type  the spot type
+     * @param index 0-based position among the lot's spots of that type
+     * @return a new, available spot
+     * @throws IndexOutOfBoundsException if the lot has no such spot
+     */
+    ParkingSpot spotAt(ParkingSpotType type, long index) {
+        int t = type.ordinal();
+        int run = runOfTypeSpot(type, index);
+        long offset = index - runTypeStarts[run][t];
+        int perRow = runTypeCounts[run][t];
+        return new ParkingSpot(runFirstRow(run) + (int) (offset / perRow), runTypeColumns[run][t][(int) (offset % perRow)], type);
+    }
+
+    /**
+     * @param index 0-based position among the lot's spots of a type
+     * @return the run holding the spot
+     * @throws IndexOutOfBoundsException if the lot has no such spot
+     */
+    private int runOfTypeSpot(ParkingSpotType type, long index) {
+        if (index < 0 || index >= typeSpotsBefore(numOfRows() + 1, type)) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + type + " spots");
+        }
+        // Last run starting at or before the index; runs without the type start where the next one does
+        int t = type.ordinal();
+        int low = 0, high = runEnds.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (runTypeStarts[middle][t] <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Describes the rows of a block of consecutive rows as seen by a list of the block's
+     * spots of one type, numbered from the block's first spot of that type. Rows,
+     * positions and columns are computed from the runs, so no spot is created.
+     *
+     * @param type      the spot type
+     * @param firstRow  1-based first row of the block
+     * @param numOfRows number of rows in the block
+     * @return the rows of the block
+     */
+    SpotRows typeRows(ParkingSpotType type, int firstRow, int numOfRows) {
+        return new TypeRows(type, firstRow, numOfRows);
+    }
+
+    /**
+     * Rows of a block of rows, for a list of the block's spots of one type.
+     */
+    private final class TypeRows implements SpotRows {
+        private final ParkingSpotType type;
+        private final int firstRow;     // 1-based first row of the block
+        private final int numOfRows;
+        private final long blockStart;  // spots of the type before the block
+
+        TypeRows(ParkingSpotType type, int firstRow, int numOfRows) {
+            this.type = type;
+            this.firstRow = firstRow;
+            this.numOfRows = numOfRows;
+            this.blockStart = typeSpotsBefore(firstRow, type);
+        }
+
+        @Override
+        public int rowCount() {
+            return numOfRows;
+        }
+
+        @Override
+        public int rowStart(int row) {
+            return (int) (typeSpotsBefore(firstRow + row, type) - blockStart);
+        }
+
+        @Override
+        public int rowOf(int position) {
+            int t = type.ordinal();
+            long index = blockStart + position;
+            int run = runOfTypeSpot(type, index);
+            return runFirstRow(run) + (int) ((index - runTypeStarts[run][t]) / runTypeCounts[run][t]) - firstRow;
+        }
+
+        @Override
+        public int[] columns(int row) {
+            return runTypeColumns[runOfRow(firstRow + row)][type.ordinal()];
+        }
+    }
+
+    /**
+     * Returns the spot types shared by every row, for administrators that keep a single
+     * row template. The array must not be modified.
+     *
+     * @return spot type of each column of every row
+     * @throws IllegalArgumentException if the rows differ, or the layout has no row sequence
+     */
+    ParkingSpotType[] uniformRow() {
+        if (runLayouts.length != 1) {
+            throw new IllegalArgumentException("Lot administrator requires every row to have the same spot types");
+        }
+        return runLayouts[0];
+    }
+
+    /**
+     * Collects runs of rows, in order.
+     */
+    public static final class Builder {
+        private final List<ParkingSpotType[]> runLayouts = new ArrayList<>();
+        private final List<Integer> runEnds = new ArrayList<>();
+        private long numOfRows;
+
+        private Builder() {
+        }
+
+        /**
+         * Appends rows to the lot.
+         *
+         * @param count       number of rows to append
+         * @param rowSequence spot types of each appended row
+         * @return this builder
+         * @throws IllegalSpotTypeException if the row sequence contains an invalid spot type or count,
+         *                                  or the lot would have more rows than an int can count
+         */
+        public Builder addRows(int count, String rowSequence) throws IllegalSpotTypeException {
+            return addRows(count, RowSequenceParser.parse(rowSequence));
+        }
+
+        /**
+         * Appends rows of already parsed spot types, which may be empty.
+         *
+         * @param count  number of rows to append
+         * @param layout spot types of each appended row; not copied
+         * @return this builder
+         * @throws IllegalSpotTypeException if the count is negative, or the lot would have more rows than an int can count
+         */
+        Builder addRows(int count, ParkingSpotType[] layout) throws IllegalSpotTypeException {
+            if (count < 0) {
+                throw new IllegalSpotTypeException("Row count cannot be negative: " + count);
+            }
+            if (numOfRows + count > Integer.MAX_VALUE) {
+                throw new IllegalSpotTypeException("Too many rows in layout: " + (numOfRows + count));
+            }
+            if (count == 0) {
+                return this;
+            }
+            numOfRows += count;
+            int last = runLayouts.size() - 1;
+            if (last >= 0 && Arrays.equals(runLayouts.get(last), layout)) {
+                runEnds.set(last, (int) numOfRows);
+            } else {
+                runLayouts.add(layout);
+                runEnds.add((int) numOfRows);
+            }
+            return this;
+        }
+
+        /**
+         * @return the layout
+         */
+        public LotLayout build() {
+            return new LotLayout(runLayouts, runEnds);
+        }
+    }
+}
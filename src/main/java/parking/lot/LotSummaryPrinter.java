@@ -0,0 +1,36 @@
+package parking.lot;
+
+import parking.domain.ParkingLotSummary;
+
+/**
+ * Formats a {@link ParkingLotSummary} for the console, shared by the lot administrators.
+ */
+final class LotSummaryPrinter {
+
+    private LotSummaryPrinter() {
+    }
+
+    /**
+     * Prints a human-readable summary of the lot.
+     *
+     * @param summary the summary to print
+     */
+    static void print(ParkingLotSummary summary) {
+        System.out.println("=== Parking Lot Summary ===");
+        System.out.printf("Overall -> Total: %d, Available: %d, Occupied: %d%n",
+                summary.getTotalSpots(), summary.getAvailableSpots(), summary.getOccupiedSpots());
+
+        summary.getByType().forEach((type, status) ->
+                System.out.printf("[%s] -> Total: %d, Available: %d, Occupied: %d%n",
+                        type, status.getTotal(), status.getAvailable(), status.getOccupied()));
+
+        System.out.println("Lot full? " + summary.isFull());
+        System.out.println("Lot empty? " + summary.isEmpty());
+        System.out.println("Vans parked: " + summary.getVanCount());
+
+        System.out.println("=== Row Summary ===");
+        summary.getByRow().forEach((row, status) ->
+                System.out.printf("%s -> Total: %d, Available: %d, Occupied: %d%n",
+                        row, status.getTotal(), status.getAvailable(), status.getOccupied()));
+    }
+}
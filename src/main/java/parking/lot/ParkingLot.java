@@ -1,40 +1,136 @@
 package parking.lot;
 
 import parking.enums.ParkingLotAdminType;
+import parking.enums.ParkingSpotType;
+import parking.enums.ParkingStatus;
 import parking.enums.VehicleType;
+import parking.domain.Entrance;
+import parking.domain.ParkingAttempt;
+import parking.domain.ParkingLotSummary;
+import parking.domain.ParkingResult;
 import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
 import parking.exception.DoubleParkingException;
 import parking.exception.IllegalParkingLotAdminException;
 import parking.exception.IllegalSpotTypeException;
 import parking.exception.ParkingUnavailableException;
+import parking.lot.strategy.CompatibilityTable;
+import parking.lot.strategy.NearestEntranceAllocationStrategy;
+import parking.lot.strategy.NextFitAllocationStrategy;
+import parking.lot.strategy.PairPreservingAllocationStrategy;
+import parking.lot.strategy.RegularCompactAllocationStrategy;
+import parking.metrics.ParkingLotMetrics;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Facade representing the parking lot.
  * Provides a simple interface for clients to interact with the system
  * while delegating allocation logic to a {@link ParkingLotAdmin}.
+ *
+ * <p>Park and remove calls and summaries are recorded in the lot's {@link ParkingLotMetrics}.
+ * Every vehicle of a batch is counted by its result, but batches are not timed.</p>
  */
 public class ParkingLot {
     private final long totalSpots; // total number of spots in the lot
     private final ParkingLotAdmin parkingLotAdmin;
+    private final ParkingLotMetrics metrics = new ParkingLotMetrics();
 
     /**
      * Constructs a ParkingLot with the given configuration.
      *
      * @param numOfRows           number of rows in the parking lot
-     * @param rowSequence         comma-separated row sequence describing spot types per row
+     * @param rowSequence         comma-separated row sequence describing spot types per row,
+     *                            e.g. "REGULAR,COMPACT" or, run-length encoded, "COMPACT*50,REGULAR*350"
      * @param parkingLotAdminType the type of parking lot admin / allocation strategy to use
      * @throws IllegalSpotTypeException        if the row sequence contains an unsupported spot type
      * @throws IllegalParkingLotAdminException if the requested admin type is not supported
      */
     public ParkingLot(int numOfRows, String rowSequence, ParkingLotAdminType parkingLotAdminType)
             throws IllegalSpotTypeException, IllegalParkingLotAdminException {
-        String[] spotArrangement = rowSequence.split(",");
-        this.totalSpots = (long) numOfRows * spotArrangement.length;
+        this(numOfRows, rowSequence, parkingLotAdminType, List.of(Entrance.DEFAULT));
+    }
+
+    /**
+     * Constructs a ParkingLot with the given configuration and entrances. Only
+     * {@link ParkingLotAdminType#NEAREST_ENTRANCE_COMPACT_REGULAR} places vehicles by
+     * their distance from the entrances; other types ignore them.
+     *
+     * @param numOfRows           number of rows in the parking lot
+     * @param rowSequence         comma-separated row sequence describing spot types per row
+     * @param parkingLotAdminType the type of parking lot admin / allocation strategy to use
+     * @param entrances           the lot's entrances
+     * @throws IllegalSpotTypeException        if the row sequence contains an unsupported spot type
+     * @throws IllegalParkingLotAdminException if the requested admin type is not supported
+     * @throws IllegalArgumentException        if no entrance is given for a nearest-entrance lot
+     */
+    public ParkingLot(int numOfRows, String rowSequence, ParkingLotAdminType parkingLotAdminType,
+                      List<Entrance> entrances) throws IllegalSpotTypeException, IllegalParkingLotAdminException {
+        this(LotLayout.uniform(numOfRows, rowSequence), parkingLotAdminType, entrances);
+    }
+
+    /**
+     * Constructs a ParkingLot whose rows may differ, e.g. one loaded with {@link LotLayout#load}.
+     * {@link ParkingLotAdminType#COMPACT_REGULAR_ARRAY} and {@link ParkingLotAdminType#ROW_TEMPLATE_COMPACT_REGULAR}
+     * keep a single row template and reject layouts whose rows differ.
+     *
+     * @param layout              spot types of every row
+     * @param parkingLotAdminType the type of parking lot admin / allocation strategy to use
+     * @throws IllegalParkingLotAdminException if the requested admin type is not supported
+     * @throws IllegalArgumentException        if the admin type requires identical rows and they differ
+     */
+    public ParkingLot(LotLayout layout, ParkingLotAdminType parkingLotAdminType) throws IllegalParkingLotAdminException {
+        this(layout, parkingLotAdminType, List.of(Entrance.DEFAULT));
+    }
+
+    /**
+     * Constructs a ParkingLot whose rows may differ, with the given entrances.
+     *
+     * @param layout              spot types of every row
+     * @param parkingLotAdminType the type of parking lot admin / allocation strategy to use
+     * @param entrances           the lot's entrances
+     * @throws IllegalParkingLotAdminException if the requested admin type is not supported
+     * @throws IllegalArgumentException        if the admin type requires identical rows and they differ,
+     *                                         or no entrance is given for a nearest-entrance lot
+     */
+    public ParkingLot(LotLayout layout, ParkingLotAdminType parkingLotAdminType, List<Entrance> entrances)
+            throws IllegalParkingLotAdminException {
+        this(layout, parkingLotAdminType, entrances, CompatibilityTable.DEFAULT);
+    }
+
+    /**
+     * Constructs a ParkingLot whose rows may differ, with the given entrances, that parks
+     * vehicles by the given rules instead of {@link CompatibilityTable#DEFAULT}.
+     *
+     * @param layout              spot types of every row
+     * @param parkingLotAdminType the type of parking lot admin / allocation strategy to use
+     * @param entrances           the lot's entrances
+     * @param compatibility       spots each vehicle type may take, in order of preference
+     * @throws IllegalParkingLotAdminException if the requested admin type is not supported
+     * @throws IllegalArgumentException        if the admin type requires identical rows and they differ,
+     *                                         or no entrance is given for a nearest-entrance lot
+     */
+    public ParkingLot(LotLayout layout, ParkingLotAdminType parkingLotAdminType, List<Entrance> entrances,
+                      CompatibilityTable compatibility) throws IllegalParkingLotAdminException {
+        this.totalSpots = layout.totalSpots();
 
         switch (parkingLotAdminType) {
-            case COMPACT_REGULAR -> this.parkingLotAdmin = new RegularCompactLotAdmin(numOfRows, rowSequence);
+            case COMPACT_REGULAR -> this.parkingLotAdmin = new RegularCompactLotAdmin(layout,
+                    new RegularCompactAllocationStrategy(compatibility));
+            case COMPACT_REGULAR_ARRAY -> this.parkingLotAdmin = new ArrayBackedLotAdmin(layout, compatibility);
+            case CONCURRENT_COMPACT_REGULAR -> this.parkingLotAdmin = new ConcurrentLotAdmin(layout, false, compatibility);
+            case CONCURRENT_SPREAD_COMPACT_REGULAR -> this.parkingLotAdmin = new ConcurrentLotAdmin(layout, true, compatibility);
+            case SHARDED_COMPACT_REGULAR -> this.parkingLotAdmin = new ShardedLotAdmin(layout, compatibility);
+            case NEAREST_ENTRANCE_COMPACT_REGULAR -> this.parkingLotAdmin = new RegularCompactLotAdmin(layout,
+                    new NearestEntranceAllocationStrategy(entrances, compatibility));
+            case PAIR_PRESERVING_COMPACT_REGULAR -> this.parkingLotAdmin = new RegularCompactLotAdmin(layout,
+                    new PairPreservingAllocationStrategy(compatibility));
+            case NEXT_FIT_COMPACT_REGULAR -> this.parkingLotAdmin = new RegularCompactLotAdmin(layout,
+                    new NextFitAllocationStrategy(compatibility));
+            case ROW_TEMPLATE_COMPACT_REGULAR -> this.parkingLotAdmin = new RowTemplateLotAdmin(layout, compatibility);
+            case LAZY_COMPACT_REGULAR -> this.parkingLotAdmin = new RegularCompactLotAdmin(layout, 1, layout.numOfRows(),
+                    new RegularCompactAllocationStrategy(compatibility), true);
             default ->
                     throw new IllegalParkingLotAdminException("Unsupported ParkingLotAdminType: " + parkingLotAdminType);
         }
@@ -46,17 +142,58 @@ public class ParkingLot {
      * @param identifier  unique vehicle identifier
      * @param vehicleType type of the vehicle (MOTORCYCLE, CAR, VAN)
      * @return the primary {@link ParkingSpot} assigned to the vehicle
-     * @throws DoubleParkingException     if the vehicle is already parked
+     * @throws DoubleParkingException     if a chosen spot had been taken outside the lot administrator
      * @throws ParkingUnavailableException if no suitable spot(s) are available
      */
     public ParkingSpot parkVehicle(String identifier, VehicleType vehicleType)
             throws DoubleParkingException, ParkingUnavailableException {
-        List<ParkingSpot> parkingSpots = parkingLotAdmin.parkVehicle(identifier, vehicleType);
-        if (parkingSpots == null || parkingSpots.isEmpty()) {
+        ParkingAttempt attempt = new ParkingAttempt();
+        ParkingStatus status = tryParkVehicle(identifier, vehicleType, attempt);
+        if (status == ParkingStatus.FULL) {
             throw new ParkingUnavailableException("No available spots for vehicle: " + identifier);
+        } else if (status == ParkingStatus.CONFLICT) {
+            throw new DoubleParkingException("Spots chosen for vehicle " + identifier + " were already taken");
         }
 
-        return parkingSpots.get(0);
+        return attempt.getSpot();
+    }
+
+    /**
+     * Attempts to park a vehicle without raising an exception when the lot is full.
+     * Callers on a hot path can reuse one {@code attempt} for every call; after the call
+     * {@link ParkingAttempt#getSpot()} is the primary spot, or {@code null} if the lot was full.
+     *
+     * @param identifier  unique vehicle identifier
+     * @param vehicleType type of the vehicle (MOTORCYCLE, CAR, VAN)
+     * @param attempt     receives the status and the vehicle's spots
+     * @return {@link ParkingStatus#OK}, {@link ParkingStatus#FULL}, {@link ParkingStatus#ALREADY_PARKED}
+     *         or {@link ParkingStatus#CONFLICT}
+     */
+    public ParkingStatus tryParkVehicle(String identifier, VehicleType vehicleType, ParkingAttempt attempt) {
+        long start = metrics.startTimer();
+        ParkingStatus status = parkingLotAdmin.tryPark(identifier, vehicleType, attempt);
+        metrics.recordPark(vehicleType, status, start);
+        recordOutcome(vehicleType, status, attempt.getSpots());
+        return status;
+    }
+
+    /**
+     * Parks a batch of vehicles, e.g. arrivals buffered by a gate controller.
+     * Vehicles that cannot be parked are reported in their result instead of
+     * raising an exception, so one full spot type does not stop the batch.
+     *
+     * @param vehicles the vehicles to park, in arrival order
+     * @return one result per vehicle, in the same order as {@code vehicles}
+     */
+    public List<ParkingResult> parkVehicles(List<Vehicle> vehicles) {
+        List<ParkingResult> results = parkingLotAdmin.parkVehicles(vehicles);
+        for (int i = 0; i < results.size(); i++) {
+            VehicleType vehicleType = vehicles.get(i).getType();
+            ParkingResult result = results.get(i);
+            metrics.recordPark(vehicleType, result.getStatus());
+            recordOutcome(vehicleType, result.getStatus(), result.getSpots());
+        }
+        return results;
     }
 
     /**
@@ -65,15 +202,76 @@ public class ParkingLot {
      * @param identifier unique vehicle identifier
      */
     public void removeVehicle(String identifier) {
-        parkingLotAdmin.removeVehicle(identifier);
+        long start = metrics.startTimer();
+        VehicleType removed = parkingLotAdmin.removeVehicle(identifier);
+        metrics.recordRemove(removed, start);
+    }
+
+    /**
+     * Removes a batch of vehicles, e.g. departures at shift change.
+     * Identifiers of vehicles that are not parked are ignored.
+     *
+     * @param identifiers unique vehicle identifiers
+     */
+    public void removeVehicles(Collection<String> identifiers) {
+        for (VehicleType removed : parkingLotAdmin.removeVehicles(identifiers)) {
+            metrics.recordRemove(removed);
+        }
+    }
+
+    /**
+     * Counts the fallbacks and fragmentation rejections of one park attempt.
+     */
+    private void recordOutcome(VehicleType vehicleType, ParkingStatus status, List<ParkingSpot> spots) {
+        if (status == ParkingStatus.OK && vehicleType == VehicleType.MOTORCYCLE
+                && spots.get(0).getSpotType() == ParkingSpotType.REGULAR) {
+            metrics.recordMotorcycleFallback();
+        } else if (status == ParkingStatus.FULL && vehicleType == VehicleType.VAN
+                && parkingLotAdmin.hasRoomFor(vehicleType)) {
+            // Enough regular spots are free, just not next to each other
+            metrics.recordVanFragmentationRejection();
+        }
     }
 
     /**
      * Prints a human-readable summary of the parking lot to standard output.
-     * Delegates the actual summary generation and formatting to the configured admin.
+     * Delegates the actual summary generation to the configured admin.
      */
     public void printLotSummary() {
-        parkingLotAdmin.printLotSummary();
+        LotSummaryPrinter.print(generateLotSummary());
+    }
+
+    /**
+     * Returns an immutable snapshot of the lot's occupancy, e.g. for a status display.
+     *
+     * @return snapshot summary object
+     */
+    public ParkingLotSummary generateLotSummary() {
+        long start = System.nanoTime();
+        ParkingLotSummary summary = parkingLotAdmin.generateLotSummary();
+        metrics.recordSummary(System.nanoTime() - start);
+        return summary;
+    }
+
+    /**
+     * Returns the same snapshot as {@link #generateLotSummary()}, recounted from the spots
+     * instead of read from the admin's counters, e.g. for a periodic audit. Costs a pass
+     * over the lot, so it is not recorded with the summary metrics.
+     *
+     * @return snapshot summary object
+     */
+    public ParkingLotSummary recountLotSummary() {
+        return parkingLotAdmin.recountLotSummary();
+    }
+
+    /**
+     * Returns the lot's hot-path metrics, to pull a {@link ParkingLotMetrics#snapshot() snapshot}
+     * or {@link ParkingLotMetrics#registerMBean register} them with JMX.
+     *
+     * @return the lot's metrics
+     */
+    public ParkingLotMetrics getMetrics() {
+        return metrics;
     }
 
     /**
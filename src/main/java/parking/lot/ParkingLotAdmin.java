@@ -1,12 +1,19 @@
 package parking.lot;
 
+import parking.domain.ParkingAttempt;
 import parking.domain.ParkingLotSummary;
+import parking.domain.ParkingResult;
 import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
 import parking.enums.ParkingSpotType;
+import parking.enums.ParkingStatus;
 import parking.enums.VehicleType;
 import parking.exception.DoubleParkingException;
 import parking.exception.ParkingUnavailableException;
+import parking.lot.strategy.CompatibilityTable;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -18,24 +25,116 @@ import java.util.Map;
  */
 public interface ParkingLotAdmin {
 
+    /**
+     * Attempts to park a vehicle without throwing when the lot has no room for it.
+     * When no spot type the vehicle may use has a free spot, the attempt is rejected
+     * from the availability counters without searching.
+     *
+     * @param identifier  the unique identifier of the vehicle
+     * @param vehicleType the type of the vehicle
+     * @param attempt     reusable holder that receives the status and the vehicle's spots
+     * @return {@link ParkingStatus#OK} if the vehicle was parked, {@link ParkingStatus#FULL} if no
+     *         suitable spots are available, {@link ParkingStatus#ALREADY_PARKED} if it was parked before,
+     *         or {@link ParkingStatus#CONFLICT} if a chosen spot had been taken outside the admin
+     */
+    ParkingStatus tryPark(String identifier, VehicleType vehicleType, ParkingAttempt attempt);
+
     /**
      * Attempts to park a vehicle in the lot based on its type and identifier.
+     * A vehicle that is already parked keeps its spots.
      *
      * @param identifier  the unique identifier of the vehicle
      * @param vehicleType the type of the vehicle
      * @return the list of parking spots assigned to the vehicle
-     * @throws DoubleParkingException     if the vehicle is already parked
+     * @throws DoubleParkingException     if a chosen spot was occupied outside the admin
      * @throws ParkingUnavailableException if no suitable spot is available
      */
-    List<ParkingSpot> parkVehicle(String identifier, VehicleType vehicleType)
-            throws DoubleParkingException, ParkingUnavailableException;
+    default List<ParkingSpot> parkVehicle(String identifier, VehicleType vehicleType)
+            throws DoubleParkingException, ParkingUnavailableException {
+        ParkingAttempt attempt = new ParkingAttempt();
+        ParkingStatus status = tryPark(identifier, vehicleType, attempt);
+        if (status == ParkingStatus.FULL) {
+            throw new ParkingUnavailableException("No available spots for vehicle: " + identifier);
+        } else if (status == ParkingStatus.CONFLICT) {
+            throw new DoubleParkingException("Spots chosen for vehicle " + identifier + " were already taken");
+        }
+        return attempt.getSpots();
+    }
 
     /**
      * Removes a vehicle from the lot using its identifier.
      *
      * @param identifier the unique identifier of the vehicle to remove
+     * @return the type of the removed vehicle, or {@code null} if it was not parked
      */
-    void removeVehicle(String identifier);
+    VehicleType removeVehicle(String identifier);
+
+    /**
+     * Checks the free counts for enough free spots of a type the vehicle may use,
+     * without searching. A vehicle spanning several spots may still be rejected when the
+     * free spots are not adjacent.
+     *
+     * @param vehicleType type of the vehicle
+     * @return false if the vehicle certainly cannot be parked
+     */
+    default boolean hasRoomFor(VehicleType vehicleType) {
+        CompatibilityTable table = compatibility();
+        for (int candidate = table.candidateStart(vehicleType); candidate < table.candidateEnd(vehicleType); candidate++) {
+            if (availableSpots(table.spotType(candidate)) >= table.span(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the number of free spots of a type from the admin's counters or index,
+     * without scanning the spots.
+     *
+     * @param spotType the spot type
+     * @return free spots of that type, 0 if the lot has none
+     */
+    long availableSpots(ParkingSpotType spotType);
+
+    /**
+     * @return the spots each vehicle type may park in
+     */
+    default CompatibilityTable compatibility() {
+        return CompatibilityTable.DEFAULT;
+    }
+
+    /**
+     * Parks a batch of vehicles, in order. A vehicle that cannot be parked does not stop
+     * the batch; its result simply has no spots. A vehicle that is already parked keeps
+     * its current spots.
+     *
+     * @param vehicles the vehicles to park
+     * @return one result per vehicle, in the same order as {@code vehicles}
+     */
+    default List<ParkingResult> parkVehicles(List<Vehicle> vehicles) {
+        List<ParkingResult> results = new ArrayList<>(vehicles.size());
+        ParkingAttempt attempt = new ParkingAttempt();
+        for (Vehicle vehicle : vehicles) {
+            ParkingStatus status = tryPark(vehicle.getIdentifier(), vehicle.getType(), attempt);
+            results.add(new ParkingResult(vehicle.getIdentifier(), status, attempt.getSpots()));
+        }
+        return results;
+    }
+
+    /**
+     * Removes a batch of vehicles. Identifiers of vehicles that are not parked are ignored.
+     *
+     * @param identifiers the identifiers of the vehicles to remove
+     * @return the type of each removed vehicle, in the iteration order of {@code identifiers},
+     *         or {@code null} for a vehicle that was not parked
+     */
+    default List<VehicleType> removeVehicles(Collection<String> identifiers) {
+        List<VehicleType> removed = new ArrayList<>(identifiers.size());
+        for (String identifier : identifiers) {
+            removed.add(removeVehicle(identifier));
+        }
+        return removed;
+    }
 
     /**
      * Retrieves all parking spots grouped by type.
@@ -62,4 +161,16 @@ public interface ParkingLotAdmin {
      * @return a ParkingLotSummary containing occupancy and availability information
      */
     ParkingLotSummary generateLotSummary();
+
+    /**
+     * Builds the same summary as {@link #generateLotSummary()} by recounting the spots
+     * instead of reading the counts the administrator keeps, e.g. to audit those counts.
+     * By default this is {@link #generateLotSummary()}, for administrators without a
+     * separate recount.
+     *
+     * @return snapshot summary object
+     */
+    default ParkingLotSummary recountLotSummary() {
+        return generateLotSummary();
+    }
 }
@@ -1,31 +1,70 @@
 package parking.lot;
 
+import parking.domain.ParkingAttempt;
 import parking.domain.ParkingLotSummary;
+import parking.domain.ParkingResult;
 import parking.domain.ParkingSpot;
+import parking.domain.SpotOccupancyListener;
 import parking.domain.Vehicle;
 import parking.enums.ParkingSpotType;
+import parking.enums.ParkingStatus;
 import parking.enums.VehicleType;
 import parking.exception.DoubleParkingException;
 import parking.exception.IllegalSpotTypeException;
+import parking.exception.InvalidParkingSpotIdException;
 import parking.exception.ParkingUnavailableException;
+import parking.lot.index.IndexedSpotList;
+import parking.lot.index.VehicleIndex;
+import parking.lot.strategy.CompatibilityTable;
 import parking.lot.strategy.RegularCompactAllocationStrategy;
 import parking.lot.strategy.SpotAllocationStrategy;
+import parking.metrics.LotSummaryEvent;
+import parking.metrics.ParkVehicleEvent;
+import parking.metrics.RemoveVehicleEvent;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Parking lot administrator for lots with regular and compact spots.
  * Responsible for managing vehicle allocation, removal, and generating summaries.
+ * Park and remove calls and summaries are reported to Flight Recorder as
+ * {@link ParkVehicleEvent}, {@link RemoveVehicleEvent} and {@link LotSummaryEvent}.
+ *
+ * <p>Not thread-safe: an instance must be used by one thread at a time, e.g. behind
+ * the shard locks of a {@link ShardedLotAdmin}. {@link ConcurrentLotAdmin} serves many
+ * threads at once.</p>
  */
 public class RegularCompactLotAdmin implements ParkingLotAdmin {
+    private static final ParkingSpotType[] SPOT_TYPES = ParkingSpotType.values();
+    private static final int PARALLEL_RECOUNT_SPOTS = 1 << 16; // larger recounts are split among fork/join workers
+
+    // A vehicle's spots are one run of consecutive positions in one type's list, packed as
+    // position << RUN_POSITION_SHIFT | length << RUN_LENGTH_SHIFT | ParkingSpotType ordinal
+    private static final int RUN_LENGTH_SHIFT = 8;
+    private static final int RUN_POSITION_SHIFT = 16;
+    private static final int RUN_FIELD_MASK = 0xFF;
+    private static final long SCATTERED = Long.MAX_VALUE; // spots that are not one run, kept in scatteredSpots
+
     private final Map<ParkingSpotType, List<ParkingSpot>> parkingSpotTypeMap; // spots grouped by type
-    private final Map<String, List<ParkingSpot>> vehicleSpotsMap;   // vehicles mapped to allocated spots
+    private final VehicleIndex vehicleRuns;                         // vehicles mapped to the run of spots they hold
+    private final Map<String, List<ParkingSpot>> scatteredSpots;    // spots of vehicles marked SCATTERED
     private final SpotAllocationStrategy allocationStrategy;
+    private final LotLayout layout;
+    private final int firstRow;
+    private final int numOfRows;
+
+    // Occupancy kept up to date on every spot change, so summaries need no scan
+    private final IndexedSpotList[] spotLists;   // spots per type, by ParkingSpotType ordinal, null if none
+    private final long[] typeTotals;             // spots per type, by ParkingSpotType ordinal
+    private final long[] rowTotals;              // spots per 1-based row
+    private final OccupancyCounters counters;    // available spots per row and spots held by vans
 
     /**
      * Constructs a lot administrator with the given row configuration.
@@ -35,59 +74,286 @@ public class RegularCompactLotAdmin implements ParkingLotAdmin {
      * @throws IllegalSpotTypeException if the row sequence contains an invalid spot type
      */
     public RegularCompactLotAdmin(int numOfRows, String rowSequence) throws IllegalSpotTypeException {
+        this(LotLayout.uniform(numOfRows, rowSequence));
+    }
+
+    /**
+     * Constructs a lot administrator for the given layout, whose rows may differ.
+     *
+     * @param layout spot types of every row
+     */
+    public RegularCompactLotAdmin(LotLayout layout) {
+        this(layout, new RegularCompactAllocationStrategy());
+    }
+
+    /**
+     * Constructs a lot administrator for the given layout that can create each spot on
+     * first use instead of up front. With lazy spots, startup and heap grow with the
+     * spots the lot actually hands out, and a spot that is never used costs one bit;
+     * {@link #getSpotsByType()} still lists every spot, creating those it returns.
+     * Lazy spots are created without locking, so such an administrator must be used by
+     * one thread at a time, like every other instance of this class.
+     *
+     * @param layout     spot types of every row
+     * @param lazySpots  true to create each spot on first use
+     */
+    public RegularCompactLotAdmin(LotLayout layout, boolean lazySpots) {
+        this(layout, 1, layout.numOfRows(), new RegularCompactAllocationStrategy(), lazySpots);
+    }
+
+    /**
+     * Constructs a lot administrator that allocates spots with the given strategy.
+     *
+     * @param numOfRows          number of rows in the lot
+     * @param rowSequence        comma-separated list of spot types per row
+     * @param allocationStrategy strategy choosing the spots for each vehicle
+     * @throws IllegalSpotTypeException if the row sequence contains an invalid spot type
+     */
+    public RegularCompactLotAdmin(int numOfRows, String rowSequence, SpotAllocationStrategy allocationStrategy)
+            throws IllegalSpotTypeException {
+        this(LotLayout.uniform(numOfRows, rowSequence), allocationStrategy);
+    }
+
+    /**
+     * Constructs a lot administrator for the given layout that allocates spots with the
+     * given strategy, e.g. a {@link parking.lot.strategy.RegularCompactAllocationStrategy}
+     * built with a {@link CompatibilityTable} of its own.
+     *
+     * @param layout             spot types of every row
+     * @param allocationStrategy strategy choosing the spots for each vehicle
+     */
+    public RegularCompactLotAdmin(LotLayout layout, SpotAllocationStrategy allocationStrategy) {
+        this(layout, 1, layout.numOfRows(), allocationStrategy, false);
+    }
+
+    /**
+     * Constructs an administrator for a block of consecutive rows of a larger lot,
+     * e.g. one shard of a {@link ShardedLotAdmin}. Spots and summaries use the
+     * lot-wide row numbers. Rows of large blocks are built in parallel on the common
+     * fork/join pool; the spots end up in the same order as when built row by row.
+     * Lazy spots are not built at all until first used.
+     *
+     * @param layout             spot types of every row of the lot
+     * @param firstRow           lot-wide number of the block's first row
+     * @param numOfRows          number of rows in the block
+     * @param allocationStrategy strategy choosing the spots for each vehicle
+     * @param lazySpots          true to create each spot on first use
+     */
+    RegularCompactLotAdmin(LotLayout layout, int firstRow, int numOfRows, SpotAllocationStrategy allocationStrategy,
+                           boolean lazySpots) {
         this.parkingSpotTypeMap = new HashMap<>();
-        this.vehicleSpotsMap = new HashMap<>();
-        this.allocationStrategy = new RegularCompactAllocationStrategy();
+        this.vehicleRuns = new VehicleIndex();
+        this.scatteredSpots = new HashMap<>();
+        this.allocationStrategy = allocationStrategy;
+        this.layout = layout;
+        this.firstRow = firstRow;
+        this.numOfRows = numOfRows;
 
-        String[] spotArrangement = rowSequence.split(",");
-        ParkingSpotType[] validSpotArrangement = new ParkingSpotType[spotArrangement.length];
-        for (int i = 0; i < spotArrangement.length; i++) {
-            try {
-                validSpotArrangement[i] = ParkingSpotType.valueOf(spotArrangement[i].strip());
-            } catch (IllegalArgumentException e) {
-                throw new IllegalSpotTypeException("Invalid spot type in row sequence: " + spotArrangement[i], e);
+        this.spotLists = new IndexedSpotList[SPOT_TYPES.length];
+        this.typeTotals = new long[SPOT_TYPES.length];
+        this.rowTotals = new long[Math.max(numOfRows, 0) + 1];
+        this.counters = new OccupancyCounters(firstRow, rowTotals.length);
+
+        // Size each type's array from the layout, so every spot has a known position in it
+        int lastRow = firstRow + Math.max(numOfRows, 0);
+        ParkingSpot[][] spotsByType = new ParkingSpot[SPOT_TYPES.length][];
+        for (ParkingSpotType spotType : SPOT_TYPES) {
+            long typeTotal = layout.typeSpotsBefore(lastRow, spotType) - layout.typeSpotsBefore(firstRow, spotType);
+            if (typeTotal > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Too many " + spotType + " spots for one lot admin: " + typeTotal);
             }
+            typeTotals[spotType.ordinal()] = typeTotal;
         }
 
-        // Build all parking spots row by row
-        for (int row = 1; row <= numOfRows; row++) {
-            for (int col = 0; col < validSpotArrangement.length; col++) {
-                ParkingSpotType spotType = validSpotArrangement[col];
-                String spotId = String.format("R%d-%d", row, col + 1);
-                ParkingSpot spot = new ParkingSpot(spotId, spotType);
-                parkingSpotTypeMap
-                        .computeIfAbsent(spotType, k -> new ArrayList<>())
-                        .add(spot);
+        if (lazySpots) {
+            // Only the row counters are filled now; each list creates its spots from the layout
+            for (int row = firstRow; row < lastRow; row++) {
+                rowTotals[row - firstRow + 1] = layout.rowWidth(row);
+            }
+            for (ParkingSpotType spotType : SPOT_TYPES) {
+                long before = layout.typeSpotsBefore(firstRow, spotType);
+                int typeTotal = (int) typeTotals[spotType.ordinal()];
+                if (typeTotal > 0) {
+                    IndexedSpotList spots = IndexedSpotList.lazy(typeTotal,
+                            position -> layout.spotAt(spotType, before + position),
+                            layout.typeRows(spotType, firstRow, numOfRows), counters);
+                    spotLists[spotType.ordinal()] = spots;
+                    parkingSpotTypeMap.put(spotType, spots);
+                }
             }
+            System.arraycopy(rowTotals, 0, counters.rowAvailable, 0, rowTotals.length);
+            return;
         }
+        for (ParkingSpotType spotType : SPOT_TYPES) {
+            spotsByType[spotType.ordinal()] = new ParkingSpot[(int) typeTotals[spotType.ordinal()]];
+        }
+
+        // Build the rows in parallel; each block of rows fills its own slice of the arrays,
+        // so spot order is the same as building row by row
+        new RowBuilder(layout, firstRow, spotsByType, rowTotals, firstRow, lastRow).invoke();
+
+        // Index each type's spots so free spots can be found without scanning
+        for (ParkingSpotType spotType : SPOT_TYPES) {
+            ParkingSpot[] spots = spotsByType[spotType.ordinal()];
+            if (spots.length > 0) {
+                spotLists[spotType.ordinal()] = IndexedSpotList.of(spots, counters);
+                parkingSpotTypeMap.put(spotType, spotLists[spotType.ordinal()]);
+            }
+        }
+        System.arraycopy(rowTotals, 0, counters.rowAvailable, 0, rowTotals.length);
     }
 
     /**
-     * Parks a vehicle if suitable spots are available.
+     * Creates the spots of a range of rows, splitting it among fork/join workers when it is large.
+     */
+    private static final class RowBuilder extends RecursiveAction {
+        private static final long SPOTS_PER_TASK = 1 << 14;
+
+        private final LotLayout layout;
+        private final int blockFirstRow;     // lot-wide number of the admin's first row
+        private final ParkingSpot[][] spotsByType;
+        private final long[] rowTotals;      // by row within the block, 1-based
+        private final int from;              // first lot-wide row to build
+        private final int to;                // lot-wide row after the last to build
+
+        RowBuilder(LotLayout layout, int blockFirstRow, ParkingSpot[][] spotsByType, long[] rowTotals, int from, int to) {
+            this.layout = layout;
+            this.blockFirstRow = blockFirstRow;
+            this.spotsByType = spotsByType;
+            this.rowTotals = rowTotals;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && spotCount() > SPOTS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RowBuilder(layout, blockFirstRow, spotsByType, rowTotals, from, middle),
+                        new RowBuilder(layout, blockFirstRow, spotsByType, rowTotals, middle, to));
+                return;
+            }
+            int[] next = new int[SPOT_TYPES.length]; // position of the next spot of each type
+            for (ParkingSpotType spotType : SPOT_TYPES) {
+                next[spotType.ordinal()] = (int) (layout.typeSpotsBefore(from, spotType)
+                        - layout.typeSpotsBefore(blockFirstRow, spotType));
+            }
+            for (int row = from; row < to; row++) {
+                ParkingSpotType[] validSpotArrangement = layout.row(row);
+                rowTotals[row - blockFirstRow + 1] = validSpotArrangement.length;
+                for (int col = 0; col < validSpotArrangement.length; col++) {
+                    int type = validSpotArrangement[col].ordinal();
+                    spotsByType[type][next[type]++] = new ParkingSpot(row, col + 1, validSpotArrangement[col]);
+                }
+            }
+        }
+
+        private long spotCount() {
+            long spots = 0;
+            for (ParkingSpotType spotType : SPOT_TYPES) {
+                spots += layout.typeSpotsBefore(to, spotType) - layout.typeSpotsBefore(from, spotType);
+            }
+            return spots;
+        }
+    }
+
+    /**
+     * Counts the available spots per row and the spots held by vans. Every spot is bound
+     * to it through its type's list, so a vehicle assigned to or removed from a spot
+     * directly is counted the same as one parked through the admin. A separate object
+     * rather than the admin, so the constructor never hands out {@code this}.
+     */
+    private static final class OccupancyCounters implements SpotOccupancyListener {
+        private final int firstRow;     // lot-wide number of the admin's first row
+        final long[] rowAvailable;      // available spots per 1-based row within the block
+        long vanSpots;                  // spots occupied by vans
+
+        OccupancyCounters(int firstRow, int rowSlots) {
+            this.firstRow = firstRow;
+            this.rowAvailable = new long[rowSlots];
+        }
+
+        @Override
+        public void onOccupied(ParkingSpot spot, int position, Vehicle vehicle) {
+            count(spot, vehicle, -1);
+        }
+
+        @Override
+        public void onReleased(ParkingSpot spot, int position, Vehicle vehicle) {
+            count(spot, vehicle, 1);
+        }
+
+        /**
+         * @param delta +1 when the spot became available, -1 when it became occupied
+         */
+        private void count(ParkingSpot spot, Vehicle vehicle, int delta) {
+            rowAvailable[spot.getRow() - firstRow + 1] += delta;
+            if (vehicle != null && vehicle.getType() == VehicleType.VAN) {
+                vanSpots -= delta;
+            }
+        }
+    }
+
+    /**
+     * Parks a vehicle if suitable spots are available, without raising an exception when
+     * it does not fit. The free counts are checked first, so a lot without a
+     * suitable spot type answers {@link ParkingStatus#FULL} without a search.
+     *
+     * <p>All spots chosen for the vehicle are claimed together or not at all. If the
+     * strategy chose a spot that was already taken, the attempt ends with
+     * {@link ParkingStatus#CONFLICT} and no spot claimed.</p>
      *
      * @param identifier  unique vehicle identifier
      * @param vehicleType type of the vehicle
-     * @return list of allocated spots, or {@code null} if none were available
-     * @throws DoubleParkingException     if the vehicle is already parked
-     * @throws ParkingUnavailableException if no suitable spot can be found
+     * @param attempt     receives the status and the vehicle's spots
+     * @return the status of the attempt
      */
     @Override
-    public List<ParkingSpot> parkVehicle(String identifier, VehicleType vehicleType)
-            throws DoubleParkingException, ParkingUnavailableException {
-        if (vehicleSpotsMap.containsKey(identifier)) {
-            return vehicleSpotsMap.get(identifier);
+    public ParkingStatus tryPark(String identifier, VehicleType vehicleType, ParkingAttempt attempt) {
+        ParkVehicleEvent event = new ParkVehicleEvent();
+        event.begin();
+
+        long run = vehicleRuns.get(identifier);
+        ParkingStatus status;
+        if (run != VehicleIndex.ABSENT) {
+            status = attempt.record(ParkingStatus.ALREADY_PARKED, spotsOf(identifier, run));
+        } else if (!hasRoomFor(vehicleType)) {
+            status = attempt.record(ParkingStatus.FULL, Collections.emptyList());
+        } else {
+            List<ParkingSpot> spots = allocate(new Vehicle(identifier, vehicleType), event.isEnabled() ? event : null);
+            status = spots == null
+                    ? attempt.record(ParkingStatus.CONFLICT, Collections.emptyList())
+                    : attempt.record(spots.isEmpty() ? ParkingStatus.FULL : ParkingStatus.OK, spots);
         }
 
-        Vehicle vehicle = new Vehicle(identifier, vehicleType);
-        List<ParkingSpot> parkingSpots = allocationStrategy.findParkingSpot(vehicle, parkingSpotTypeMap);
+        event.end(identifier, vehicleType, status, attempt.getSpots(),
+                availableSpots(ParkingSpotType.REGULAR), availableSpots(ParkingSpotType.COMPACT));
+        return status;
+    }
 
+    /**
+     * Finds and claims spots for a vehicle that is not parked yet. Only one thread uses
+     * the admin at a time, so the spots the strategy finds free are still free when they
+     * are claimed; a claim only fails when the strategy chose a spot that is taken.
+     *
+     * @param event park event to count the search in, or {@code null} if not recorded
+     * @return the claimed spots, an empty list if no suitable spots are available, or
+     *         {@code null} if the strategy chose a spot that was already taken; no spot is then left claimed
+     */
+    private List<ParkingSpot> allocate(Vehicle vehicle, ParkVehicleEvent event) {
+        List<ParkingSpot> parkingSpots = allocationStrategy.findParkingSpot(vehicle, parkingSpotTypeMap);
+        if (event != null) {
+            event.searched(parkingSpots.size());
+        }
         if (parkingSpots.isEmpty()) {
-            throw new ParkingUnavailableException("No available spots for vehicle: " + identifier);
+            return parkingSpots;
         }
-        for (ParkingSpot parkingSpot : parkingSpots) {
-            parkingSpot.assignVehicle(vehicle);
+        try {
+            ParkingSpot.claimAll(parkingSpots, vehicle);
+        } catch (DoubleParkingException e) {
+            return null;
         }
-        vehicleSpotsMap.put(identifier, parkingSpots);
+        track(vehicle.getIdentifier(), parkingSpots);
         return parkingSpots;
     }
 
@@ -95,13 +361,195 @@ public class RegularCompactLotAdmin implements ParkingLotAdmin {
      * Removes a vehicle and frees its allocated spots.
      *
      * @param identifier vehicle identifier
+     * @return the type of the removed vehicle, or {@code null} if it was not parked
+     */
+    @Override
+    public VehicleType removeVehicle(String identifier) {
+        RemoveVehicleEvent event = new RemoveVehicleEvent();
+        event.begin();
+
+        long run = vehicleRuns.remove(identifier);
+        List<ParkingSpot> usedSpots = null;
+        VehicleType vehicleType = null;
+        if (run != VehicleIndex.ABSENT) {
+            usedSpots = run == SCATTERED ? scatteredSpots.remove(identifier) : spotsOf(identifier, run);
+            vehicleType = usedSpots.get(0).getVehicleType();
+            for (ParkingSpot usedSpot : usedSpots) {
+                usedSpot.removeVehicle();
+            }
+        }
+
+        event.end(identifier, vehicleType, usedSpots);
+        return vehicleType;
+    }
+
+    /**
+     * Parks a batch of vehicles without raising an exception per rejected vehicle.
+     *
+     * <p>With a {@link SpotAllocationStrategy#isFirstFit() first-fit} strategy the batch is
+     * parked one vehicle type at a time, in the order the types first appear in it, and
+     * each spot type's free index is walked once for the whole batch. Nothing is freed
+     * while the batch runs, so the next single spot of a type is searched from just after
+     * the previous one, and a candidate found full is not searched again for the rest of
+     * the vehicle type. Vehicles of one type get the spots they would get if parked one by
+     * one in batch order. Other strategies are asked for every vehicle in turn.</p>
+     *
+     * @param vehicles the vehicles to park
+     * @return one result per vehicle, in the same order as {@code vehicles}
+     */
+    @Override
+    public List<ParkingResult> parkVehicles(List<Vehicle> vehicles) {
+        if (!allocationStrategy.isFirstFit()) {
+            return ParkingLotAdmin.super.parkVehicles(vehicles);
+        }
+        ParkingResult[] results = new ParkingResult[vehicles.size()];
+        int[] nextFree = new int[SPOT_TYPES.length]; // per type, no single spot before it is free
+        for (int i = 0; i < vehicles.size(); i++) {
+            if (results[i] == null) {
+                // First vehicle of a type the batch has not parked yet
+                parkVehicleType(vehicles, i, nextFree, results);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Parks the vehicles of a batch that have the type of the vehicle at {@code first},
+     * trying each candidate of the type until it is full.
+     *
+     * @param nextFree per spot type, the position to search for the next single spot from
+     * @param results  receives the result of each vehicle of the type
+     */
+    private void parkVehicleType(List<Vehicle> vehicles, int first, int[] nextFree, ParkingResult[] results) {
+        VehicleType vehicleType = vehicles.get(first).getType();
+        CompatibilityTable compatibility = allocationStrategy.getCompatibility();
+        int candidate = compatibility.candidateStart(vehicleType);
+        int end = compatibility.candidateEnd(vehicleType);
+        for (int i = first; i < vehicles.size(); i++) {
+            Vehicle vehicle = vehicles.get(i);
+            if (vehicle.getType() != vehicleType) continue;
+            ParkVehicleEvent event = new ParkVehicleEvent();
+            event.begin();
+
+            String identifier = vehicle.getIdentifier();
+            long run = vehicleRuns.get(identifier);
+            List<ParkingSpot> spots;
+            ParkingStatus status = ParkingStatus.ALREADY_PARKED;
+            if (run != VehicleIndex.ABSENT) {
+                spots = spotsOf(identifier, run);
+            } else {
+                spots = Collections.emptyList();
+                while (candidate < end && (spots = firstFreeSpots(compatibility.spotType(candidate),
+                        compatibility.span(candidate), nextFree)).isEmpty()) {
+                    candidate++;
+                }
+                status = ParkingStatus.FULL;
+                if (!spots.isEmpty()) {
+                    try {
+                        ParkingSpot.claimAll(spots, vehicle);
+                        track(identifier, spots);
+                        status = ParkingStatus.OK;
+                    } catch (DoubleParkingException e) {
+                        spots = Collections.emptyList();
+                        status = ParkingStatus.CONFLICT;
+                    }
+                }
+            }
+            results[i] = new ParkingResult(identifier, status, spots);
+
+            event.end(identifier, vehicleType, status, spots,
+                    availableSpots(ParkingSpotType.REGULAR), availableSpots(ParkingSpotType.COMPACT));
+        }
+    }
+
+    /**
+     * Finds the first free spot of a type at or after {@code nextFree}, and moves
+     * {@code nextFree} past it, or the first run of {@code span} adjacent free spots.
+     *
+     * @return the spots, not claimed yet, or an empty list if none are free
+     */
+    private List<ParkingSpot> firstFreeSpots(ParkingSpotType spotType, int span, int[] nextFree) {
+        IndexedSpotList spots = spotLists[spotType.ordinal()];
+        if (spots == null) {
+            return Collections.emptyList();
+        }
+        if (span > 1) {
+            try {
+                return spots.findAdjacentAvailable(span);
+            } catch (InvalidParkingSpotIdException e) {
+                throw new ParkingUnavailableException(e.getMessage(), e);
+            }
+        }
+        int position = spots.nextAvailableIndex(nextFree[spotType.ordinal()]);
+        nextFree[spotType.ordinal()] = position < 0 ? spots.size() : position + 1;
+        return position < 0 ? Collections.emptyList() : Collections.singletonList(spots.get(position));
+    }
+
+    /**
+     * @return available spots of a type, read from the type's free-spot index
      */
     @Override
-    public void removeVehicle(String identifier) {
-        List<ParkingSpot> usedSpots = vehicleSpotsMap.remove(identifier);
-        if (usedSpots != null) {
-            usedSpots.forEach(ParkingSpot::removeVehicle);
+    public long availableSpots(ParkingSpotType spotType) {
+        IndexedSpotList spots = spotLists[spotType.ordinal()];
+        return spots == null ? 0 : spots.availableCount();
+    }
+
+    /**
+     * @return the spots each vehicle type may park in, as used by the allocation strategy
+     */
+    @Override
+    public CompatibilityTable compatibility() {
+        return allocationStrategy.getCompatibility();
+    }
+
+    /**
+     * Lists the spots of a parked vehicle from its run.
+     *
+     * @param run the vehicle's entry in {@code vehicleRuns}
+     * @return the spots the vehicle holds
+     */
+    private List<ParkingSpot> spotsOf(String identifier, long run) {
+        if (run == SCATTERED) {
+            return scatteredSpots.get(identifier);
         }
+        IndexedSpotList spots = spotLists[(int) run & RUN_FIELD_MASK];
+        int first = (int) (run >>> RUN_POSITION_SHIFT);
+        int length = (int) (run >>> RUN_LENGTH_SHIFT) & RUN_FIELD_MASK;
+        return length == 1
+                ? Collections.singletonList(spots.get(first))
+                : Collections.unmodifiableList(spots.subList(first, first + length));
+    }
+
+    /**
+     * Records a newly parked vehicle. Spots found by the lot's own searches are always one
+     * run of a type and are packed into the vehicle's entry; other spots a strategy may
+     * choose are kept as they are.
+     */
+    private void track(String identifier, List<ParkingSpot> spots) {
+        long run = runOf(spots);
+        if (run == SCATTERED) {
+            scatteredSpots.put(identifier, spots);
+        }
+        vehicleRuns.put(identifier, run);
+    }
+
+    /**
+     * @return the spots packed into one value, or {@link #SCATTERED} if they are not
+     *         consecutive positions of one of this lot's type lists
+     */
+    private long runOf(List<ParkingSpot> spots) {
+        ParkingSpot first = spots.get(0);
+        IndexedSpotList list = spotLists[first.getSpotType().ordinal()];
+        int position = first.getPosition();
+        if (list == null || spots.size() > RUN_FIELD_MASK || position < 0 || position + spots.size() > list.size()) {
+            return SCATTERED;
+        }
+        for (int i = 0; i < spots.size(); i++) {
+            if (list.get(position + i) != spots.get(i)) {
+                return SCATTERED;
+            }
+        }
+        return (long) position << RUN_POSITION_SHIFT | (long) spots.size() << RUN_LENGTH_SHIFT | first.getSpotType().ordinal();
     }
 
     /**
@@ -113,10 +561,12 @@ public class RegularCompactLotAdmin implements ParkingLotAdmin {
     }
 
     /**
-     * @return unmodifiable view of vehicles mapped to their allocated spots
+     * @return unmodifiable snapshot of vehicles mapped to their allocated spots
      */
     @Override
     public Map<String, List<ParkingSpot>> getVehicleSpotsMap() {
+        Map<String, List<ParkingSpot>> vehicleSpotsMap = new HashMap<>();
+        vehicleRuns.forEach((identifier, run) -> vehicleSpotsMap.put(identifier, spotsOf(identifier, run)));
         return Collections.unmodifiableMap(vehicleSpotsMap);
     }
 
@@ -129,77 +579,174 @@ public class RegularCompactLotAdmin implements ParkingLotAdmin {
      */
     @Override
     public void printLotSummary() {
-        ParkingLotSummary summary = generateLotSummary();
+        LotSummaryPrinter.print(generateLotSummary());
+    }
 
-        System.out.println("=== Parking Lot Summary ===");
-        System.out.printf("Overall -> Total: %d, Available: %d, Occupied: %d%n",
-                summary.getTotalSpots(), summary.getAvailableSpots(), summary.getOccupiedSpots());
+    /**
+     * Builds an immutable summary of the lot's current state from the free-spot indexes
+     * and the occupancy counters.
+     * Costs O(rows + types) regardless of the number of spots.
+     *
+     * @return snapshot summary object
+     */
+    @Override
+    public ParkingLotSummary generateLotSummary() {
+        if (parkingSpotTypeMap == null || parkingSpotTypeMap.isEmpty()) {
+            return new ParkingLotSummary(0, 0, 0, Collections.emptyMap(), true, true, 0, Collections.emptyMap());
+        }
+        LotSummaryEvent event = new LotSummaryEvent();
+        event.begin();
 
-        summary.getByType().forEach((type, status) ->
-                System.out.printf("[%s] -> Total: %d, Available: %d, Occupied: %d%n",
-                        type, status.getTotal(), status.getAvailable(), status.getOccupied()));
+        Map<ParkingSpotType, ParkingLotSummary.SpotTypeStatus> byType = new HashMap<>();
+        long total = 0, available = 0;
+        for (ParkingSpotType type : parkingSpotTypeMap.keySet()) {
+            long typeTotal = typeTotals[type.ordinal()];
+            long typeFree = availableSpots(type);
+            total += typeTotal;
+            available += typeFree;
+            byType.put(type, new ParkingLotSummary.SpotTypeStatus(typeTotal, typeFree, typeTotal - typeFree));
+        }
 
-        System.out.println("Lot full? " + summary.isFull());
-        System.out.println("Lot empty? " + summary.isEmpty());
-        System.out.println("Vans parked: " + summary.getVanCount());
+        Map<String, ParkingLotSummary.RowStatus> byRow = new LinkedHashMap<>();
+        long[] rowAvailable = counters.rowAvailable;
+        for (int row = 1; row <= numOfRows; row++) {
+            byRow.put("R" + (firstRow + row - 1), new ParkingLotSummary.RowStatus(rowTotals[row], rowAvailable[row], rowTotals[row] - rowAvailable[row]));
+        }
 
-        System.out.println("=== Row Summary ===");
-        summary.getByRow().forEach((row, status) ->
-                System.out.printf("%s -> Total: %d, Available: %d, Occupied: %d%n",
-                        row, status.getTotal(), status.getAvailable(), status.getOccupied()));
+        long occupied = total - available;
+        ParkingLotSummary summary = new ParkingLotSummary(total, available, occupied, byType, available == 0, occupied == 0, counters.vanSpots, byRow);
+        event.end(false, summary, 2L * byType.size() + numOfRows);
+        return summary;
     }
 
     /**
-     * Builds an immutable summary of the lot's current state.
+     * Builds the same summary as {@link #generateLotSummary()} by recounting every spot
+     * instead of reading the counters. Intended for audits of the counters. Available
+     * spots are counted a word at a time in each type's free-spot index and only occupied
+     * spots are read, so spots that are created lazily are counted without being created
+     * and no object is allocated per spot.
+     *
+     * <p>Lots with more than {@value #PARALLEL_RECOUNT_SPOTS} spots are recounted in
+     * blocks of rows on the common fork/join pool. Each block counts into its own
+     * counters, and the rows of different blocks never overlap.</p>
      *
      * @return snapshot summary object
      */
     @Override
-    public ParkingLotSummary generateLotSummary() {
+    public ParkingLotSummary recountLotSummary() {
         if (parkingSpotTypeMap == null || parkingSpotTypeMap.isEmpty()) {
             return new ParkingLotSummary(0, 0, 0, Collections.emptyMap(), true, true, 0, Collections.emptyMap());
         }
+        LotSummaryEvent event = new LotSummaryEvent();
+        event.begin();
+
+        long[] recountedTotals = new long[numOfRows + 1];
+        long[] recountedAvailable = new long[numOfRows + 1];
+        RecountCounts counts = new RowRecounter(this, recountedTotals, recountedAvailable, 1, numOfRows + 1).invoke();
 
         Map<ParkingSpotType, ParkingLotSummary.SpotTypeStatus> byType = new HashMap<>();
+        long total = 0, available = 0;
+        for (ParkingSpotType type : parkingSpotTypeMap.keySet()) {
+            long typeTotal = counts.typeTotals[type.ordinal()];
+            long typeFree = counts.typeAvailable[type.ordinal()];
+            total += typeTotal;
+            available += typeFree;
+            byType.put(type, new ParkingLotSummary.SpotTypeStatus(typeTotal, typeFree, typeTotal - typeFree));
+        }
+
+        // Row summary, including rows without spots as generateLotSummary does
         Map<String, ParkingLotSummary.RowStatus> byRow = new LinkedHashMap<>();
-        long total = 0, available = 0, occupied = 0, vanCount = 0;
-
-        for (Map.Entry<ParkingSpotType, List<ParkingSpot>> entry : parkingSpotTypeMap.entrySet()) {
-            ParkingSpotType type = entry.getKey();
-            List<ParkingSpot> spots = entry.getValue();
-            if (spots == null) continue;
-
-            long typeTotal = 0, typeAvailable = 0;
-            for (ParkingSpot spot : spots) {
-                if (spot == null) continue;
-                total++;
-                typeTotal++;
-                String spotId = spot.getParkingSpotId();
-                String row = (spotId != null && spotId.contains("-")) ? spotId.split("-")[0] : "UNKNOWN";
-
-                boolean isAvail = spot.isAvailable();
-                if (isAvail) {
-                    available++;
-                    typeAvailable++;
-                } else {
-                    occupied++;
-                    if (spot.getVehicleType() == VehicleType.VAN) vanCount++;
-                }
+        for (int row = 1; row <= numOfRows; row++) {
+            byRow.put("R" + (firstRow + row - 1), new ParkingLotSummary.RowStatus(recountedTotals[row], recountedAvailable[row],
+                    recountedTotals[row] - recountedAvailable[row]));
+        }
 
-                // Row summary
-                ParkingLotSummary.RowStatus rowStatus = byRow.getOrDefault(row, new ParkingLotSummary.RowStatus(0, 0, 0));
-                long rowTotal = rowStatus.getTotal() + 1;
-                long rowAvailable = rowStatus.getAvailable() + (isAvail ? 1 : 0);
-                long rowOccupied = rowTotal - rowAvailable;
-                byRow.put(row, new ParkingLotSummary.RowStatus(rowTotal, rowAvailable, rowOccupied));
+        long occupied = total - available;
+        ParkingLotSummary summary = new ParkingLotSummary(total, available, occupied, byType, available == 0, occupied == 0, counts.vanSpots, byRow);
+        event.end(true, summary, total);
+        return summary;
+    }
+
+    /**
+     * Spot counts of one block of rows, added up as blocks finish.
+     */
+    private static final class RecountCounts {
+        final long[] typeTotals = new long[SPOT_TYPES.length];    // by ParkingSpotType ordinal
+        final long[] typeAvailable = new long[SPOT_TYPES.length]; // by ParkingSpotType ordinal
+        long vanSpots;
+
+        RecountCounts add(RecountCounts other) {
+            for (int type = 0; type < SPOT_TYPES.length; type++) {
+                typeTotals[type] += other.typeTotals[type];
+                typeAvailable[type] += other.typeAvailable[type];
             }
-            long typeOccupied = typeTotal - typeAvailable;
-            byType.put(type, new ParkingLotSummary.SpotTypeStatus(typeTotal, typeAvailable, typeOccupied));
+            vanSpots += other.vanSpots;
+            return this;
+        }
+    }
+
+    /**
+     * Recounts the spots of a range of rows, splitting it among fork/join workers when it is large.
+     */
+    private static final class RowRecounter extends RecursiveTask<RecountCounts> {
+        private final RegularCompactLotAdmin admin;
+        private final long[] rowTotals;      // by row within the block, 1-based
+        private final long[] rowAvailable;   // by row within the block, 1-based
+        private final int from;              // first row to count, within the block
+        private final int to;                // row after the last to count, within the block
+
+        RowRecounter(RegularCompactLotAdmin admin, long[] rowTotals, long[] rowAvailable, int from, int to) {
+            this.admin = admin;
+            this.rowTotals = rowTotals;
+            this.rowAvailable = rowAvailable;
+            this.from = from;
+            this.to = to;
         }
 
-        boolean isFull = available == 0;
-        boolean isEmpty = occupied == 0;
+        @Override
+        protected RecountCounts compute() {
+            if (to - from > 1 && spotCount(from, to) > PARALLEL_RECOUNT_SPOTS) {
+                int middle = (from + to) >>> 1;
+                RowRecounter second = new RowRecounter(admin, rowTotals, rowAvailable, middle, to);
+                second.fork();
+                RecountCounts counts = new RowRecounter(admin, rowTotals, rowAvailable, from, middle).compute();
+                return counts.add(second.join());
+            }
+            RecountCounts counts = new RecountCounts();
+            for (ParkingSpotType type : SPOT_TYPES) {
+                List<ParkingSpot> list = admin.parkingSpotTypeMap.get(type);
+                if (list == null) continue;
+                IndexedSpotList spots = (IndexedSpotList) list;
+                int t = type.ordinal();
+                long blockStart = admin.layout.typeSpotsBefore(admin.firstRow, type);
+                int position = (int) (admin.layout.typeSpotsBefore(admin.firstRow + from - 1, type) - blockStart);
+                for (int row = from; row < to; row++) {
+                    int rowEnd = (int) (admin.layout.typeSpotsBefore(admin.firstRow + row, type) - blockStart);
+                    rowTotals[row] += rowEnd - position;
+                    counts.typeTotals[t] += rowEnd - position;
+                    int free = spots.availableCount(position, rowEnd);
+                    rowAvailable[row] += free;
+                    counts.typeAvailable[t] += free;
+                    // occupied spots always exist, so reading them creates nothing
+                    for (int occupied = spots.nextOccupiedIndex(position, rowEnd); occupied >= 0;
+                         occupied = spots.nextOccupiedIndex(occupied + 1, rowEnd)) {
+                        if (spots.get(occupied).getVehicleType() == VehicleType.VAN) {
+                            counts.vanSpots++;
+                        }
+                    }
+                    position = rowEnd;
+                }
+            }
+            return counts;
+        }
 
-        return new ParkingLotSummary(total, available, occupied, byType, isFull, isEmpty, vanCount, byRow);
+        private long spotCount(int from, int to) {
+            long spots = 0;
+            for (ParkingSpotType spotType : SPOT_TYPES) {
+                spots += admin.layout.typeSpotsBefore(admin.firstRow + to - 1, spotType)
+                        - admin.layout.typeSpotsBefore(admin.firstRow + from - 1, spotType);
+            }
+            return spots;
+        }
     }
 }
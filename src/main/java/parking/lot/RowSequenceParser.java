@@ -0,0 +1,132 @@
+package parking.lot;
+
+import parking.enums.ParkingSpotType;
+import parking.exception.IllegalSpotTypeException;
+
+import java.util.Arrays;
+
+/**
+ * Parses the row sequences shared by the lot administrators.
+ *
+ * <p>A row sequence is a comma-separated list of spot types, each optionally followed by
+ * {@code *count} to repeat it, e.g. {@code "REGULAR, COMPACT"} or {@code "COMPACT*50,REGULAR*350"}.
+ * Whitespace around entries is ignored. The parser is fed one character at a time and
+ * keeps no copy of its input, so a layout can be parsed while it is streamed from a file;
+ * one parser can be reused for any number of rows.</p>
+ */
+final class RowSequenceParser {
+    private static final ParkingSpotType[] SPOT_TYPES = ParkingSpotType.values();
+    private static final int MAX_ROW_WIDTH = Integer.MAX_VALUE - 8;
+
+    private enum State { BEFORE_NAME, NAME, AFTER_NAME, BEFORE_COUNT, COUNT, AFTER_COUNT }
+
+    private final StringBuilder name = new StringBuilder(); // spot type of the current entry, reused
+    private ParkingSpotType[] row = new ParkingSpotType[16];
+    private int width;
+    private long count;
+    private State state = State.BEFORE_NAME;
+    private boolean afterComma;
+
+    /**
+     * Parses a row sequence into the spot type of each column.
+     *
+     * @param rowSequence comma-separated list of spot types per row (e.g., "REGULAR, COMPACT*3")
+     * @return spot type of each column, in order
+     * @throws IllegalSpotTypeException if the row sequence contains an invalid spot type or count
+     */
+    static ParkingSpotType[] parse(CharSequence rowSequence) throws IllegalSpotTypeException {
+        RowSequenceParser parser = new RowSequenceParser();
+        for (int i = 0; i < rowSequence.length(); i++) {
+            parser.accept(rowSequence.charAt(i));
+        }
+        return parser.finishRow();
+    }
+
+    /**
+     * Feeds the next character of the current row.
+     *
+     * @param c the character
+     * @throws IllegalSpotTypeException if the character cannot continue the row
+     */
+    void accept(char c) throws IllegalSpotTypeException {
+        if (c == ',') {
+            endEntry();
+            afterComma = true;
+        } else if (Character.isWhitespace(c)) {
+            if (state == State.NAME) {
+                state = State.AFTER_NAME;
+            } else if (state == State.COUNT) {
+                state = State.AFTER_COUNT;
+            }
+        } else if (c == '*') {
+            if (state != State.NAME && state != State.AFTER_NAME) {
+                throw new IllegalSpotTypeException("Invalid spot count in row sequence: '*' without a spot type");
+            }
+            state = State.BEFORE_COUNT;
+        } else if (state == State.BEFORE_COUNT || state == State.COUNT) {
+            if (c < '0' || c > '9') {
+                throw new IllegalSpotTypeException("Invalid spot count in row sequence: " + name + "*" + c);
+            }
+            count = count * 10 + (c - '0');
+            if (count > MAX_ROW_WIDTH) {
+                throw new IllegalSpotTypeException("Spot count too large in row sequence: " + name + "*" + count);
+            }
+            state = State.COUNT;
+        } else if (state == State.BEFORE_NAME || state == State.NAME) {
+            name.append(c);
+            state = State.NAME;
+        } else {
+            throw new IllegalSpotTypeException("Invalid spot type in row sequence: " + name + " " + c);
+        }
+    }
+
+    /**
+     * Ends the current row and resets the parser for the next one. As with the original
+     * comma-split format, one trailing comma is ignored.
+     *
+     * @return spot type of each column of the row, in order
+     * @throws IllegalSpotTypeException if the last entry is invalid or the row has no spots
+     */
+    ParkingSpotType[] finishRow() throws IllegalSpotTypeException {
+        if (!(state == State.BEFORE_NAME && afterComma && width > 0)) {
+            endEntry();
+        }
+        ParkingSpotType[] finished = Arrays.copyOf(row, width);
+        width = 0;
+        afterComma = false;
+        return finished;
+    }
+
+    private void endEntry() throws IllegalSpotTypeException {
+        if (state == State.BEFORE_COUNT) {
+            throw new IllegalSpotTypeException("Missing spot count in row sequence: " + name + "*");
+        }
+        ParkingSpotType spotType = lookup();
+        long repeat = state == State.COUNT || state == State.AFTER_COUNT ? count : 1;
+        if (repeat < 1) {
+            throw new IllegalSpotTypeException("Spot count must be positive in row sequence: " + name + "*" + repeat);
+        }
+        if (width + repeat > MAX_ROW_WIDTH) {
+            throw new IllegalSpotTypeException("Row too wide in row sequence: more than " + MAX_ROW_WIDTH + " spots");
+        }
+        int newWidth = width + (int) repeat;
+        if (newWidth > row.length) {
+            row = Arrays.copyOf(row, Math.max(newWidth, (int) Math.min(MAX_ROW_WIDTH, 2L * row.length)));
+        }
+        Arrays.fill(row, width, newWidth, spotType);
+        width = newWidth;
+
+        name.setLength(0);
+        count = 0;
+        state = State.BEFORE_NAME;
+    }
+
+    private ParkingSpotType lookup() throws IllegalSpotTypeException {
+        for (ParkingSpotType spotType : SPOT_TYPES) {
+            if (spotType.name().contentEquals(name)) {
+                return spotType;
+            }
+        }
+        throw new IllegalSpotTypeException("Invalid spot type in row sequence: " + name);
+    }
+}
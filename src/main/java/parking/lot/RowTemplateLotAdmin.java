@@ -0,0 +1,309 @@
+package parking.lot;
+
+import parking.domain.ParkingLotSummary;
+import parking.domain.ParkingSpot;
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+import parking.exception.IllegalSpotTypeException;
+import parking.lot.index.FreeSpotIndex;
+import parking.lot.index.UniformRowRunIndex;
+import parking.lot.strategy.CompatibilityTable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parking lot administrator for very large, mostly empty lots with regular and compact spots.
+ *
+ * <p>Every row shares the same layout, so it is stored once as a row template: a type
+ * byte and a bit in one type mask per column. A row only gets state of its own, an
+ * occupancy bitmap and the vehicle slot of each column, while at least one vehicle is
+ * parked in it. Per-type {@link FreeSpotIndex}es over rows, one bit per row, find the
+ * first row with a free spot of a type. Types that vehicles take in runs of adjacent
+ * spots also keep each row's longest free run in a {@link UniformRowRunIndex}, two ints
+ * per row, so the first row able to hold a run of any length is found in O(log rows).
+ * Construction therefore costs a few words per row, and the heap grows with the rows
+ * in use rather than with the number of spots. {@link ParkingSpot} objects are only created as views
+ * when a caller asks for them; assigning or removing a vehicle through a view updates
+ * the row state.</p>
+ *
+ * <p>Allocation follows the same rules as {@link parking.lot.strategy.RegularCompactAllocationStrategy}:
+ * each of the vehicle's candidates in a {@link CompatibilityTable} is tried in order and
+ * the first free spot, or run of adjacent spots, is taken.</p>
+ */
+public class RowTemplateLotAdmin extends UniformRowLotAdmin {
+    private final long[][] typeMasks;          // per type, bit col set when column col has that type
+
+    // Occupancy
+    private final RowState[] rows;             // state of each 0-based row, null while the row is empty
+    private final FreeSpotIndex[] rowsWithRoom; // per type, rows with at least one free spot of that type
+    private final UniformRowRunIndex[] rowRuns; // per type taken in runs, longest free run of each row, else null
+    private final int[] emptyRowRuns;          // per type, longest run of the type in a row without vehicles
+    private final long[] typeAvailable;        // available spots per type, by ordinal
+
+    /**
+     * Occupancy of one row with at least one parked vehicle.
+     */
+    private static final class RowState {
+        final long[] occupied;   // bit col set when column col is taken
+        final int[] occupants;   // vehicle slot of each column, or NO_VEHICLE
+        int occupiedCount;
+
+        RowState(int rowWidth) {
+            this.occupied = new long[wordCount(rowWidth)];
+            this.occupants = new int[rowWidth];
+            Arrays.fill(occupants, NO_VEHICLE);
+        }
+    }
+
+    /**
+     * Constructs a lot administrator with the given row configuration.
+     *
+     * @param numOfRows    number of rows in the lot
+     * @param rowSequence  comma-separated list of spot types per row (e.g., "REGULAR, COMPACT")
+     * @throws IllegalSpotTypeException if the row sequence contains an invalid spot type
+     * @throws IllegalArgumentException if the lot has more spots of one type than a list can hold
+     */
+    public RowTemplateLotAdmin(int numOfRows, String rowSequence) throws IllegalSpotTypeException {
+        this(LotLayout.uniform(numOfRows, rowSequence));
+    }
+
+    /**
+     * Constructs a lot administrator for the given layout. The layout is kept as a single
+     * row template, so every row must have the same spot types.
+     *
+     * @param layout spot types of every row
+     * @throws IllegalArgumentException if the rows differ, or the lot has more spots of one type than a list can hold
+     */
+    public RowTemplateLotAdmin(LotLayout layout) {
+        this(layout, CompatibilityTable.DEFAULT);
+    }
+
+    /**
+     * Constructs a lot administrator for the given layout that parks vehicles by the given rules.
+     * The layout is kept as a single row template, so every row must have the same spot types.
+     *
+     * @param layout        spot types of every row
+     * @param compatibility spots each vehicle type may take, in order of preference
+     * @throws IllegalArgumentException if the rows differ, or the lot has more spots of one type than a list can hold
+     */
+    public RowTemplateLotAdmin(LotLayout layout, CompatibilityTable compatibility) {
+        super(layout, compatibility);
+        int rowWidth = columnTypes.length;
+        this.typeMasks = new long[SPOT_TYPES.length][wordCount(rowWidth)];
+        for (int col = 0; col < rowWidth; col++) {
+            typeMasks[columnTypes[col]][col >>> 6] |= 1L << col;
+        }
+
+        this.rows = new RowState[numOfRows];
+        this.rowsWithRoom = new FreeSpotIndex[SPOT_TYPES.length];
+        this.typeAvailable = new long[SPOT_TYPES.length];
+        for (int type = 0; type < SPOT_TYPES.length; type++) {
+            long typeTotal = (long) numOfRows * typeColumns[type].length;
+            if (typeTotal > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Lot too large for row-template storage: " + typeTotal
+                        + " " + SPOT_TYPES[type] + " spots");
+            }
+            typeAvailable[type] = typeTotal;
+            rowsWithRoom[type] = new FreeSpotIndex(numOfRows);
+            if (typeColumns[type].length > 0) {
+                rowsWithRoom[type].markAllFree();
+            }
+        }
+        this.rowRuns = new UniformRowRunIndex[SPOT_TYPES.length];
+        this.emptyRowRuns = new int[SPOT_TYPES.length];
+        for (VehicleType vehicleType : VEHICLE_TYPES) {
+            int end = compatibility.candidateEnd(vehicleType);
+            for (int candidate = compatibility.candidateStart(vehicleType); candidate < end; candidate++) {
+                int type = compatibility.spotType(candidate).ordinal();
+                if (compatibility.span(candidate) > 1 && rowRuns[type] == null) {
+                    emptyRowRuns[type] = longestRun(null, type);
+                    rowRuns[type] = new UniformRowRunIndex(numOfRows,
+                            row -> rows[row] == null ? emptyRowRuns[type] : longestRun(rows[row], type));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return available spots of a type, read from the free counts
+     */
+    @Override
+    public long availableSpots(ParkingSpotType spotType) {
+        return typeAvailable[spotType.ordinal()];
+    }
+
+    // ===============================
+    // Query Lot Status
+    // ===============================
+
+    /**
+     * Builds an immutable summary of the lot's current state. Empty rows are counted
+     * from the template without touching any per-row state.
+     *
+     * @return snapshot summary object
+     */
+    @Override
+    public ParkingLotSummary generateLotSummary() {
+        int rowWidth = columnTypes.length;
+        if (numOfRows == 0 || rowWidth == 0) {
+            return new ParkingLotSummary(0, 0, 0, Collections.emptyMap(), true, true, 0, Collections.emptyMap());
+        }
+
+        Map<ParkingSpotType, ParkingLotSummary.SpotTypeStatus> byType = new HashMap<>();
+        long total = 0, available = 0;
+        for (int type = 0; type < SPOT_TYPES.length; type++) {
+            if (typeColumns[type].length == 0) continue;
+            long typeTotal = (long) numOfRows * typeColumns[type].length;
+            total += typeTotal;
+            available += typeAvailable[type];
+            byType.put(SPOT_TYPES[type], new ParkingLotSummary.SpotTypeStatus(typeTotal, typeAvailable[type], typeTotal - typeAvailable[type]));
+        }
+
+        Map<String, ParkingLotSummary.RowStatus> byRow = new LinkedHashMap<>();
+        for (int row = 0; row < numOfRows; row++) {
+            long rowOccupied = rows[row] == null ? 0 : rows[row].occupiedCount;
+            byRow.put("R" + (row + 1), new ParkingLotSummary.RowStatus(rowWidth, rowWidth - rowOccupied, rowOccupied));
+        }
+
+        long occupied = total - available;
+        return new ParkingLotSummary(total, available, occupied, byType, available == 0, occupied == 0, vanSpotCount(), byRow);
+    }
+
+    /**
+     * Finds the first free spot, or run of {@code span} adjacent free spots, of one type.
+     *
+     * @return the global index of the first spot, or -1 if none is available
+     */
+    @Override
+    long findSpots(int type, int span) {
+        if (span == 1) {
+            return findSingle(type);
+        }
+        int row = rowRuns[type] == null ? -1 : rowRuns[type].firstRowWithRun(span);
+        return row < 0 ? -1 : toSpot(row, findRun(rows[row], type, span));
+    }
+
+    private long findSingle(int type) {
+        int row = rowsWithRoom[type].firstFree();
+        if (row < 0) {
+            return -1;
+        }
+        RowState state = rows[row];
+        long[] mask = typeMasks[type];
+        for (int word = 0; word < mask.length; word++) {
+            long free = mask[word] & (state == null ? -1L : ~state.occupied[word]);
+            if (free != 0) {
+                return toSpot(row, (word << 6) + Long.numberOfTrailingZeros(free));
+            }
+        }
+        throw new IllegalStateException("Row " + (row + 1) + " is indexed as having a free " + SPOT_TYPES[type] + " spot");
+    }
+
+    /**
+     * Finds the first run of {@code length} adjacent free spots of one type in a row.
+     *
+     * @param state the row's state, or {@code null} for an empty row
+     * @return 0-based column of the run's first spot, or -1 if the row has no such run
+     */
+    private int findRun(RowState state, int type, int length) {
+        long[] mask = typeMasks[type];
+        int run = 0;
+        for (int col = 0; col < columnTypes.length; col++) {
+            long bit = 1L << col;
+            boolean free = (mask[col >>> 6] & bit) != 0 && (state == null || (state.occupied[col >>> 6] & bit) == 0);
+            run = free ? run + 1 : 0;
+            if (run == length) {
+                return col - length + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Measures the longest run of adjacent free spots of one type in a row.
+     *
+     * @param state the row's state, or {@code null} for an empty row
+     * @return number of spots in the longest run
+     */
+    private int longestRun(RowState state, int type) {
+        long[] mask = typeMasks[type];
+        int longest = 0;
+        int run = 0;
+        for (int col = 0; col < columnTypes.length; col++) {
+            long bit = 1L << col;
+            boolean free = (mask[col >>> 6] & bit) != 0 && (state == null || (state.occupied[col >>> 6] & bit) == 0);
+            run = free ? run + 1 : 0;
+            longest = Math.max(longest, run);
+        }
+        return longest;
+    }
+
+    /**
+     * Assigns {@code count} adjacent spots of a row to a vehicle slot, or frees them,
+     * and keeps the row indexes and free counts in step.
+     */
+    @Override
+    void setOccupants(long firstSpot, int count, int vehicleSlot) {
+        int row = (int) (firstSpot / columnTypes.length);
+        int firstCol = (int) (firstSpot % columnTypes.length);
+        RowState state = rows[row];
+        if (state == null) {
+            state = rows[row] = new RowState(columnTypes.length);
+        }
+        int delta = vehicleSlot == NO_VEHICLE ? 1 : -1;
+        int changedTypes = 0; // bit per type ordinal
+        for (int col = firstCol; col < firstCol + count; col++) {
+            state.occupants[col] = vehicleSlot;
+            state.occupied[col >>> 6] ^= 1L << col;
+            int type = columnTypes[col];
+            typeAvailable[type] += delta;
+            changedTypes |= 1 << type;
+        }
+        state.occupiedCount -= delta * count;
+
+        for (int type = 0; type < SPOT_TYPES.length; type++) {
+            if (typeColumns[type].length == 0) continue;
+            if (hasFree(state, type)) {
+                rowsWithRoom[type].markFree(row);
+            } else {
+                rowsWithRoom[type].markOccupied(row);
+            }
+        }
+        if (state.occupiedCount == 0) {
+            rows[row] = null;
+        }
+        for (int type = 0; type < SPOT_TYPES.length; type++) {
+            if (rowRuns[type] != null && (changedTypes & 1 << type) != 0) {
+                rowRuns[type].refreshRow(row);
+            }
+        }
+    }
+
+    private boolean hasFree(RowState state, int type) {
+        long[] mask = typeMasks[type];
+        for (int word = 0; word < mask.length; word++) {
+            if ((mask[word] & ~state.occupied[word]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long toSpot(int row, int col) {
+        return (long) row * columnTypes.length + col;
+    }
+
+    private static int wordCount(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    @Override
+    int occupant(long spot) {
+        RowState state = rows[(int) (spot / columnTypes.length)];
+        return state == null ? NO_VEHICLE : state.occupants[(int) (spot % columnTypes.length)];
+    }
+}
@@ -0,0 +1,538 @@
+package parking.lot;
+
+import parking.domain.ParkingAttempt;
+import parking.domain.ParkingLotSummary;
+import parking.domain.ParkingResult;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.enums.ParkingStatus;
+import parking.enums.VehicleType;
+import parking.exception.IllegalSpotTypeException;
+import parking.lot.strategy.CompatibilityTable;
+import parking.lot.strategy.RegularCompactAllocationStrategy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Thread-safe parking lot administrator that partitions the lot into shards of
+ * consecutive rows, each with its own free-spot indexes and lock.
+ *
+ * <p>Every gate thread is given a home shard and parks there while it has room, so
+ * gates rarely wait on each other. When the home shard cannot take a vehicle, the
+ * gate steals spots from the neighbouring shards, moving outward from home. Within
+ * a shard, allocation follows {@link RegularCompactAllocationStrategy} and the lot's
+ * {@link CompatibilityTable}; across the
+ * lot, vehicles fill their gate's home shard first rather than the lot's first row.</p>
+ */
+public class ShardedLotAdmin implements ParkingLotAdmin {
+    private static final int DEFAULT_SHARD_COUNT = Runtime.getRuntime().availableProcessors();
+
+    private final CompatibilityTable compatibility;
+    private final Shard[] shards;
+    private final Map<ParkingSpotType, List<ParkingSpot>> parkingSpotTypeMap; // all spots by type, in row order
+    private final ConcurrentMap<String, Parked> vehicleShards;                // vehicles mapped to their shard
+    private final ThreadLocal<Integer> homeShard;                              // home shard of each gate thread
+
+    /**
+     * One block of consecutive rows and the lock guarding it.
+     */
+    private record Shard(RegularCompactLotAdmin admin, ReentrantLock lock) {
+    }
+
+    /**
+     * Spots held by one parked vehicle, the vehicle's type and the shard they belong to.
+     */
+    private record Parked(int shard, VehicleType vehicleType, List<ParkingSpot> spots) {
+    }
+
+    /**
+     * Constructs a lot administrator with one shard per available processor.
+     *
+     * @param numOfRows    number of rows in the lot
+     * @param rowSequence  comma-separated list of spot types per row (e.g., "REGULAR, COMPACT")
+     * @throws IllegalSpotTypeException if the row sequence contains an invalid spot type
+     */
+    public ShardedLotAdmin(int numOfRows, String rowSequence) throws IllegalSpotTypeException {
+        this(numOfRows, rowSequence, DEFAULT_SHARD_COUNT);
+    }
+
+    /**
+     * Constructs a lot administrator for the given layout, whose rows may differ, with one
+     * shard per available processor.
+     *
+     * @param layout spot types of every row
+     */
+    public ShardedLotAdmin(LotLayout layout) {
+        this(layout, DEFAULT_SHARD_COUNT);
+    }
+
+    /**
+     * Constructs a lot administrator for the given layout, with one shard per available
+     * processor, that parks vehicles by the given rules.
+     *
+     * @param layout        spot types of every row
+     * @param compatibility spots each vehicle type may take, in order of preference
+     */
+    public ShardedLotAdmin(LotLayout layout, CompatibilityTable compatibility) {
+        this(layout, DEFAULT_SHARD_COUNT, compatibility);
+    }
+
+    /**
+     * Constructs a lot administrator with the given number of row shards. The count is
+     * capped at the number of rows, so every shard holds at least one row.
+     *
+     * @param numOfRows    number of rows in the lot
+     * @param rowSequence  comma-separated list of spot types per row
+     * @param shardCount   number of shards to split the rows into
+     * @throws IllegalSpotTypeException if the row sequence contains an invalid spot type
+     */
+    public ShardedLotAdmin(int numOfRows, String rowSequence, int shardCount) throws IllegalSpotTypeException {
+        this(LotLayout.uniform(numOfRows, rowSequence), shardCount);
+    }
+
+    /**
+     * Constructs a lot administrator for the given layout, whose rows may differ, with
+     * the given number of row shards. The count is capped at the number of rows.
+     *
+     * @param layout     spot types of every row
+     * @param shardCount number of shards to split the rows into
+     */
+    public ShardedLotAdmin(LotLayout layout, int shardCount) {
+        this(layout, shardCount, CompatibilityTable.DEFAULT);
+    }
+
+    /**
+     * Constructs a lot administrator for the given layout, with the given number of row
+     * shards, that parks vehicles by the given rules.
+     *
+     * @param layout        spot types of every row
+     * @param shardCount    number of shards to split the rows into
+     * @param compatibility spots each vehicle type may take, in order of preference
+     */
+    public ShardedLotAdmin(LotLayout layout, int shardCount, CompatibilityTable compatibility) {
+        this.compatibility = compatibility;
+        int rows = layout.numOfRows();
+        int count = Math.max(1, Math.min(shardCount, rows));
+        this.shards = new Shard[count];
+        this.vehicleShards = new ConcurrentHashMap<>();
+        // Gates are handed shards round-robin; the initializer only captures locals, so it never sees this
+        AtomicInteger nextHomeShard = new AtomicInteger();
+        this.homeShard = ThreadLocal.withInitial(() -> Math.floorMod(nextHomeShard.getAndIncrement(), count));
+
+        Map<ParkingSpotType, List<ParkingSpot>> spotsByType = new EnumMap<>(ParkingSpotType.class);
+        int firstRow = 1;
+        for (int shard = 0; shard < count; shard++) {
+            int shardRows = rows / count + (shard < rows % count ? 1 : 0);
+            RegularCompactLotAdmin admin = new RegularCompactLotAdmin(layout, firstRow, shardRows,
+                    new RegularCompactAllocationStrategy(compatibility), false);
+            shards[shard] = new Shard(admin, new ReentrantLock());
+            admin.getSpotsByType().forEach((type, spots) ->
+                    spotsByType.computeIfAbsent(type, k -> new ArrayList<>()).addAll(spots));
+            firstRow += shardRows;
+        }
+
+        Map<ParkingSpotType, List<ParkingSpot>> unmodifiableSpots = new HashMap<>();
+        spotsByType.forEach((type, spots) -> unmodifiableSpots.put(type, Collections.unmodifiableList(spots)));
+        this.parkingSpotTypeMap = Collections.unmodifiableMap(unmodifiableSpots);
+    }
+
+    /**
+     * Parks a vehicle in the calling gate's home shard, or in the nearest shard with
+     * room for it. Shards are first skipped on their counters alone; only when every
+     * shard looks full is each one checked again under its lock, so a spot freed in a
+     * shard the gate skipped is still found before {@link ParkingStatus#FULL} is answered.
+     * Safe to call from many threads.
+     *
+     * @param identifier  unique vehicle identifier
+     * @param vehicleType type of the vehicle
+     * @param attempt     receives the status and the vehicle's spots
+     * @return the status of the attempt
+     */
+    @Override
+    public ParkingStatus tryPark(String identifier, VehicleType vehicleType, ParkingAttempt attempt) {
+        Parked existing = vehicleShards.get(identifier);
+        if (existing != null) {
+            return attempt.record(ParkingStatus.ALREADY_PARKED, existing.spots());
+        }
+        return parkNearHome(identifier, vehicleType, homeShard.get(), attempt);
+    }
+
+    /**
+     * Parks a batch of vehicles. The gate's home shard is locked once for the whole batch;
+     * only vehicles that do not fit there are parked one by one in neighbouring shards.
+     *
+     * @param vehicles the vehicles to park
+     * @return one result per vehicle, in the same order as {@code vehicles}
+     */
+    @Override
+    public List<ParkingResult> parkVehicles(List<Vehicle> vehicles) {
+        // Vehicles parked before the batch keep their spots, wherever they are
+        List<ParkingResult> results = new ArrayList<>(Collections.nCopies(vehicles.size(), null));
+        List<Vehicle> pending = new ArrayList<>(vehicles.size());
+        for (int i = 0; i < vehicles.size(); i++) {
+            String identifier = vehicles.get(i).getIdentifier();
+            Parked existing = vehicleShards.get(identifier);
+            if (existing != null) {
+                results.set(i, new ParkingResult(identifier, ParkingStatus.ALREADY_PARKED, existing.spots()));
+            } else {
+                pending.add(vehicles.get(i));
+            }
+        }
+
+        int home = homeShard.get();
+        Shard shard = shards[home];
+        List<ParkingResult> homeResults = new ArrayList<>(pending.size());
+        ParkingAttempt attempt = new ParkingAttempt();
+        shard.lock().lock();
+        try {
+            for (ParkingResult homeResult : shard.admin().parkVehicles(pending)) {
+                ParkingStatus status = homeResult.getStatus();
+                if (homeResult.isParked()) {
+                    attempt.record(status, homeResult.getSpots());
+                    Vehicle vehicle = pending.get(homeResults.size());
+                    status = publish(vehicle.getIdentifier(), vehicle.getType(), home, attempt);
+                    homeResult = new ParkingResult(homeResult.getIdentifier(), status, attempt.getSpots());
+                }
+                homeResults.add(homeResult);
+            }
+        } finally {
+            shard.lock().unlock();
+        }
+
+        for (int i = 0, next = 0; i < vehicles.size(); i++) {
+            if (results.get(i) != null) {
+                continue;
+            }
+            ParkingResult result = homeResults.get(next++);
+            if (!result.isParked()) {
+                Vehicle vehicle = vehicles.get(i);
+                ParkingStatus status = parkNearHome(vehicle.getIdentifier(), vehicle.getType(), home, attempt);
+                result = new ParkingResult(vehicle.getIdentifier(), status, attempt.getSpots());
+            }
+            results.set(i, result);
+        }
+        return results;
+    }
+
+    /**
+     * Removes a vehicle and frees its allocated spots. Safe to call from many threads.
+     *
+     * @param identifier vehicle identifier
+     * @return the type of the removed vehicle, or {@code null} if it was not parked
+     */
+    @Override
+    public VehicleType removeVehicle(String identifier) {
+        for (Parked parked = vehicleShards.get(identifier); parked != null; parked = vehicleShards.get(identifier)) {
+            Shard shard = shards[parked.shard()];
+            shard.lock().lock();
+            try {
+                Parked removed = removeFromShard(parked.shard(), identifier);
+                if (removed == null || removed.shard() == parked.shard()) {
+                    return removed != null ? removed.vehicleType() : null;
+                }
+            } finally {
+                shard.lock().unlock();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks the counters of every shard for one with enough free spots of a type the
+     * vehicle may use. Counters are first read without locking, as a hint; if no shard
+     * seems to have room, each shard is checked again under its lock before answering false.
+     *
+     * @param vehicleType type of the vehicle
+     * @return false if no shard had room for the vehicle
+     */
+    @Override
+    public boolean hasRoomFor(VehicleType vehicleType) {
+        for (Shard shard : shards) {
+            if (shard.admin().hasRoomFor(vehicleType)) {
+                return true;
+            }
+        }
+        for (Shard shard : shards) {
+            shard.lock().lock();
+            try {
+                if (shard.admin().hasRoomFor(vehicleType)) {
+                    return true;
+                }
+            } finally {
+                shard.lock().unlock();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return available spots of a type across all shards, read without locking
+     */
+    @Override
+    public long availableSpots(ParkingSpotType spotType) {
+        long available = 0;
+        for (Shard shard : shards) {
+            available += shard.admin().availableSpots(spotType);
+        }
+        return available;
+    }
+
+    /**
+     * @return the spots each vehicle type may park in, in every shard
+     */
+    @Override
+    public CompatibilityTable compatibility() {
+        return compatibility;
+    }
+
+    /**
+     * Removes a batch of vehicles, locking each shard at most once.
+     *
+     * @param identifiers the identifiers of the vehicles to remove
+     * @return the type of each removed vehicle, in the iteration order of {@code identifiers},
+     *         or {@code null} for a vehicle that was not parked
+     */
+    @Override
+    public List<VehicleType> removeVehicles(Collection<String> identifiers) {
+        List<String> ordered = new ArrayList<>(identifiers);
+        List<VehicleType> removedTypes = new ArrayList<>(Collections.nCopies(ordered.size(), null));
+        List<List<Integer>> byShard = new ArrayList<>(Collections.nCopies(shards.length, null));
+        for (int i = 0; i < ordered.size(); i++) {
+            Parked parked = vehicleShards.get(ordered.get(i));
+            if (parked != null) {
+                if (byShard.get(parked.shard()) == null) {
+                    byShard.set(parked.shard(), new ArrayList<>());
+                }
+                byShard.get(parked.shard()).add(i);
+            }
+        }
+        List<Integer> moved = new ArrayList<>();
+        for (int index = 0; index < shards.length; index++) {
+            if (byShard.get(index) == null) {
+                continue;
+            }
+            Shard shard = shards[index];
+            shard.lock().lock();
+            try {
+                for (int i : byShard.get(index)) {
+                    Parked removed = removeFromShard(index, ordered.get(i));
+                    if (removed != null && removed.shard() != index) {
+                        moved.add(i);
+                    } else if (removed != null) {
+                        removedTypes.set(i, removed.vehicleType());
+                    }
+                }
+            } finally {
+                shard.lock().unlock();
+            }
+        }
+        // Vehicles removed and parked in another shard since they were grouped
+        for (int i : moved) {
+            removedTypes.set(i, removeVehicle(ordered.get(i)));
+        }
+        return removedTypes;
+    }
+
+    /**
+     * @return unmodifiable view of all spots grouped by type
+     */
+    @Override
+    public Map<ParkingSpotType, List<ParkingSpot>> getSpotsByType() {
+        return parkingSpotTypeMap;
+    }
+
+    /**
+     * @return unmodifiable snapshot of vehicles mapped to their allocated spots
+     */
+    @Override
+    public Map<String, List<ParkingSpot>> getVehicleSpotsMap() {
+        Map<String, List<ParkingSpot>> vehicleSpotsMap = new HashMap<>();
+        vehicleShards.forEach((identifier, parked) -> vehicleSpotsMap.put(identifier, parked.spots()));
+        return Collections.unmodifiableMap(vehicleSpotsMap);
+    }
+
+    /**
+     * @return number of row shards the lot is split into
+     */
+    public int shardCount() {
+        return shards.length;
+    }
+
+    // ===============================
+    // Query Lot Status
+    // ===============================
+
+    /**
+     * Prints a human-readable summary of the lot.
+     */
+    @Override
+    public void printLotSummary() {
+        LotSummaryPrinter.print(generateLotSummary());
+    }
+
+    /**
+     * Builds an immutable summary of the lot by combining the counters of every shard.
+     * Each shard is read under its lock, one shard at a time, so while other threads
+     * park or remove vehicles the lot-wide figures are a weakly consistent snapshot.
+     *
+     * @return snapshot summary object
+     */
+    @Override
+    public ParkingLotSummary generateLotSummary() {
+        return combineShards(ParkingLotAdmin::generateLotSummary);
+    }
+
+    /**
+     * Builds the same summary as {@link #generateLotSummary()} by recounting the spots of
+     * every shard instead of reading its counters, one shard at a time under its lock.
+     *
+     * @return snapshot summary object
+     */
+    @Override
+    public ParkingLotSummary recountLotSummary() {
+        return combineShards(ParkingLotAdmin::recountLotSummary);
+    }
+
+    /**
+     * Combines the summaries of every shard, each taken under the shard's lock.
+     *
+     * @param shardSummary builds the summary of one shard
+     */
+    private ParkingLotSummary combineShards(Function<ParkingLotAdmin, ParkingLotSummary> shardSummary) {
+        Map<ParkingSpotType, long[]> typeCounts = new EnumMap<>(ParkingSpotType.class);
+        Map<String, ParkingLotSummary.RowStatus> byRow = new LinkedHashMap<>();
+        long total = 0, available = 0, vanCount = 0;
+        for (Shard shard : shards) {
+            ParkingLotSummary summary;
+            shard.lock().lock();
+            try {
+                summary = shardSummary.apply(shard.admin());
+            } finally {
+                shard.lock().unlock();
+            }
+            total += summary.getTotalSpots();
+            available += summary.getAvailableSpots();
+            vanCount += summary.getVanCount();
+            summary.getByType().forEach((type, status) -> {
+                long[] counts = typeCounts.computeIfAbsent(type, k -> new long[2]);
+                counts[0] += status.getTotal();
+                counts[1] += status.getAvailable();
+            });
+            byRow.putAll(summary.getByRow());
+        }
+
+        Map<ParkingSpotType, ParkingLotSummary.SpotTypeStatus> byType = new HashMap<>();
+        typeCounts.forEach((type, counts) ->
+                byType.put(type, new ParkingLotSummary.SpotTypeStatus(counts[0], counts[1], counts[0] - counts[1])));
+        long occupied = total - available;
+        return new ParkingLotSummary(total, available, occupied, byType, available == 0, occupied == 0, vanCount, byRow);
+    }
+
+    /**
+     * Parks a vehicle in the home shard or, failing that, in the nearest shard with room.
+     * The first pass skips shards whose unlocked counters show no room; those counters
+     * may be stale, so if the pass finds nothing every shard is tried again under its lock.
+     *
+     * @param attempt receives the status and the vehicle's spots
+     * @return {@link ParkingStatus#OK}, {@link ParkingStatus#ALREADY_PARKED} if another gate
+     *         parked the vehicle meanwhile, or {@link ParkingStatus#FULL} if no shard can take it
+     */
+    private ParkingStatus parkNearHome(String identifier, VehicleType vehicleType, int home,
+                                       ParkingAttempt attempt) {
+        for (boolean hinted : new boolean[]{true, false}) {
+            for (int step = 0; step < shards.length; step++) {
+                // Visit home first, then its neighbours alternately on either side
+                int distance = (step + 1) / 2;
+                int index = Math.floorMod(step % 2 == 1 ? home + distance : home - distance, shards.length);
+                ParkingStatus status = parkInShard(index, identifier, vehicleType, hinted, attempt);
+                if (status == ParkingStatus.OK || status == ParkingStatus.ALREADY_PARKED) {
+                    return status;
+                }
+            }
+        }
+        return attempt.record(ParkingStatus.FULL, Collections.emptyList());
+    }
+
+    /**
+     * Records a vehicle parked in a shard; the caller holds the shard's lock. If another
+     * gate parked the same vehicle in a different shard meanwhile, its spots are kept and
+     * ours are given back.
+     *
+     * <p>Vehicles are recorded and forgotten only under their shard's lock, so while the
+     * lock is held the shard parks a vehicle exactly when the vehicle is recorded there.</p>
+     *
+     * @param attempt holds the shard's status and spots for the vehicle; replaced by
+     *                {@link ParkingStatus#ALREADY_PARKED} and the kept spots if another gate won
+     * @return the status the vehicle ends up with
+     */
+    private ParkingStatus publish(String identifier, VehicleType vehicleType, int shard, ParkingAttempt attempt) {
+        Parked existing = vehicleShards.putIfAbsent(identifier, new Parked(shard, vehicleType, attempt.getSpots()));
+        if (existing == null) {
+            return attempt.getStatus();
+        }
+        if (existing.shard() != shard) {
+            shards[shard].admin().removeVehicle(identifier);
+        }
+        return attempt.record(ParkingStatus.ALREADY_PARKED, existing.spots());
+    }
+
+    /**
+     * Parks a vehicle in one shard under its lock. With {@code hinted}, a shard whose
+     * counters show no spot of a suitable type is skipped without taking the lock, so a
+     * gate looking for room does not queue behind gates parking in full shards. The
+     * unlocked read is only a hint: another gate may be changing the counters under
+     * the lock, so a shard can look full when it has room.
+     *
+     * @param hinted  true to skip the shard if its unlocked counters show no room
+     * @param attempt receives the status and the vehicle's spots
+     * @return {@link ParkingStatus#OK} or {@link ParkingStatus#ALREADY_PARKED} if the vehicle
+     *         holds spots, otherwise {@link ParkingStatus#FULL}, or {@link ParkingStatus#CONFLICT}
+     *         if a chosen spot had been taken outside the admin
+     */
+    private ParkingStatus parkInShard(int index, String identifier, VehicleType vehicleType, boolean hinted,
+                                      ParkingAttempt attempt) {
+        Shard shard = shards[index];
+        if (hinted && !shard.admin().hasRoomFor(vehicleType)) {
+            return ParkingStatus.FULL;
+        }
+        shard.lock().lock();
+        try {
+            ParkingStatus status = shard.admin().tryPark(identifier, vehicleType, attempt);
+            if (status == ParkingStatus.FULL || status == ParkingStatus.CONFLICT) {
+                return status;
+            }
+            return publish(identifier, vehicleType, index, attempt);
+        } finally {
+            shard.lock().unlock();
+        }
+    }
+
+    /**
+     * Removes a vehicle recorded in the given shard; the caller holds the shard's lock.
+     *
+     * @return the vehicle's record, which belongs to another shard if the vehicle has moved
+     *         there and was not removed, or {@code null} if it is not parked
+     */
+    private Parked removeFromShard(int shard, String identifier) {
+        Parked parked = vehicleShards.get(identifier);
+        if (parked == null || parked.shard() != shard) {
+            return parked;
+        }
+        vehicleShards.remove(identifier);
+        shards[shard].admin().removeVehicle(identifier);
+        return parked;
+    }
+}
@@ -0,0 +1,401 @@
+package parking.lot;
+
+import parking.domain.ParkingAttempt;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.enums.ParkingStatus;
+import parking.enums.VehicleType;
+import parking.exception.DoubleParkingException;
+import parking.lot.index.VehicleIndex;
+import parking.lot.strategy.CompatibilityTable;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Base class for lot administrators whose rows all share one layout and which do not
+ * keep spot objects.
+ *
+ * <p>A spot is identified by its global index {@code row * rowWidth + column}, both
+ * 0-based, and holds the int slot of its vehicle in a table of parked vehicles, looked
+ * up by identifier through a {@link VehicleIndex}. Parking walks the vehicle's
+ * candidates in the lot's {@link CompatibilityTable}. {@link ParkingSpot} objects are
+ * only created as views when a caller asks for them; assigning or removing a vehicle
+ * through a view goes through the same occupancy change as the admin, so the lot's
+ * counts and indexes stay in step.</p>
+ *
+ * <p>Subclasses keep the occupancy itself: they find free spots, read a spot's occupant
+ * and record occupancy changes.</p>
+ */
+abstract class UniformRowLotAdmin implements ParkingLotAdmin {
+    static final ParkingSpotType[] SPOT_TYPES = ParkingSpotType.values();
+    static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+    static final int NO_VEHICLE = -1;
+    private static final int INITIAL_VEHICLE_CAPACITY = 64;
+
+    private final CompatibilityTable compatibility;
+
+    // Row template, shared by every row
+    final int numOfRows;
+    final byte[] columnTypes;                 // spot type ordinal of each column
+    final int[][] typeColumns;                // 0-based columns of each type within a row
+
+    // Vehicle table, indexed by slot
+    private final VehicleIndex vehicleSlots;  // identifier to slot, without a map node or boxed slot
+    private String[] vehicleIds;
+    private byte[] vehicleTypes;
+    private long[] vehicleFirstSpots;         // global index of each vehicle's first spot
+    private int[] vehicleSpans;               // adjacent spots held by each vehicle
+    private int[] freeVehicleSlots;
+    private int freeVehicleSlotCount;
+    private int vehicleSlotsUsed;
+    private long vanSpotCount;
+
+    /**
+     * @param layout        spot types of every row
+     * @param compatibility spots each vehicle type may take, in order of preference
+     * @throws IllegalArgumentException if the rows differ
+     */
+    UniformRowLotAdmin(LotLayout layout, CompatibilityTable compatibility) {
+        ParkingSpotType[] spotArrangement = layout.uniformRow();
+        this.compatibility = compatibility;
+        this.numOfRows = layout.numOfRows();
+
+        int rowWidth = spotArrangement.length;
+        this.columnTypes = new byte[rowWidth];
+        int[] columnsPerType = new int[SPOT_TYPES.length];
+        for (int col = 0; col < rowWidth; col++) {
+            int type = spotArrangement[col].ordinal();
+            columnTypes[col] = (byte) type;
+            columnsPerType[type]++;
+        }
+        this.typeColumns = new int[SPOT_TYPES.length][];
+        for (int type = 0; type < SPOT_TYPES.length; type++) {
+            typeColumns[type] = new int[columnsPerType[type]];
+        }
+        int[] next = new int[SPOT_TYPES.length];
+        for (int col = 0; col < rowWidth; col++) {
+            typeColumns[columnTypes[col]][next[columnTypes[col]]++] = col;
+        }
+
+        this.vehicleSlots = new VehicleIndex(INITIAL_VEHICLE_CAPACITY);
+        this.vehicleIds = new String[INITIAL_VEHICLE_CAPACITY];
+        this.vehicleTypes = new byte[INITIAL_VEHICLE_CAPACITY];
+        this.vehicleFirstSpots = new long[INITIAL_VEHICLE_CAPACITY];
+        this.vehicleSpans = new int[INITIAL_VEHICLE_CAPACITY];
+        this.freeVehicleSlots = new int[INITIAL_VEHICLE_CAPACITY];
+    }
+
+    /**
+     * Finds the first free spot, or run of {@code span} adjacent free spots, of one type.
+     *
+     * @param type spot type ordinal
+     * @param span number of adjacent spots required
+     * @return global index of the first spot, or -1 if none is available
+     */
+    abstract long findSpots(int type, int span);
+
+    /**
+     * @param spot global index of a spot
+     * @return slot of the vehicle in the spot, or {@link #NO_VEHICLE}
+     */
+    abstract int occupant(long spot);
+
+    /**
+     * Records {@code count} adjacent spots of one row changing occupant, and keeps the
+     * subclass's free counts and indexes in step. Every spot changes from free to
+     * occupied, or from occupied to free when {@code vehicleSlot} is {@link #NO_VEHICLE}.
+     *
+     * @param firstSpot   global index of the first spot
+     * @param count       number of spots
+     * @param vehicleSlot the new occupant, or {@link #NO_VEHICLE} to free the spots
+     */
+    abstract void setOccupants(long firstSpot, int count, int vehicleSlot);
+
+    /**
+     * Parks a vehicle if suitable spots are available, without raising an exception when
+     * it does not fit. The free counts are checked first, so a full lot answers
+     * {@link ParkingStatus#FULL} without a search.
+     *
+     * @param identifier  unique vehicle identifier
+     * @param vehicleType type of the vehicle
+     * @param attempt     receives the status and the vehicle's spots
+     * @return the status of the attempt
+     */
+    @Override
+    public ParkingStatus tryPark(String identifier, VehicleType vehicleType, ParkingAttempt attempt) {
+        int existing = (int) vehicleSlots.get(identifier);
+        if (existing != VehicleIndex.ABSENT) {
+            return attempt.record(ParkingStatus.ALREADY_PARKED, spotsOf(existing));
+        }
+
+        long firstSpot = -1;
+        int span = 0;
+        if (hasRoomFor(vehicleType)) {
+            int end = compatibility.candidateEnd(vehicleType);
+            for (int candidate = compatibility.candidateStart(vehicleType); candidate < end && firstSpot < 0; candidate++) {
+                span = compatibility.span(candidate);
+                firstSpot = findSpots(compatibility.spotType(candidate).ordinal(), span);
+            }
+        }
+        if (firstSpot < 0) {
+            return attempt.record(ParkingStatus.FULL, Collections.emptyList());
+        }
+
+        int slot = allocateVehicleSlot(identifier, vehicleType, firstSpot, span);
+        vehicleSlots.put(identifier, slot);
+        changeOccupants(firstSpot, span, slot);
+        return attempt.record(ParkingStatus.OK, spotsOf(slot));
+    }
+
+    /**
+     * Removes a vehicle and frees its allocated spots. A spot that was freed through its
+     * view in the meantime, and possibly taken by another vehicle, is left alone.
+     *
+     * @param identifier vehicle identifier
+     * @return the type of the removed vehicle, or {@code null} if it was not parked
+     */
+    @Override
+    public VehicleType removeVehicle(String identifier) {
+        int slot = (int) vehicleSlots.remove(identifier);
+        if (slot == VehicleIndex.ABSENT) {
+            return null;
+        }
+        long firstSpot = vehicleFirstSpots[slot];
+        int span = vehicleSpans[slot];
+        int held = 0;
+        for (int i = 0; i < span; i++) {
+            held += occupant(firstSpot + i) == slot ? 1 : 0;
+        }
+        if (held == span) {
+            changeOccupants(firstSpot, span, NO_VEHICLE);
+        } else {
+            for (int i = 0; i < span; i++) {
+                if (occupant(firstSpot + i) == slot) {
+                    changeOccupants(firstSpot + i, 1, NO_VEHICLE);
+                }
+            }
+        }
+        VehicleType vehicleType = VEHICLE_TYPES[vehicleTypes[slot]];
+        releaseVehicleSlot(slot);
+        return vehicleType;
+    }
+
+    /**
+     * Creates views of every spot, grouped by type. Views are built on access,
+     * so the returned lists cost no memory per spot until they are read.
+     *
+     * @return unmodifiable map of spot type to a list of spot views
+     */
+    @Override
+    public Map<ParkingSpotType, List<ParkingSpot>> getSpotsByType() {
+        Map<ParkingSpotType, List<ParkingSpot>> spotsByType = new EnumMap<>(ParkingSpotType.class);
+        for (int type = 0; type < SPOT_TYPES.length; type++) {
+            if (typeColumns[type].length > 0) {
+                spotsByType.put(SPOT_TYPES[type], new SpotViewList(type));
+            }
+        }
+        return Collections.unmodifiableMap(spotsByType);
+    }
+
+    /**
+     * @return unmodifiable snapshot of vehicles mapped to views of their allocated spots
+     */
+    @Override
+    public Map<String, List<ParkingSpot>> getVehicleSpotsMap() {
+        Map<String, List<ParkingSpot>> vehicleSpotsMap = new HashMap<>();
+        vehicleSlots.forEach((identifier, slot) -> vehicleSpotsMap.put(identifier, spotsOf((int) slot)));
+        return Collections.unmodifiableMap(vehicleSpotsMap);
+    }
+
+    /**
+     * Prints a human-readable summary of the lot.
+     */
+    @Override
+    public void printLotSummary() {
+        LotSummaryPrinter.print(generateLotSummary());
+    }
+
+    /**
+     * @return the spots each vehicle type may park in
+     */
+    @Override
+    public CompatibilityTable compatibility() {
+        return compatibility;
+    }
+
+    /**
+     * @return spots currently held by vans
+     */
+    long vanSpotCount() {
+        return vanSpotCount;
+    }
+
+    /**
+     * Changes the occupant of adjacent spots and keeps the van count in step.
+     */
+    private void changeOccupants(long firstSpot, int count, int vehicleSlot) {
+        for (int i = 0; i < count; i++) {
+            vanSpotCount += (isVan(vehicleSlot) ? 1 : 0) - (isVan(occupant(firstSpot + i)) ? 1 : 0);
+        }
+        setOccupants(firstSpot, count, vehicleSlot);
+    }
+
+    /**
+     * Records a vehicle taking one spot through its view. As with a spot object, the
+     * vehicle holds the spot without being registered as parked in the lot.
+     */
+    private void assignThroughView(long spot, Vehicle vehicle) throws DoubleParkingException {
+        int occupant = occupant(spot);
+        if (occupant != NO_VEHICLE) {
+            throw new DoubleParkingException("Parking spot is already occupied by vehicle: " + vehicleIds[occupant]);
+        }
+        changeOccupants(spot, 1, allocateVehicleSlot(vehicle.getIdentifier(), vehicle.getType(), spot, 1));
+    }
+
+    /**
+     * Frees one spot through its view. A vehicle that was only assigned to this spot
+     * gives up its slot; a vehicle parked through the admin keeps its registration until removed.
+     */
+    private void removeThroughView(long spot) {
+        int slot = occupant(spot);
+        if (slot == NO_VEHICLE) {
+            return;
+        }
+        changeOccupants(spot, 1, NO_VEHICLE);
+        if (vehicleSlots.get(vehicleIds[slot]) != slot) {
+            releaseVehicleSlot(slot);
+        }
+    }
+
+    private boolean isVan(int vehicleSlot) {
+        return vehicleSlot != NO_VEHICLE && vehicleTypes[vehicleSlot] == VehicleType.VAN.ordinal();
+    }
+
+    private int allocateVehicleSlot(String identifier, VehicleType vehicleType, long firstSpot, int span) {
+        int slot;
+        if (freeVehicleSlotCount > 0) {
+            slot = freeVehicleSlots[--freeVehicleSlotCount];
+        } else {
+            if (vehicleSlotsUsed == vehicleIds.length) {
+                int capacity = vehicleIds.length * 2;
+                vehicleIds = Arrays.copyOf(vehicleIds, capacity);
+                vehicleTypes = Arrays.copyOf(vehicleTypes, capacity);
+                vehicleFirstSpots = Arrays.copyOf(vehicleFirstSpots, capacity);
+                vehicleSpans = Arrays.copyOf(vehicleSpans, capacity);
+                freeVehicleSlots = Arrays.copyOf(freeVehicleSlots, capacity);
+            }
+            slot = vehicleSlotsUsed++;
+        }
+        vehicleIds[slot] = identifier;
+        vehicleTypes[slot] = (byte) vehicleType.ordinal();
+        vehicleFirstSpots[slot] = firstSpot;
+        vehicleSpans[slot] = span;
+        return slot;
+    }
+
+    private void releaseVehicleSlot(int vehicleSlot) {
+        vehicleIds[vehicleSlot] = null;
+        freeVehicleSlots[freeVehicleSlotCount++] = vehicleSlot;
+    }
+
+    private List<ParkingSpot> spotsOf(int vehicleSlot) {
+        int span = vehicleSpans[vehicleSlot];
+        List<ParkingSpot> spots = new ArrayList<>(span);
+        for (int i = 0; i < span; i++) {
+            spots.add(new SpotView(vehicleFirstSpots[vehicleSlot] + i));
+        }
+        return spots;
+    }
+
+    /**
+     * {@link ParkingSpot} view of one spot of the lot. Assigning or removing a vehicle
+     * through the view changes the lot's occupancy, so its counts and indexes stay in step.
+     */
+    private final class SpotView extends ParkingSpot {
+        private final long spot;
+
+        private SpotView(long spot) {
+            super((int) (spot / columnTypes.length) + 1, (int) (spot % columnTypes.length) + 1,
+                    SPOT_TYPES[columnTypes[(int) (spot % columnTypes.length)]]);
+            this.spot = spot;
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return occupant(spot) == NO_VEHICLE;
+        }
+
+        @Override
+        public VehicleType getVehicleType() {
+            int vehicleSlot = occupant(spot);
+            return vehicleSlot == NO_VEHICLE ? null : VEHICLE_TYPES[vehicleTypes[vehicleSlot]];
+        }
+
+        @Override
+        public void assignVehicle(Vehicle vehicle) throws DoubleParkingException {
+            assignThroughView(spot, vehicle);
+        }
+
+        @Override
+        public void removeVehicle() {
+            removeThroughView(spot);
+        }
+
+        @Override
+        protected void releaseIfHeldBy(Vehicle owner) {
+            int vehicleSlot = occupant(spot);
+            if (vehicleSlot != NO_VEHICLE && owner.getIdentifier().equals(vehicleIds[vehicleSlot])) {
+                removeThroughView(spot);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SpotView other && other.spot == spot && other.owner() == owner();
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(spot);
+        }
+
+        private UniformRowLotAdmin owner() {
+            return UniformRowLotAdmin.this;
+        }
+    }
+
+    /**
+     * List of views over all spots of one type, in row order, created on access.
+     */
+    private final class SpotViewList extends AbstractList<ParkingSpot> implements RandomAccess {
+        private final int[] columns; // 0-based columns of the type within a row
+        private final int size;
+
+        private SpotViewList(int type) {
+            this.columns = typeColumns[type];
+            this.size = numOfRows * columns.length;
+        }
+
+        @Override
+        public ParkingSpot get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            }
+            return new SpotView((long) (index / columns.length) * columnTypes.length + columns[index % columns.length]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
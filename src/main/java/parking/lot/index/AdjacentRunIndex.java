@@ -0,0 +1,201 @@
+package parking.lot.index;
+
+import java.util.Arrays;
+
+/**
+ * Index of contiguous free runs per row, used to place vehicles that need
+ * several adjacent spots.
+ *
+ * <p>Each row keeps a segment tree over its columns where every node stores the
+ * longest free prefix, suffix and run of its range. A second max-tree over the
+ * rows' longest runs finds the first row that can hold a run of the requested
+ * length, so a K-adjacent lookup and every occupancy update are O(log n).</p>
+ *
+ * <p>All row trees are flattened into shared arrays to keep per-row overhead low.</p>
+ */
+public final class AdjacentRunIndex {
+    private final int[] rowOf;          // row ordinal of each position
+    private final int[] columnOf;       // column of each position, relative to the row's first column
+    private final int[] rowLeaves;      // leaf count (power of two) of each row tree
+    private final int[] rowTreeOffset;  // start of each row tree in the flattened node arrays
+    private final int[] rowCellOffset;  // start of each row in positionByCell
+    private final int[] positionByCell; // position occupying each row cell, or -1 if the cell is not tracked
+    private final int[] prefix;         // longest free run starting at the node's first cell
+    private final int[] suffix;         // longest free run ending at the node's last cell
+    private final int[] best;           // longest free run anywhere in the node's range
+    private final int rowTreeLeaves;
+    private final int[] rowTree;        // max-tree of each row's longest free run
+
+    /**
+     * Constructs an index over positions laid out in rows, all initially occupied.
+     *
+     * @param rows    row ordinal (0-based, dense) of each position
+     * @param columns column number of each position within its row; adjacent spots differ by one
+     * @throws IllegalArgumentException if the arrays differ in length or two positions share a cell
+     */
+    public AdjacentRunIndex(int[] rows, int[] columns) {
+        if (rows.length != columns.length) {
+            throw new IllegalArgumentException("Row and column arrays must have the same length");
+        }
+        int rowCount = 0;
+        for (int row : rows) {
+            rowCount = Math.max(rowCount, row + 1);
+        }
+
+        int[] minColumn = new int[rowCount];
+        int[] maxColumn = new int[rowCount];
+        Arrays.fill(minColumn, Integer.MAX_VALUE);
+        Arrays.fill(maxColumn, Integer.MIN_VALUE);
+        for (int i = 0; i < rows.length; i++) {
+            minColumn[rows[i]] = Math.min(minColumn[rows[i]], columns[i]);
+            maxColumn[rows[i]] = Math.max(maxColumn[rows[i]], columns[i]);
+        }
+
+        this.rowLeaves = new int[rowCount];
+        this.rowTreeOffset = new int[rowCount];
+        this.rowCellOffset = new int[rowCount];
+        int treeSize = 0;
+        int cellCount = 0;
+        for (int row = 0; row < rowCount; row++) {
+            int width = minColumn[row] > maxColumn[row] ? 1 : maxColumn[row] - minColumn[row] + 1;
+            rowLeaves[row] = ceilPowerOfTwo(width);
+            rowTreeOffset[row] = treeSize;
+            rowCellOffset[row] = cellCount;
+            treeSize += 2 * rowLeaves[row];
+            cellCount += width;
+        }
+
+        this.rowOf = rows.clone();
+        this.columnOf = new int[columns.length];
+        this.positionByCell = new int[cellCount];
+        Arrays.fill(positionByCell, -1);
+        for (int i = 0; i < rows.length; i++) {
+            columnOf[i] = columns[i] - minColumn[rows[i]];
+            int cell = rowCellOffset[rows[i]] + columnOf[i];
+            if (positionByCell[cell] != -1) {
+                throw new IllegalArgumentException("Positions " + positionByCell[cell] + " and " + i + " share a cell");
+            }
+            positionByCell[cell] = i;
+        }
+
+        this.prefix = new int[treeSize];
+        this.suffix = new int[treeSize];
+        this.best = new int[treeSize];
+        this.rowTreeLeaves = ceilPowerOfTwo(Math.max(rowCount, 1));
+        this.rowTree = new int[2 * rowTreeLeaves];
+    }
+
+    /**
+     * Marks a position as free.
+     *
+     * @param position position to mark
+     */
+    public void markFree(int position) {
+        update(position, 1);
+    }
+
+    /**
+     * Marks a position as occupied.
+     *
+     * @param position position to mark
+     */
+    public void markOccupied(int position) {
+        update(position, 0);
+    }
+
+    /**
+     * @return the longest run of free adjacent positions in any row
+     */
+    public int longestRun() {
+        return rowTree[1];
+    }
+
+    /**
+     * Finds the first run of {@code length} free adjacent positions, taking rows
+     * in ordinal order and the leftmost run within the row.
+     *
+     * @param length number of adjacent positions required
+     * @return position of the run's first (leftmost) spot, or -1 if no row has such a run
+     */
+    public int findRun(int length) {
+        if (length < 1 || rowTree[1] < length) {
+            return -1;
+        }
+
+        int node = 1;
+        while (node < rowTreeLeaves) {
+            node = rowTree[2 * node] >= length ? 2 * node : 2 * node + 1;
+        }
+        int row = node - rowTreeLeaves;
+
+        int offset = rowTreeOffset[row];
+        node = 1;
+        int span = rowLeaves[row];
+        int startCell = 0;
+        while (span > 1) {
+            int half = span >>> 1;
+            int left = offset + 2 * node;
+            int right = left + 1;
+            if (best[left] >= length) {
+                node = 2 * node;
+            } else if (suffix[left] + prefix[right] >= length) {
+                startCell += half - suffix[left];
+                break;
+            } else {
+                node = 2 * node + 1;
+                startCell += half;
+            }
+            span = half;
+        }
+        return positionByCell[rowCellOffset[row] + startCell];
+    }
+
+    /**
+     * Returns the position in the cell immediately to the right of the given one.
+     *
+     * @param position a position tracked by this index
+     * @return the adjacent position in the same row, or -1 if that cell is not tracked
+     */
+    public int nextInRow(int position) {
+        int row = rowOf[position];
+        int column = columnOf[position] + 1;
+        int rowStart = rowCellOffset[row];
+        int rowEnd = row + 1 < rowCellOffset.length ? rowCellOffset[row + 1] : positionByCell.length;
+        return rowStart + column < rowEnd ? positionByCell[rowStart + column] : -1;
+    }
+
+    private void update(int position, int free) {
+        int row = rowOf[position];
+        int offset = rowTreeOffset[row];
+        int node = rowLeaves[row] + columnOf[position];
+        if (best[offset + node] == free) {
+            return;
+        }
+        prefix[offset + node] = free;
+        suffix[offset + node] = free;
+        best[offset + node] = free;
+
+        int half = 1;
+        while (node > 1) {
+            node >>>= 1;
+            int parent = offset + node;
+            int left = offset + 2 * node;
+            int right = left + 1;
+            prefix[parent] = prefix[left] == half ? half + prefix[right] : prefix[left];
+            suffix[parent] = suffix[right] == half ? half + suffix[left] : suffix[right];
+            best[parent] = Math.max(Math.max(best[left], best[right]), suffix[left] + prefix[right]);
+            half <<= 1;
+        }
+
+        int rowNode = rowTreeLeaves + row;
+        rowTree[rowNode] = best[offset + 1];
+        while (rowNode > 1) {
+            rowNode >>>= 1;
+            rowTree[rowNode] = Math.max(rowTree[2 * rowNode], rowTree[2 * rowNode + 1]);
+        }
+    }
+
+    private static int ceilPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
@@ -0,0 +1,346 @@
+package parking.lot.index;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free counterpart of {@link FreeSpotIndex} shared by many threads.
+ *
+ * <p>The leaf bits are the source of truth: a position is claimed by atomically
+ * clearing its bit, so two threads can never claim the same spot. Summary bits are
+ * hints that are set whenever a word below may have free bits. A thread that empties
+ * a word clears its summary bit and then re-checks the word, re-setting the bit if a
+ * release raced in, so a free position is never hidden from searches. Searches skip
+ * summary bits that turn out to be stale.</p>
+ *
+ * <p>Runs of adjacent positions are claimed with a single masked compare-and-set when
+ * they fit in one word, otherwise word by word with rollback, so a run is claimed
+ * entirely or not at all.</p>
+ *
+ * <p>Every search that found a free position but lost it to another thread before
+ * claiming it is counted in {@link #claimConflicts()}.</p>
+ */
+public final class ConcurrentFreeSpotIndex {
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_MASK = 63;
+
+    private final int size;
+    private final long[][] levels;  // levels[0] = leaf bits, levels[levels.length - 1] = single summary word
+    private final LongAdder freeCount;
+    private final LongAdder claimConflicts; // positions or runs found free but claimed by another thread first
+
+    /**
+     * Constructs an index over {@code size} positions, all initially free.
+     *
+     * @param size number of positions tracked
+     * @throws IllegalArgumentException if size is negative
+     */
+    public ConcurrentFreeSpotIndex(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Index size cannot be negative");
+        }
+        this.size = size;
+        int depth = 1;
+        for (int words = wordCount(size); words > 1; words = wordCount(words)) {
+            depth++;
+        }
+        this.levels = new long[depth][];
+        int bits = size;
+        for (int level = 0; level < depth; level++) {
+            long[] words = new long[Math.max(1, wordCount(bits))];
+            for (int i = 0; i < bits >>> WORD_SHIFT; i++) {
+                words[i] = -1L;
+            }
+            if ((bits & WORD_MASK) != 0) {
+                words[bits >>> WORD_SHIFT] = (1L << bits) - 1;
+            }
+            levels[level] = words;
+            bits = words.length;
+        }
+        this.freeCount = new LongAdder();
+        freeCount.add(size);
+        this.claimConflicts = new LongAdder();
+    }
+
+    /**
+     * @return number of positions tracked by this index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return number of free positions; may be slightly stale while other threads claim or release
+     */
+    public long freeCount() {
+        return freeCount.sum();
+    }
+
+    /**
+     * @return number of times a claim lost a free position or run to another thread and searched again
+     */
+    public long claimConflicts() {
+        return claimConflicts.sum();
+    }
+
+    /**
+     * Checks whether the given position is currently free.
+     *
+     * @param position position to check
+     * @return true if the position is free
+     */
+    public boolean isFree(int position) {
+        return (word(0, position >>> WORD_SHIFT) & (1L << position)) != 0;
+    }
+
+    /**
+     * Attempts to claim a single free position.
+     *
+     * @param position position to claim
+     * @return true if this call claimed the position, false if it was not free
+     */
+    public boolean tryClaim(int position) {
+        return tryClaimMask(position >>> WORD_SHIFT, 1L << position);
+    }
+
+    /**
+     * Attempts to claim {@code length} consecutive positions, all or none.
+     *
+     * @param start  first position of the run
+     * @param length number of positions in the run
+     * @return true if every position of the run was claimed by this call
+     */
+    public boolean tryClaimRun(int start, int length) {
+        if (start < 0 || length < 1 || start + length > size) {
+            return false;
+        }
+        int firstWord = start >>> WORD_SHIFT;
+        int lastWord = (start + length - 1) >>> WORD_SHIFT;
+        for (int wordIndex = firstWord; wordIndex <= lastWord; wordIndex++) {
+            if (!tryClaimMask(wordIndex, runMask(wordIndex, start, length))) {
+                for (int claimed = firstWord; claimed < wordIndex; claimed++) {
+                    releaseMask(claimed, runMask(claimed, start, length));
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Releases a previously claimed position.
+     *
+     * @param position position to release
+     */
+    public void release(int position) {
+        releaseMask(position >>> WORD_SHIFT, 1L << position);
+    }
+
+    /**
+     * Releases {@code length} consecutive previously claimed positions.
+     *
+     * @param start  first position of the run
+     * @param length number of positions in the run
+     */
+    public void releaseRun(int start, int length) {
+        int lastWord = (start + length - 1) >>> WORD_SHIFT;
+        for (int wordIndex = start >>> WORD_SHIFT; wordIndex <= lastWord; wordIndex++) {
+            releaseMask(wordIndex, runMask(wordIndex, start, length));
+        }
+    }
+
+    /**
+     * Claims the lowest free position at or after {@code from}.
+     *
+     * @param from position to start searching from (inclusive)
+     * @return the claimed position, or -1 if no free position was found
+     */
+    public int claimNextFree(int from) {
+        int position = nextFree(from);
+        while (position >= 0 && !tryClaim(position)) {
+            claimConflicts.increment();
+            position = nextFree(position + 1);
+        }
+        return position;
+    }
+
+    /**
+     * Claims the first run of {@code length} free positions at or after {@code from}
+     * that is allowed by {@code adjacency}.
+     *
+     * @param from      position to start searching from (inclusive)
+     * @param length    number of adjacent positions required
+     * @param adjacency bit i set when position i + 1 directly follows position i in the same row
+     * @return the first position of the claimed run, or -1 if no run was found
+     */
+    public int claimNextRun(int from, int length, long[] adjacency) {
+        int start = nextRun(from, length, adjacency);
+        while (start >= 0 && !tryClaimRun(start, length)) {
+            claimConflicts.increment();
+            start = nextRun(start + 1, length, adjacency);
+        }
+        return start;
+    }
+
+    /**
+     * Finds the lowest free position at or after {@code from}. The result is a hint:
+     * another thread may claim it before the caller does.
+     *
+     * @param from position to start searching from (inclusive)
+     * @return the next free position, or -1 if none was found
+     */
+    public int nextFree(int from) {
+        long position = Math.max(from, 0);
+        search:
+        while (position < size) {
+            // Climb until a word has a set bit at or after the current index
+            int level = 0;
+            long index = position;
+            while (true) {
+                long[] words = levels[level];
+                long wordIndex = index >>> WORD_SHIFT;
+                if (wordIndex >= words.length) {
+                    return -1;
+                }
+                long word = word(level, (int) wordIndex) & (-1L << (index & WORD_MASK));
+                if (word != 0) {
+                    index = (wordIndex << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+                    break;
+                }
+                if (level == levels.length - 1) {
+                    return -1;
+                }
+                index = wordIndex + 1;
+                level++;
+            }
+
+            // Descend, skipping subtrees whose summary bit was stale
+            while (level > 0) {
+                level--;
+                long word = word(level, (int) index);
+                if (word == 0) {
+                    position = (index + 1) << (WORD_SHIFT * (level + 1));
+                    continue search;
+                }
+                index = (index << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+            }
+            return index < size ? (int) index : -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first run of {@code length} free positions at or after {@code from}
+     * that is allowed by {@code adjacency}. Like {@link #nextFree(int)}, the result is a hint.
+     *
+     * @param from      position to start searching from (inclusive)
+     * @param length    number of adjacent positions required
+     * @param adjacency bit i set when position i + 1 directly follows position i in the same row
+     * @return the first position of the run, or -1 if none was found
+     */
+    public int nextRun(int from, int length, long[] adjacency) {
+        int position = nextFree(from);
+        while (position >= 0) {
+            int wordIndex = position >>> WORD_SHIFT;
+            boolean hasNext = wordIndex + 1 < levels[0].length;
+            long low = word(0, wordIndex) & (-1L << (position & WORD_MASK));
+            long high = hasNext ? word(0, wordIndex + 1) : 0;
+            long adjacentLow = adjacency[wordIndex];
+            long adjacentHigh = hasNext ? adjacency[wordIndex + 1] : 0;
+
+            long candidates = low;
+            for (int offset = 1; offset < length; offset++) {
+                candidates &= (low >>> offset) | (high << (64 - offset));
+                long adjacent = offset == 1 ? adjacentLow : (adjacentLow >>> (offset - 1)) | (adjacentHigh << (65 - offset));
+                candidates &= adjacent;
+            }
+            if (candidates != 0) {
+                return (wordIndex << WORD_SHIFT) + Long.numberOfTrailingZeros(candidates);
+            }
+            position = nextFree((wordIndex + 1) << WORD_SHIFT);
+        }
+        return -1;
+    }
+
+    private boolean tryClaimMask(int wordIndex, long mask) {
+        long[] leaves = levels[0];
+        long word;
+        long claimed;
+        do {
+            word = (long) WORDS.getVolatile(leaves, wordIndex);
+            if ((word & mask) != mask) {
+                return false;
+            }
+            claimed = word & ~mask;
+        } while (!WORDS.compareAndSet(leaves, wordIndex, word, claimed));
+
+        freeCount.add(-Long.bitCount(mask));
+        if (claimed == 0) {
+            clearSummary(1, wordIndex);
+        }
+        return true;
+    }
+
+    private void releaseMask(int wordIndex, long mask) {
+        // Count first so freeCount never drops below the number of set bits
+        freeCount.add(Long.bitCount(mask));
+        long before = (long) WORDS.getAndBitwiseOr(levels[0], wordIndex, mask);
+        if ((before & mask) != 0) {
+            throw new IllegalStateException("Released positions that were not claimed");
+        }
+        setSummary(1, wordIndex);
+    }
+
+    /**
+     * Sets the summary bit for {@code childIndex} at {@code level} and above, stopping at
+     * the first bit that is already set.
+     */
+    private void setSummary(int level, int childIndex) {
+        for (int index = childIndex; level < levels.length; level++, index >>>= WORD_SHIFT) {
+            long bit = 1L << index;
+            if ((word(level, index >>> WORD_SHIFT) & bit) != 0) {
+                return; // already set, skip the atomic update on the common path
+            }
+            long before = (long) WORDS.getAndBitwiseOr(levels[level], index >>> WORD_SHIFT, bit);
+            if ((before & bit) != 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Clears the summary bit of a child word that became empty, then re-checks the child
+     * in case a concurrent release filled it again.
+     */
+    private void clearSummary(int level, int childIndex) {
+        if (level >= levels.length) {
+            return;
+        }
+        long bit = 1L << childIndex;
+        int wordIndex = childIndex >>> WORD_SHIFT;
+        long before = (long) WORDS.getAndBitwiseAnd(levels[level], wordIndex, ~bit);
+        if (word(level - 1, childIndex) != 0) {
+            setSummary(level, childIndex);
+        } else if ((before & ~bit) == 0) {
+            clearSummary(level + 1, wordIndex);
+        }
+    }
+
+    private long word(int level, int wordIndex) {
+        return (long) WORDS.getVolatile(levels[level], wordIndex);
+    }
+
+    private static long runMask(int wordIndex, int start, int length) {
+        long wordStart = (long) wordIndex << WORD_SHIFT;
+        long from = Math.max(start, wordStart) - wordStart;
+        long to = Math.min((long) start + length, wordStart + 64) - wordStart;
+        long upper = to == 64 ? -1L : (1L << to) - 1;
+        return upper & (-1L << from);
+    }
+
+    private static int wordCount(int bits) {
+        return (bits + WORD_MASK) >>> WORD_SHIFT;
+    }
+}
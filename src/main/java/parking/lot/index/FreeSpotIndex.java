@@ -0,0 +1,241 @@
+package parking.lot.index;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Hierarchical bitset tracking which positions of a spot list are free.
+ *
+ * <p>Level 0 holds one bit per position. Every higher level holds one bit per
+ * word of the level below, set when that word has at least one free bit. The
+ * top level is a single word, so finding the first free position only touches
+ * one word per level (four levels cover more than 16M spots) regardless of
+ * how full the lot is.</p>
+ */
+public final class FreeSpotIndex {
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_MASK = 63;
+
+    private final int size;
+    private final long[][] levels; // levels[0] = leaf bits, levels[levels.length - 1] = single summary word
+    private int freeCount;
+
+    /**
+     * Constructs an index over {@code size} positions, all initially occupied.
+     *
+     * @param size number of positions tracked
+     * @throws IllegalArgumentException if size is negative
+     */
+    public FreeSpotIndex(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Index size cannot be negative");
+        }
+        this.size = size;
+
+        int depth = 1;
+        for (int words = wordCount(size); words > 1; words = wordCount(words)) {
+            depth++;
+        }
+        this.levels = new long[depth][];
+        int bits = size;
+        for (int level = 0; level < depth; level++) {
+            levels[level] = new long[Math.max(1, wordCount(bits))];
+            bits = levels[level].length;
+        }
+    }
+
+    /**
+     * @return number of positions tracked by this index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return number of positions currently marked free
+     */
+    public int freeCount() {
+        return freeCount;
+    }
+
+    /**
+     * Checks whether the given position is marked free.
+     *
+     * @param position position to check
+     * @return true if the position is free
+     */
+    public boolean isFree(int position) {
+        return (levels[0][position >>> WORD_SHIFT] & (1L << position)) != 0;
+    }
+
+    /**
+     * Marks a position as free. Has no effect if it is already free.
+     *
+     * @param position position to mark
+     */
+    public void markFree(int position) {
+        checkPosition(position);
+        int index = position;
+        for (long[] words : levels) {
+            int wordIndex = index >>> WORD_SHIFT;
+            long before = words[wordIndex];
+            long after = before | (1L << index);
+            if (before == after) {
+                return;
+            }
+            words[wordIndex] = after;
+            if (words == levels[0]) {
+                freeCount++;
+            }
+            if (before != 0) {
+                return; // summary bits above are already set
+            }
+            index = wordIndex;
+        }
+    }
+
+    /**
+     * Marks every position as free, e.g. when the index tracks a newly built lot.
+     */
+    public void markAllFree() {
+        int bits = size;
+        for (long[] words : levels) {
+            Arrays.fill(words, 0L);
+            for (int i = 0; i < bits >>> WORD_SHIFT; i++) {
+                words[i] = -1L;
+            }
+            if ((bits & WORD_MASK) != 0) {
+                words[bits >>> WORD_SHIFT] = (1L << bits) - 1;
+            }
+            bits = wordCount(bits);
+        }
+        freeCount = size;
+    }
+
+    /**
+     * Marks a position as occupied. Has no effect if it is already occupied.
+     *
+     * @param position position to mark
+     */
+    public void markOccupied(int position) {
+        checkPosition(position);
+        int index = position;
+        for (long[] words : levels) {
+            int wordIndex = index >>> WORD_SHIFT;
+            long before = words[wordIndex];
+            long after = before & ~(1L << index);
+            if (before == after) {
+                return;
+            }
+            words[wordIndex] = after;
+            if (words == levels[0]) {
+                freeCount--;
+            }
+            if (after != 0) {
+                return; // word still has free bits, summary bits above stay set
+            }
+            index = wordIndex;
+        }
+    }
+
+    /**
+     * @return the lowest free position, or -1 if every position is occupied
+     */
+    public int firstFree() {
+        return nextFree(0);
+    }
+
+    /**
+     * Finds the lowest free position that is greater than or equal to {@code from}.
+     *
+     * @param from position to start searching from (inclusive)
+     * @return the next free position, or -1 if none exists
+     */
+    public int nextFree(int from) {
+        if (from >= size) {
+            return -1;
+        }
+        int index = Math.max(from, 0);
+        int level = 0;
+
+        // Climb until a word has a set bit at or after the current index
+        while (true) {
+            long[] words = levels[level];
+            int wordIndex = index >>> WORD_SHIFT;
+            if (wordIndex >= words.length) {
+                return -1;
+            }
+            long word = words[wordIndex] & (-1L << (index & WORD_MASK));
+            if (word != 0) {
+                index = (wordIndex << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+                break;
+            }
+            if (level == levels.length - 1) {
+                return -1;
+            }
+            index = wordIndex + 1;
+            level++;
+        }
+
+        // Descend to the lowest free leaf below the summary bit that was found
+        while (level > 0) {
+            level--;
+            index = (index << WORD_SHIFT) + Long.numberOfTrailingZeros(levels[level][index]);
+        }
+        return index;
+    }
+
+    /**
+     * Counts the free positions in a range, a word at a time.
+     *
+     * @param from first position to count (inclusive)
+     * @param to   position after the last to count
+     * @return number of free positions in the range
+     */
+    public int freeCount(int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+        long[] leaves = levels[0];
+        int count = 0;
+        for (int wordIndex = from >>> WORD_SHIFT; from < to; wordIndex++) {
+            int end = (int) Math.min(to, ((long) wordIndex + 1) << WORD_SHIFT);
+            long word = leaves[wordIndex] & (-1L << from);
+            if ((end & WORD_MASK) != 0) {
+                word &= (1L << end) - 1;
+            }
+            count += Long.bitCount(word);
+            from = end;
+        }
+        return count;
+    }
+
+    /**
+     * Finds the lowest occupied position in a range, a word at a time.
+     *
+     * @param from first position to search (inclusive)
+     * @param to   position after the last to search
+     * @return the next occupied position, or -1 if every position in the range is free
+     */
+    public int nextOccupied(int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+        long[] leaves = levels[0];
+        for (int wordIndex = from >>> WORD_SHIFT; from < to; wordIndex++) {
+            long word = ~leaves[wordIndex] & (-1L << from);
+            if (word != 0) {
+                int position = (wordIndex << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+                return position < to ? position : -1;
+            }
+            from = (int) Math.min(to, ((long) wordIndex + 1) << WORD_SHIFT);
+        }
+        return -1;
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position " + position + " outside index of size " + size);
+        }
+    }
+
+    private static int wordCount(int bits) {
+        return (bits + WORD_MASK) >>> WORD_SHIFT;
+    }
+}
@@ -0,0 +1,534 @@
+package parking.lot.index;
+
+import parking.domain.ParkingSpot;
+import parking.domain.SpotOccupancyListener;
+import parking.domain.Vehicle;
+import parking.exception.InvalidParkingSpotIdException;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Fixed-size list of parking spots of a single type, backed by a {@link FreeSpotIndex}.
+ *
+ * <p>Every spot is bound to this list when it is constructed, so assigning or
+ * removing a vehicle on a spot keeps the free-spot index up to date. Allocation
+ * strategies can then find the first available spot without scanning the list.
+ * Runs of adjacent spots are indexed by an {@link AdjacentRunIndex}, built on the
+ * first multi-spot request. Strategies that rank spots by a distance, such as the
+ * distance from an entrance, get a {@link NearestFreeIndex} built on their first request,
+ * and strategies that keep adjacent pairs free get a {@link PairPreservingIndex}.</p>
+ *
+ * <p>An observer given to the factory method is told about every change after the
+ * index, so an owner can keep counts of its own in step with the spots, whether a
+ * vehicle is assigned through the owner or directly on a spot.</p>
+ *
+ * <p>A {@link #lazy lazy} list creates each spot on first access, in pages of
+ * {@value #PAGE_SIZE}, so a spot that is never touched costs only its bit in the
+ * free-spot index. Untouched spots are free, since a spot can only be occupied through
+ * its object. A lazy list given its {@link SpotRows} reads coordinates from them, and
+ * finds runs of adjacent spots through each row's longest free run in a
+ * {@link UniformRowRunIndex}, measured from the free-spot bits one row at a time, so no
+ * spot is created and nothing is allocated per spot. Without rows, indexes that need
+ * every spot's coordinates create throwaway spots for the ones not yet created, without
+ * keeping them, as do distance indexes.</p>
+ */
+public class IndexedSpotList extends AbstractList<ParkingSpot> implements RandomAccess, SpotOccupancyListener {
+    private static final int PAGE_SHIFT = 10;
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+    private final int size;
+    private final ParkingSpot[] spots;             // every spot, or null if spots are created lazily
+    private final ParkingSpot[][] pages;           // lazily created spots by page, null if not lazy
+    private final IntFunction<ParkingSpot> factory; // creates the spot at a position, null if not lazy
+    private final SpotRows rows;                   // rows of the positions, or null if read from the spots
+    private final FreeSpotIndex freeSpots;
+    private final SpotOccupancyListener observer;  // told about every change after the index, or null
+    private AdjacentRunIndex adjacentRuns; // built lazily, only multi-spot vehicles need it
+    private UniformRowRunIndex rowRuns;    // built lazily in place of adjacentRuns when rows are known
+    private NearestFreeIndex nearestFree;  // built lazily, only distance-ranking strategies need it
+    private ToIntFunction<ParkingSpot> nearestDistance; // distance function nearestFree was built for
+    private PairPreservingIndex pairPreserving; // built lazily, only pair-preserving strategies need it
+
+    private IndexedSpotList(ParkingSpot[] spots, SpotOccupancyListener observer) {
+        this.size = spots.length;
+        this.spots = spots;
+        this.pages = null;
+        this.factory = null;
+        this.rows = null;
+        this.observer = observer;
+        this.freeSpots = new FreeSpotIndex(spots.length);
+        freeSpots.markAllFree();
+    }
+
+    /**
+     * Creates an indexed list over the given spots, preserving their order.
+     *
+     * @param spots spots to index
+     * @return the list
+     */
+    public static IndexedSpotList of(List<ParkingSpot> spots) {
+        return of(spots.toArray(new ParkingSpot[0]));
+    }
+
+    /**
+     * Creates an indexed list over the spots of an array, preserving their order.
+     * The list takes over the array, which must not be modified afterwards.
+     *
+     * @param spots spots to index
+     * @return the list
+     */
+    public static IndexedSpotList of(ParkingSpot[] spots) {
+        return of(spots, null);
+    }
+
+    /**
+     * Creates an indexed list over the spots of an array, preserving their order, that
+     * tells an observer about every later change of a spot's occupancy.
+     * The list takes over the array, which must not be modified afterwards.
+     *
+     * @param spots    spots to index
+     * @param observer notified after the index of every change, or {@code null}
+     * @return the list
+     */
+    public static IndexedSpotList of(ParkingSpot[] spots, SpotOccupancyListener observer) {
+        IndexedSpotList list = new IndexedSpotList(spots, observer);
+        // Bound after construction, so the constructor never lets this escape to the spots
+        for (int i = 0; i < spots.length; i++) {
+            ParkingSpot spot = spots[i];
+            spot.bindOccupancyListener(list, i);
+            if (!spot.isAvailable()) {
+                list.freeSpots.markOccupied(i);
+            }
+        }
+        return list;
+    }
+
+    private IndexedSpotList(int size, IntFunction<ParkingSpot> factory, SpotRows rows, SpotOccupancyListener observer) {
+        this.size = size;
+        this.spots = null;
+        this.pages = new ParkingSpot[(size + PAGE_SIZE - 1) >>> PAGE_SHIFT][];
+        this.factory = factory;
+        this.rows = rows;
+        this.observer = observer;
+        this.freeSpots = new FreeSpotIndex(size);
+        freeSpots.markAllFree();
+    }
+
+    /**
+     * Constructs an indexed list whose spots are created on first access. Every spot
+     * starts available.
+     *
+     * @param size    number of spots
+     * @param factory creates the spot at a position; called at most once per position
+     *                for the spots the list keeps
+     * @return the list
+     */
+    public static IndexedSpotList lazy(int size, IntFunction<ParkingSpot> factory) {
+        return new IndexedSpotList(size, factory, null, null);
+    }
+
+    /**
+     * Constructs an indexed list whose spots are created on first access, that tells an
+     * observer about every change of a spot's occupancy. Every spot starts available.
+     *
+     * @param size     number of spots
+     * @param factory  creates the spot at a position, as for {@link #lazy(int, IntFunction)}
+     * @param observer notified after the index of every change, or {@code null}
+     * @return the list
+     */
+    public static IndexedSpotList lazy(int size, IntFunction<ParkingSpot> factory, SpotOccupancyListener observer) {
+        return new IndexedSpotList(size, factory, null, observer);
+    }
+
+    /**
+     * Constructs an indexed list whose spots are created on first use and whose rows are
+     * known up front, that tells an observer about every change of a spot's occupancy.
+     * Adjacent runs and coordinates are then read from the rows instead of the spots.
+     * Every spot starts available.
+     *
+     * @param size     number of spots
+     * @param factory  creates the spot at a position, as for {@link #lazy(int, IntFunction)}
+     * @param rows     rows of the positions; must agree with the spots the factory creates
+     * @param observer notified after the index of every change, or {@code null}
+     * @return the list
+     */
+    public static IndexedSpotList lazy(int size, IntFunction<ParkingSpot> factory, SpotRows rows,
+                                       SpotOccupancyListener observer) {
+        return new IndexedSpotList(size, factory, rows, observer);
+    }
+
+    /**
+     * Returns the spot at the given position, creating it first if the list is lazy.
+     */
+    @Override
+    public ParkingSpot get(int index) {
+        if (spots != null) {
+            return spots[index];
+        }
+        Objects.checkIndex(index, size);
+        ParkingSpot[] page = pages[index >>> PAGE_SHIFT];
+        if (page == null) {
+            page = pages[index >>> PAGE_SHIFT] = new ParkingSpot[PAGE_SIZE];
+        }
+        ParkingSpot spot = page[index & (PAGE_SIZE - 1)];
+        if (spot == null) {
+            spot = page[index & (PAGE_SIZE - 1)] = factory.apply(index);
+            spot.bindOccupancyListener(this, index);
+        }
+        return spot;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the spot at the given position without keeping a newly created one, for
+     * reading a spot's fixed attributes such as its coordinates. Spots that do not exist
+     * yet are available.
+     *
+     * @param index position of the spot
+     * @return the spot, or a throwaway copy if the list is lazy and it was never created
+     */
+    public ParkingSpot peek(int index) {
+        if (spots != null) {
+            return spots[index];
+        }
+        Objects.checkIndex(index, size);
+        ParkingSpot[] page = pages[index >>> PAGE_SHIFT];
+        ParkingSpot spot = page == null ? null : page[index & (PAGE_SIZE - 1)];
+        return spot != null ? spot : factory.apply(index);
+    }
+
+    /**
+     * @param index position of the spot
+     * @return true if the spot is available, without creating it
+     */
+    public boolean isAvailable(int index) {
+        return freeSpots.isFree(Objects.checkIndex(index, size));
+    }
+
+    /**
+     * Counts the available spots in a range of positions without reading the spots.
+     *
+     * @param from first position (inclusive)
+     * @param to   position after the last
+     * @return number of available spots in the range
+     */
+    public int availableCount(int from, int to) {
+        return freeSpots.freeCount(from, to);
+    }
+
+    /**
+     * Finds the first occupied spot in a range of positions without reading the spots.
+     *
+     * @param from first position (inclusive)
+     * @param to   position after the last
+     * @return position of the occupied spot, or -1 if every spot in the range is available
+     */
+    public int nextOccupiedIndex(int from, int to) {
+        return freeSpots.nextOccupied(from, to);
+    }
+
+    /**
+     * @return the first available spot in list order, or {@code null} if all are occupied
+     */
+    public ParkingSpot firstAvailable() {
+        int position = freeSpots.firstFree();
+        return position < 0 ? null : get(position);
+    }
+
+    /**
+     * Finds the first available spot at or after the given index.
+     *
+     * @param from index to start searching from (inclusive)
+     * @return the index of the spot, or -1 if no spot from there on is available
+     */
+    public int nextAvailableIndex(int from) {
+        return freeSpots.nextFree(from);
+    }
+
+    /**
+     * Finds the first run of {@code count} adjacent available spots in the same row.
+     *
+     * @param count number of adjacent spots required
+     * @return the spots ordered by column, or an empty list if no row has such a run
+     * @throws InvalidParkingSpotIdException if a spot has no row and column
+     */
+    public List<ParkingSpot> findAdjacentAvailable(int count) throws InvalidParkingSpotIdException {
+        if (rows != null) {
+            return findAdjacentAvailableByRow(count);
+        }
+        if (adjacentRuns == null) {
+            adjacentRuns = buildAdjacentRunIndex();
+        }
+        int position = adjacentRuns.findRun(count);
+        if (position < 0) {
+            return Collections.emptyList();
+        }
+        List<ParkingSpot> run = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            run.add(get(position));
+            position = adjacentRuns.nextInRow(position);
+        }
+        return run;
+    }
+
+    /**
+     * Finds the first run of adjacent available spots through the rows' longest free
+     * runs, creating only the spots of the run.
+     */
+    private List<ParkingSpot> findAdjacentAvailableByRow(int count) {
+        if (rowRuns == null) {
+            rowRuns = new UniformRowRunIndex(rows.rowCount(), row -> runInRow(row, Integer.MAX_VALUE, true));
+        }
+        int row = rowRuns.firstRowWithRun(count);
+        if (row < 0) {
+            return Collections.emptyList();
+        }
+        int position = runInRow(row, count, false);
+        List<ParkingSpot> run = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            run.add(get(position + i));
+        }
+        return run;
+    }
+
+    /**
+     * Walks a row's positions, either measuring its longest run of adjacent free spots
+     * or locating the first run of the given length.
+     *
+     * @return the longest run when {@code measure} is set, otherwise the position the run starts at, or -1
+     */
+    private int runInRow(int row, int length, boolean measure) {
+        int start = rows.rowStart(row);
+        int[] columns = rows.columns(row);
+        int longest = 0;
+        int run = 0;
+        for (int i = 0; i < columns.length; i++) {
+            if (!freeSpots.isFree(start + i)) {
+                run = 0;
+                continue;
+            }
+            run = run > 0 && columns[i] == columns[i - 1] + 1 ? run + 1 : 1;
+            if (run >= length) {
+                return start + i - length + 1;
+            }
+            longest = Math.max(longest, run);
+        }
+        return measure ? longest : -1;
+    }
+
+    /**
+     * Finds an available spot whose occupation breaks up as few free adjacent pairs as
+     * possible: the first spot without an available neighbour, else the first end of a
+     * run of an odd number of available spots, else the first available spot.
+     *
+     * @return the spot, or {@code null} if all are occupied
+     * @throws InvalidParkingSpotIdException if a spot has no row and column
+     */
+    public ParkingSpot leastFragmentingAvailable() throws InvalidParkingSpotIdException {
+        if (pairPreserving == null) {
+            pairPreserving = buildPairPreservingIndex();
+        }
+        int position = pairPreserving.firstPairNeutralFree();
+        if (position < 0) {
+            position = freeSpots.firstFree(); // every run is even, this is the left end of the first
+        }
+        return position < 0 ? null : get(position);
+    }
+
+    /**
+     * Finds the available spot with the smallest distance, taking the first in list
+     * order among spots at the same distance.
+     *
+     * <p>The distance of every spot is computed once, when the first request with this
+     * distance function builds the index. A request with a different function rebuilds
+     * it, so callers should keep passing the same function instance.</p>
+     *
+     * @param distance distance of a spot; must not change while the spot is in this list
+     * @return the nearest available spot, or {@code null} if all are occupied
+     * @throws InvalidParkingSpotIdException if a spot has no row and column
+     */
+    public ParkingSpot nearestAvailable(ToIntFunction<ParkingSpot> distance) throws InvalidParkingSpotIdException {
+        int position = nearestFreeIndex(distance).nearestFree();
+        return position < 0 ? null : get(position);
+    }
+
+    /**
+     * Finds the run of {@code count} adjacent available spots in the same row whose
+     * farthest spot has the smallest distance.
+     *
+     * @param count    number of adjacent spots required
+     * @param distance distance of a spot, as for {@link #nearestAvailable}
+     * @return the spots ordered by column, or an empty list if no row has such a run
+     * @throws InvalidParkingSpotIdException if a spot has no row and column
+     */
+    public List<ParkingSpot> findNearestAdjacentAvailable(int count, ToIntFunction<ParkingSpot> distance)
+            throws InvalidParkingSpotIdException {
+        NearestFreeIndex index = nearestFreeIndex(distance);
+        int position = index.nearestRun(count);
+        if (position < 0) {
+            return Collections.emptyList();
+        }
+        List<ParkingSpot> run = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            run.add(get(position));
+            position = index.nextInRow(position);
+        }
+        return run;
+    }
+
+    /**
+     * @return number of available spots in this list
+     */
+    public int availableCount() {
+        return freeSpots.freeCount();
+    }
+
+    @Override
+    public void onOccupied(ParkingSpot spot, int position, Vehicle vehicle) {
+        freeSpots.markOccupied(position);
+        if (adjacentRuns != null) {
+            adjacentRuns.markOccupied(position);
+        }
+        if (rowRuns != null) {
+            rowRuns.refreshRow(rows.rowOf(position));
+        }
+        if (nearestFree != null) {
+            nearestFree.markOccupied(position);
+        }
+        if (pairPreserving != null) {
+            pairPreserving.markOccupied(position);
+        }
+        if (observer != null) {
+            observer.onOccupied(spot, position, vehicle);
+        }
+    }
+
+    @Override
+    public void onReleased(ParkingSpot spot, int position, Vehicle vehicle) {
+        freeSpots.markFree(position);
+        if (adjacentRuns != null) {
+            adjacentRuns.markFree(position);
+        }
+        if (rowRuns != null) {
+            rowRuns.refreshRow(rows.rowOf(position));
+        }
+        if (nearestFree != null) {
+            nearestFree.markFree(position);
+        }
+        if (pairPreserving != null) {
+            pairPreserving.markFree(position);
+        }
+        if (observer != null) {
+            observer.onReleased(spot, position, vehicle);
+        }
+    }
+
+    /**
+     * Builds the adjacency index from the spots' coordinates.
+     */
+    private AdjacentRunIndex buildAdjacentRunIndex() throws InvalidParkingSpotIdException {
+        int[] rows = new int[size];
+        int[] columns = new int[size];
+        readCoordinates(rows, columns);
+
+        AdjacentRunIndex index = new AdjacentRunIndex(rows, columns);
+        for (int i = 0; i < size; i++) {
+            if (freeSpots.isFree(i)) {
+                index.markFree(i);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Builds the pair-preserving index from the spots' coordinates.
+     */
+    private PairPreservingIndex buildPairPreservingIndex() throws InvalidParkingSpotIdException {
+        int[] rows = new int[size];
+        int[] columns = new int[size];
+        readCoordinates(rows, columns);
+
+        PairPreservingIndex index = new PairPreservingIndex(rows, columns);
+        for (int i = 0; i < size; i++) {
+            if (freeSpots.isFree(i)) {
+                index.markFree(i);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the distance index for the given function, building it on first use.
+     */
+    private NearestFreeIndex nearestFreeIndex(ToIntFunction<ParkingSpot> distance) throws InvalidParkingSpotIdException {
+        if (nearestFree != null && nearestDistance == distance) {
+            return nearestFree;
+        }
+        int[] rows = new int[size];
+        int[] columns = new int[size];
+        readCoordinates(rows, columns);
+        int[] distances = new int[size];
+        for (int i = 0; i < size; i++) {
+            distances[i] = distance.applyAsInt(peek(i));
+        }
+
+        NearestFreeIndex index = new NearestFreeIndex(distances, rows, columns);
+        for (int i = 0; i < size; i++) {
+            if (freeSpots.isFree(i)) {
+                index.markFree(i);
+            }
+        }
+        nearestFree = index;
+        nearestDistance = distance;
+        return index;
+    }
+
+    /**
+     * Fills in the row ordinal and column of every spot, numbering rows in order of
+     * first appearance. Rows known up front are read without touching the spots.
+     */
+    private void readCoordinates(int[] rows, int[] columns) throws InvalidParkingSpotIdException {
+        if (this.rows != null) {
+            int ordinal = 0;
+            for (int row = 0; row < this.rows.rowCount(); row++) {
+                int start = this.rows.rowStart(row);
+                int[] rowColumns = this.rows.columns(row);
+                if (rowColumns.length == 0) continue;
+                for (int i = 0; i < rowColumns.length; i++) {
+                    rows[start + i] = ordinal;
+                    columns[start + i] = rowColumns[i];
+                }
+                ordinal++;
+            }
+            return;
+        }
+        Map<Integer, Integer> rowOrdinals = new HashMap<>();
+        int previousRow = 0;
+        int previousOrdinal = -1;
+        for (int i = 0; i < size; i++) {
+            ParkingSpot spot = peek(i);
+            if (!spot.hasCoordinates()) {
+                throw new InvalidParkingSpotIdException("Invalid spotId: " + spot.getParkingSpotId());
+            }
+            if (spot.getRow() != previousRow) {
+                previousRow = spot.getRow();
+                previousOrdinal = rowOrdinals.computeIfAbsent(previousRow, k -> rowOrdinals.size());
+            }
+            rows[i] = previousOrdinal;
+            columns[i] = spot.getColumn();
+        }
+    }
+}
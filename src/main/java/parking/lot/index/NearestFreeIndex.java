@@ -0,0 +1,221 @@
+package parking.lot.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Priority index of free positions ordered by a fixed distance, e.g. the distance of
+ * each spot from the nearest entrance.
+ *
+ * <p>A min-tree over all positions, with the distance of every free position and
+ * {@link #NONE} for occupied ones, answers the nearest free position in O(log n).
+ * Runs of adjacent free positions in a row are kept in a second min-tree per run
+ * length, keyed by the distance of the run's farthest position, so the nearest run
+ * for a multi-spot vehicle also comes back in O(log n). Run trees are built on the
+ * first request for their length. Ties go to the lowest position.</p>
+ */
+public final class NearestFreeIndex {
+    private static final int NONE = Integer.MAX_VALUE;   // key of an occupied position or a run that is not free
+
+    private final int[] distances;      // distance of each position
+    private final int[] nextInRow;      // position in the next column of the same row, or -1
+    private final int[] previousInRow;  // position in the previous column of the same row, or -1
+    private final MinTree free;         // distance of each free position
+    private final Map<Integer, MinTree> runs = new HashMap<>(); // free runs by length, keyed by their start
+
+    /**
+     * Constructs an index over positions laid out in rows, all initially occupied.
+     *
+     * @param distances distance of each position; positions at equal distance are taken lowest first
+     * @param rows      row ordinal of each position
+     * @param columns   column number of each position within its row; adjacent spots differ by one
+     * @throws IllegalArgumentException if the arrays differ in length, a distance is negative
+     *                                  or two positions share a row and column
+     */
+    public NearestFreeIndex(int[] distances, int[] rows, int[] columns) {
+        if (distances.length != rows.length || rows.length != columns.length) {
+            throw new IllegalArgumentException("Distance, row and column arrays must have the same length");
+        }
+        for (int distance : distances) {
+            if (distance < 0 || distance == NONE) {
+                throw new IllegalArgumentException("Invalid distance: " + distance);
+            }
+        }
+        int size = distances.length;
+        this.distances = distances.clone();
+        this.nextInRow = new int[size];
+        this.previousInRow = new int[size];
+        Arrays.fill(nextInRow, -1);
+        Arrays.fill(previousInRow, -1);
+
+        // Look up each position's right-hand neighbour by row and column
+        Map<Long, Integer> cells = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            if (cells.put(cell(rows[i], columns[i]), i) != null) {
+                throw new IllegalArgumentException("Two positions share row " + rows[i] + " column " + columns[i]);
+            }
+        }
+        for (int left = 0; left < size; left++) {
+            Integer right = cells.get(cell(rows[left], columns[left] + 1));
+            if (right != null) {
+                nextInRow[left] = right;
+                previousInRow[right] = left;
+            }
+        }
+        this.free = new MinTree(size);
+    }
+
+    /**
+     * @return number of positions tracked by this index
+     */
+    public int size() {
+        return distances.length;
+    }
+
+    /**
+     * Marks a position as free. Has no effect if it is already free.
+     *
+     * @param position position to mark
+     */
+    public void markFree(int position) {
+        if (free.get(position) == NONE) {
+            free.set(position, distances[position]);
+            updateRuns(position);
+        }
+    }
+
+    /**
+     * Marks a position as occupied. Has no effect if it is already occupied.
+     *
+     * @param position position to mark
+     */
+    public void markOccupied(int position) {
+        if (free.get(position) != NONE) {
+            free.set(position, NONE);
+            updateRuns(position);
+        }
+    }
+
+    /**
+     * @return the free position with the smallest distance, or -1 if every position is occupied
+     */
+    public int nearestFree() {
+        return free.argMin();
+    }
+
+    /**
+     * Finds the run of {@code length} free adjacent positions in one row whose farthest
+     * position is nearest.
+     *
+     * @param length number of adjacent positions required
+     * @return position of the run's first (leftmost) position, or -1 if no row has such a run
+     */
+    public int nearestRun(int length) {
+        if (length < 1) {
+            return -1;
+        }
+        if (length == 1) {
+            return nearestFree();
+        }
+        return runs.computeIfAbsent(length, this::buildRuns).argMin();
+    }
+
+    /**
+     * Returns the position in the column to the right of the given one.
+     *
+     * @param position a position tracked by this index
+     * @return the adjacent position in the same row, or -1 if there is none
+     */
+    public int nextInRow(int position) {
+        return nextInRow[position];
+    }
+
+    private static long cell(int row, int column) {
+        return (long) row << 32 | (column & 0xFFFFFFFFL);
+    }
+
+    private MinTree buildRuns(int length) {
+        MinTree tree = new MinTree(distances.length);
+        for (int start = 0; start < distances.length; start++) {
+            tree.set(start, runKey(start, length));
+        }
+        return tree;
+    }
+
+    /**
+     * Refreshes every tracked run that contains the given position.
+     */
+    private void updateRuns(int position) {
+        for (Map.Entry<Integer, MinTree> entry : runs.entrySet()) {
+            int length = entry.getKey();
+            MinTree tree = entry.getValue();
+            for (int start = position, step = 0; start >= 0 && step < length; start = previousInRow[start], step++) {
+                tree.set(start, runKey(start, length));
+            }
+        }
+    }
+
+    /**
+     * @return distance of the run's farthest position, or {@link #NONE} if the run is not entirely free
+     */
+    private int runKey(int start, int length) {
+        int key = 0;
+        int position = start;
+        for (int i = 0; i < length; i++) {
+            if (position < 0 || free.get(position) == NONE) {
+                return NONE;
+            }
+            key = Math.max(key, distances[position]);
+            position = nextInRow[position];
+        }
+        return key;
+    }
+
+    /**
+     * Segment tree over positions keeping the minimum key of every range.
+     */
+    private static final class MinTree {
+        private final int leaves;   // power of two
+        private final int[] keys;   // keys[1] is the root, leaves start at keys[leaves]
+
+        MinTree(int size) {
+            this.leaves = Math.max(1, Integer.highestOneBit(Math.max(size - 1, 1)) << 1);
+            this.keys = new int[2 * leaves];
+            Arrays.fill(keys, NONE);
+        }
+
+        int get(int position) {
+            return keys[leaves + position];
+        }
+
+        void set(int position, int key) {
+            int node = leaves + position;
+            if (keys[node] == key) {
+                return;
+            }
+            keys[node] = key;
+            for (node >>>= 1; node > 0; node >>>= 1) {
+                int min = Math.min(keys[2 * node], keys[2 * node + 1]);
+                if (keys[node] == min) {
+                    return; // ancestors already hold this minimum
+                }
+                keys[node] = min;
+            }
+        }
+
+        /**
+         * @return the lowest position holding the minimum key, or -1 if every key is {@link #NONE}
+         */
+        int argMin() {
+            if (keys[1] == NONE) {
+                return -1;
+            }
+            int node = 1;
+            while (node < leaves) {
+                node = keys[2 * node] == keys[node] ? 2 * node : 2 * node + 1;
+            }
+            return node - leaves;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package parking.lot.index;
+
+/**
+ * Index of free positions that a single-spot vehicle can take without reducing the
+ * number of disjoint free adjacent pairs, used to keep room for vans.
+ *
+ * <p>A free run of length L holds L / 2 disjoint pairs. Taking an isolated free
+ * position (L = 1) or either end of a run of odd length leaves that number unchanged,
+ * so these positions are tracked in two {@link FreeSpotIndex} bitsets, with isolated
+ * positions preferred. Run ends are found by scanning a free bitset a word at a time,
+ * so an update costs O(L / 64) plus the bitset updates.</p>
+ *
+ * <p>Positions are expected in row order: position {@code i + 1} can only be the right
+ * neighbour of position {@code i}.</p>
+ */
+public final class PairPreservingIndex {
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_MASK = 63;
+
+    private final int size;
+    private final long[] free;              // one bit per free position
+    private final long[] linked;            // bit i set when position i + 1 is the next column of position i's row
+    private final FreeSpotIndex isolated;   // free positions without a free neighbour
+    private final FreeSpotIndex oddRunEnds; // both ends of every free run of odd length, 3 or more
+
+    /**
+     * Constructs an index over positions laid out in rows, all initially occupied.
+     *
+     * @param rows    row ordinal of each position
+     * @param columns column number of each position within its row; adjacent spots differ by one
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public PairPreservingIndex(int[] rows, int[] columns) {
+        if (rows.length != columns.length) {
+            throw new IllegalArgumentException("Row and column arrays must have the same length");
+        }
+        this.size = rows.length;
+        int words = Math.max(1, (size + WORD_MASK) >>> WORD_SHIFT);
+        this.free = new long[words];
+        this.linked = new long[words];
+        for (int i = 0; i + 1 < size; i++) {
+            if (rows[i + 1] == rows[i] && columns[i + 1] == columns[i] + 1) {
+                linked[i >>> WORD_SHIFT] |= 1L << i;
+            }
+        }
+        this.isolated = new FreeSpotIndex(size);
+        this.oddRunEnds = new FreeSpotIndex(size);
+    }
+
+    /**
+     * @return number of positions tracked by this index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Marks a position as free. Has no effect if it is already free.
+     *
+     * @param position position to mark
+     */
+    public void markFree(int position) {
+        if (isFree(position)) {
+            return;
+        }
+        free[position >>> WORD_SHIFT] |= 1L << position;
+
+        // The runs on either side have merged through this position
+        int start = runStart(position);
+        int end = runEnd(position);
+        unclassify(start);
+        unclassify(end);
+        if (position > start) {
+            unclassify(position - 1);
+        }
+        if (position < end) {
+            unclassify(position + 1);
+        }
+        classify(start, end);
+    }
+
+    /**
+     * Marks a position as occupied. Has no effect if it is already occupied.
+     *
+     * @param position position to mark
+     */
+    public void markOccupied(int position) {
+        if (!isFree(position)) {
+            return;
+        }
+        int start = runStart(position);
+        int end = runEnd(position);
+        free[position >>> WORD_SHIFT] &= ~(1L << position);
+
+        // The run splits around this position
+        unclassify(start);
+        unclassify(end);
+        unclassify(position);
+        if (start < position) {
+            classify(start, position - 1);
+        }
+        if (position < end) {
+            classify(position + 1, end);
+        }
+    }
+
+    /**
+     * Finds the lowest free position that can be taken without reducing the number of
+     * disjoint free adjacent pairs, trying isolated positions before ends of odd runs.
+     *
+     * @return the position, or -1 if every free position belongs to a run of even length
+     */
+    public int firstPairNeutralFree() {
+        int position = isolated.firstFree();
+        return position >= 0 ? position : oddRunEnds.firstFree();
+    }
+
+    private boolean isFree(int position) {
+        return (free[position >>> WORD_SHIFT] & (1L << position)) != 0;
+    }
+
+    /**
+     * @return bits of the word at {@code wordIndex} for positions that are free, linked
+     * to their right neighbour and followed by a free neighbour
+     */
+    private long continuesWord(int wordIndex) {
+        long next = wordIndex + 1 < free.length ? free[wordIndex + 1] << WORD_MASK : 0L;
+        return linked[wordIndex] & free[wordIndex] & ((free[wordIndex] >>> 1) | next);
+    }
+
+    /**
+     * @return the last position of the free run containing the given free position
+     */
+    private int runEnd(int position) {
+        int wordIndex = position >>> WORD_SHIFT;
+        long stops = ~continuesWord(wordIndex) & (-1L << (position & WORD_MASK));
+        while (stops == 0) {
+            stops = ~continuesWord(++wordIndex); // the last position never continues, so this ends in range
+        }
+        return (wordIndex << WORD_SHIFT) + Long.numberOfTrailingZeros(stops);
+    }
+
+    /**
+     * @return the first position of the free run containing the given free position
+     */
+    private int runStart(int position) {
+        if (position == 0) {
+            return 0;
+        }
+        int before = position - 1;
+        int wordIndex = before >>> WORD_SHIFT;
+        long stops = ~continuesWord(wordIndex) & (-1L >>> (WORD_MASK - (before & WORD_MASK)));
+        while (stops == 0) {
+            if (wordIndex == 0) {
+                return 0;
+            }
+            stops = ~continuesWord(--wordIndex);
+        }
+        return (wordIndex << WORD_SHIFT) + WORD_MASK - Long.numberOfLeadingZeros(stops) + 1;
+    }
+
+    private void classify(int start, int end) {
+        int length = end - start + 1;
+        if (length == 1) {
+            isolated.markFree(start);
+        } else if ((length & 1) == 1) {
+            oddRunEnds.markFree(start);
+            oddRunEnds.markFree(end);
+        }
+    }
+
+    private void unclassify(int position) {
+        isolated.markOccupied(position);
+        oddRunEnds.markOccupied(position);
+    }
+}
@@ -0,0 +1,35 @@
+package parking.lot.index;
+
+/**
+ * Rows of the positions of an {@link IndexedSpotList}, for lists that do not keep a spot
+ * object per position. Positions are numbered row by row, then by column, so every row
+ * holds a range of consecutive positions.
+ */
+public interface SpotRows {
+
+    /**
+     * @return number of rows, including rows without positions
+     */
+    int rowCount();
+
+    /**
+     * @param row 0-based row, or {@link #rowCount()} for the number of positions
+     * @return first position of the row
+     */
+    int rowStart(int row);
+
+    /**
+     * @param position a position of the list
+     * @return the 0-based row holding the position
+     */
+    int rowOf(int position);
+
+    /**
+     * Returns the columns of a row's positions, in position order. The array may be
+     * shared with other rows and must not be modified.
+     *
+     * @param row 0-based row
+     * @return 1-based column of each position of the row
+     */
+    int[] columns(int row);
+}
@@ -0,0 +1,154 @@
+package parking.lot.index;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Adjacent-run index for lots where every row has the same layout.
+ *
+ * <p>Positions are numbered row by row ({@code row * slotsPerRow + slot}) and their
+ * free state is read from a shared {@link FreeSpotIndex}. Only one int per row is
+ * stored: the row's longest free run, kept in a max-tree so the first row able to
+ * hold K adjacent spots is found in O(log rows). A row's run is recomputed from its
+ * bits when one of its positions changes, which is bounded by the row width.</p>
+ *
+ * <p>A lot that keeps its free state in another form can supply each row's longest
+ * free run itself and use the index to find the first row able to hold a run.</p>
+ */
+public final class UniformRowRunIndex {
+    private final FreeSpotIndex freeSpots;  // null when rows are measured by longestRun
+    private final IntUnaryOperator longestRun;
+    private final int rowCount;
+    private final int slotsPerRow;
+    private final boolean[] adjacentToNext; // slot k and slot k + 1 are in neighbouring columns
+    private final int leaves;
+    private final int[] rowTree;            // max-tree of each row's longest free run
+
+    /**
+     * Constructs the index and computes every row's longest free run.
+     *
+     * @param freeSpots   free state of all positions
+     * @param rowCount    number of rows
+     * @param rowColumns  ascending column numbers of the tracked slots within a row
+     */
+    public UniformRowRunIndex(FreeSpotIndex freeSpots, int rowCount, int[] rowColumns) {
+        this.freeSpots = freeSpots;
+        this.longestRun = row -> findRunInRow(row, Integer.MAX_VALUE, true);
+        this.rowCount = rowCount;
+        this.slotsPerRow = rowColumns.length;
+        this.adjacentToNext = new boolean[slotsPerRow];
+        for (int slot = 0; slot + 1 < slotsPerRow; slot++) {
+            adjacentToNext[slot] = rowColumns[slot + 1] == rowColumns[slot] + 1;
+        }
+        this.leaves = rowCount <= 1 ? 1 : Integer.highestOneBit(rowCount - 1) << 1;
+        this.rowTree = new int[2 * leaves];
+        build();
+    }
+
+    /**
+     * Constructs an index over rows whose longest free runs are measured by the caller.
+     * Only rows are indexed: {@link #firstRowWithRun(int)} and {@link #refreshRow(int)}
+     * are available, positions are not.
+     *
+     * @param rowCount   number of rows
+     * @param longestRun longest run of free adjacent spots in a 0-based row
+     */
+    public UniformRowRunIndex(int rowCount, IntUnaryOperator longestRun) {
+        this.freeSpots = null;
+        this.longestRun = longestRun;
+        this.rowCount = rowCount;
+        this.slotsPerRow = 0;
+        this.adjacentToNext = new boolean[0];
+        this.leaves = rowCount <= 1 ? 1 : Integer.highestOneBit(rowCount - 1) << 1;
+        this.rowTree = new int[2 * leaves];
+        build();
+    }
+
+    private void build() {
+        for (int row = 0; row < rowCount; row++) {
+            rowTree[leaves + row] = longestRun.applyAsInt(row);
+        }
+        for (int node = leaves - 1; node > 0; node--) {
+            rowTree[node] = Math.max(rowTree[2 * node], rowTree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Recomputes the longest free run of the row holding {@code position}.
+     * Must be called after the position's free state changed.
+     *
+     * @param position position whose free state changed
+     */
+    public void refresh(int position) {
+        refreshRow(position / slotsPerRow);
+    }
+
+    /**
+     * Re-measures the longest free run of a row.
+     * Must be called after the free state of one of the row's spots changed.
+     *
+     * @param row 0-based row whose free state changed
+     */
+    public void refreshRow(int row) {
+        int node = leaves + row;
+        rowTree[node] = longestRun.applyAsInt(row);
+        while (node > 1) {
+            node >>>= 1;
+            int best = Math.max(rowTree[2 * node], rowTree[2 * node + 1]);
+            if (rowTree[node] == best) {
+                return;
+            }
+            rowTree[node] = best;
+        }
+    }
+
+    /**
+     * Finds the leftmost run of {@code length} free adjacent positions in the first row that has one.
+     *
+     * @param length number of adjacent positions required
+     * @return position of the run's first spot, or -1 if no row has such a run
+     */
+    public int findRun(int length) {
+        int row = firstRowWithRun(length);
+        return row < 0 ? -1 : row * slotsPerRow + findRunInRow(row, length, false);
+    }
+
+    /**
+     * Finds the first row with a run of {@code length} free adjacent spots.
+     *
+     * @param length number of adjacent spots required
+     * @return the 0-based row, or -1 if no row has such a run
+     */
+    public int firstRowWithRun(int length) {
+        if (length < 1 || rowCount == 0 || rowTree[1] < length) {
+            return -1;
+        }
+        int node = 1;
+        while (node < leaves) {
+            node = rowTree[2 * node] >= length ? 2 * node : 2 * node + 1;
+        }
+        return node - leaves;
+    }
+
+    /**
+     * Walks a row's slots, either measuring its longest free run or locating the
+     * first run of the given length.
+     *
+     * @return the longest run when {@code measure} is set, otherwise the slot the run starts at
+     */
+    private int findRunInRow(int row, int length, boolean measure) {
+        int base = row * slotsPerRow;
+        int longest = 0;
+        int run = 0;
+        for (int slot = 0; slot < slotsPerRow; slot++) {
+            run = freeSpots.isFree(base + slot) ? run + 1 : 0;
+            if (run >= length) {
+                return slot - length + 1;
+            }
+            longest = Math.max(longest, run);
+            if (!adjacentToNext[slot]) {
+                run = 0;
+            }
+        }
+        return measure ? longest : -1;
+    }
+}
@@ -0,0 +1,215 @@
+package parking.lot.index;
+
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Open-addressing table mapping vehicle identifiers to long handles, e.g. slots of a
+ * vehicle table or runs of spots packed into one value.
+ *
+ * <p>Keys and handles live in two parallel arrays probed linearly, so an entry costs
+ * two array elements instead of a map node and a boxed value. The identifier strings
+ * are the caller's own; their cached hash codes are spread with a multiplicative hash,
+ * so plates that share a prefix still land far apart. Removal shifts the following
+ * entries of the probe run back instead of leaving tombstones, so lookups stay short
+ * under steady park/remove churn.</p>
+ *
+ * <p>Not thread-safe.</p>
+ */
+public final class VehicleIndex {
+    /** Handle returned for identifiers that are not in the index. */
+    public static final long ABSENT = -1;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int SPREAD = 0x9E3779B9; // 2^32 / golden ratio
+
+    private String[] keys;   // null marks an empty slot
+    private long[] handles;
+    private int shift;       // 32 - log2(capacity)
+    private int size;
+
+    /**
+     * Constructs an empty index.
+     */
+    public VehicleIndex() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty index sized to hold {@code expectedSize} vehicles without growing.
+     *
+     * @param expectedSize number of vehicles expected
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public VehicleIndex(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative");
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * @return number of vehicles in the index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Looks up the handle of a vehicle.
+     *
+     * @param identifier vehicle identifier
+     * @return the vehicle's handle, or {@link #ABSENT} if it is not in the index
+     */
+    public long get(String identifier) {
+        int mask = keys.length - 1;
+        for (int slot = slotOf(identifier); ; slot = (slot + 1) & mask) {
+            String key = keys[slot];
+            if (key == null) {
+                return ABSENT;
+            }
+            if (key == identifier || key.equals(identifier)) {
+                return handles[slot];
+            }
+        }
+    }
+
+    /**
+     * Checks whether a vehicle is in the index.
+     *
+     * @param identifier vehicle identifier
+     * @return true if the vehicle has a handle
+     */
+    public boolean contains(String identifier) {
+        return get(identifier) != ABSENT;
+    }
+
+    /**
+     * Maps a vehicle to a handle, replacing its previous handle if any.
+     *
+     * @param identifier vehicle identifier
+     * @param handle     non-negative handle
+     * @return the previous handle, or {@link #ABSENT} if the vehicle was not in the index
+     * @throws IllegalArgumentException if handle is negative
+     */
+    public long put(String identifier, long handle) {
+        if (handle < 0) {
+            throw new IllegalArgumentException("Handle cannot be negative");
+        }
+        if (size >= maxSize(keys.length)) {
+            resize(keys.length << 1);
+        }
+        int mask = keys.length - 1;
+        for (int slot = slotOf(identifier); ; slot = (slot + 1) & mask) {
+            String key = keys[slot];
+            if (key == null) {
+                keys[slot] = identifier;
+                handles[slot] = handle;
+                size++;
+                return ABSENT;
+            }
+            if (key == identifier || key.equals(identifier)) {
+                long previous = handles[slot];
+                handles[slot] = handle;
+                return previous;
+            }
+        }
+    }
+
+    /**
+     * Removes a vehicle from the index.
+     *
+     * @param identifier vehicle identifier
+     * @return the vehicle's handle, or {@link #ABSENT} if it was not in the index
+     */
+    public long remove(String identifier) {
+        int mask = keys.length - 1;
+        int slot = slotOf(identifier);
+        while (true) {
+            String key = keys[slot];
+            if (key == null) {
+                return ABSENT;
+            }
+            if (key == identifier || key.equals(identifier)) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        long handle = handles[slot];
+
+        // Shift back every later entry of the run that may move into the hole
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != null; next = (next + 1) & mask) {
+            int home = slotOf(keys[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                handles[hole] = handles[next];
+                hole = next;
+            }
+        }
+        keys[hole] = null;
+        size--;
+        return handle;
+    }
+
+    /**
+     * Calls {@code action} with every vehicle and its handle, in no particular order.
+     *
+     * @param action the action to call
+     */
+    public void forEach(ObjLongConsumer<String> action) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null) {
+                action.accept(keys[slot], handles[slot]);
+            }
+        }
+    }
+
+    private int slotOf(String identifier) {
+        return (identifier.hashCode() * SPREAD) >>> shift;
+    }
+
+    private void resize(int capacity) {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Vehicle index cannot grow beyond " + maxSize(MAX_CAPACITY) + " vehicles");
+        }
+        String[] oldKeys = keys;
+        long[] oldHandles = handles;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = slotOf(oldKeys[i]);
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                handles[slot] = oldHandles[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new String[capacity];
+        this.handles = new long[capacity];
+        this.shift = Integer.numberOfLeadingZeros(capacity) + 1;
+    }
+
+    /**
+     * @return the smallest power of two that holds {@code expectedSize} entries below the maximum load
+     */
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (maxSize(capacity) < expectedSize && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * @return number of entries a table of {@code capacity} slots holds before growing (two thirds full)
+     */
+    private static int maxSize(int capacity) {
+        return (int) ((long) capacity * 2 / 3);
+    }
+}
@@ -0,0 +1,184 @@
+package parking.lot.strategy;
+
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.exception.InvalidParkingSpotIdException;
+import parking.exception.ParkingUnavailableException;
+import parking.lot.index.IndexedSpotList;
+import parking.metrics.SpotSearchEvent;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Base class for allocation strategies that walk a vehicle's candidates in a
+ * {@link CompatibilityTable}.
+ *
+ * <p>{@link #findParkingSpot} validates its inputs, tries each of the vehicle's
+ * candidates in order of preference until one yields spots, and reports the search to
+ * Flight Recorder as a {@link SpotSearchEvent}. Subclasses only choose the spot, or run
+ * of adjacent spots, within one spot type: {@link #findSingleSpot} for candidates
+ * spanning one spot and {@link #findAdjacentSpots} for longer spans, which defaults to
+ * the first run in lot order.</p>
+ */
+public abstract class AbstractAllocationStrategy implements SpotAllocationStrategy {
+    /** Spots each vehicle type may take, in order of preference. */
+    protected final CompatibilityTable compatibility;
+
+    /**
+     * @param compatibility spots each vehicle type may take, in order of preference
+     * @throws IllegalArgumentException if compatibility is null
+     */
+    protected AbstractAllocationStrategy(CompatibilityTable compatibility) {
+        if (compatibility == null) {
+            throw new IllegalArgumentException("Compatibility table must not be null");
+        }
+        this.compatibility = compatibility;
+    }
+
+    /**
+     * @return spots each vehicle type may take, in order of preference
+     */
+    @Override
+    public CompatibilityTable getCompatibility() {
+        return compatibility;
+    }
+
+    /**
+     * Finds available parking spot(s) for the given vehicle.
+     *
+     * @param vehicle        the vehicle requesting a spot
+     * @param parkingSpotMap map of spots grouped by type
+     * @return allocated spot(s), or an empty list if no suitable spots are available
+     * @throws ParkingUnavailableException if inputs are invalid or a spot has no row and column
+     */
+    @Override
+    public final List<ParkingSpot> findParkingSpot(Vehicle vehicle, Map<ParkingSpotType, List<ParkingSpot>> parkingSpotMap) {
+        if (vehicle == null) {
+            throw new ParkingUnavailableException("Vehicle is null, cannot allocate parking spot");
+        }
+        if (parkingSpotMap == null) {
+            throw new ParkingUnavailableException("parkingSpotMap must not be null");
+        }
+
+        SpotSearchEvent event = new SpotSearchEvent();
+        event.begin();
+        SpotSearchEvent recorded = event.isEnabled() ? event : null;
+
+        List<ParkingSpot> spots = Collections.emptyList();
+        int end = compatibility.candidateEnd(vehicle.getType());
+        try {
+            for (int candidate = compatibility.candidateStart(vehicle.getType()); candidate < end && spots.isEmpty(); candidate++) {
+                ParkingSpotType lotType = compatibility.spotType(candidate);
+                int span = compatibility.span(candidate);
+                List<ParkingSpot> typeSpots = parkingSpotMap.getOrDefault(lotType, Collections.emptyList());
+                spots = span == 1
+                        ? findSingleSpot(lotType, typeSpots, recorded)
+                        : findAdjacentSpots(lotType, span, typeSpots, recorded);
+            }
+        } catch (InvalidParkingSpotIdException e) {
+            throw new ParkingUnavailableException(e.getMessage(), e);
+        }
+        event.end(vehicle.getType(), spots);
+        return spots;
+    }
+
+    /**
+     * Chooses one available spot of the given type.
+     *
+     * @param lotType the type of spot to search
+     * @param spots   the lot's spots of that type, in lot order
+     * @param event   search event to add the candidates to, or {@code null} if not recorded
+     * @return the spot as a single-element list, or an empty list if none is available
+     * @throws InvalidParkingSpotIdException if the policy needs coordinates a spot lacks
+     */
+    protected abstract List<ParkingSpot> findSingleSpot(ParkingSpotType lotType, List<ParkingSpot> spots,
+                                                        SpotSearchEvent event) throws InvalidParkingSpotIdException;
+
+    /**
+     * Chooses {@code count} adjacent available spots of the given type. The default takes
+     * the first run in lot order.
+     *
+     * @param lotType the type of spot to search
+     * @param count   number of adjacent spots required, at least 2
+     * @param spots   the lot's spots of that type, in lot order
+     * @param event   search event to add the candidates to, or {@code null} if not recorded
+     * @return the spots ordered by column, or an empty list if no run is available
+     * @throws InvalidParkingSpotIdException if a spot has no row and column
+     */
+    protected List<ParkingSpot> findAdjacentSpots(ParkingSpotType lotType, int count, List<ParkingSpot> spots,
+                                                  SpotSearchEvent event) throws InvalidParkingSpotIdException {
+        if (event != null) {
+            event.searched(lotType, spots instanceof IndexedSpotList ? 1 : spots.size());
+        }
+        if (spots instanceof IndexedSpotList indexedSpots) {
+            return indexedSpots.findAdjacentAvailable(count);
+        }
+
+        Map<Integer, List<ParkingSpot>> availableSpotsMap =
+                spots.stream()
+                        .filter(ParkingSpot::isAvailable)
+                        .collect(Collectors.groupingBy(
+                                spot -> {
+                                    if (!spot.hasCoordinates()) {
+                                        String message = "Invalid spotId: " + spot.getParkingSpotId();
+                                        throw new ParkingUnavailableException(message, new InvalidParkingSpotIdException(message));
+                                    }
+                                    return spot.getRow();
+                                },
+                                LinkedHashMap::new,
+                                Collectors.toList()
+                        ));
+
+        for (List<ParkingSpot> rowSpots : availableSpotsMap.values()) {
+            if (rowSpots.size() < count) continue;
+
+            int runStart = 0;
+            for (int i = 0; i < rowSpots.size(); i++) {
+                if (i > 0 && rowSpots.get(i).getColumn() != rowSpots.get(i - 1).getColumn() + 1) {
+                    runStart = i;
+                }
+                if (i - runStart + 1 == count) {
+                    return List.copyOf(rowSpots.subList(runStart, i + 1));
+                }
+            }
+        }
+
+        return Collections.emptyList();
+    }
+
+    /**
+     * Finds the first available spot of the given type in lot order, through the
+     * free-spot index when the spots are held in an {@link IndexedSpotList}.
+     *
+     * @param lotType the type of spot to search
+     * @param spots   the lot's spots of that type, in lot order
+     * @param event   search event to add the candidates to, or {@code null} if not recorded
+     * @return the spot as a single-element list, or an empty list if none is available
+     */
+    protected static List<ParkingSpot> findFirstAvailableSpot(ParkingSpotType lotType, List<ParkingSpot> spots,
+                                                              SpotSearchEvent event) {
+        ParkingSpot found = null;
+        int scanned = 0;
+        if (spots instanceof IndexedSpotList indexedSpots) {
+            scanned = 1;
+            found = indexedSpots.firstAvailable();
+        } else {
+            for (ParkingSpot spot : spots) {
+                scanned++;
+                if (spot.isAvailable()) {
+                    found = spot;
+                    break;
+                }
+            }
+        }
+        if (event != null) {
+            event.searched(lotType, scanned);
+        }
+        return found == null ? Collections.emptyList() : Collections.singletonList(found);
+    }
+}
@@ -0,0 +1,139 @@
+package parking.lot.strategy;
+
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Table of the spots each vehicle type may park in, in order of preference.
+ *
+ * <p>Every vehicle type has an ordered list of candidates, each a spot type and the
+ * number of adjacent spots of that type the vehicle spans. The table is compiled into
+ * flat arrays indexed by {@link VehicleType#ordinal()}: the candidates of vehicle type
+ * {@code v} are {@code candidateStart(v)} up to {@code candidateEnd(v)}, so a strategy
+ * walks them with a counted loop instead of branching on the vehicle type.</p>
+ *
+ * <p>Instances are immutable and may be shared between lots and threads.</p>
+ */
+public final class CompatibilityTable {
+
+    /**
+     * The lot's standard rules: motorcycles prefer a compact spot and fall back to a
+     * regular one, cars take a regular spot, vans take two adjacent regular spots.
+     */
+    public static final CompatibilityTable DEFAULT = builder()
+            .allow(VehicleType.MOTORCYCLE, ParkingSpotType.COMPACT, 1)
+            .allow(VehicleType.MOTORCYCLE, ParkingSpotType.REGULAR, 1)
+            .allow(VehicleType.CAR, ParkingSpotType.REGULAR, 1)
+            .allow(VehicleType.VAN, ParkingSpotType.REGULAR, 2)
+            .build();
+
+    private final int[] candidateStart;           // first candidate of each vehicle type, plus the total at the end
+    private final ParkingSpotType[] candidateType; // spot type of each candidate
+    private final int[] candidateSpan;            // adjacent spots taken by each candidate
+
+    private CompatibilityTable(Map<VehicleType, List<Candidate>> candidates) {
+        VehicleType[] vehicleTypes = VehicleType.values();
+        this.candidateStart = new int[vehicleTypes.length + 1];
+        int total = 0;
+        for (VehicleType vehicleType : vehicleTypes) {
+            candidateStart[vehicleType.ordinal()] = total;
+            total += candidates.getOrDefault(vehicleType, List.of()).size();
+        }
+        candidateStart[vehicleTypes.length] = total;
+
+        this.candidateType = new ParkingSpotType[total];
+        this.candidateSpan = new int[total];
+        for (VehicleType vehicleType : vehicleTypes) {
+            int next = candidateStart[vehicleType.ordinal()];
+            for (Candidate candidate : candidates.getOrDefault(vehicleType, List.of())) {
+                candidateType[next] = candidate.spotType();
+                candidateSpan[next] = candidate.span();
+                next++;
+            }
+        }
+    }
+
+    /**
+     * @return a builder for a table without any candidates
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param vehicleType the vehicle type
+     * @return index of the vehicle type's most preferred candidate
+     */
+    public int candidateStart(VehicleType vehicleType) {
+        return candidateStart[vehicleType.ordinal()];
+    }
+
+    /**
+     * @param vehicleType the vehicle type
+     * @return index just past the vehicle type's least preferred candidate
+     */
+    public int candidateEnd(VehicleType vehicleType) {
+        return candidateStart[vehicleType.ordinal() + 1];
+    }
+
+    /**
+     * @param candidate candidate index
+     * @return the spot type of the candidate
+     */
+    public ParkingSpotType spotType(int candidate) {
+        return candidateType[candidate];
+    }
+
+    /**
+     * @param candidate candidate index
+     * @return number of adjacent spots of the candidate's type the vehicle spans
+     */
+    public int span(int candidate) {
+        return candidateSpan[candidate];
+    }
+
+    private record Candidate(ParkingSpotType spotType, int span) {
+    }
+
+    /**
+     * Collects the candidates of each vehicle type in order of preference.
+     */
+    public static final class Builder {
+        private final Map<VehicleType, List<Candidate>> candidates = new EnumMap<>(VehicleType.class);
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a candidate after the vehicle type's existing ones.
+         *
+         * @param vehicleType the vehicle type
+         * @param spotType    spot type the vehicle may park in
+         * @param span        number of adjacent spots of that type the vehicle takes
+         * @return this builder
+         * @throws IllegalArgumentException if a type is null or span is less than 1
+         */
+        public Builder allow(VehicleType vehicleType, ParkingSpotType spotType, int span) {
+            if (vehicleType == null || spotType == null) {
+                throw new IllegalArgumentException("Vehicle and spot type must not be null");
+            }
+            if (span < 1) {
+                throw new IllegalArgumentException("A vehicle spans at least one spot: " + span);
+            }
+            candidates.computeIfAbsent(vehicleType, k -> new ArrayList<>()).add(new Candidate(spotType, span));
+            return this;
+        }
+
+        /**
+         * @return the compiled table
+         */
+        public CompatibilityTable build() {
+            return new CompatibilityTable(candidates);
+        }
+    }
+}
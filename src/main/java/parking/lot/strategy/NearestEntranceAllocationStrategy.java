@@ -0,0 +1,149 @@
+package parking.lot.strategy;
+
+import parking.domain.Entrance;
+import parking.domain.ParkingSpot;
+import parking.enums.ParkingSpotType;
+import parking.exception.InvalidParkingSpotIdException;
+import parking.lot.index.IndexedSpotList;
+import parking.metrics.SpotSearchEvent;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Allocation strategy that parks every vehicle as close as possible to one of the
+ * lot's entrances.
+ *
+ * <p>Vehicles are matched to spot types by a {@link CompatibilityTable}, by default
+ * {@link CompatibilityTable#DEFAULT}. Within a type, the spot nearest to any entrance
+ * wins, ties going to the first spot in lot order; a run of adjacent spots is as near
+ * as its farthest spot.</p>
+ *
+ * <p>When the spots are held in an {@link IndexedSpotList}, each list keeps its free
+ * spots ordered by distance, so a search costs O(log n) instead of a scan of the whole
+ * type. Other lists are scanned.</p>
+ */
+public class NearestEntranceAllocationStrategy extends AbstractAllocationStrategy {
+    private final List<Entrance> entrances;
+    private final ToIntFunction<ParkingSpot> distance = this::distanceToNearestEntrance; // one instance, so indexes are built once
+
+    /**
+     * Constructs a strategy for a lot with the given entrances.
+     *
+     * @param entrances the lot's entrances
+     * @throws IllegalArgumentException if no entrance is given
+     */
+    public NearestEntranceAllocationStrategy(List<Entrance> entrances) {
+        this(entrances, CompatibilityTable.DEFAULT);
+    }
+
+    /**
+     * Constructs a strategy for a lot with the given entrances and rules.
+     *
+     * @param entrances     the lot's entrances
+     * @param compatibility spots each vehicle type may take, in order of preference
+     * @throws IllegalArgumentException if no entrance or no table is given
+     */
+    public NearestEntranceAllocationStrategy(List<Entrance> entrances, CompatibilityTable compatibility) {
+        super(compatibility);
+        if (entrances == null || entrances.isEmpty()) {
+            throw new IllegalArgumentException("At least one entrance is required");
+        }
+        this.entrances = List.copyOf(entrances);
+    }
+
+    /**
+     * @return the entrances spots are measured from
+     */
+    public List<Entrance> getEntrances() {
+        return entrances;
+    }
+
+    /**
+     * Takes the available spot nearest to an entrance.
+     */
+    @Override
+    protected List<ParkingSpot> findSingleSpot(ParkingSpotType lotType, List<ParkingSpot> spots,
+                                               SpotSearchEvent event) throws InvalidParkingSpotIdException {
+        return findNearestSpots(lotType, 1, spots, event);
+    }
+
+    /**
+     * Takes the run of adjacent available spots whose farthest spot is nearest to an entrance.
+     */
+    @Override
+    protected List<ParkingSpot> findAdjacentSpots(ParkingSpotType lotType, int count, List<ParkingSpot> spots,
+                                                  SpotSearchEvent event) throws InvalidParkingSpotIdException {
+        return findNearestSpots(lotType, count, spots, event);
+    }
+
+    /**
+     * Finds the nearest run of {@code count} adjacent available spots of the given type.
+     *
+     * @param lotType the type of spot to search
+     * @param count   number of adjacent spots required, 1 for a single spot
+     * @param spots   the lot's spots of that type, in lot order
+     * @param event   search event to add the candidates to, or {@code null} if not recorded
+     * @return the spots ordered by column, or an empty list if none are available
+     * @throws InvalidParkingSpotIdException if a spot has no row and column
+     */
+    private List<ParkingSpot> findNearestSpots(ParkingSpotType lotType, int count, List<ParkingSpot> spots,
+                                               SpotSearchEvent event) throws InvalidParkingSpotIdException {
+        if (event != null) {
+            event.searched(lotType, spots instanceof IndexedSpotList ? 1 : spots.size());
+        }
+        if (spots instanceof IndexedSpotList indexedSpots) {
+            if (count == 1) {
+                ParkingSpot spot = indexedSpots.nearestAvailable(distance);
+                return spot == null ? Collections.emptyList() : Collections.singletonList(spot);
+            }
+            return indexedSpots.findNearestAdjacentAvailable(count, distance);
+        }
+        return scanNearestSpots(spots, count);
+    }
+
+    /**
+     * Scans the spots in lot order for the nearest run of {@code count} adjacent
+     * available spots, where a run is as near as its farthest spot.
+     */
+    private List<ParkingSpot> scanNearestSpots(List<ParkingSpot> spots, int count) throws InvalidParkingSpotIdException {
+        int bestStart = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        int runStart = 0;
+        for (int i = 0; i < spots.size(); i++) {
+            ParkingSpot spot = spots.get(i);
+            if (!spot.hasCoordinates()) {
+                throw new InvalidParkingSpotIdException("Invalid spotId: " + spot.getParkingSpotId());
+            }
+            if (!spot.isAvailable()) {
+                runStart = i + 1;
+                continue;
+            }
+            ParkingSpot previous = i > runStart ? spots.get(i - 1) : null;
+            if (previous != null && (previous.getRow() != spot.getRow() || previous.getColumn() + 1 != spot.getColumn())) {
+                runStart = i;
+            }
+            if (i - runStart + 1 >= count) {
+                int start = i - count + 1;
+                int runDistance = 0;
+                for (int j = start; j <= i; j++) {
+                    runDistance = Math.max(runDistance, distance.applyAsInt(spots.get(j)));
+                }
+                if (runDistance < bestDistance) {
+                    bestDistance = runDistance;
+                    bestStart = start;
+                }
+            }
+        }
+        return bestStart < 0 ? Collections.emptyList() : List.copyOf(spots.subList(bestStart, bestStart + count));
+    }
+
+    private int distanceToNearestEntrance(ParkingSpot spot) {
+        int nearest = Integer.MAX_VALUE;
+        for (Entrance entrance : entrances) {
+            nearest = Math.min(nearest, entrance.distanceTo(spot));
+        }
+        return nearest;
+    }
+}
@@ -0,0 +1,86 @@
+package parking.lot.strategy;
+
+import parking.domain.ParkingSpot;
+import parking.enums.ParkingSpotType;
+import parking.lot.index.IndexedSpotList;
+import parking.metrics.SpotSearchEvent;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Next-fit allocation strategy: single-spot vehicles are parked in the first available
+ * spot after the previous allocation of the same spot type, wrapping around at the end
+ * of the list, instead of the first available spot of the lot.
+ *
+ * <p>Vehicles are matched to spot types by a {@link CompatibilityTable}, by default
+ * {@link CompatibilityTable#DEFAULT}; multi-spot vehicles are placed first-fit. Because a search never goes back over the spots taken since the last
+ * wrap, a scan of a plain list costs amortized O(1) per allocation while the lot's
+ * occupancy stays steady, and an {@link IndexedSpotList} is searched from the cursor
+ * through its free-spot index.</p>
+ *
+ * <p>The cursors belong to one lot: use a separate instance per lot. Not thread-safe.</p>
+ */
+public class NextFitAllocationStrategy extends AbstractAllocationStrategy {
+    private final int[] cursors = new int[ParkingSpotType.values().length]; // next position to search, by type ordinal
+
+    /**
+     * Constructs a strategy following the default rules.
+     */
+    public NextFitAllocationStrategy() {
+        this(CompatibilityTable.DEFAULT);
+    }
+
+    /**
+     * Constructs a strategy following the given rules.
+     *
+     * @param compatibility spots each vehicle type may take, in order of preference
+     */
+    public NextFitAllocationStrategy(CompatibilityTable compatibility) {
+        super(compatibility);
+    }
+
+    /**
+     * Finds the first available spot of the given type at or after the type's cursor,
+     * wrapping around once, and moves the cursor past it.
+     *
+     * @param lotType the type of spot to search
+     * @param spots   the lot's spots of that type, in lot order
+     * @param event   search event to add the candidates to, or {@code null} if not recorded
+     * @return the spot, or an empty list if none is available
+     */
+    @Override
+    protected List<ParkingSpot> findSingleSpot(ParkingSpotType lotType, List<ParkingSpot> spots, SpotSearchEvent event) {
+        int size = spots.size();
+        int from = cursors[lotType.ordinal()];
+        if (from >= size) {
+            from = 0;
+        }
+
+        int position = -1;
+        int scanned = 0;
+        if (spots instanceof IndexedSpotList indexedSpots) {
+            scanned = 1;
+            position = indexedSpots.nextAvailableIndex(from);
+            if (position < 0 && from > 0) {
+                position = indexedSpots.nextAvailableIndex(0);
+            }
+        } else {
+            for (int i = from; scanned < size; i = i + 1 < size ? i + 1 : 0) {
+                scanned++;
+                if (spots.get(i).isAvailable()) {
+                    position = i;
+                    break;
+                }
+            }
+        }
+        if (event != null) {
+            event.searched(lotType, scanned);
+        }
+        if (position < 0) {
+            return Collections.emptyList();
+        }
+        cursors[lotType.ordinal()] = position + 1;
+        return Collections.singletonList(spots.get(position));
+    }
+}
@@ -0,0 +1,124 @@
+package parking.lot.strategy;
+
+import parking.domain.ParkingSpot;
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+import parking.exception.InvalidParkingSpotIdException;
+import parking.lot.index.IndexedSpotList;
+import parking.metrics.SpotSearchEvent;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Allocation strategy that keeps free adjacent spots together, so that vans are not
+ * turned away while plenty of regular spots are free but scattered.
+ *
+ * <p>Vehicles are matched to spot types by a {@link CompatibilityTable}, by default
+ * {@link CompatibilityTable#DEFAULT}. Single-spot vehicles placed on a spot type that
+ * some vehicle needs a run of take, in order of preference, a spot without an available
+ * neighbour, an end of a run of an odd number of available spots (neither breaks up a
+ * free pair), or the first available spot. Other spot types and multi-spot vehicles
+ * are placed first-fit.</p>
+ *
+ * <p>When the spots are held in an {@link IndexedSpotList}, the preferred spot is read
+ * from its {@link parking.lot.index.PairPreservingIndex}; other lists are scanned.</p>
+ */
+public class PairPreservingAllocationStrategy extends AbstractAllocationStrategy {
+    private final boolean[] pairedTypes; // spot types some vehicle needs a run of, by type ordinal
+
+    /**
+     * Constructs a strategy following the default rules.
+     */
+    public PairPreservingAllocationStrategy() {
+        this(CompatibilityTable.DEFAULT);
+    }
+
+    /**
+     * Constructs a strategy following the given rules.
+     *
+     * @param compatibility spots each vehicle type may take, in order of preference
+     */
+    public PairPreservingAllocationStrategy(CompatibilityTable compatibility) {
+        super(compatibility);
+        this.pairedTypes = new boolean[ParkingSpotType.values().length];
+        for (VehicleType vehicleType : VehicleType.values()) {
+            int end = compatibility.candidateEnd(vehicleType);
+            for (int candidate = compatibility.candidateStart(vehicleType); candidate < end; candidate++) {
+                if (compatibility.span(candidate) > 1) {
+                    pairedTypes[compatibility.spotType(candidate).ordinal()] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes the spot that breaks up the fewest free adjacent pairs on types runs are
+     * taken from, and the first available spot on other types.
+     */
+    @Override
+    protected List<ParkingSpot> findSingleSpot(ParkingSpotType lotType, List<ParkingSpot> spots,
+                                               SpotSearchEvent event) throws InvalidParkingSpotIdException {
+        return pairedTypes[lotType.ordinal()]
+                ? findPairPreservingSpot(lotType, spots, event)
+                : findFirstAvailableSpot(lotType, spots, event);
+    }
+
+    /**
+     * Finds the spot whose occupation breaks up the fewest free adjacent pairs.
+     *
+     * @param lotType the type of spot to search
+     * @param spots   the lot's spots of that type, in lot order
+     * @param event   search event to add the candidates to, or {@code null} if not recorded
+     * @return the spot, or an empty list if none is available
+     * @throws InvalidParkingSpotIdException if a spot has no row and column
+     */
+    private List<ParkingSpot> findPairPreservingSpot(ParkingSpotType lotType, List<ParkingSpot> spots,
+                                                     SpotSearchEvent event) throws InvalidParkingSpotIdException {
+        if (event != null) {
+            event.searched(lotType, spots instanceof IndexedSpotList ? 1 : spots.size());
+        }
+        ParkingSpot spot = spots instanceof IndexedSpotList indexedSpots
+                ? indexedSpots.leastFragmentingAvailable()
+                : scanPairPreservingSpot(spots);
+        return spot == null ? Collections.emptyList() : Collections.singletonList(spot);
+    }
+
+    /**
+     * Scans the spots in lot order for the spot {@link IndexedSpotList#leastFragmentingAvailable()} would pick.
+     */
+    private ParkingSpot scanPairPreservingSpot(List<ParkingSpot> spots) throws InvalidParkingSpotIdException {
+        ParkingSpot firstAvailable = null;
+        ParkingSpot firstOddRunEnd = null;
+        int runStart = -1;
+        for (int i = 0; i <= spots.size(); i++) {
+            ParkingSpot spot = i < spots.size() ? spots.get(i) : null;
+            if (spot != null && !spot.hasCoordinates()) {
+                throw new InvalidParkingSpotIdException("Invalid spotId: " + spot.getParkingSpotId());
+            }
+            boolean continuesRun = spot != null && spot.isAvailable() && runStart >= 0
+                    && spots.get(i - 1).getRow() == spot.getRow()
+                    && spots.get(i - 1).getColumn() + 1 == spot.getColumn();
+            if (runStart >= 0 && !continuesRun) {
+                // The run runStart..i-1 has ended
+                int length = i - runStart;
+                if (length == 1) {
+                    return spots.get(runStart);
+                }
+                if ((length & 1) == 1 && firstOddRunEnd == null) {
+                    firstOddRunEnd = spots.get(runStart);
+                }
+                runStart = -1;
+            }
+            if (spot != null && spot.isAvailable()) {
+                if (runStart < 0) {
+                    runStart = i;
+                }
+                if (firstAvailable == null) {
+                    firstAvailable = spot;
+                }
+            }
+        }
+        return firstOddRunEnd != null ? firstOddRunEnd : firstAvailable;
+    }
+}
@@ -1,136 +1,56 @@
 package parking.lot.strategy;
 
-import parking.domain.Vehicle;
-import parking.enums.ParkingSpotType;
-import parking.enums.VehicleType;
 import parking.domain.ParkingSpot;
-import parking.exception.InvalidParkingSpotIdException;
-import parking.exception.ParkingUnavailableException;
+import parking.enums.ParkingSpotType;
+import parking.metrics.SpotSearchEvent;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
-
-import static parking.enums.ParkingSpotType.COMPACT;
-import static parking.enums.ParkingSpotType.REGULAR;
 
 /**
  * Allocation strategy for parking lots with compact and regular spots.
  *
- * <p>Rules:</p>
+ * <p>Default rules ({@link CompatibilityTable#DEFAULT}):</p>
  * <ul>
  *   <li>Cars → prefer regular spots</li>
  *   <li>Motorcycles → prefer compact, fall back to regular</li>
  *   <li>Vans → require two adjacent regular spots</li>
  * </ul>
+ *
+ * <p>Other rules can be given as a {@link CompatibilityTable}; each of the vehicle's
+ * candidates is tried in order and the first available spot, or run of adjacent spots,
+ * is taken.</p>
  */
-public class RegularCompactAllocationStrategy implements SpotAllocationStrategy {
+public class RegularCompactAllocationStrategy extends AbstractAllocationStrategy {
 
     /**
-     * Finds one or more available parking spots for the given vehicle.
-     *
-     * @param vehicle        the vehicle requesting a spot
-     * @param parkingSpotMap map of spots grouped by type
-     * @return allocated spot(s), or {@code null} if no suitable spots are available
-     * @throws ParkingUnavailableException if inputs are invalid or allocation fails
+     * Constructs a strategy following the default rules.
      */
-    @Override
-    public List<ParkingSpot> findParkingSpot(Vehicle vehicle, Map<ParkingSpotType, List<ParkingSpot>> parkingSpotMap) {
-        if (vehicle == null) {
-            throw new ParkingUnavailableException("Vehicle is null, cannot allocate parking spot");
-        }
-        if (parkingSpotMap == null) {
-            throw new ParkingUnavailableException("parkingSpotMap must not be null");
-        }
-
-        if (VehicleType.CAR.equals(vehicle.getType())) {
-            return findSingleAvailableSpot(REGULAR, parkingSpotMap).orElse(Collections.emptyList());
-        } else if (VehicleType.MOTORCYCLE.equals(vehicle.getType())) {
-            return findSingleAvailableSpot(COMPACT, parkingSpotMap)
-                    .or(() -> findSingleAvailableSpot(REGULAR, parkingSpotMap))
-                    .orElse(Collections.emptyList());
-        } else {
-            return findTwoAdjacentSpots(parkingSpotMap);
-        }
+    public RegularCompactAllocationStrategy() {
+        this(CompatibilityTable.DEFAULT);
     }
 
     /**
-     * Finds the first available spot of the given type.
+     * Constructs a strategy following the given rules.
      *
-     * @param lotType        the type of spot to search
-     * @param parkingSpotMap map of spots grouped by type
-     * @return Optional containing the spot if found, or empty if none available
+     * @param compatibility spots each vehicle type may take, in order of preference
      */
-    private Optional<List<ParkingSpot>> findSingleAvailableSpot(ParkingSpotType lotType, Map<ParkingSpotType, List<ParkingSpot>> parkingSpotMap) {
-        return parkingSpotMap.getOrDefault(lotType, Collections.emptyList())
-                .stream()
-                .filter(ParkingSpot::isAvailable)
-                .findFirst()
-                .map(Collections::singletonList);
+    public RegularCompactAllocationStrategy(CompatibilityTable compatibility) {
+        super(compatibility);
     }
 
     /**
-     * Attempts to find two adjacent available regular spots (for vans).
-     *
-     * @param parkingSpotMap map of spots grouped by type
-     * @return two adjacent spots as a list, or an empty list if none found
+     * @return true: every candidate's first available spot, or run, in lot order is taken
      */
-    private List<ParkingSpot> findTwoAdjacentSpots(Map<ParkingSpotType, List<ParkingSpot>> parkingSpotMap) {
-        Map<String, List<ParkingSpot>> availableSpotsMap =
-                parkingSpotMap.getOrDefault(REGULAR, Collections.emptyList())
-                        .stream()
-                        .filter(ParkingSpot::isAvailable)
-                        .collect(Collectors.groupingBy(
-                                spot -> {
-                                    try {
-                                        return extractRowFromSpotId(spot.getParkingSpotId());
-                                    } catch (InvalidParkingSpotIdException e) {
-                                        throw new ParkingUnavailableException(e.getMessage(), e);
-                                    }
-                                },
-                                LinkedHashMap::new,
-                                Collectors.toList()
-                        ));
-
-        for (List<ParkingSpot> rowSpots : availableSpotsMap.values()) {
-            if (rowSpots.size() < 2) continue;
-
-            for (int i = 1; i < rowSpots.size(); i++) {
-                int curr = extractSpotNum(rowSpots.get(i));
-                int prev = extractSpotNum(rowSpots.get(i - 1));
-                if (curr == prev + 1) {
-                    return Arrays.asList(rowSpots.get(i - 1), rowSpots.get(i));
-                }
-            }
-        }
-
-        return Collections.emptyList();
-    }
-
-    /**
-     * Extracts the row portion of a spot ID.
-     *
-     * @param spotId the spot identifier (format "R#-#")
-     * @return row label (e.g., "R1")
-     * @throws InvalidParkingSpotIdException if the ID format is invalid
-     */
-    private String extractRowFromSpotId(String spotId) throws InvalidParkingSpotIdException {
-        String[] parts = spotId.split("-");
-        if (parts.length != 2) throw new InvalidParkingSpotIdException("Invalid spotId: " + spotId);
-        return parts[0];
+    @Override
+    public boolean isFirstFit() {
+        return true;
     }
 
     /**
-     * Extracts the numeric portion of a spot ID for ordering.
-     *
-     * @param spot the parking spot
-     * @return the numeric column index of the spot
+     * Takes the first available spot in lot order.
      */
-    private int extractSpotNum(ParkingSpot spot) {
-        return Integer.parseInt(spot.getParkingSpotId().split("-")[1]);
+    @Override
+    protected List<ParkingSpot> findSingleSpot(ParkingSpotType lotType, List<ParkingSpot> spots, SpotSearchEvent event) {
+        return findFirstAvailableSpot(lotType, spots, event);
     }
 }
@@ -22,4 +22,26 @@ public interface SpotAllocationStrategy {
      * @return the list of allocated spots, or an empty list if none are available
      */
     List<ParkingSpot> findParkingSpot(Vehicle vehicle, Map<ParkingSpotType, List<ParkingSpot>> parkingSpotMap);
+
+    /**
+     * Returns the spots each vehicle type may take under this strategy, so that a lot
+     * can check its free counts by the same rules before searching.
+     *
+     * @return the strategy's compatibility table, {@link CompatibilityTable#DEFAULT} unless overridden
+     */
+    default CompatibilityTable getCompatibility() {
+        return CompatibilityTable.DEFAULT;
+    }
+
+    /**
+     * Returns whether the strategy always takes the first available spot, or the first
+     * run of adjacent available spots, of each candidate in list order. A lot can then
+     * park a batch of vehicles of one type by walking each spot type's free index once,
+     * and give every vehicle the spots this strategy would have chosen for it in turn.
+     *
+     * @return false unless overridden
+     */
+    default boolean isFirstFit() {
+        return false;
+    }
 }
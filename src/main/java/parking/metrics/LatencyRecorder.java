@@ -0,0 +1,62 @@
+package parking.metrics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe recorder of latencies in nanoseconds for a hot path.
+ *
+ * <p>Latencies are counted in log-linear buckets, eight per power of two, so a reported
+ * percentile is at most 12.5% above the recorded value. Every bucket and total is a
+ * {@link LongAdder}, so threads recording at the same time update separate cells instead
+ * of contending on one counter. Buckets are created on first use.</p>
+ */
+public final class LatencyRecorder {
+    private static final LogLinearBuckets BUCKETS = new LogLinearBuckets(3);
+    private static final int BUCKET_COUNT = BUCKETS.bucketCount();
+
+    private final AtomicReferenceArray<LongAdder> buckets = new AtomicReferenceArray<>(BUCKET_COUNT);
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos the latency in nanoseconds; negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        int index = BUCKETS.indexOf(value);
+        LongAdder bucket = buckets.get(index);
+        if (bucket == null) {
+            buckets.compareAndSet(index, null, new LongAdder());
+            bucket = buckets.get(index);
+        }
+        bucket.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * Reads the recorded latencies. While other threads record, the figures are a
+     * weakly consistent view rather than an atomic snapshot.
+     *
+     * @return count, mean and percentiles of the latencies recorded so far
+     */
+    public LatencyStats snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            LongAdder bucket = buckets.get(i);
+            counts[i] = bucket != null ? bucket.sum() : 0;
+            count += counts[i];
+        }
+        long max = maxNanos.get();
+        return new LatencyStats(count, count == 0 ? 0 : (double) totalNanos.sum() / count,
+                BUCKETS.valueAtPercentile(counts, count, max, 50),
+                BUCKETS.valueAtPercentile(counts, count, max, 99),
+                BUCKETS.valueAtPercentile(counts, count, max, 99.9),
+                max);
+    }
+}
@@ -0,0 +1,69 @@
+package parking.metrics;
+
+/**
+ * Immutable summary of the latencies read from a {@link LatencyRecorder}.
+ * Percentiles are rounded up to the end of their bucket and never exceed the maximum.
+ */
+public final class LatencyStats {
+    private final long count;
+    private final double meanNanos;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+    private final long maxNanos;
+
+    /**
+     * Constructs a summary of recorded latencies.
+     *
+     * @param count     number of latencies recorded
+     * @param meanNanos mean latency in nanoseconds
+     * @param p50Nanos  median latency in nanoseconds
+     * @param p99Nanos  99th percentile latency in nanoseconds
+     * @param p999Nanos 99.9th percentile latency in nanoseconds
+     * @param maxNanos  highest latency in nanoseconds
+     */
+    public LatencyStats(long count, double meanNanos, long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+        this.count = count;
+        this.meanNanos = meanNanos;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * @return number of latencies recorded
+     */
+    public long getCount() { return count; }
+
+    /**
+     * @return mean latency in nanoseconds, or 0 if none were recorded
+     */
+    public double getMeanNanos() { return meanNanos; }
+
+    /**
+     * @return median latency in nanoseconds, or 0 if none were recorded
+     */
+    public long getP50Nanos() { return p50Nanos; }
+
+    /**
+     * @return 99th percentile latency in nanoseconds, or 0 if none were recorded
+     */
+    public long getP99Nanos() { return p99Nanos; }
+
+    /**
+     * @return 99.9th percentile latency in nanoseconds, or 0 if none were recorded
+     */
+    public long getP999Nanos() { return p999Nanos; }
+
+    /**
+     * @return highest latency in nanoseconds, or 0 if none were recorded
+     */
+    public long getMaxNanos() { return maxNanos; }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.0fns p50=%dns p99=%dns p999=%dns max=%dns",
+                count, meanNanos, p50Nanos, p99Nanos, p999Nanos, maxNanos);
+    }
+}
@@ -0,0 +1,87 @@
+package parking.metrics;
+
+/**
+ * Log-linear bucketing of non-negative values with a fixed relative precision.
+ *
+ * <p>Values below {@code 2 << subBucketBits} each get their own bucket. Above that,
+ * every power-of-two range is split into {@code 1 << subBucketBits} equal buckets, so
+ * the highest value in a bucket is at most {@code 1 / (1 << subBucketBits)} above any
+ * value counted in it. Immutable and safe to share between threads.</p>
+ */
+public final class LogLinearBuckets {
+    private final int subBucketBits;
+    private final int subBuckets;             // buckets per power of two
+    private final int linearLimit;            // values below are counted exactly
+    private final int bucketCount;
+
+    /**
+     * @param subBucketBits log2 of the number of buckets per power of two, between 1 and 16
+     * @throws IllegalArgumentException if subBucketBits is out of range
+     */
+    public LogLinearBuckets(int subBucketBits) {
+        if (subBucketBits < 1 || subBucketBits > 16) {
+            throw new IllegalArgumentException("Sub-bucket bits must be between 1 and 16: " + subBucketBits);
+        }
+        this.subBucketBits = subBucketBits;
+        this.subBuckets = 1 << subBucketBits;
+        this.linearLimit = subBuckets << 1;
+        this.bucketCount = indexOf(Long.MAX_VALUE) + 1;
+    }
+
+    /**
+     * @return number of buckets needed to count every non-negative long
+     */
+    public int bucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * @param value a non-negative value
+     * @return index of the bucket that counts the value
+     */
+    public int indexOf(long value) {
+        if (value < linearLimit) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - subBucketBits;
+        return shift * subBuckets + (int) (value >>> shift);
+    }
+
+    /**
+     * @param index a bucket index
+     * @return the highest value counted in that bucket
+     */
+    public long highestValueIn(int index) {
+        if (index < linearLimit) {
+            return index;
+        }
+        int shift = index / subBuckets - 1;
+        long bucket = index % subBuckets + subBuckets;
+        return ((bucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Returns the value that the given percentage of counted values do not exceed,
+     * rounded up to the end of its bucket and capped at the highest value seen.
+     *
+     * @param counts     per-bucket counts, indexed as by {@link #indexOf}
+     * @param count      sum of counts
+     * @param max        highest value counted
+     * @param percentile percentage between 0 and 100
+     * @return the value, or 0 if count is 0
+     */
+    public long valueAtPercentile(long[] counts, long count, long max, double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), max);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,56 @@
+package parking.metrics;
+
+import parking.domain.ParkingLotSummary;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one summary generated by a lot administrator, either from
+ * its occupancy counters or by recounting every spot.
+ */
+@Name("parking.LotSummary")
+@Label("Lot Summary")
+@Category({"Parking Lot", "Operations"})
+@Description("Summary generated by a lot administrator")
+@StackTrace(false)
+public final class LotSummaryEvent extends jdk.jfr.Event {
+
+    @Label("Recount")
+    @Description("Whether every spot was recounted instead of reading the counters")
+    boolean recount;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Total Spots")
+    long totalSpots;
+
+    @Label("Available Spots")
+    long availableSpots;
+
+    @Label("Candidates Inspected")
+    @Description("Counters read, or spots examined by a recount")
+    long candidatesInspected;
+
+    /**
+     * Ends the event and records it if the recording asks for it.
+     *
+     * @param recount             whether every spot was recounted
+     * @param summary             the summary generated
+     * @param candidatesInspected counters read, or spots examined by a recount
+     */
+    public void end(boolean recount, ParkingLotSummary summary, long candidatesInspected) {
+        if (shouldCommit()) {
+            this.recount = recount;
+            this.rows = summary.getByRow().size();
+            this.totalSpots = summary.getTotalSpots();
+            this.availableSpots = summary.getAvailableSpots();
+            this.candidatesInspected = candidatesInspected;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package parking.metrics;
+
+import parking.enums.ParkingStatus;
+import parking.enums.VehicleType;
+
+/**
+ * Immutable point-in-time copy of a lot's {@link ParkingLotMetrics}, for callers that
+ * pull metrics on their own schedule, e.g. a status page or a metrics exporter.
+ * Counters only ever grow, so rates are the difference between two snapshots.
+ */
+public final class MetricsSnapshot {
+    private static final int STATUS_COUNT = ParkingStatus.values().length;
+
+    private final long[] parkCounts;            // by VehicleType ordinal * STATUS_COUNT + ParkingStatus ordinal
+    private final long[] removeCounts;          // by VehicleType ordinal
+    private final LatencyStats[] parkLatency;   // by VehicleType ordinal
+    private final LatencyStats[] removeLatency; // by VehicleType ordinal
+    private final long removeMisses;
+    private final long motorcycleFallbacks;
+    private final long vanFragmentationRejections;
+    private final LatencyStats summaryLatency;
+
+    MetricsSnapshot(long[] parkCounts, long[] removeCounts, LatencyStats[] parkLatency, LatencyStats[] removeLatency,
+                    long removeMisses, long motorcycleFallbacks, long vanFragmentationRejections,
+                    LatencyStats summaryLatency) {
+        this.parkCounts = parkCounts;
+        this.removeCounts = removeCounts;
+        this.parkLatency = parkLatency;
+        this.removeLatency = removeLatency;
+        this.removeMisses = removeMisses;
+        this.motorcycleFallbacks = motorcycleFallbacks;
+        this.vanFragmentationRejections = vanFragmentationRejections;
+        this.summaryLatency = summaryLatency;
+    }
+
+    /**
+     * @param vehicleType type of the vehicles
+     * @param status      outcome of the park calls
+     * @return number of park calls for the vehicle type that ended with the status
+     */
+    public long getParkCount(VehicleType vehicleType, ParkingStatus status) {
+        return parkCounts[vehicleType.ordinal() * STATUS_COUNT + status.ordinal()];
+    }
+
+    /**
+     * @param vehicleType type of the vehicles
+     * @return latency of the sampled park calls for the vehicle type, whatever their outcome
+     */
+    public LatencyStats getParkLatency(VehicleType vehicleType) {
+        return parkLatency[vehicleType.ordinal()];
+    }
+
+    /**
+     * @param vehicleType type of the vehicles
+     * @return number of vehicles of the type removed
+     */
+    public long getRemoveCount(VehicleType vehicleType) {
+        return removeCounts[vehicleType.ordinal()];
+    }
+
+    /**
+     * @param vehicleType type of the vehicles
+     * @return latency of the sampled remove calls that removed a vehicle of the type
+     */
+    public LatencyStats getRemoveLatency(VehicleType vehicleType) {
+        return removeLatency[vehicleType.ordinal()];
+    }
+
+    /**
+     * @return number of remove calls for vehicles that were not parked
+     */
+    public long getRemoveMisses() { return removeMisses; }
+
+    /**
+     * @return number of motorcycles parked in a regular spot because no compact spot was free
+     */
+    public long getMotorcycleFallbacks() { return motorcycleFallbacks; }
+
+    /**
+     * @return number of vans turned away while enough regular spots were free, but none adjacent
+     */
+    public long getVanFragmentationRejections() { return vanFragmentationRejections; }
+
+    /**
+     * @return time spent generating lot summaries
+     */
+    public LatencyStats getSummaryLatency() { return summaryLatency; }
+}
@@ -0,0 +1,82 @@
+package parking.metrics;
+
+import parking.domain.ParkingSpot;
+import parking.enums.ParkingStatus;
+import parking.enums.VehicleType;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.List;
+
+/**
+ * Flight Recorder event for one park call of a lot administrator, including rejected
+ * and repeated ones. The free spot counts taken when the call ends show whether a
+ * rejected van was turned away by a full lot or by fragmentation; they count the spots
+ * of the administrator that handled the call, i.e. of one shard in a sharded lot.
+ */
+@Name("parking.ParkVehicle")
+@Label("Park Vehicle")
+@Category({"Parking Lot", "Operations"})
+@Description("Park call of a lot administrator")
+@StackTrace(false)
+public final class ParkVehicleEvent extends jdk.jfr.Event {
+
+    @Label("Vehicle")
+    String vehicle;
+
+    @Label("Vehicle Type")
+    String vehicleType;
+
+    @Label("Status")
+    String status;
+
+    @Label("Spots")
+    @Description("Identifiers of the spots the vehicle holds, empty if it was not parked")
+    String spots;
+
+    @Label("Candidates Inspected")
+    @Description("Spots proposed by the allocation strategy")
+    int candidatesInspected;
+
+    @Label("Free Regular Spots")
+    long regularFree;
+
+    @Label("Free Compact Spots")
+    long compactFree;
+
+    /**
+     * Counts the spots proposed by the search; call only while the event is enabled.
+     *
+     * @param candidates number of spots proposed by the search
+     */
+    public void searched(int candidates) {
+        candidatesInspected += candidates;
+    }
+
+    /**
+     * Ends the event and records it if the recording asks for it.
+     *
+     * @param identifier  unique vehicle identifier
+     * @param vehicleType type of the vehicle
+     * @param status      outcome of the call
+     * @param held        the spots the vehicle holds, empty if it was not parked
+     * @param regularFree free regular spots after the call
+     * @param compactFree free compact spots after the call
+     */
+    public void end(String identifier, VehicleType vehicleType, ParkingStatus status, List<ParkingSpot> held,
+                    long regularFree, long compactFree) {
+        if (shouldCommit()) {
+            this.vehicle = identifier;
+            this.vehicleType = vehicleType.name();
+            this.status = status.name();
+            this.spots = ParkingEvents.spotIds(held);
+            this.regularFree = regularFree;
+            this.compactFree = compactFree;
+            commit();
+        }
+    }
+}
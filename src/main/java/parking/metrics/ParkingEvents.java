@@ -0,0 +1,28 @@
+package parking.metrics;
+
+import parking.domain.ParkingSpot;
+
+import java.util.List;
+
+/**
+ * Helpers shared by the Flight Recorder events of the parking lot.
+ */
+final class ParkingEvents {
+
+    private ParkingEvents() {
+    }
+
+    /**
+     * @return the spots' identifiers separated by commas, empty if there are none
+     */
+    static String spotIds(List<ParkingSpot> spots) {
+        if (spots == null || spots.isEmpty()) {
+            return "";
+        }
+        StringBuilder ids = new StringBuilder(spots.get(0).getParkingSpotId());
+        for (int i = 1; i < spots.size(); i++) {
+            ids.append(',').append(spots.get(i).getParkingSpotId());
+        }
+        return ids.toString();
+    }
+}
@@ -0,0 +1,306 @@
+package parking.metrics;
+
+import parking.enums.ParkingStatus;
+import parking.enums.VehicleType;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Counters and latency recorders for the hot paths of one parking lot.
+ *
+ * <p>Every counter is a {@link LongAdder} and every latency goes to a {@link LatencyRecorder},
+ * so gates recording from many threads at once do not contend on shared counters. Metrics
+ * can be pulled with {@link #snapshot()} or read over JMX once {@link #registerMBean registered}.</p>
+ *
+ * <p>Reading the clock costs about as much as a park call itself, so every call is counted
+ * but only a random sample of park and remove calls is timed, one in
+ * {@link #getLatencySampleInterval()} on average. Summaries are always timed.</p>
+ *
+ * <p>Callers time a call by passing the result of {@link #startTimer()} to the matching
+ * {@code record} method once the call returns.</p>
+ */
+public final class ParkingLotMetrics implements ParkingLotMetricsMXBean {
+    /** Default number of park or remove calls per timed call. */
+    public static final int DEFAULT_LATENCY_SAMPLE_INTERVAL = 16;
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+    private static final ParkingStatus[] STATUSES = ParkingStatus.values();
+
+    private final int latencySampleInterval;
+    private final LongAdder[] parkCounts;           // by VehicleType ordinal * STATUSES.length + ParkingStatus ordinal
+    private final LongAdder[] removeCounts;         // by VehicleType ordinal
+    private final LatencyRecorder[] parkLatency;    // by VehicleType ordinal
+    private final LatencyRecorder[] removeLatency;  // by VehicleType ordinal
+    private final LongAdder removeMisses = new LongAdder();
+    private final LongAdder motorcycleFallbacks = new LongAdder();
+    private final LongAdder vanFragmentationRejections = new LongAdder();
+    private final LatencyRecorder summaryLatency = new LatencyRecorder();
+
+    /**
+     * Constructs metrics with every counter at zero, timing one park or remove call in
+     * {@value #DEFAULT_LATENCY_SAMPLE_INTERVAL}.
+     */
+    public ParkingLotMetrics() {
+        this(DEFAULT_LATENCY_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * Constructs metrics with every counter at zero.
+     *
+     * @param latencySampleInterval number of park or remove calls per timed call; 1 times every call
+     * @throws IllegalArgumentException if the interval is not positive
+     */
+    public ParkingLotMetrics(int latencySampleInterval) {
+        if (latencySampleInterval <= 0) {
+            throw new IllegalArgumentException("Latency sample interval must be positive: " + latencySampleInterval);
+        }
+        this.latencySampleInterval = latencySampleInterval;
+        this.parkCounts = new LongAdder[VEHICLE_TYPES.length * STATUSES.length];
+        for (int i = 0; i < parkCounts.length; i++) {
+            parkCounts[i] = new LongAdder();
+        }
+        this.removeCounts = new LongAdder[VEHICLE_TYPES.length];
+        this.parkLatency = new LatencyRecorder[VEHICLE_TYPES.length];
+        this.removeLatency = new LatencyRecorder[VEHICLE_TYPES.length];
+        for (int type = 0; type < VEHICLE_TYPES.length; type++) {
+            removeCounts[type] = new LongAdder();
+            parkLatency[type] = new LatencyRecorder();
+            removeLatency[type] = new LatencyRecorder();
+        }
+    }
+
+    /**
+     * Starts timing a park or remove call if it is picked for the latency sample.
+     *
+     * @return the start time to pass to {@link #recordPark} or {@link #recordRemove}
+     */
+    public long startTimer() {
+        if (latencySampleInterval > 1 && ThreadLocalRandom.current().nextInt(latencySampleInterval) != 0) {
+            return NOT_TIMED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Records one park call.
+     *
+     * @param vehicleType type of the vehicle
+     * @param status      outcome of the call
+     * @param startNanos  value returned by {@link #startTimer()} before the call
+     */
+    public void recordPark(VehicleType vehicleType, ParkingStatus status, long startNanos) {
+        parkCounts[vehicleType.ordinal() * STATUSES.length + status.ordinal()].increment();
+        if (startNanos != NOT_TIMED) {
+            parkLatency[vehicleType.ordinal()].record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Records the outcome of parking one vehicle of a batch, which is counted but not timed.
+     *
+     * @param vehicleType type of the vehicle
+     * @param status      outcome for the vehicle
+     */
+    public void recordPark(VehicleType vehicleType, ParkingStatus status) {
+        recordPark(vehicleType, status, NOT_TIMED);
+    }
+
+    /**
+     * Records one remove call.
+     *
+     * @param vehicleType type of the removed vehicle, or {@code null} if it was not parked
+     * @param startNanos  value returned by {@link #startTimer()} before the call
+     */
+    public void recordRemove(VehicleType vehicleType, long startNanos) {
+        if (vehicleType == null) {
+            removeMisses.increment();
+            return;
+        }
+        removeCounts[vehicleType.ordinal()].increment();
+        if (startNanos != NOT_TIMED) {
+            removeLatency[vehicleType.ordinal()].record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Records the removal of one vehicle of a batch, which is counted but not timed.
+     *
+     * @param vehicleType type of the removed vehicle, or {@code null} if it was not parked
+     */
+    public void recordRemove(VehicleType vehicleType) {
+        recordRemove(vehicleType, NOT_TIMED);
+    }
+
+    /**
+     * Records a motorcycle parked in a regular spot because no compact spot was free.
+     */
+    public void recordMotorcycleFallback() {
+        motorcycleFallbacks.increment();
+    }
+
+    /**
+     * Records a van turned away while enough regular spots were free, but none adjacent.
+     */
+    public void recordVanFragmentationRejection() {
+        vanFragmentationRejections.increment();
+    }
+
+    /**
+     * Records the time taken to generate one lot summary.
+     *
+     * @param nanos duration of the call
+     */
+    public void recordSummary(long nanos) {
+        summaryLatency.record(nanos);
+    }
+
+    /**
+     * Copies the current metrics. While other threads record, the figures are a
+     * weakly consistent view rather than an atomic snapshot.
+     *
+     * @return immutable copy of the metrics
+     */
+    public MetricsSnapshot snapshot() {
+        long[] counts = new long[parkCounts.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = parkCounts[i].sum();
+        }
+        long[] removed = new long[VEHICLE_TYPES.length];
+        LatencyStats[] park = new LatencyStats[VEHICLE_TYPES.length];
+        LatencyStats[] remove = new LatencyStats[VEHICLE_TYPES.length];
+        for (int type = 0; type < VEHICLE_TYPES.length; type++) {
+            removed[type] = removeCounts[type].sum();
+            park[type] = parkLatency[type].snapshot();
+            remove[type] = removeLatency[type].snapshot();
+        }
+        return new MetricsSnapshot(counts, removed, park, remove, removeMisses.sum(), motorcycleFallbacks.sum(),
+                vanFragmentationRejections.sum(), summaryLatency.snapshot());
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server, e.g. for JConsole or a JMX exporter,
+     * under {@code parking:type=ParkingLotMetrics,name=<lotName>}.
+     *
+     * @param lotName name distinguishing this lot from others in the same JVM
+     * @return the name the metrics were registered under
+     * @throws IllegalArgumentException if the lot name is not valid in an object name
+     * @throws IllegalStateException    if metrics are already registered under that name
+     */
+    public ObjectName registerMBean(String lotName) {
+        try {
+            ObjectName objectName = objectName(lotName);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (InstanceAlreadyExistsException e) {
+            throw new IllegalStateException("Metrics are already registered for lot: " + lotName, e);
+        } catch (MBeanRegistrationException | NotCompliantMBeanException e) {
+            throw new IllegalStateException("Cannot register metrics for lot: " + lotName, e);
+        }
+    }
+
+    /**
+     * Removes metrics registered with {@link #registerMBean} from the platform MBean server.
+     * Does nothing if none are registered under the name.
+     *
+     * @param lotName name the metrics were registered with
+     */
+    public static void unregisterMBean(String lotName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName(lotName));
+        } catch (InstanceNotFoundException e) {
+            // not registered
+        } catch (MBeanRegistrationException e) {
+            throw new IllegalStateException("Cannot unregister metrics for lot: " + lotName, e);
+        }
+    }
+
+    private static ObjectName objectName(String lotName) {
+        try {
+            return new ObjectName("parking:type=ParkingLotMetrics,name=" + ObjectName.quote(lotName));
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalArgumentException("Invalid lot name: " + lotName, e);
+        }
+    }
+
+    // ===============================
+    // JMX attributes
+    // ===============================
+
+    @Override
+    public Map<String, Long> getParkedCounts() {
+        return parkCountsByType(ParkingStatus.OK);
+    }
+
+    @Override
+    public Map<String, Long> getRejectedCounts() {
+        return parkCountsByType(ParkingStatus.FULL);
+    }
+
+    @Override
+    public Map<String, Long> getAlreadyParkedCounts() {
+        return parkCountsByType(ParkingStatus.ALREADY_PARKED);
+    }
+
+    @Override
+    public Map<String, Long> getRemovedCounts() {
+        return byType(type -> removeCounts[type.ordinal()].sum());
+    }
+
+    @Override
+    public Map<String, LatencyStats> getParkLatency() {
+        return byType(type -> parkLatency[type.ordinal()].snapshot());
+    }
+
+    @Override
+    public Map<String, LatencyStats> getRemoveLatency() {
+        return byType(type -> removeLatency[type.ordinal()].snapshot());
+    }
+
+    @Override
+    public int getLatencySampleInterval() {
+        return latencySampleInterval;
+    }
+
+    @Override
+    public long getRemoveMisses() {
+        return removeMisses.sum();
+    }
+
+    @Override
+    public long getMotorcycleFallbacks() {
+        return motorcycleFallbacks.sum();
+    }
+
+    @Override
+    public long getVanFragmentationRejections() {
+        return vanFragmentationRejections.sum();
+    }
+
+    @Override
+    public LatencyStats getSummaryLatency() {
+        return summaryLatency.snapshot();
+    }
+
+    private Map<String, Long> parkCountsByType(ParkingStatus status) {
+        return byType(type -> parkCounts[type.ordinal() * STATUSES.length + status.ordinal()].sum());
+    }
+
+    private static <T> Map<String, T> byType(Function<VehicleType, T> value) {
+        Map<String, T> values = new LinkedHashMap<>();
+        for (VehicleType type : VEHICLE_TYPES) {
+            values.put(type.name(), value.apply(type));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,65 @@
+package parking.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of a lot's {@link ParkingLotMetrics}. Per-type figures are keyed by
+ * {@code VehicleType} name; latencies are in nanoseconds.
+ */
+public interface ParkingLotMetricsMXBean {
+
+    /**
+     * @return number of vehicles parked, by vehicle type
+     */
+    Map<String, Long> getParkedCounts();
+
+    /**
+     * @return number of vehicles turned away because no suitable spot was free, by vehicle type
+     */
+    Map<String, Long> getRejectedCounts();
+
+    /**
+     * @return number of park calls for vehicles that were already parked, by vehicle type
+     */
+    Map<String, Long> getAlreadyParkedCounts();
+
+    /**
+     * @return number of vehicles removed, by vehicle type
+     */
+    Map<String, Long> getRemovedCounts();
+
+    /**
+     * @return number of park or remove calls per timed call
+     */
+    int getLatencySampleInterval();
+
+    /**
+     * @return latency of park calls, by vehicle type
+     */
+    Map<String, LatencyStats> getParkLatency();
+
+    /**
+     * @return latency of remove calls, by vehicle type
+     */
+    Map<String, LatencyStats> getRemoveLatency();
+
+    /**
+     * @return number of remove calls for vehicles that were not parked
+     */
+    long getRemoveMisses();
+
+    /**
+     * @return number of motorcycles parked in a regular spot because no compact spot was free
+     */
+    long getMotorcycleFallbacks();
+
+    /**
+     * @return number of vans turned away while enough regular spots were free, but none adjacent
+     */
+    long getVanFragmentationRejections();
+
+    /**
+     * @return time spent generating lot summaries
+     */
+    LatencyStats getSummaryLatency();
+}
@@ -0,0 +1,56 @@
+package parking.metrics;
+
+import parking.domain.ParkingSpot;
+import parking.enums.VehicleType;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.List;
+
+/**
+ * Flight Recorder event for one remove call of a lot administrator, including calls
+ * for vehicles that were not parked.
+ */
+@Name("parking.RemoveVehicle")
+@Label("Remove Vehicle")
+@Category({"Parking Lot", "Operations"})
+@Description("Remove call of a lot administrator")
+@StackTrace(false)
+public final class RemoveVehicleEvent extends jdk.jfr.Event {
+
+    @Label("Vehicle")
+    String vehicle;
+
+    @Label("Vehicle Type")
+    @Description("Type of the removed vehicle, empty if it was not parked")
+    String vehicleType;
+
+    @Label("Spots")
+    @Description("Identifiers of the spots freed")
+    String spots;
+
+    @Label("Candidates Inspected")
+    @Description("Spots freed")
+    int candidatesInspected;
+
+    /**
+     * Ends the event and records it if the recording asks for it.
+     *
+     * @param identifier  unique vehicle identifier
+     * @param vehicleType type of the removed vehicle, or {@code null} if it was not parked
+     * @param freed       the spots freed, or {@code null} if the vehicle was not parked
+     */
+    public void end(String identifier, VehicleType vehicleType, List<ParkingSpot> freed) {
+        if (shouldCommit()) {
+            this.vehicle = identifier;
+            this.vehicleType = vehicleType != null ? vehicleType.name() : "";
+            this.spots = ParkingEvents.spotIds(freed);
+            this.candidatesInspected = freed != null ? freed.size() : 0;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package parking.metrics;
+
+import parking.domain.ParkingSpot;
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.List;
+
+/**
+ * Flight Recorder event for one search of an allocation strategy, e.g. to see after
+ * the fact which spot types a rejected van was looked for in.
+ *
+ * <p>Like the other parking events, it costs nothing unless a recording has the event
+ * enabled: emitters create it unconditionally and only fill it in when
+ * {@link #shouldCommit()} says it will be recorded.</p>
+ */
+@Name("parking.SpotSearch")
+@Label("Spot Search")
+@Category({"Parking Lot", "Allocation"})
+@Description("Search of an allocation strategy for the spots of one vehicle")
+@StackTrace(false)
+public final class SpotSearchEvent extends jdk.jfr.Event {
+
+    @Label("Vehicle Type")
+    String vehicleType;
+
+    @Label("Spot Types Searched")
+    String spotTypesSearched;
+
+    @Label("Chosen Spots")
+    @Description("Identifiers of the spots chosen, empty if none were found")
+    String spots;
+
+    @Label("Candidates Inspected")
+    @Description("Free-spot index lookups plus spots scanned in lists without an index")
+    int candidatesInspected;
+
+    /**
+     * Adds a search of one spot type to the event; call only while the event is enabled.
+     *
+     * @param spotType   the spot type searched
+     * @param candidates index lookups or spots scanned for it
+     */
+    public void searched(ParkingSpotType spotType, int candidates) {
+        spotTypesSearched = spotTypesSearched == null ? spotType.name() : spotTypesSearched + "," + spotType.name();
+        candidatesInspected += candidates;
+    }
+
+    /**
+     * Ends the event and records it if the recording asks for it.
+     *
+     * @param vehicleType type of the vehicle searched for
+     * @param chosen      the spots chosen, empty if none were found
+     */
+    public void end(VehicleType vehicleType, List<ParkingSpot> chosen) {
+        if (shouldCommit()) {
+            this.vehicleType = vehicleType.name();
+            this.spots = ParkingEvents.spotIds(chosen);
+            commit();
+        }
+    }
+}
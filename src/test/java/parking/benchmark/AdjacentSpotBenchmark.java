@@ -0,0 +1,80 @@
+package parking.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+import parking.lot.index.IndexedSpotList;
+import parking.lot.strategy.RegularCompactAllocationStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the row-grouping van search with the {@link parking.lot.index.AdjacentRunIndex}
+ * lookup on a lot where every other regular spot is taken, except for one free pair in the last row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdjacentSpotBenchmark {
+
+    @Param({"10000", "200000"})
+    private int lotSize;
+
+    @Param({"100"})
+    private int rowWidth;
+
+    private final RegularCompactAllocationStrategy strategy = new RegularCompactAllocationStrategy();
+    private final Vehicle van = new Vehicle("VAN", VehicleType.VAN);
+    private Map<ParkingSpotType, List<ParkingSpot>> groupedLot;
+    private Map<ParkingSpotType, List<ParkingSpot>> indexedLot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        groupedLot = Map.of(ParkingSpotType.REGULAR, createFragmentedSpots());
+        indexedLot = Map.of(ParkingSpotType.REGULAR, IndexedSpotList.of(createFragmentedSpots()));
+        // Build the adjacency index outside the measurement
+        ((IndexedSpotList) indexedLot.get(ParkingSpotType.REGULAR)).findAdjacentAvailable(2);
+    }
+
+    private List<ParkingSpot> createFragmentedSpots() {
+        Vehicle parked = new Vehicle("PARKED", VehicleType.CAR);
+        List<ParkingSpot> spots = new ArrayList<>(lotSize);
+        for (int i = 0; i < lotSize; i++) {
+            ParkingSpot spot = new ParkingSpot("R" + (i / rowWidth + 1) + "-" + (i % rowWidth + 1), ParkingSpotType.REGULAR);
+            if (i % 2 == 0 && i < lotSize - rowWidth) {
+                spot.assignVehicle(parked);
+            }
+            spots.add(spot);
+        }
+        return spots;
+    }
+
+    @Benchmark
+    public List<ParkingSpot> rowGroupingSearch() {
+        return strategy.findParkingSpot(van, groupedLot);
+    }
+
+    @Benchmark
+    public List<ParkingSpot> segmentTreeSearch() {
+        return strategy.findParkingSpot(van, indexedLot);
+    }
+}
@@ -0,0 +1,125 @@
+package parking.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import parking.domain.Vehicle;
+import parking.enums.VehicleType;
+import parking.exception.ParkingUnavailableException;
+import parking.lot.ConcurrentLotAdmin;
+import parking.lot.ParkingLotAdmin;
+import parking.lot.RegularCompactLotAdmin;
+import parking.lot.ShardedLotAdmin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-vehicle cost of parking and removing {@value #VEHICLES} vehicles, either with one
+ * call per vehicle or in batches of {@code batchSize}. Every other spot of the lot is
+ * taken, so the quarter of arrivals that are vans find no adjacent pair and are rejected:
+ * one exception each on the single-call path, one search per batch on the batch path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class BatchParkingBenchmark {
+    private static final int VEHICLES = 256;
+
+    @Param({"1", "16", "256"})
+    private int batchSize;
+
+    @Param({"COMPACT_REGULAR", "CONCURRENT", "SHARDED"})
+    private String adminType;
+
+    private ParkingLotAdmin admin;
+    private List<List<Vehicle>> arrivals;
+    private List<List<String>> departures;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String rowSequence = String.join(",", Collections.nCopies(50, "REGULAR")) + ",COMPACT";
+        int rows = 100_000 / 51;
+        admin = switch (adminType) {
+            case "CONCURRENT" -> new ConcurrentLotAdmin(rows, rowSequence);
+            case "SHARDED" -> new ShardedLotAdmin(rows, rowSequence, 4);
+            default -> new RegularCompactLotAdmin(rows, rowSequence);
+        };
+        // Fill the lot, then free every other vehicle so no two free spots are adjacent
+        int parked = 0;
+        try {
+            while (true) {
+                admin.parkVehicle("P" + parked, VehicleType.MOTORCYCLE);
+                parked++;
+            }
+        } catch (ParkingUnavailableException e) {
+            for (int i = 0; i < parked; i += 2) {
+                admin.removeVehicle("P" + i);
+            }
+        }
+
+        arrivals = new ArrayList<>();
+        departures = new ArrayList<>();
+        for (int first = 0; first < VEHICLES; first += batchSize) {
+            List<Vehicle> batch = new ArrayList<>();
+            List<String> identifiers = new ArrayList<>();
+            for (int i = first; i < first + batchSize; i++) {
+                VehicleType type = switch (i % 8) {
+                    case 0, 1 -> VehicleType.VAN;
+                    case 2 -> VehicleType.MOTORCYCLE;
+                    default -> VehicleType.CAR;
+                };
+                batch.add(new Vehicle("B" + i, type));
+                identifiers.add("B" + i);
+            }
+            arrivals.add(batch);
+            departures.add(identifiers);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VEHICLES)
+    public void singleCalls(Blackhole blackhole) {
+        for (List<Vehicle> batch : arrivals) {
+            for (Vehicle vehicle : batch) {
+                try {
+                    blackhole.consume(admin.parkVehicle(vehicle.getIdentifier(), vehicle.getType()));
+                } catch (ParkingUnavailableException e) {
+                    blackhole.consume(e);
+                }
+            }
+        }
+        for (List<String> identifiers : departures) {
+            for (String identifier : identifiers) {
+                admin.removeVehicle(identifier);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VEHICLES)
+    public void batches(Blackhole blackhole) {
+        for (List<Vehicle> batch : arrivals) {
+            blackhole.consume(admin.parkVehicles(batch));
+        }
+        for (List<String> identifiers : departures) {
+            admin.removeVehicles(identifiers);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package parking.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import parking.enums.VehicleType;
+import parking.exception.ParkingUnavailableException;
+import parking.lot.ConcurrentLotAdmin;
+import parking.lot.ParkingLotAdmin;
+import parking.lot.RegularCompactLotAdmin;
+import parking.lot.ShardedLotAdmin;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Multi-gate throughput and latency: every benchmark thread is an entry gate that parks
+ * a vehicle and lets it leave again on a shared, half-occupied lot. Compares the lock-free
+ * {@link ConcurrentLotAdmin}, with searches starting at the first spot or at per-gate
+ * cursors, and the row-sharded {@link ShardedLotAdmin} with {@link RegularCompactLotAdmin}
+ * behind one global lock. Sample-time mode reports the p99 park latency. For the lock-free
+ * admins, the claims lost to other gates per park are printed after every iteration.
+ * Scale the number of gates with {@code -t}, e.g. {@code -t 1}, {@code -t 16}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Threads(4)
+public class ConcurrentParkingBenchmark {
+
+    @Param({"100000"})
+    private int lotSize;
+
+    @Param({"SYNCHRONIZED", "CONCURRENT", "CONCURRENT_SPREAD", "SHARDED"})
+    private String adminType;
+
+    private ParkingLotAdmin admin;
+    private Object lock;
+    private final LongAdder parks = new LongAdder();
+    private long conflictsAtStart;
+
+    /**
+     * Per-gate state: vehicle identifiers are unique to each gate.
+     */
+    @State(Scope.Thread)
+    public static class Gate {
+        private static final AtomicInteger GATES = new AtomicInteger();
+
+        private final String prefix = "G" + GATES.getAndIncrement() + "-";
+        private int next;
+
+        String nextIdentifier() {
+            return prefix + (next++ & 1023);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String rowSequence = String.join(",", Collections.nCopies(50, "REGULAR")) + ",COMPACT";
+        int rows = lotSize / 51;
+        admin = switch (adminType) {
+            case "CONCURRENT" -> new ConcurrentLotAdmin(rows, rowSequence);
+            case "CONCURRENT_SPREAD" -> new ConcurrentLotAdmin(rows, rowSequence, true);
+            case "SHARDED" -> new ShardedLotAdmin(rows, rowSequence, 16);
+            default -> new RegularCompactLotAdmin(rows, rowSequence);
+        };
+        lock = adminType.equals("SYNCHRONIZED") ? admin : null;
+        // Fill every regular spot, then free every other one so each row (and shard) is half occupied
+        int parked = 0;
+        try {
+            while (true) {
+                admin.parkVehicle("P" + parked, VehicleType.CAR);
+                parked++;
+            }
+        } catch (ParkingUnavailableException e) {
+            for (int i = 0; i < parked; i += 2) {
+                admin.removeVehicle("P" + i);
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void startCounting() {
+        parks.reset();
+        conflictsAtStart = admin instanceof ConcurrentLotAdmin concurrent ? concurrent.getClaimConflicts() : 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportConflicts() {
+        if (admin instanceof ConcurrentLotAdmin concurrent) {
+            long conflicts = concurrent.getClaimConflicts() - conflictsAtStart;
+            System.out.printf("%n%s: %d claim conflicts, %.4f per park%n", adminType, conflicts,
+                    (double) conflicts / Math.max(parks.sum(), 1));
+        }
+    }
+
+    @Benchmark
+    public void parkAndRemove(Gate gate) throws Exception {
+        String identifier = gate.nextIdentifier();
+        parks.increment();
+        if (lock == null) {
+            admin.parkVehicle(identifier, VehicleType.CAR);
+            admin.removeVehicle(identifier);
+            return;
+        }
+        synchronized (lock) {
+            admin.parkVehicle(identifier, VehicleType.CAR);
+            admin.removeVehicle(identifier);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package parking.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+import parking.lot.index.IndexedSpotList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the original first-fit stream scan with the {@link IndexedSpotList} lookup
+ * for a single spot type at different lot sizes and occupancy levels.
+ *
+ * <p>Run with: {@code mvn -P benchmark -DskipTests verify -Djmh.include=FreeSpotLookupBenchmark}</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FreeSpotLookupBenchmark {
+
+    @Param({"10000", "500000"})
+    private int lotSize;
+
+    @Param({"0.50", "0.95"})
+    private double occupancy;
+
+    /**
+     * FIRST_FIT occupies the front of the lot as first-fit allocation does;
+     * RANDOM scatters the same number of vehicles across the lot.
+     */
+    @Param({"FIRST_FIT", "RANDOM"})
+    private String fillPattern;
+
+    private List<ParkingSpot> scannedSpots;
+    private IndexedSpotList indexedSpots;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scannedSpots = createSpots();
+        indexedSpots = IndexedSpotList.of(createSpots());
+    }
+
+    private List<ParkingSpot> createSpots() {
+        Random random = new Random(42);
+        Vehicle parked = new Vehicle("PARKED", VehicleType.CAR);
+        List<ParkingSpot> spots = new ArrayList<>(lotSize);
+        for (int i = 0; i < lotSize; i++) {
+            ParkingSpot spot = new ParkingSpot("R1-" + (i + 1), ParkingSpotType.REGULAR);
+            boolean occupied = "FIRST_FIT".equals(fillPattern)
+                    ? i < lotSize * occupancy
+                    : random.nextDouble() < occupancy;
+            if (occupied) {
+                spot.assignVehicle(parked);
+            }
+            spots.add(spot);
+        }
+        return spots;
+    }
+
+    @Benchmark
+    public ParkingSpot streamScan() {
+        return scannedSpots.stream()
+                .filter(ParkingSpot::isAvailable)
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Benchmark
+    public ParkingSpot indexedLookup() {
+        return indexedSpots.firstAvailable();
+    }
+
+    @Benchmark
+    public ParkingSpot indexedParkAndRemove() {
+        ParkingSpot spot = indexedSpots.firstAvailable();
+        spot.assignVehicle(new Vehicle("BENCH", VehicleType.CAR));
+        spot.removeVehicle();
+        return spot;
+    }
+}
@@ -0,0 +1,43 @@
+package parking.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import parking.enums.ParkingLotAdminType;
+import parking.lot.ParkingLot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time and allocation of building a {@link ParkingLot}, across the lot sizes and row
+ * layouts of {@link ParkingLotBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx8g")
+public class LotConstructionBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int lotSize;
+
+    @Param({"MIXED", "REGULAR_ONLY", "COMPACT_HEAVY"})
+    private ParkingLotBenchmark.RowLayout rowLayout;
+
+    @Param({"COMPACT_REGULAR", "ROW_TEMPLATE_COMPACT_REGULAR"})
+    private ParkingLotAdminType adminType;
+
+    @Benchmark
+    public ParkingLot construct() throws Exception {
+        return new ParkingLot(lotSize / ParkingLotBenchmark.RowLayout.ROW_WIDTH, rowLayout.rowSequence, adminType);
+    }
+}
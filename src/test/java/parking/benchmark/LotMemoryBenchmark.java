@@ -0,0 +1,62 @@
+package parking.benchmark;
+
+import parking.enums.ParkingLotAdminType;
+import parking.enums.VehicleType;
+import parking.lot.LotLayout;
+import parking.lot.ParkingLot;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+
+/**
+ * Measures retained heap per spot, and per parked vehicle, for each lot administrator type.
+ *
+ * <p>Run with a large heap, e.g. {@code java -Xmx8g -cp ... parking.benchmark.LotMemoryBenchmark 10000000}.
+ * The optional arguments are the total number of spots, the row sequence, the admin type
+ * and the number of cars to park.</p>
+ */
+public final class LotMemoryBenchmark {
+
+    private LotMemoryBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        long targetSpots = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000L;
+        String rowSequence = args.length > 1 ? args[1]
+                : "COMPACT,COMPACT,REGULAR,REGULAR,REGULAR,REGULAR,REGULAR,REGULAR,REGULAR,REGULAR";
+        int numOfRows = (int) (targetSpots / LotLayout.uniform(1, rowSequence).totalSpots());
+        int vehicles = args.length > 3 ? Integer.parseInt(args[3]) : 200_000;
+
+        ParkingLotAdminType[] types = args.length > 2
+                ? new ParkingLotAdminType[]{ParkingLotAdminType.valueOf(args[2])}
+                : new ParkingLotAdminType[]{ParkingLotAdminType.ROW_TEMPLATE_COMPACT_REGULAR,
+                        ParkingLotAdminType.COMPACT_REGULAR_ARRAY, ParkingLotAdminType.LAZY_COMPACT_REGULAR,
+                        ParkingLotAdminType.COMPACT_REGULAR};
+        for (ParkingLotAdminType type : types) {
+            long before = usedHeap();
+            ParkingLot lot = new ParkingLot(numOfRows, rowSequence, type);
+            long after = usedHeap();
+            System.out.printf("%-24s %,d spots: %,d bytes retained, %.1f bytes/spot%n",
+                    type, lot.getParkingLotSize(), after - before, (double) (after - before) / lot.getParkingLotSize());
+
+            for (int i = 0; i < vehicles; i++) {
+                lot.parkVehicle("CAR-" + i, VehicleType.CAR);
+            }
+            long parked = usedHeap();
+            Reference.reachabilityFence(lot);
+            System.out.printf("%-24s %,d cars parked: %.1f bytes/vehicle (identifiers included)%n",
+                    type, vehicles, (double) (parked - after) / vehicles);
+            lot = null;
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
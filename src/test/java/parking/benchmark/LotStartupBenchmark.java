@@ -0,0 +1,45 @@
+package parking.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import parking.enums.ParkingLotAdminType;
+import parking.lot.ParkingLot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup time of a lot after a restart: each measurement builds one {@link ParkingLot}
+ * in a JVM that has not built one before, without warmup, so the score includes the
+ * interpreted and freshly compiled code a restarted service runs through. Steady-state
+ * construction cost is covered by {@link LotConstructionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 5, jvmArgs = "-Xmx8g")
+public class LotStartupBenchmark {
+
+    @Param({"100000", "1000000", "10000000"})
+    private int lotSize;
+
+    @Param({"MIXED"})
+    private ParkingLotBenchmark.RowLayout rowLayout;
+
+    @Param({"COMPACT_REGULAR", "LAZY_COMPACT_REGULAR"})
+    private ParkingLotAdminType adminType;
+
+    @Benchmark
+    public ParkingLot startUp() throws Exception {
+        return new ParkingLot(lotSize / ParkingLotBenchmark.RowLayout.ROW_WIDTH, rowLayout.rowSequence, adminType);
+    }
+}
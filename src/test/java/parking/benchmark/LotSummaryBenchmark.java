@@ -0,0 +1,61 @@
+package parking.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import parking.domain.ParkingLotSummary;
+import parking.enums.VehicleType;
+import parking.lot.RegularCompactLotAdmin;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the counter-based {@link RegularCompactLotAdmin#generateLotSummary()} with a
+ * full recount of every spot on a half-occupied lot. Recounts of lots this large are
+ * split among fork/join workers, so the gap depends on the cores available.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class LotSummaryBenchmark {
+
+    @Param({"1000000", "10000000"})
+    private int lotSize;
+
+    @Param({"100"})
+    private int rowWidth;
+
+    private RegularCompactLotAdmin admin;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String rowSequence = String.join(",", Collections.nCopies(rowWidth, "REGULAR"));
+        admin = new RegularCompactLotAdmin(lotSize / rowWidth, rowSequence);
+        for (int i = 0; i < lotSize / 2; i++) {
+            admin.parkVehicle("C" + i, VehicleType.CAR);
+        }
+    }
+
+    @Benchmark
+    public ParkingLotSummary counters() {
+        return admin.generateLotSummary();
+    }
+
+    @Benchmark
+    public ParkingLotSummary fullRecount() {
+        return admin.recountLotSummary();
+    }
+}
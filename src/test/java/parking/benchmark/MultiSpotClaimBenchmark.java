@@ -0,0 +1,98 @@
+package parking.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+import parking.exception.DoubleParkingException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention on a single row: vans claim two adjacent spots all-or-nothing while cars
+ * claim single spots of the same row. Every successful claim is released right away.
+ * The {@code claims} and {@code conflicts} counters show how often a claim had to be
+ * rolled back; shrink {@code rowWidth} to raise contention.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiSpotClaimBenchmark {
+
+    @Param({"4", "32"})
+    private int rowWidth;
+
+    private List<ParkingSpot> row;
+
+    /**
+     * Per-thread claim outcome counters reported next to the throughput score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long claims;
+        public long conflicts;
+
+        private final SplittableRandom random = new SplittableRandom();
+        private final Vehicle van = new Vehicle("V", VehicleType.VAN);
+        private final Vehicle car = new Vehicle("C", VehicleType.CAR);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        row = new ArrayList<>();
+        for (int column = 1; column <= rowWidth; column++) {
+            row.add(new ParkingSpot(1, column, ParkingSpotType.REGULAR));
+        }
+    }
+
+    @Benchmark
+    @Group("sameRow")
+    @GroupThreads(2)
+    public void van(Outcomes outcomes) {
+        int start = outcomes.random.nextInt(rowWidth - 1);
+        claimAndRelease(row.subList(start, start + 2), outcomes.van, outcomes);
+    }
+
+    @Benchmark
+    @Group("sameRow")
+    @GroupThreads(2)
+    public void car(Outcomes outcomes) {
+        int start = outcomes.random.nextInt(rowWidth);
+        claimAndRelease(row.subList(start, start + 1), outcomes.car, outcomes);
+    }
+
+    private static void claimAndRelease(List<ParkingSpot> spots, Vehicle vehicle, Outcomes outcomes) {
+        try {
+            ParkingSpot.claimAll(spots, vehicle);
+        } catch (DoubleParkingException e) {
+            outcomes.conflicts++;
+            return;
+        }
+        outcomes.claims++;
+        for (ParkingSpot spot : spots) {
+            spot.removeVehicle();
+        }
+    }
+}
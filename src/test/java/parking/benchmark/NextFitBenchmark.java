@@ -0,0 +1,94 @@
+package parking.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+import parking.lot.index.IndexedSpotList;
+import parking.lot.strategy.NextFitAllocationStrategy;
+import parking.lot.strategy.SpotAllocationStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A day of churn on a lot of cars held at a steady occupancy: every call lets one random
+ * car leave and parks the next. Compares the original first-fit stream search with
+ * {@link NextFitAllocationStrategy}, on a plain spot list and on an {@link IndexedSpotList}.
+ * The cost per call of next-fit should not grow with the lot size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NextFitBenchmark {
+
+    @Param({"10000", "200000"})
+    private int lotSize;
+
+    @Param({"90"})
+    private int occupancy;
+
+    @Param({"LIST", "INDEXED"})
+    private String storage;
+
+    @Param({"FIRST_FIT_STREAM", "NEXT_FIT"})
+    private String allocation;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final Vehicle car = new Vehicle("C", VehicleType.CAR);
+    private List<ParkingSpot> spots;
+    private Map<ParkingSpotType, List<ParkingSpot>> lot;
+    private SpotAllocationStrategy nextFit;
+    private ParkingSpot[] parked;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<ParkingSpot> created = new ArrayList<>(lotSize);
+        for (int i = 0; i < lotSize; i++) {
+            created.add(new ParkingSpot(i / 100 + 1, i % 100 + 1, ParkingSpotType.REGULAR));
+        }
+        spots = "INDEXED".equals(storage) ? IndexedSpotList.of(created) : created;
+        lot = Map.of(ParkingSpotType.REGULAR, spots);
+        nextFit = new NextFitAllocationStrategy();
+
+        // Park up to the target occupancy, then churn until the allocation has shaped the lot
+        parked = new ParkingSpot[(int) ((long) lotSize * occupancy / 100)];
+        for (int i = 0; i < parked.length; i++) {
+            parked[i] = spots.get(i);
+            parked[i].assignVehicle(car);
+        }
+        for (int i = 0; i < lotSize; i++) {
+            churn();
+        }
+    }
+
+    @Benchmark
+    public ParkingSpot churn() {
+        int leaving = random.nextInt(parked.length);
+        parked[leaving].removeVehicle();
+        ParkingSpot spot = "NEXT_FIT".equals(allocation)
+                ? nextFit.findParkingSpot(car, lot).get(0)
+                : spots.stream().filter(ParkingSpot::isAvailable).findFirst().orElseThrow();
+        spot.assignVehicle(car);
+        parked[leaving] = spot;
+        return spot;
+    }
+}
@@ -0,0 +1,152 @@
+package parking.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import parking.domain.ParkingAttempt;
+import parking.domain.ParkingLotSummary;
+import parking.enums.ParkingLotAdminType;
+import parking.enums.ParkingStatus;
+import parking.enums.VehicleType;
+import parking.lot.ParkingLot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regression suite for the hot paths of {@link ParkingLot}: parking each vehicle type,
+ * removing a vehicle and generating the lot summary, across lot sizes, occupancy levels
+ * and row layouts. Lot construction is covered by {@link LotConstructionBenchmark}.
+ *
+ * <p>The lot keeps its occupancy for the whole trial because every operation is a pair
+ * that undoes itself: {@code parkThenRemove} parks a new vehicle and removes it again,
+ * {@code removeThenRepark} removes a vehicle of the fill and parks it again. Resetting
+ * the lot in a per-invocation setup instead would cost more than the sub-microsecond
+ * operation being timed. On a full lot {@code parkThenRemove} measures the rejection
+ * path and {@code removeThenRepark} the park into the spot just freed. Run through the {@code benchmark}
+ * Maven profile, which adds {@code -prof gc} so allocation per operation is reported,
+ * and narrow the parameters with {@code -p}, e.g. {@code -p lotSize=1000000 -p occupancy=95}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx8g")
+public class ParkingLotBenchmark {
+
+    /**
+     * Row sequences of ten spots each, so every lot size divides into whole rows.
+     */
+    public enum RowLayout {
+        MIXED("COMPACT,COMPACT,REGULAR,REGULAR,REGULAR,REGULAR,REGULAR,REGULAR,REGULAR,REGULAR"),
+        REGULAR_ONLY("REGULAR,REGULAR,REGULAR,REGULAR,REGULAR,REGULAR,REGULAR,REGULAR,REGULAR,REGULAR"),
+        COMPACT_HEAVY("COMPACT,REGULAR,COMPACT,REGULAR,COMPACT,COMPACT,REGULAR,COMPACT,REGULAR,COMPACT");
+
+        static final int ROW_WIDTH = 10;
+
+        final String rowSequence;
+
+        RowLayout(String rowSequence) {
+            this.rowSequence = rowSequence;
+        }
+    }
+
+    private static final VehicleType[] FILL_MIX = {
+            VehicleType.CAR, VehicleType.MOTORCYCLE, VehicleType.CAR, VehicleType.VAN};
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int lotSize;
+
+    @Param({"0", "50", "95", "100"})
+    private int occupancy;
+
+    @Param({"MIXED", "REGULAR_ONLY", "COMPACT_HEAVY"})
+    private RowLayout rowLayout;
+
+    @Param({"COMPACT_REGULAR"})
+    private ParkingLotAdminType adminType;
+
+    private ParkingLot lot;
+    private String lastParked;        // a vehicle parked by the fill, or null on an empty lot
+    private VehicleType lastParkedType;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        lot = new ParkingLot(lotSize / RowLayout.ROW_WIDTH, rowLayout.rowSequence, adminType);
+        long target = lot.getParkingLotSize() * occupancy / 100;
+        ParkingAttempt attempt = new ParkingAttempt();
+        boolean[] full = new boolean[VehicleType.values().length];
+        int fullTypes = 0;
+        long occupied = 0;
+        for (int i = 0; occupied < target && fullTypes < full.length; i++) {
+            VehicleType type = FILL_MIX[i % FILL_MIX.length];
+            if (full[type.ordinal()]) {
+                continue;
+            }
+            if (lot.tryParkVehicle("F" + i, type, attempt) == ParkingStatus.FULL) {
+                full[type.ordinal()] = true;
+                fullTypes++;
+            } else {
+                occupied += attempt.getSpots().size();
+                lastParked = "F" + i;
+                lastParkedType = type;
+            }
+        }
+    }
+
+    /**
+     * New vehicle parked and removed again by {@link #parkThenRemove}.
+     */
+    @State(Scope.Thread)
+    public static class ParkProbe {
+        @Param({"MOTORCYCLE", "CAR", "VAN"})
+        private VehicleType vehicleType;
+
+        private final String identifier = "PARK-PROBE";
+        private final ParkingAttempt attempt = new ParkingAttempt();
+    }
+
+    /**
+     * Vehicle of the fill removed and parked again by {@link #removeThenRepark}.
+     */
+    @State(Scope.Thread)
+    public static class RemoveProbe {
+        private String identifier;
+        private VehicleType vehicleType;
+        private final ParkingAttempt attempt = new ParkingAttempt();
+
+        @Setup(Level.Trial)
+        public void choose(ParkingLotBenchmark benchmark) {
+            identifier = benchmark.lastParked != null ? benchmark.lastParked : "REMOVE-PROBE";
+            vehicleType = benchmark.lastParked != null ? benchmark.lastParkedType : VehicleType.CAR;
+            benchmark.lot.tryParkVehicle(identifier, vehicleType, attempt);
+        }
+    }
+
+    @Benchmark
+    public ParkingStatus parkThenRemove(ParkProbe probe) {
+        ParkingStatus status = lot.tryParkVehicle(probe.identifier, probe.vehicleType, probe.attempt);
+        lot.removeVehicle(probe.identifier);
+        return status;
+    }
+
+    @Benchmark
+    public ParkingStatus removeThenRepark(RemoveProbe probe) {
+        lot.removeVehicle(probe.identifier);
+        return lot.tryParkVehicle(probe.identifier, probe.vehicleType, probe.attempt);
+    }
+
+    @Benchmark
+    public ParkingLotSummary generateLotSummary() {
+        return lot.generateLotSummary();
+    }
+}
@@ -0,0 +1,80 @@
+package parking.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import parking.domain.ParkingAttempt;
+import parking.enums.ParkingStatus;
+import parking.enums.VehicleType;
+import parking.exception.ParkingUnavailableException;
+import parking.lot.ArrayBackedLotAdmin;
+import parking.lot.ConcurrentLotAdmin;
+import parking.lot.ParkingLotAdmin;
+import parking.lot.RegularCompactLotAdmin;
+import parking.lot.ShardedLotAdmin;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rush hour at a full lot: every arrival is turned away. Compares rejecting through
+ * {@link ParkingLotAdmin#parkVehicle}, which throws, with {@link ParkingLotAdmin#tryPark}
+ * and a reused {@link ParkingAttempt}. Run with {@code -prof gc} to see the allocation
+ * rate of each path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class SaturatedLotBenchmark {
+
+    @Param({"COMPACT_REGULAR", "ARRAY", "CONCURRENT", "SHARDED"})
+    private String adminType;
+
+    @Param({"CAR", "VAN"})
+    private VehicleType vehicleType;
+
+    private ParkingLotAdmin admin;
+    private final ParkingAttempt attempt = new ParkingAttempt();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String rowSequence = String.join(",", Collections.nCopies(50, "REGULAR")) + ",COMPACT";
+        int rows = 100_000 / 51;
+        admin = switch (adminType) {
+            case "ARRAY" -> new ArrayBackedLotAdmin(rows, rowSequence);
+            case "CONCURRENT" -> new ConcurrentLotAdmin(rows, rowSequence);
+            case "SHARDED" -> new ShardedLotAdmin(rows, rowSequence, 4);
+            default -> new RegularCompactLotAdmin(rows, rowSequence);
+        };
+        for (int parked = 0; admin.tryPark("P" + parked, VehicleType.MOTORCYCLE, attempt) == ParkingStatus.OK; parked++) {
+            // fill every spot
+        }
+    }
+
+    @Benchmark
+    public void exception(Blackhole blackhole) {
+        try {
+            blackhole.consume(admin.parkVehicle("X", vehicleType));
+        } catch (ParkingUnavailableException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public ParkingStatus statusCode() {
+        return admin.tryPark("X", vehicleType, attempt);
+    }
+}
@@ -0,0 +1,145 @@
+package parking.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+import parking.lot.index.IndexedSpotList;
+import parking.lot.strategy.PairPreservingAllocationStrategy;
+import parking.lot.strategy.RegularCompactAllocationStrategy;
+import parking.lot.strategy.SpotAllocationStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Churn simulation on an all-regular lot held at a steady occupancy: every call lets one
+ * random vehicle leave and parks one arrival (a van with probability {@code vanShare}%,
+ * otherwise a car). Compares first-fit with the pair-preserving placement.
+ *
+ * <p>The score is the cost per call. The {@code vanArrivals} and {@code vanRejections}
+ * counters give the van rejection rate; {@code vanRejectionsWithRoom} counts the
+ * rejections where enough regular spots were free, just not next to each other.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VanFragmentationBenchmark {
+
+    @Param({"FIRST_FIT", "PAIR_PRESERVING"})
+    private String strategyName;
+
+    @Param({"100000"})
+    private int lotSize;
+
+    @Param({"50"})
+    private int rowWidth;
+
+    @Param({"90", "99"})
+    private int occupancy;
+
+    @Param({"20"})
+    private int vanShare;
+
+    private SpotAllocationStrategy strategy;
+    private Map<ParkingSpotType, List<ParkingSpot>> lot;
+    private IndexedSpotList regularSpots;
+    private long targetOccupied;
+    private final List<List<ParkingSpot>> parked = new ArrayList<>();
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final Vehicle car = new Vehicle("C", VehicleType.CAR);
+    private final Vehicle van = new Vehicle("V", VehicleType.VAN);
+
+    /**
+     * Per-thread van outcome counters reported next to the score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long vanArrivals;
+        public long vanRejections;
+        public long vanRejectionsWithRoom;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        strategy = "PAIR_PRESERVING".equals(strategyName)
+                ? new PairPreservingAllocationStrategy()
+                : new RegularCompactAllocationStrategy();
+        List<ParkingSpot> spots = new ArrayList<>(lotSize);
+        for (int i = 0; i < lotSize; i++) {
+            spots.add(new ParkingSpot(i / rowWidth + 1, i % rowWidth + 1, ParkingSpotType.REGULAR));
+        }
+        regularSpots = IndexedSpotList.of(spots);
+        lot = Map.of(ParkingSpotType.REGULAR, regularSpots);
+
+        // Churn until placement has shaped the lot
+        targetOccupied = (long) lotSize * occupancy / 100;
+        for (int i = 0; i < 2 * lotSize; i++) {
+            step(null);
+        }
+    }
+
+    @Benchmark
+    public int churn(Outcomes outcomes) {
+        return step(outcomes);
+    }
+
+    /**
+     * Lets one random parked vehicle leave, unless the lot is below its target occupancy,
+     * and parks one arrival.
+     *
+     * @return number of spots taken by the arrival
+     */
+    private int step(Outcomes outcomes) {
+        if (!parked.isEmpty() && lotSize - regularSpots.availableCount() >= targetOccupied) {
+            int leaving = random.nextInt(parked.size());
+            List<ParkingSpot> spots = parked.set(leaving, parked.get(parked.size() - 1));
+            parked.remove(parked.size() - 1);
+            for (ParkingSpot spot : spots) {
+                spot.removeVehicle();
+            }
+        }
+        return arrive(outcomes);
+    }
+
+    private int arrive(Outcomes outcomes) {
+        Vehicle vehicle = random.nextInt(100) < vanShare ? van : car;
+        List<ParkingSpot> spots = strategy.findParkingSpot(vehicle, lot);
+        for (ParkingSpot spot : spots) {
+            spot.assignVehicle(vehicle);
+        }
+        if (!spots.isEmpty()) {
+            parked.add(spots);
+        }
+        if (outcomes != null && vehicle == van) {
+            outcomes.vanArrivals++;
+            if (spots.isEmpty()) {
+                outcomes.vanRejections++;
+                if (regularSpots.availableCount() >= 2) {
+                    outcomes.vanRejectionsWithRoom++;
+                }
+            }
+        }
+        return spots.size();
+    }
+}
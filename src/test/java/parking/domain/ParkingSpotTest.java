@@ -4,6 +4,11 @@ import org.junit.jupiter.api.Test;
 import parking.enums.VehicleType;
 import parking.exception.DoubleParkingException;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -41,4 +46,82 @@ public class ParkingSpotTest {
         spot.assignVehicle(car1);
         assertThrows(DoubleParkingException.class, () -> spot.assignVehicle(car2));
     }
+
+    @Test
+    public void testCoordinatesFormatSpotId() {
+        ParkingSpot spot = new ParkingSpot(12, 3, REGULAR);
+        assertTrue(spot.hasCoordinates());
+        assertEquals(12, spot.getRow());
+        assertEquals(3, spot.getColumn());
+        assertEquals("R12-3", spot.getParkingSpotId());
+    }
+
+    @Test
+    public void testSpotIdParsedIntoCoordinates() {
+        ParkingSpot spot = new ParkingSpot("R4-17", COMPACT);
+        assertEquals(4, spot.getRow());
+        assertEquals(17, spot.getColumn());
+        assertEquals("R4-17", spot.getParkingSpotId());
+
+        ParkingSpot unparsed = new ParkingSpot("INVALID", COMPACT);
+        assertFalse(unparsed.hasCoordinates());
+        assertEquals("INVALID", unparsed.getParkingSpotId());
+    }
+
+    @Test
+    public void testNonPositiveCoordinatesRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ParkingSpot(0, 1, REGULAR));
+        assertThrows(IllegalArgumentException.class, () -> new ParkingSpot(1, -1, REGULAR));
+    }
+
+    @Test
+    public void testMultiSpotAssignIsAllOrNothing() {
+        ParkingSpot first = new ParkingSpot(1, 1, REGULAR);
+        ParkingSpot second = new ParkingSpot(1, 2, REGULAR);
+        second.assignVehicle(new Vehicle("C1", VehicleType.CAR));
+
+        assertThrows(DoubleParkingException.class,
+                () -> ParkingSpot.claimAll(List.of(first, second), new Vehicle("V1", VehicleType.VAN)));
+        assertTrue(first.isAvailable());
+        assertEquals(VehicleType.CAR, second.getVehicleType());
+    }
+
+    @Test
+    public void testConcurrentVansAndCarsNeverLeakSpots() throws InterruptedException {
+        List<ParkingSpot> row = new ArrayList<>();
+        for (int column = 1; column <= 6; column++) {
+            row.add(new ParkingSpot(1, column, REGULAR));
+        }
+        AtomicInteger violations = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            boolean van = t % 2 == 0;
+            int seed = t;
+            threads.add(new Thread(() -> {
+                Random random = new Random(seed);
+                for (int round = 0; round < 50_000; round++) {
+                    Vehicle vehicle = new Vehicle("T" + seed + "-" + round, van ? VehicleType.VAN : VehicleType.CAR);
+                    int start = random.nextInt(van ? row.size() - 1 : row.size());
+                    List<ParkingSpot> spots = row.subList(start, start + (van ? 2 : 1));
+                    try {
+                        ParkingSpot.claimAll(spots, vehicle);
+                    } catch (DoubleParkingException e) {
+                        continue;
+                    }
+                    for (ParkingSpot spot : spots) {
+                        if (spot.getVehicleType() != vehicle.getType()) {
+                            violations.incrementAndGet();
+                        }
+                        spot.removeVehicle();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, violations.get());
+        assertTrue(row.stream().allMatch(ParkingSpot::isAvailable), "A rolled-back claim leaked a spot");
+    }
 }
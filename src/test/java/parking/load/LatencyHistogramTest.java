@@ -0,0 +1,70 @@
+package parking.load;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMean());
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int nanos = 1; nanos <= 50; nanos++) {
+            histogram.record(nanos);
+        }
+        assertEquals(25, histogram.getValueAtPercentile(50));
+        assertEquals(50, histogram.getValueAtPercentile(100));
+        assertEquals(1, histogram.getValueAtPercentile(0));
+        assertEquals(25.5, histogram.getMean());
+    }
+
+    @Test
+    public void testPercentilesStayWithinRelativePrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1_000; nanos <= 1_000_000; nanos += 1_000) {
+            histogram.record(nanos);
+        }
+        assertWithinPrecision(500_000, histogram.getValueAtPercentile(50));
+        assertWithinPrecision(990_000, histogram.getValueAtPercentile(99));
+        assertWithinPrecision(999_000, histogram.getValueAtPercentile(99.9));
+        assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+        assertEquals(1_000_000, histogram.getMax());
+    }
+
+    @Test
+    public void testMergeAddsCounts() {
+        LatencyHistogram fast = new LatencyHistogram();
+        LatencyHistogram slow = new LatencyHistogram();
+        for (int i = 0; i < 990; i++) {
+            fast.record(1_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            slow.record(Long.MAX_VALUE);
+        }
+        fast.merge(slow);
+        assertEquals(1_000, fast.getCount());
+        assertWithinPrecision(1_000, fast.getValueAtPercentile(99));
+        assertEquals(Long.MAX_VALUE, fast.getValueAtPercentile(99.9));
+    }
+
+    @Test
+    public void testRejectsInvalidPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(100.5));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(-1));
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.035, "Expected ~" + expected + " but was " + actual);
+    }
+}
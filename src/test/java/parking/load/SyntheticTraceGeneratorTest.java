@@ -0,0 +1,72 @@
+package parking.load;
+
+import org.junit.jupiter.api.Test;
+import parking.enums.VehicleType;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SyntheticTraceGeneratorTest {
+
+    @Test
+    public void testEveryDepartureFollowsItsArrival() {
+        List<TraceEvent> events = new SyntheticTraceGenerator(new double[]{500, 2_000, 0, 800}, 30,
+                Map.of(VehicleType.CAR, 1.0, VehicleType.VAN, 1.0), 7).generate();
+
+        Map<String, TraceEvent> arrivals = new HashMap<>();
+        long previous = 0;
+        for (TraceEvent event : events) {
+            assertTrue(event.timestampMillis() >= previous, "Events must be in timestamp order");
+            assertTrue(event.timestampMillis() < 4 * 3_600_000L);
+            previous = event.timestampMillis();
+            if (event.action() == TraceEvent.Action.PARK) {
+                assertEquals(null, arrivals.put(event.plate(), event), "Plates are not reused");
+            } else {
+                TraceEvent arrival = arrivals.get(event.plate());
+                assertTrue(arrival != null && arrival.timestampMillis() < event.timestampMillis());
+                assertEquals(arrival.vehicleType(), event.vehicleType());
+            }
+        }
+        // The third hour has no arrivals
+        assertTrue(events.stream().noneMatch(event -> event.action() == TraceEvent.Action.PARK
+                && event.timestampMillis() >= 2 * 3_600_000L && event.timestampMillis() < 3 * 3_600_000L));
+    }
+
+    @Test
+    public void testArrivalRateAndVehicleMix() {
+        List<TraceEvent> events = new SyntheticTraceGenerator(new double[]{10_000, 10_000}, 60,
+                Map.of(VehicleType.CAR, 70.0, VehicleType.MOTORCYCLE, 30.0), 1).generate();
+
+        Map<VehicleType, Integer> arrivals = new EnumMap<>(VehicleType.class);
+        events.stream()
+                .filter(event -> event.action() == TraceEvent.Action.PARK)
+                .forEach(event -> arrivals.merge(event.vehicleType(), 1, Integer::sum));
+        int total = arrivals.values().stream().mapToInt(Integer::intValue).sum();
+        assertEquals(20_000, total, 600);
+        assertEquals(0.7, arrivals.get(VehicleType.CAR) / (double) total, 0.02);
+        assertTrue(!arrivals.containsKey(VehicleType.VAN));
+    }
+
+    @Test
+    public void testSameSeedGivesSameTrace() {
+        Map<VehicleType, Double> mix = Map.of(VehicleType.CAR, 1.0);
+        assertEquals(new SyntheticTraceGenerator(new double[]{300}, 45, mix, 9).generate(),
+                new SyntheticTraceGenerator(new double[]{300}, 45, mix, 9).generate());
+    }
+
+    @Test
+    public void testRejectsInvalidConfiguration() {
+        Map<VehicleType, Double> mix = Map.of(VehicleType.CAR, 1.0);
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticTraceGenerator(new double[0], 60, mix, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticTraceGenerator(new double[]{-1}, 60, mix, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticTraceGenerator(new double[]{10}, 0, mix, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SyntheticTraceGenerator(new double[]{10}, 60, Map.of(VehicleType.CAR, 0.0), 1));
+    }
+}
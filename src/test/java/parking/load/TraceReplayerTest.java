@@ -0,0 +1,77 @@
+package parking.load;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import parking.domain.ParkingLotSummary;
+import parking.enums.ParkingLotAdminType;
+import parking.enums.VehicleType;
+import parking.lot.ParkingLot;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TraceReplayerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testReplayCountsOutcomes() throws Exception {
+        List<TraceEvent> events = List.of(
+                new TraceEvent(0, "C1", VehicleType.CAR, TraceEvent.Action.PARK),
+                new TraceEvent(1, "C2", VehicleType.CAR, TraceEvent.Action.PARK),
+                new TraceEvent(2, "C3", VehicleType.CAR, TraceEvent.Action.PARK),
+                new TraceEvent(3, "C1", VehicleType.CAR, TraceEvent.Action.PARK),
+                new TraceEvent(4, "C2", VehicleType.CAR, TraceEvent.Action.REMOVE),
+                new TraceEvent(5, "M1", VehicleType.MOTORCYCLE, TraceEvent.Action.PARK));
+        ParkingLot lot = new ParkingLot(1, "REGULAR,REGULAR", ParkingLotAdminType.COMPACT_REGULAR);
+
+        ReplayReport report = new TraceReplayer(lot, 1, 0, false).replay(events);
+
+        assertEquals(6, report.getEvents());
+        assertEquals(3, report.getParked());
+        assertEquals(1, report.getRejected());
+        assertEquals(1, report.getAlreadyParked());
+        assertEquals(1, report.getRemoved());
+        assertEquals(5, report.getParkLatency().getCount());
+        assertEquals(1, report.getRemoveLatency().getCount());
+    }
+
+    @Test
+    public void testGatesReplayEachPlateInOrder() throws Exception {
+        List<TraceEvent> events = new SyntheticTraceGenerator(new double[]{20_000}, 5,
+                Map.of(VehicleType.CAR, 6.0, VehicleType.MOTORCYCLE, 3.0, VehicleType.VAN, 1.0), 3).generate();
+        ParkingLot lot = new ParkingLot(200, "COMPACT,REGULAR,REGULAR,REGULAR,REGULAR",
+                ParkingLotAdminType.CONCURRENT_COMPACT_REGULAR);
+
+        ReplayReport report = new TraceReplayer(lot, 8, 0, true).replay(events);
+
+        long departures = events.stream().filter(event -> event.action() == TraceEvent.Action.REMOVE).count();
+        assertEquals(events.size(), report.getEvents());
+        assertEquals(departures, report.getRemoved());
+        assertEquals(0, report.getAlreadyParked(), "A departure was replayed before its arrival");
+        ParkingLotSummary summary = lot.generateLotSummary();
+        assertTrue(summary.getOccupiedSpots() >= report.getParked() - departures);
+    }
+
+    @Test
+    public void testTraceFileRoundTrip() throws Exception {
+        List<TraceEvent> events = new ArrayList<>(new SyntheticTraceGenerator(new double[]{100}, 20,
+                Map.of(VehicleType.CAR, 1.0, VehicleType.VAN, 1.0), 5).generate());
+        Path trace = tempDir.resolve("day.trace");
+        TraceFile.write(trace, events);
+        assertEquals(events, TraceFile.read(trace));
+
+        Files.writeString(trace, "# comment\n10,A1,CAR,PARK\n\n5,A1,CAR,REMOVE\n");
+        assertThrows(IllegalArgumentException.class, () -> TraceFile.read(trace));
+        Files.writeString(trace, "10,A1,TRUCK,PARK\n");
+        assertThrows(IllegalArgumentException.class, () -> TraceFile.read(trace));
+    }
+}
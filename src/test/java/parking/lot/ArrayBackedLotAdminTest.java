@@ -0,0 +1,97 @@
+package parking.lot;
+
+import org.junit.jupiter.api.Test;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+import parking.exception.DoubleParkingException;
+import parking.exception.IllegalSpotTypeException;
+import parking.exception.ParkingUnavailableException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArrayBackedLotAdminTest {
+
+    private ParkingLotAdmin admin;
+
+    @Test
+    public void testInitialization() throws IllegalSpotTypeException {
+        admin = new ArrayBackedLotAdmin(2, "REGULAR,COMPACT");
+        Map<ParkingSpotType, List<ParkingSpot>> spots = admin.getSpotsByType();
+        assertEquals(2, spots.get(ParkingSpotType.REGULAR).size());
+        assertEquals(2, spots.get(ParkingSpotType.COMPACT).size());
+        assertEquals("R2-2", spots.get(ParkingSpotType.COMPACT).get(1).getParkingSpotId());
+        assertTrue(admin.getVehicleSpotsMap().isEmpty());
+    }
+
+    @Test
+    public void testParkAndRemoveVehicle() throws Exception {
+        admin = new ArrayBackedLotAdmin(2, "REGULAR,COMPACT");
+        List<ParkingSpot> allocated = admin.parkVehicle("C1", VehicleType.CAR);
+        assertEquals(1, allocated.size());
+        assertEquals("R1-1", allocated.get(0).getParkingSpotId());
+        assertFalse(allocated.get(0).isAvailable());
+        assertEquals(VehicleType.CAR, allocated.get(0).getVehicleType());
+        assertEquals(allocated, admin.getVehicleSpotsMap().get("C1"));
+        assertEquals(allocated, admin.parkVehicle("C1", VehicleType.CAR));
+
+        admin.removeVehicle("C1");
+        assertTrue(allocated.get(0).isAvailable());
+        assertFalse(admin.getVehicleSpotsMap().containsKey("C1"));
+        assertDoesNotThrow(() -> admin.removeVehicle("C1"));
+    }
+
+    @Test
+    public void testParkVanNeedsTwoAdjacentRegular() throws Exception {
+        admin = new ArrayBackedLotAdmin(2, "REGULAR,COMPACT,REGULAR");
+        assertThrows(ParkingUnavailableException.class, () -> admin.parkVehicle("V1", VehicleType.VAN));
+
+        admin = new ArrayBackedLotAdmin(2, "COMPACT,REGULAR,REGULAR");
+        admin.parkVehicle("C1", VehicleType.CAR);
+        List<ParkingSpot> allocated = admin.parkVehicle("V1", VehicleType.VAN);
+        assertEquals("R2-2", allocated.get(0).getParkingSpotId());
+        assertEquals("R2-3", allocated.get(1).getParkingSpotId());
+        assertEquals(2, admin.generateLotSummary().getVanCount());
+    }
+
+    @Test
+    public void testViewChangesUpdateTheLot() throws Exception {
+        admin = new ArrayBackedLotAdmin(1, "REGULAR,REGULAR");
+        ParkingSpot spot = admin.parkVehicle("C1", VehicleType.CAR).get(0);
+        assertThrows(DoubleParkingException.class, () -> spot.assignVehicle(new Vehicle("C2", VehicleType.CAR)));
+
+        spot.removeVehicle();
+        assertTrue(spot.isAvailable());
+        assertEquals(2, admin.generateLotSummary().getAvailableSpots());
+        assertEquals("R1-1", admin.parkVehicle("C3", VehicleType.CAR).get(0).getParkingSpotId());
+        admin.removeVehicle("C1");
+        assertFalse(spot.isAvailable());
+
+        ParkingSpot other = admin.getSpotsByType().get(ParkingSpotType.REGULAR).get(1);
+        other.assignVehicle(new Vehicle("V1", VehicleType.VAN));
+        assertEquals(VehicleType.VAN, other.getVehicleType());
+        assertEquals(1, admin.generateLotSummary().getVanCount());
+        assertFalse(admin.hasRoomFor(VehicleType.MOTORCYCLE));
+        assertFalse(admin.getVehicleSpotsMap().containsKey("V1"));
+
+        other.removeVehicle();
+        assertEquals(0, admin.generateLotSummary().getVanCount());
+        assertEquals("R1-2", admin.parkVehicle("C4", VehicleType.CAR).get(0).getParkingSpotId());
+    }
+
+    @Test
+    public void testMatchesObjectBackedAdmin() throws Exception {
+        String rowSequence = "COMPACT,REGULAR,REGULAR,COMPACT,REGULAR,REGULAR,REGULAR";
+        ParkingLotAdmin expected = new RegularCompactLotAdmin(30, rowSequence);
+        admin = new ArrayBackedLotAdmin(30, rowSequence);
+        LotAssertions.assertSameAllocations(expected, admin, 3, 5_000, 200);
+    }
+}
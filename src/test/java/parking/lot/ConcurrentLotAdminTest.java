@@ -0,0 +1,204 @@
+package parking.lot;
+
+import org.junit.jupiter.api.Test;
+import parking.domain.ParkingAttempt;
+import parking.domain.ParkingLotSummary;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingLotAdminType;
+import parking.enums.ParkingSpotType;
+import parking.enums.ParkingStatus;
+import parking.enums.VehicleType;
+import parking.exception.DoubleParkingException;
+import parking.exception.ParkingUnavailableException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentLotAdminTest {
+
+    private ParkingLotAdmin admin;
+
+    @Test
+    public void testParkAndRemoveVehicle() throws Exception {
+        admin = new ConcurrentLotAdmin(2, "REGULAR,COMPACT");
+        List<ParkingSpot> allocated = admin.parkVehicle("C1", VehicleType.CAR);
+        assertEquals("R1-1", allocated.get(0).getParkingSpotId());
+        assertEquals(VehicleType.CAR, allocated.get(0).getVehicleType());
+        assertEquals(allocated, admin.parkVehicle("C1", VehicleType.CAR));
+        assertEquals(allocated, admin.getVehicleSpotsMap().get("C1"));
+
+        admin.removeVehicle("C1");
+        assertTrue(allocated.get(0).isAvailable());
+        assertFalse(admin.getVehicleSpotsMap().containsKey("C1"));
+        assertDoesNotThrow(() -> admin.removeVehicle("C1"));
+    }
+
+    @Test
+    public void testVanNeedsTwoAdjacentRegularInOneRow() throws Exception {
+        admin = new ConcurrentLotAdmin(2, "REGULAR,COMPACT,REGULAR");
+        assertThrows(ParkingUnavailableException.class, () -> admin.parkVehicle("V1", VehicleType.VAN));
+
+        admin = new ConcurrentLotAdmin(2, "REGULAR,COMPACT,REGULAR,REGULAR");
+        admin.parkVehicle("C1", VehicleType.CAR);
+        List<ParkingSpot> allocated = admin.parkVehicle("V1", VehicleType.VAN);
+        assertEquals(List.of("R1-3", "R1-4"), allocated.stream().map(ParkingSpot::getParkingSpotId).toList());
+        assertEquals(2, admin.generateLotSummary().getVanCount());
+        admin.removeVehicle("V1");
+        assertEquals(0, admin.generateLotSummary().getVanCount());
+    }
+
+    @Test
+    public void testFailedAssignmentReleasesTheClaim() throws Exception {
+        admin = new ConcurrentLotAdmin(1, "REGULAR,REGULAR,REGULAR");
+        List<ParkingSpot> regular = admin.getSpotsByType().get(ParkingSpotType.REGULAR);
+        regular.get(1).assignVehicle(new Vehicle("C1", VehicleType.CAR)); // taken behind the index's back
+
+        assertThrows(DoubleParkingException.class, () -> admin.parkVehicle("V1", VehicleType.VAN));
+        assertTrue(regular.get(0).isAvailable());
+        assertFalse(admin.getVehicleSpotsMap().containsKey("V1"));
+        assertEquals(0, admin.generateLotSummary().getVanCount());
+        assertEquals("R1-1", admin.parkVehicle("C2", VehicleType.CAR).get(0).getParkingSpotId());
+    }
+
+    @Test
+    public void testMatchesSingleThreadedAdmin() throws Exception {
+        String rowSequence = "COMPACT,REGULAR,REGULAR,COMPACT,REGULAR,REGULAR,REGULAR";
+        ParkingLotAdmin expected = new RegularCompactLotAdmin(30, rowSequence);
+        admin = new ConcurrentLotAdmin(30, rowSequence);
+        LotAssertions.assertSameAllocations(expected, admin, 5, 5_000, 200);
+    }
+
+    @Test
+    public void testConcurrentGatesNeverShareSpots() throws Exception {
+        for (boolean gateCursors : new boolean[]{false, true}) {
+            assertGatesNeverShareSpots(new ConcurrentLotAdmin(50, "COMPACT,REGULAR,REGULAR,REGULAR", gateCursors));
+        }
+    }
+
+    @Test
+    public void testGateCursorsStartApartAndWrapAround() throws Exception {
+        ConcurrentLotAdmin spread = new ConcurrentLotAdmin(1, "REGULAR,REGULAR,REGULAR,REGULAR,REGULAR,REGULAR,REGULAR,REGULAR", true);
+        assertEquals("R1-1", spread.parkVehicle("C0", VehicleType.CAR).get(0).getParkingSpotId());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        List<String> secondGate = executor.submit(() -> {
+            List<String> spotIds = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                spotIds.add(spread.parkVehicle("C" + i, VehicleType.CAR).get(0).getParkingSpotId());
+            }
+            return spotIds;
+        }).get();
+        executor.shutdown();
+
+        // the second gate starts 0.618 of the way into the row, then wraps to the front
+        assertEquals(List.of("R1-5", "R1-6", "R1-7", "R1-8", "R1-2"), secondGate);
+        assertEquals("R1-3", spread.parkVehicle("C6", VehicleType.CAR).get(0).getParkingSpotId());
+        assertEquals(0, spread.getClaimConflicts());
+    }
+
+    @Test
+    public void testRacingGatesReportDuplicatePlateAsAlreadyParked() throws Exception {
+        ConcurrentLotAdmin racedAdmin = new ConcurrentLotAdmin(4, "REGULAR,REGULAR,REGULAR,REGULAR");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        for (int round = 0; round < 2_000; round++) {
+            String identifier = "C" + round;
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<ParkingStatus>> futures = new ArrayList<>();
+            for (int gate = 0; gate < 2; gate++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return racedAdmin.tryPark(identifier, VehicleType.CAR, new ParkingAttempt());
+                }));
+            }
+            start.countDown();
+            List<ParkingStatus> statuses = new ArrayList<>();
+            for (Future<ParkingStatus> future : futures) {
+                statuses.add(future.get());
+            }
+            assertTrue(statuses.contains(ParkingStatus.OK), statuses.toString());
+            assertTrue(statuses.contains(ParkingStatus.ALREADY_PARKED), statuses.toString());
+            assertEquals(VehicleType.CAR, racedAdmin.removeVehicle(identifier));
+        }
+        executor.shutdown();
+        assertEquals(0, racedAdmin.generateLotSummary().getOccupiedSpots());
+    }
+
+    private void assertGatesNeverShareSpots(ParkingLotAdmin admin) throws Exception {
+        int gates = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(gates);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int gate = 0; gate < gates; gate++) {
+            int seed = gate;
+            futures.add(executor.submit(() -> {
+                start.await();
+                Random random = new Random(seed);
+                VehicleType[] types = VehicleType.values();
+                for (int step = 0; step < 20_000; step++) {
+                    // Identifiers are shared between gates so the same vehicle races itself
+                    String identifier = "V" + random.nextInt(300);
+                    if (random.nextInt(3) == 0) {
+                        admin.removeVehicle(identifier);
+                        continue;
+                    }
+                    try {
+                        admin.parkVehicle(identifier, types[random.nextInt(types.length)]);
+                    } catch (ParkingUnavailableException ignored) {
+                        // Lot is full for this vehicle type
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Set<ParkingSpot> allocatedSpots = new HashSet<>();
+        long vanSpots = 0;
+        for (Map.Entry<String, List<ParkingSpot>> entry : admin.getVehicleSpotsMap().entrySet()) {
+            for (ParkingSpot spot : entry.getValue()) {
+                assertTrue(allocatedSpots.add(spot), "Spot allocated twice: " + spot.getParkingSpotId());
+                assertFalse(spot.isAvailable());
+                if (spot.getVehicleType() == VehicleType.VAN) {
+                    vanSpots++;
+                }
+            }
+        }
+        long occupiedSpots = admin.getSpotsByType().values().stream()
+                .flatMap(List::stream)
+                .filter(spot -> !spot.isAvailable())
+                .count();
+        assertEquals(allocatedSpots.size(), occupiedSpots);
+
+        ParkingLotSummary summary = admin.generateLotSummary();
+        assertEquals(occupiedSpots, summary.getOccupiedSpots());
+        assertEquals(vanSpots, summary.getVanCount());
+        long rowOccupied = summary.getByRow().values().stream().mapToLong(ParkingLotSummary.RowStatus::getOccupied).sum();
+        assertEquals(occupiedSpots, rowOccupied);
+    }
+
+    @Test
+    public void testSelectableThroughParkingLot() throws Exception {
+        ParkingLot lot = new ParkingLot(3, "REGULAR,COMPACT", ParkingLotAdminType.CONCURRENT_COMPACT_REGULAR);
+        assertEquals(6, lot.getParkingLotSize());
+        assertEquals("R1-2", lot.parkVehicle("M1", VehicleType.MOTORCYCLE).getParkingSpotId());
+    }
+}
@@ -0,0 +1,99 @@
+package parking.lot;
+
+import parking.domain.ParkingAttempt;
+import parking.domain.ParkingLotSummary;
+import parking.domain.ParkingSpot;
+import parking.enums.VehicleType;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Assertions and the random park/remove workload shared by the lot admin tests.
+ */
+final class LotAssertions {
+    private static final VehicleType[] TYPES = VehicleType.values();
+
+    private LotAssertions() {
+    }
+
+    /**
+     * Asserts that two summaries report the same totals, spot types and rows.
+     */
+    static void assertSummariesEqual(ParkingLotSummary expected, ParkingLotSummary actual) {
+        assertEquals(expected.getTotalSpots(), actual.getTotalSpots());
+        assertEquals(expected.getAvailableSpots(), actual.getAvailableSpots());
+        assertEquals(expected.getOccupiedSpots(), actual.getOccupiedSpots());
+        assertEquals(expected.isFull(), actual.isFull());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+        assertEquals(expected.getVanCount(), actual.getVanCount());
+        assertEquals(expected.getByType().keySet(), actual.getByType().keySet());
+        expected.getByType().forEach((type, status) -> {
+            assertEquals(status.getTotal(), actual.getByType().get(type).getTotal());
+            assertEquals(status.getAvailable(), actual.getByType().get(type).getAvailable());
+            assertEquals(status.getOccupied(), actual.getByType().get(type).getOccupied());
+        });
+        assertEquals(expected.getByRow().keySet(), actual.getByRow().keySet());
+        expected.getByRow().forEach((row, status) -> {
+            assertEquals(status.getTotal(), actual.getByRow().get(row).getTotal());
+            assertEquals(status.getAvailable(), actual.getByRow().get(row).getAvailable());
+            assertEquals(status.getOccupied(), actual.getByRow().get(row).getOccupied());
+        });
+    }
+
+    /**
+     * Drives two admins through the same random parks and removals, asserting that
+     * every call is answered alike and that the summaries match at the end.
+     *
+     * @param seed   seed of the workload
+     * @param steps  number of park or remove calls
+     * @param plates number of distinct vehicle identifiers
+     */
+    static void assertSameAllocations(ParkingLotAdmin expected, ParkingLotAdmin actual, long seed, int steps, int plates) {
+        Random random = new Random(seed);
+        for (int step = 0; step < steps; step++) {
+            String identifier = "V" + random.nextInt(plates);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.removeVehicle(identifier), actual.removeVehicle(identifier), identifier);
+                continue;
+            }
+            VehicleType type = TYPES[random.nextInt(TYPES.length)];
+            ParkingAttempt expectedAttempt = new ParkingAttempt();
+            ParkingAttempt actualAttempt = new ParkingAttempt();
+            assertEquals(expected.tryPark(identifier, type, expectedAttempt),
+                    actual.tryPark(identifier, type, actualAttempt), identifier);
+            assertEquals(spotIds(expectedAttempt.getSpots()), spotIds(actualAttempt.getSpots()), identifier);
+        }
+        assertSummariesEqual(expected.generateLotSummary(), actual.generateLotSummary());
+    }
+
+    /**
+     * Parks and removes random vehicles, asserting every {@code checkEvery} steps and at
+     * the end that the summary read from the counters matches a full recount.
+     *
+     * @param seed   seed of the workload
+     * @param steps  number of park or remove calls
+     * @param plates number of distinct vehicle identifiers
+     */
+    static void assertCountersMatchRecount(RegularCompactLotAdmin admin, long seed, int steps, int plates, int checkEvery) {
+        Random random = new Random(seed);
+        for (int step = 0; step < steps; step++) {
+            String identifier = "V" + random.nextInt(plates);
+            if (random.nextInt(3) == 0) {
+                admin.removeVehicle(identifier);
+            } else {
+                admin.tryPark(identifier, TYPES[random.nextInt(TYPES.length)], new ParkingAttempt());
+            }
+            if (step % checkEvery == 0) {
+                assertSummariesEqual(admin.recountLotSummary(), admin.generateLotSummary());
+            }
+        }
+        assertSummariesEqual(admin.recountLotSummary(), admin.generateLotSummary());
+    }
+
+    static List<String> spotIds(List<ParkingSpot> spots) {
+        return spots.stream().map(ParkingSpot::getParkingSpotId).toList();
+    }
+}
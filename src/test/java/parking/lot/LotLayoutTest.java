@@ -0,0 +1,142 @@
+package parking.lot;
+
+import org.junit.jupiter.api.Test;
+import parking.domain.ParkingLotSummary;
+import parking.domain.ParkingSpot;
+import parking.enums.ParkingLotAdminType;
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+import parking.exception.IllegalSpotTypeException;
+import parking.lot.index.SpotRows;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static parking.enums.ParkingSpotType.COMPACT;
+import static parking.enums.ParkingSpotType.REGULAR;
+
+public class LotLayoutTest {
+
+    @Test
+    public void testParsesCommaSeparatedAndRunLengthSequences() throws Exception {
+        assertArrayEquals(new ParkingSpotType[]{REGULAR, COMPACT}, RowSequenceParser.parse(" REGULAR , COMPACT "));
+        assertArrayEquals(new ParkingSpotType[]{COMPACT, COMPACT, REGULAR, REGULAR, REGULAR, COMPACT},
+                RowSequenceParser.parse("COMPACT*2,REGULAR * 3,COMPACT"));
+        assertArrayEquals(new ParkingSpotType[]{REGULAR}, RowSequenceParser.parse("REGULAR,"));
+
+        ParkingSpotType[] wide = RowSequenceParser.parse("COMPACT*50,REGULAR*350");
+        assertEquals(400, wide.length);
+        assertEquals(COMPACT, wide[49]);
+        assertEquals(REGULAR, wide[50]);
+    }
+
+    @Test
+    public void testRejectsInvalidSequences() {
+        for (String rowSequence : List.of("", "REGULAR,INVALID", "REGULAR,,COMPACT", "REG ULAR", "REGULAR*",
+                "REGULAR*0", "REGULAR*x", "*2", "REGULAR*99999999999")) {
+            assertThrows(IllegalSpotTypeException.class, () -> RowSequenceParser.parse(rowSequence), rowSequence);
+        }
+    }
+
+    @Test
+    public void testUniformLayoutSharesOneRow() throws Exception {
+        LotLayout layout = LotLayout.uniform(100_000, "COMPACT*50,REGULAR*350");
+        assertEquals(100_000, layout.numOfRows());
+        assertEquals(40_000_000L, layout.totalSpots());
+        assertTrue(layout.isUniform());
+        assertSame(layout.row(1), layout.row(100_000));
+        assertThrows(IndexOutOfBoundsException.class, () -> layout.row(100_001));
+    }
+
+    @Test
+    public void testParsesLayoutFile() throws Exception {
+        String file = """
+                # entrance level
+                2: COMPACT*2, REGULAR*2
+                2:COMPACT*2,REGULAR*2   # same spot types, merged into the run above
+
+                REGULAR*3\r
+                """;
+        LotLayout layout = LotLayout.parse(new StringReader(file));
+        assertEquals(5, layout.numOfRows());
+        assertEquals(4 * 4 + 3, layout.totalSpots());
+        assertFalse(layout.isUniform());
+        assertSame(layout.row(1), layout.row(4));
+        assertEquals(3, layout.rowWidth(5));
+
+        Path path = Files.createTempFile("layout", ".txt");
+        try {
+            Files.writeString(path, file);
+            assertEquals(layout.totalSpots(), LotLayout.load(path).totalSpots());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testReportsLineOfInvalidRow() {
+        IllegalSpotTypeException e = assertThrows(IllegalSpotTypeException.class,
+                () -> LotLayout.parse(new StringReader("REGULAR\nREGULAR,BIG\n")));
+        assertTrue(e.getMessage().endsWith("on line 2"), e.getMessage());
+        assertThrows(IllegalSpotTypeException.class, () -> LotLayout.parse(new StringReader("3 REGULAR")));
+        assertThrows(IllegalSpotTypeException.class, () -> LotLayout.parse(new StringReader("3:\n")));
+    }
+
+    @Test
+    public void testLotWithDifferentRows() throws Exception {
+        LotLayout layout = LotLayout.builder()
+                .addRows(1, "COMPACT,REGULAR")
+                .addRows(2, "REGULAR*3")
+                .build();
+        for (ParkingLotAdminType adminType : List.of(ParkingLotAdminType.COMPACT_REGULAR,
+                ParkingLotAdminType.CONCURRENT_COMPACT_REGULAR, ParkingLotAdminType.SHARDED_COMPACT_REGULAR)) {
+            ParkingLot lot = new ParkingLot(layout, adminType);
+            assertEquals(8, lot.getParkingLotSize());
+            assertEquals("R1-2", lot.parkVehicle("C1", VehicleType.CAR).getParkingSpotId());
+            ParkingSpot van = lot.parkVehicle("V1", VehicleType.VAN);
+            assertEquals(2, van.getRow());
+
+            ParkingLotSummary summary = lot.generateLotSummary();
+            assertEquals(8, summary.getTotalSpots());
+            assertEquals(5, summary.getAvailableSpots());
+            assertEquals(2, summary.getByRow().get("R1").getTotal());
+            assertEquals(3, summary.getByRow().get("R3").getTotal());
+            assertEquals(1, summary.getByType().get(COMPACT).getTotal());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ParkingLot(layout, ParkingLotAdminType.COMPACT_REGULAR_ARRAY));
+        assertThrows(IllegalArgumentException.class, () -> new ParkingLot(layout, ParkingLotAdminType.ROW_TEMPLATE_COMPACT_REGULAR));
+    }
+
+    @Test
+    public void testTypeRowsMatchSpots() throws Exception {
+        LotLayout layout = LotLayout.builder()
+                .addRows(3, "REGULAR,COMPACT,REGULAR*2")
+                .addRows(2, "COMPACT")
+                .addRows(4, "REGULAR*3,COMPACT")
+                .build();
+        // rows 2 to 8, as one shard of the lot would see them
+        SpotRows rows = layout.typeRows(REGULAR, 2, 7);
+        long before = layout.typeSpotsBefore(2, REGULAR);
+        assertEquals(7, rows.rowCount());
+        assertEquals(2 * 3 + 3 * 3, rows.rowStart(7));
+        for (int row = 0; row < rows.rowCount(); row++) {
+            int[] columns = rows.columns(row);
+            assertEquals(rows.rowStart(row + 1) - rows.rowStart(row), columns.length);
+            for (int i = 0; i < columns.length; i++) {
+                int position = rows.rowStart(row) + i;
+                ParkingSpot spot = layout.spotAt(REGULAR, before + position);
+                assertEquals(row, rows.rowOf(position));
+                assertEquals(row + 2, spot.getRow());
+                assertEquals(columns[i], spot.getColumn());
+            }
+        }
+    }
+}
@@ -1,16 +1,27 @@
 package parking.lot;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import parking.domain.ParkingAttempt;
 import parking.domain.ParkingLotSummary;
+import parking.domain.ParkingResult;
 import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
 import parking.enums.ParkingSpotType;
+import parking.enums.ParkingStatus;
 import parking.enums.VehicleType;
 import parking.exception.DoubleParkingException;
 import parking.exception.IllegalSpotTypeException;
 import parking.exception.ParkingUnavailableException;
+import parking.lot.strategy.RegularCompactAllocationStrategy;
+import parking.lot.strategy.SpotAllocationStrategy;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -32,6 +43,106 @@ public class ParkingLotAdminTest {
         assertTrue(admin.getVehicleSpotsMap().isEmpty());
     }
 
+    @Test
+    public void testParallelBuildKeepsRowOrder() throws Exception {
+        // large enough to be split among fork/join workers, with rows that differ
+        LotLayout layout = LotLayout.builder()
+                .addRows(3_000, "COMPACT*2,REGULAR*8")
+                .addRows(1, "REGULAR")
+                .addRows(2_000, "REGULAR*3,COMPACT,REGULAR*6")
+                .build();
+        admin = new RegularCompactLotAdmin(layout);
+        for (ParkingSpotType type : ParkingSpotType.values()) {
+            List<ParkingSpot> spots = admin.getSpotsByType().get(type);
+            assertEquals(layout.typeSpotsBefore(layout.numOfRows() + 1, type), spots.size());
+            for (int i = 1; i < spots.size(); i++) {
+                ParkingSpot previous = spots.get(i - 1);
+                ParkingSpot spot = spots.get(i);
+                assertEquals(type, spot.getSpotType());
+                assertTrue(spot.getRow() > previous.getRow()
+                        || spot.getRow() == previous.getRow() && spot.getColumn() > previous.getColumn(), spot.getParkingSpotId());
+            }
+        }
+        assertEquals("R3001-1", admin.getSpotsByType().get(ParkingSpotType.REGULAR).get(3_000 * 8).getParkingSpotId());
+        assertEquals(1, admin.generateLotSummary().getByRow().get("R3001").getTotal());
+        assertEquals(layout.totalSpots(), admin.generateLotSummary().getAvailableSpots());
+    }
+
+    @Test
+    public void testLazySpotsMatchEagerSpots() throws Exception {
+        LotLayout layout = LotLayout.builder()
+                .addRows(30, "COMPACT*2,REGULAR*8")
+                .addRows(1, "REGULAR")
+                .addRows(20, "REGULAR*3,COMPACT,REGULAR*6")
+                .build();
+        RegularCompactLotAdmin eager = new RegularCompactLotAdmin(layout);
+        RegularCompactLotAdmin lazy = new RegularCompactLotAdmin(layout, true);
+        LotAssertions.assertSummariesEqual(eager.generateLotSummary(), lazy.recountLotSummary());
+
+        LotAssertions.assertSameAllocations(eager, lazy, 11, 5_000, 300);
+        LotAssertions.assertSummariesEqual(lazy.generateLotSummary(), lazy.recountLotSummary());
+
+        // every spot is still listed, in the same order, once asked for
+        for (ParkingSpotType type : ParkingSpotType.values()) {
+            List<ParkingSpot> eagerSpots = eager.getSpotsByType().get(type);
+            List<ParkingSpot> lazySpots = lazy.getSpotsByType().get(type);
+            assertEquals(eagerSpots.size(), lazySpots.size());
+            for (int i = 0; i < eagerSpots.size(); i++) {
+                assertEquals(eagerSpots.get(i).getParkingSpotId(), lazySpots.get(i).getParkingSpotId());
+                assertEquals(eagerSpots.get(i).isAvailable(), lazySpots.get(i).isAvailable());
+            }
+        }
+    }
+
+    @Test
+    public void testBatchParksEachTypeAsOneByOne() throws Exception {
+        LotLayout layout = LotLayout.builder()
+                .addRows(10, "COMPACT*2,REGULAR*6")
+                .addRows(10, "REGULAR*3,COMPACT,REGULAR*2")
+                .build();
+        RegularCompactLotAdmin batched = new RegularCompactLotAdmin(layout);
+        RegularCompactLotAdmin oneByOne = new RegularCompactLotAdmin(layout);
+
+        VehicleType[] types = VehicleType.values();
+        Random random = new Random(5);
+        for (int round = 0; round < 200; round++) {
+            List<Vehicle> batch = new ArrayList<>();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                batch.add(new Vehicle("V" + random.nextInt(300), types[random.nextInt(types.length)]));
+            }
+            List<ParkingResult> results = batched.parkVehicles(batch);
+            assertEquals(batch.size(), results.size());
+
+            // the batch parks whole types, in the order each type first appears
+            Map<Integer, ParkingResult> expected = new HashMap<>();
+            batch.stream().map(Vehicle::getType).distinct().forEach(type -> {
+                for (int i = 0; i < batch.size(); i++) {
+                    Vehicle vehicle = batch.get(i);
+                    if (vehicle.getType() != type) continue;
+                    ParkingAttempt attempt = new ParkingAttempt();
+                    ParkingStatus status = oneByOne.tryPark(vehicle.getIdentifier(), type, attempt);
+                    expected.put(i, new ParkingResult(vehicle.getIdentifier(), status, attempt.getSpots()));
+                }
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                ParkingResult result = results.get(i);
+                assertEquals(batch.get(i).getIdentifier(), result.getIdentifier());
+                assertEquals(expected.get(i).getStatus(), result.getStatus(), result.getIdentifier());
+                assertEquals(LotAssertions.spotIds(expected.get(i).getSpots()), LotAssertions.spotIds(result.getSpots()),
+                        result.getIdentifier());
+            }
+
+            List<String> leaving = new ArrayList<>();
+            for (int i = random.nextInt(30); i > 0; i--) {
+                leaving.add("V" + random.nextInt(300));
+            }
+            assertEquals(oneByOne.removeVehicles(leaving), batched.removeVehicles(leaving));
+        }
+        LotAssertions.assertSummariesEqual(oneByOne.generateLotSummary(), batched.generateLotSummary());
+        LotAssertions.assertSummariesEqual(batched.recountLotSummary(), batched.generateLotSummary());
+    }
+
+
     @Test
     public void testParkCar() throws Exception {
         admin = new RegularCompactLotAdmin(2, "REGULAR,COMPACT");
@@ -134,4 +245,121 @@ public class ParkingLotAdminTest {
         admin = new RegularCompactLotAdmin(2, "REGULAR,COMPACT");
         assertDoesNotThrow(() -> admin.printLotSummary());
     }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testDirectSpotChangesAreCounted(boolean lazySpots) throws Exception {
+        RegularCompactLotAdmin countedAdmin = new RegularCompactLotAdmin(LotLayout.uniform(2, "REGULAR,REGULAR,COMPACT"), lazySpots);
+        List<ParkingSpot> regular = countedAdmin.getSpotsByType().get(ParkingSpotType.REGULAR);
+        regular.get(2).assignVehicle(new Vehicle("V1", VehicleType.VAN));
+        regular.get(3).assignVehicle(new Vehicle("V1", VehicleType.VAN));
+        countedAdmin.parkVehicle("C1", VehicleType.CAR);
+        countedAdmin.parkVehicle("C2", VehicleType.CAR);
+
+        assertFalse(countedAdmin.hasRoomFor(VehicleType.CAR));
+        ParkingLotSummary summary = countedAdmin.generateLotSummary();
+        assertEquals(2, summary.getAvailableSpots());
+        assertEquals(2, summary.getVanCount());
+        assertEquals(1, summary.getByRow().get("R2").getAvailable());
+        LotAssertions.assertSummariesEqual(countedAdmin.recountLotSummary(), summary);
+
+        regular.get(3).removeVehicle();
+        assertTrue(countedAdmin.hasRoomFor(VehicleType.CAR));
+        assertEquals(1, countedAdmin.generateLotSummary().getVanCount());
+        LotAssertions.assertSummariesEqual(countedAdmin.recountLotSummary(), countedAdmin.generateLotSummary());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testRecountKeepsRowsWithoutSpots(boolean lazySpots) throws Exception {
+        LotLayout layout = LotLayout.builder()
+                .addRows(1, "REGULAR,COMPACT")
+                .addRows(1, new ParkingSpotType[0])
+                .addRows(1, "REGULAR,REGULAR")
+                .build();
+        RegularCompactLotAdmin countedAdmin = new RegularCompactLotAdmin(layout, lazySpots);
+        countedAdmin.parkVehicle("V1", VehicleType.VAN);
+        ParkingLotSummary summary = countedAdmin.generateLotSummary();
+        assertEquals(0, summary.getByRow().get("R2").getTotal());
+        LotAssertions.assertSummariesEqual(summary, countedAdmin.recountLotSummary());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testSummaryCountersMatchFullRecount(boolean lazySpots) throws Exception {
+        // large enough to be recounted in several fork/join blocks, with rows that differ
+        LotLayout layout = LotLayout.builder()
+                .addRows(9_000, "COMPACT*2,REGULAR*8")
+                .addRows(1, "COMPACT")
+                .addRows(6_000, "REGULAR*3,COMPACT,REGULAR*6")
+                .build();
+        RegularCompactLotAdmin countedAdmin = new RegularCompactLotAdmin(layout, lazySpots);
+        LotAssertions.assertSummariesEqual(countedAdmin.generateLotSummary(), countedAdmin.recountLotSummary());
+        LotAssertions.assertCountersMatchRecount(countedAdmin, 3, 60_000, 60_000, 10_000);
+    }
+
+    @Test
+    public void testStaleChoiceIsRejectedWithoutClaimingSpots() throws Exception {
+        SpotAllocationStrategy stalePairOnce = new SpotAllocationStrategy() {
+            private final SpotAllocationStrategy delegate = new RegularCompactAllocationStrategy();
+            private boolean stale = true;
+
+            @Override
+            public List<ParkingSpot> findParkingSpot(Vehicle vehicle, Map<ParkingSpotType, List<ParkingSpot>> spots) {
+                if (stale) {
+                    stale = false;
+                    return spots.get(ParkingSpotType.REGULAR).subList(0, 2);
+                }
+                return delegate.findParkingSpot(vehicle, spots);
+            }
+        };
+        RegularCompactLotAdmin countedAdmin = new RegularCompactLotAdmin(1, "REGULAR,REGULAR,REGULAR,REGULAR", stalePairOnce);
+        List<ParkingSpot> regular = countedAdmin.getSpotsByType().get(ParkingSpotType.REGULAR);
+        regular.get(1).assignVehicle(new Vehicle("C1", VehicleType.CAR)); // taken behind the search's back
+
+        ParkingAttempt attempt = new ParkingAttempt();
+        assertEquals(ParkingStatus.CONFLICT, countedAdmin.tryPark("V1", VehicleType.VAN, attempt));
+        assertTrue(attempt.getSpots().isEmpty());
+        assertTrue(regular.get(0).isAvailable(), "Rolled-back spot must be free again");
+        assertEquals(3, countedAdmin.generateLotSummary().getAvailableSpots());
+        assertEquals(0, countedAdmin.generateLotSummary().getVanCount());
+
+        List<ParkingSpot> allocated = countedAdmin.parkVehicle("V1", VehicleType.VAN);
+        assertEquals(List.of(regular.get(2), regular.get(3)), allocated);
+        assertEquals(VehicleType.CAR, regular.get(1).getVehicleType());
+        assertEquals(2, countedAdmin.generateLotSummary().getVanCount());
+        LotAssertions.assertSummariesEqual(countedAdmin.recountLotSummary(), countedAdmin.generateLotSummary());
+    }
+
+    @Test
+    public void testSpotsOutsideOneRunAreTracked() throws Exception {
+        // a strategy may hand out spots that are neither adjacent nor of one type
+        admin = new RegularCompactLotAdmin(1, "REGULAR,COMPACT,REGULAR,REGULAR",
+                (vehicle, spots) -> List.of(spots.get(ParkingSpotType.REGULAR).get(0), spots.get(ParkingSpotType.REGULAR).get(2)));
+        List<ParkingSpot> regular = admin.getSpotsByType().get(ParkingSpotType.REGULAR);
+        List<ParkingSpot> allocated = admin.parkVehicle("V1", VehicleType.VAN);
+        assertEquals(List.of(regular.get(0), regular.get(2)), allocated);
+        assertEquals(allocated, admin.getVehicleSpotsMap().get("V1"));
+        assertEquals(allocated, admin.parkVehicle("V1", VehicleType.VAN));
+
+        assertEquals(VehicleType.VAN, admin.removeVehicle("V1"));
+        assertTrue(regular.get(0).isAvailable());
+        assertTrue(regular.get(2).isAvailable());
+        assertTrue(admin.getVehicleSpotsMap().isEmpty());
+        assertEquals(4, admin.generateLotSummary().getAvailableSpots());
+    }
+
+    @Test
+    public void testPersistentConflictLeavesNoSpotClaimed() throws Exception {
+        admin = new RegularCompactLotAdmin(1, "REGULAR,REGULAR,REGULAR",
+                (vehicle, spots) -> spots.get(ParkingSpotType.REGULAR).subList(0, 2));
+        List<ParkingSpot> regular = admin.getSpotsByType().get(ParkingSpotType.REGULAR);
+        regular.get(1).assignVehicle(new Vehicle("C1", VehicleType.CAR));
+
+        assertEquals(ParkingStatus.CONFLICT, admin.tryPark("V1", VehicleType.VAN, new ParkingAttempt()));
+        assertThrows(DoubleParkingException.class, () -> admin.parkVehicle("V1", VehicleType.VAN));
+        assertTrue(regular.get(0).isAvailable());
+        assertFalse(admin.getVehicleSpotsMap().containsKey("V1"));
+        assertEquals(0, admin.generateLotSummary().getVanCount());
+    }
 }
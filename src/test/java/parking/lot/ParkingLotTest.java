@@ -1,12 +1,23 @@
 package parking.lot;
 
 import org.junit.jupiter.api.Test;
+import parking.domain.Entrance;
+import parking.domain.ParkingAttempt;
+import parking.domain.ParkingLotSummary;
+import parking.domain.ParkingResult;
 import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
 import parking.enums.ParkingLotAdminType;
+import parking.enums.ParkingStatus;
 import parking.enums.VehicleType;
 import parking.exception.ParkingUnavailableException;
 import parking.exception.IllegalSpotTypeException;
 import parking.exception.IllegalParkingLotAdminException;
+import parking.lot.strategy.CompatibilityTable;
+import parking.metrics.MetricsSnapshot;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -87,10 +98,199 @@ public class ParkingLotTest {
         lot.printLotSummary();
     }
 
+    @Test
+    public void testGenerateLotSummary() throws Exception {
+        lot = new ParkingLot(2, "REGULAR,COMPACT", ParkingLotAdminType.COMPACT_REGULAR);
+        lot.parkVehicle("C1", VehicleType.CAR);
+        ParkingLotSummary summary = lot.generateLotSummary();
+        assertEquals(4, summary.getTotalSpots());
+        assertEquals(1, summary.getOccupiedSpots());
+        assertFalse(summary.isFull());
+    }
+
     @Test
     public void testUnsupportedParkingLotAdminTypeThrows() {
         assertThrows(IllegalParkingLotAdminException.class, () ->
                 new ParkingLot(2, "REGULAR,COMPACT", ParkingLotAdminType.valueOf("UNSUPPORTED_TYPE"))
         );
     }
+
+    @Test
+    public void testBatchParkAndRemoveOnEveryAdminType() throws Exception {
+        for (ParkingLotAdminType adminType : List.of(ParkingLotAdminType.COMPACT_REGULAR,
+                ParkingLotAdminType.COMPACT_REGULAR_ARRAY, ParkingLotAdminType.CONCURRENT_COMPACT_REGULAR,
+                ParkingLotAdminType.CONCURRENT_SPREAD_COMPACT_REGULAR,
+                ParkingLotAdminType.SHARDED_COMPACT_REGULAR, ParkingLotAdminType.NEAREST_ENTRANCE_COMPACT_REGULAR,
+                ParkingLotAdminType.PAIR_PRESERVING_COMPACT_REGULAR, ParkingLotAdminType.NEXT_FIT_COMPACT_REGULAR,
+                ParkingLotAdminType.ROW_TEMPLATE_COMPACT_REGULAR,
+                ParkingLotAdminType.LAZY_COMPACT_REGULAR)) {
+            lot = new ParkingLot(2, "REGULAR,COMPACT", adminType);
+            List<ParkingResult> results = lot.parkVehicles(List.of(
+                    new Vehicle("C1", VehicleType.CAR),
+                    new Vehicle("M1", VehicleType.MOTORCYCLE),
+                    new Vehicle("C2", VehicleType.CAR),
+                    new Vehicle("C3", VehicleType.CAR),
+                    new Vehicle("M2", VehicleType.MOTORCYCLE),
+                    new Vehicle("M3", VehicleType.MOTORCYCLE),
+                    new Vehicle("C1", VehicleType.CAR)));
+
+            assertEquals(List.of(ParkingStatus.OK, ParkingStatus.OK, ParkingStatus.OK, ParkingStatus.FULL,
+                            ParkingStatus.OK, ParkingStatus.FULL, ParkingStatus.ALREADY_PARKED),
+                    results.stream().map(ParkingResult::getStatus).toList(), adminType.name());
+            assertEquals(List.of(true, true, true, false, true, false, true),
+                    results.stream().map(ParkingResult::isParked).toList(), adminType.name());
+            assertEquals("C3", results.get(3).getIdentifier());
+            assertEquals(results.get(0).getSpots(), results.get(6).getSpots());
+            assertEquals(ParkingSpotType.COMPACT, results.get(1).getSpots().get(0).getSpotType());
+
+            lot.removeVehicles(List.of("C1", "M1", "X"));
+            MetricsSnapshot metrics = lot.getMetrics().snapshot();
+            assertEquals(2, metrics.getParkCount(VehicleType.CAR, ParkingStatus.OK), adminType.name());
+            assertEquals(1, metrics.getParkCount(VehicleType.CAR, ParkingStatus.FULL), adminType.name());
+            assertEquals(1, metrics.getParkCount(VehicleType.CAR, ParkingStatus.ALREADY_PARKED), adminType.name());
+            assertEquals(2, metrics.getParkCount(VehicleType.MOTORCYCLE, ParkingStatus.OK), adminType.name());
+            assertEquals(1, metrics.getParkCount(VehicleType.MOTORCYCLE, ParkingStatus.FULL), adminType.name());
+            assertEquals(1, metrics.getRemoveCount(VehicleType.CAR), adminType.name());
+            assertEquals(1, metrics.getRemoveCount(VehicleType.MOTORCYCLE), adminType.name());
+            assertEquals(1, metrics.getRemoveMisses(), adminType.name());
+            assertEquals(0, metrics.getParkLatency(VehicleType.CAR).getCount(), adminType.name());
+            assertTrue(lot.parkVehicles(List.of(new Vehicle("C3", VehicleType.CAR))).get(0).isParked(), adminType.name());
+            assertThrows(ParkingUnavailableException.class, () -> lot.parkVehicle("C4", VehicleType.CAR));
+        }
+    }
+
+    @Test
+    public void testTryParkReportsStatusOnEveryAdminType() throws Exception {
+        for (ParkingLotAdminType adminType : List.of(ParkingLotAdminType.COMPACT_REGULAR,
+                ParkingLotAdminType.COMPACT_REGULAR_ARRAY, ParkingLotAdminType.CONCURRENT_COMPACT_REGULAR,
+                ParkingLotAdminType.CONCURRENT_SPREAD_COMPACT_REGULAR,
+                ParkingLotAdminType.SHARDED_COMPACT_REGULAR, ParkingLotAdminType.NEAREST_ENTRANCE_COMPACT_REGULAR,
+                ParkingLotAdminType.PAIR_PRESERVING_COMPACT_REGULAR, ParkingLotAdminType.NEXT_FIT_COMPACT_REGULAR,
+                ParkingLotAdminType.ROW_TEMPLATE_COMPACT_REGULAR,
+                ParkingLotAdminType.LAZY_COMPACT_REGULAR)) {
+            lot = new ParkingLot(1, "REGULAR,REGULAR,COMPACT", adminType);
+            ParkingAttempt attempt = new ParkingAttempt();
+
+            assertEquals(ParkingStatus.OK, lot.tryParkVehicle("V1", VehicleType.VAN, attempt), adminType.name());
+            assertEquals(2, attempt.getSpots().size());
+            String vanSpotId = attempt.getSpot().getParkingSpotId();
+
+            assertEquals(ParkingStatus.FULL, lot.tryParkVehicle("C1", VehicleType.CAR, attempt), adminType.name());
+            assertNull(attempt.getSpot());
+            assertTrue(attempt.getSpots().isEmpty());
+
+            assertEquals(ParkingStatus.OK, lot.tryParkVehicle("M1", VehicleType.MOTORCYCLE, attempt), adminType.name());
+            assertEquals(ParkingSpotType.COMPACT, attempt.getSpot().getSpotType());
+            assertEquals(ParkingStatus.FULL, lot.tryParkVehicle("M2", VehicleType.MOTORCYCLE, attempt), adminType.name());
+
+            assertEquals(ParkingStatus.ALREADY_PARKED, lot.tryParkVehicle("V1", VehicleType.VAN, attempt), adminType.name());
+            assertEquals(vanSpotId, attempt.getSpot().getParkingSpotId());
+            assertThrows(ParkingUnavailableException.class, () -> lot.parkVehicle("C1", VehicleType.CAR));
+        }
+    }
+
+    @Test
+    public void testCompatibilityTableDrivesEveryAdminType() throws Exception {
+        // cars fall back to compact spots, vans take three adjacent regular spots
+        CompatibilityTable table = CompatibilityTable.builder()
+                .allow(VehicleType.MOTORCYCLE, ParkingSpotType.COMPACT, 1)
+                .allow(VehicleType.CAR, ParkingSpotType.REGULAR, 1)
+                .allow(VehicleType.CAR, ParkingSpotType.COMPACT, 1)
+                .allow(VehicleType.VAN, ParkingSpotType.REGULAR, 3)
+                .build();
+        for (ParkingLotAdminType adminType : List.of(ParkingLotAdminType.COMPACT_REGULAR,
+                ParkingLotAdminType.COMPACT_REGULAR_ARRAY, ParkingLotAdminType.CONCURRENT_COMPACT_REGULAR,
+                ParkingLotAdminType.CONCURRENT_SPREAD_COMPACT_REGULAR,
+                ParkingLotAdminType.SHARDED_COMPACT_REGULAR, ParkingLotAdminType.NEAREST_ENTRANCE_COMPACT_REGULAR,
+                ParkingLotAdminType.PAIR_PRESERVING_COMPACT_REGULAR, ParkingLotAdminType.NEXT_FIT_COMPACT_REGULAR,
+                ParkingLotAdminType.ROW_TEMPLATE_COMPACT_REGULAR,
+                ParkingLotAdminType.LAZY_COMPACT_REGULAR)) {
+            lot = new ParkingLot(LotLayout.uniform(1, "REGULAR,REGULAR,REGULAR,COMPACT"), adminType,
+                    List.of(Entrance.DEFAULT), table);
+            ParkingAttempt attempt = new ParkingAttempt();
+
+            assertEquals(ParkingStatus.OK, lot.tryParkVehicle("V1", VehicleType.VAN, attempt), adminType.name());
+            assertEquals(List.of("R1-1", "R1-2", "R1-3"),
+                    attempt.getSpots().stream().map(ParkingSpot::getParkingSpotId).toList(), adminType.name());
+            assertEquals(3, lot.generateLotSummary().getVanCount(), adminType.name());
+
+            assertEquals(ParkingStatus.OK, lot.tryParkVehicle("C1", VehicleType.CAR, attempt), adminType.name());
+            assertEquals("R1-4", attempt.getSpot().getParkingSpotId(), adminType.name());
+
+            lot.removeVehicle("V1");
+            assertEquals(ParkingStatus.FULL, lot.tryParkVehicle("M1", VehicleType.MOTORCYCLE, attempt),
+                    adminType.name() + " keeps motorcycles off regular spots");
+            lot.removeVehicle("C1");
+            assertTrue(lot.generateLotSummary().isEmpty(), adminType.name());
+        }
+    }
+
+    @Test
+    public void testRecountMatchesSummaryOnEveryAdminType() throws Exception {
+        for (ParkingLotAdminType adminType : List.of(ParkingLotAdminType.COMPACT_REGULAR,
+                ParkingLotAdminType.COMPACT_REGULAR_ARRAY, ParkingLotAdminType.CONCURRENT_COMPACT_REGULAR,
+                ParkingLotAdminType.CONCURRENT_SPREAD_COMPACT_REGULAR,
+                ParkingLotAdminType.SHARDED_COMPACT_REGULAR, ParkingLotAdminType.NEAREST_ENTRANCE_COMPACT_REGULAR,
+                ParkingLotAdminType.PAIR_PRESERVING_COMPACT_REGULAR, ParkingLotAdminType.NEXT_FIT_COMPACT_REGULAR,
+                ParkingLotAdminType.ROW_TEMPLATE_COMPACT_REGULAR,
+                ParkingLotAdminType.LAZY_COMPACT_REGULAR)) {
+            lot = new ParkingLot(8, "REGULAR,COMPACT,REGULAR,REGULAR", adminType);
+            lot.parkVehicle("V1", VehicleType.VAN);
+            lot.parkVehicle("C1", VehicleType.CAR);
+            lot.parkVehicle("M1", VehicleType.MOTORCYCLE);
+            lot.removeVehicle("C1");
+
+            ParkingLotSummary summary = lot.generateLotSummary();
+            assertEquals(29, summary.getAvailableSpots(), adminType.name());
+            LotAssertions.assertSummariesEqual(summary, lot.recountLotSummary());
+        }
+    }
+
+    @Test
+    public void testMetricsRecordHotPathsOnEveryAdminType() throws Exception {
+        for (ParkingLotAdminType adminType : List.of(ParkingLotAdminType.COMPACT_REGULAR,
+                ParkingLotAdminType.COMPACT_REGULAR_ARRAY, ParkingLotAdminType.CONCURRENT_COMPACT_REGULAR,
+                ParkingLotAdminType.CONCURRENT_SPREAD_COMPACT_REGULAR,
+                ParkingLotAdminType.SHARDED_COMPACT_REGULAR, ParkingLotAdminType.NEAREST_ENTRANCE_COMPACT_REGULAR,
+                ParkingLotAdminType.PAIR_PRESERVING_COMPACT_REGULAR, ParkingLotAdminType.NEXT_FIT_COMPACT_REGULAR,
+                ParkingLotAdminType.ROW_TEMPLATE_COMPACT_REGULAR,
+                ParkingLotAdminType.LAZY_COMPACT_REGULAR)) {
+            lot = new ParkingLot(1, "REGULAR,COMPACT,REGULAR,COMPACT,REGULAR", adminType);
+            lot.parkVehicle("M1", VehicleType.MOTORCYCLE);
+            lot.parkVehicle("M2", VehicleType.MOTORCYCLE);
+            lot.parkVehicle("M3", VehicleType.MOTORCYCLE);   // compact spots taken, parks in R1-1
+            lot.parkVehicle("M1", VehicleType.MOTORCYCLE);
+            // R1-3 and R1-5 are free, but not adjacent
+            assertEquals(ParkingStatus.FULL, lot.tryParkVehicle("V1", VehicleType.VAN, new ParkingAttempt()));
+            lot.parkVehicle("C1", VehicleType.CAR);
+            lot.removeVehicle("C1");
+            lot.removeVehicle("M2");
+            lot.removeVehicle("X");
+            lot.generateLotSummary();
+
+            MetricsSnapshot metrics = lot.getMetrics().snapshot();
+            assertEquals(3, metrics.getParkCount(VehicleType.MOTORCYCLE, ParkingStatus.OK), adminType.name());
+            assertEquals(1, metrics.getParkCount(VehicleType.MOTORCYCLE, ParkingStatus.ALREADY_PARKED), adminType.name());
+            assertEquals(1, metrics.getParkCount(VehicleType.VAN, ParkingStatus.FULL), adminType.name());
+            assertEquals(1, metrics.getParkCount(VehicleType.CAR, ParkingStatus.OK), adminType.name());
+            assertEquals(1, metrics.getMotorcycleFallbacks(), adminType.name());
+            assertEquals(1, metrics.getVanFragmentationRejections(), adminType.name());
+            assertEquals(1, metrics.getRemoveCount(VehicleType.CAR), adminType.name());
+            assertEquals(1, metrics.getRemoveCount(VehicleType.MOTORCYCLE), adminType.name());
+            assertEquals(0, metrics.getRemoveCount(VehicleType.VAN), adminType.name());
+            assertEquals(1, metrics.getRemoveMisses(), adminType.name());
+            assertEquals(1, metrics.getSummaryLatency().getCount(), adminType.name());
+        }
+    }
+
+    @Test
+    public void testVanRejectedWithoutFreeSpotsIsNotFragmentation() throws Exception {
+        lot = new ParkingLot(1, "REGULAR,REGULAR,COMPACT", ParkingLotAdminType.COMPACT_REGULAR);
+        lot.parkVehicle("C1", VehicleType.CAR);
+        assertThrows(ParkingUnavailableException.class, () -> lot.parkVehicle("V1", VehicleType.VAN));
+
+        MetricsSnapshot metrics = lot.getMetrics().snapshot();
+        assertEquals(1, metrics.getParkCount(VehicleType.VAN, ParkingStatus.FULL));
+        assertEquals(0, metrics.getVanFragmentationRejections());
+    }
 }
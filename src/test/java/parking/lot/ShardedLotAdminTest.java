@@ -0,0 +1,203 @@
+package parking.lot;
+
+import org.junit.jupiter.api.Test;
+import parking.domain.ParkingAttempt;
+import parking.domain.ParkingLotSummary;
+import parking.domain.ParkingResult;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.enums.ParkingStatus;
+import parking.enums.VehicleType;
+import parking.exception.ParkingUnavailableException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ShardedLotAdminTest {
+
+    private ShardedLotAdmin admin;
+
+    @Test
+    public void testRowsAreSplitAcrossShards() throws Exception {
+        admin = new ShardedLotAdmin(5, "REGULAR,COMPACT", 2);
+        assertEquals(2, admin.shardCount());
+        assertEquals(5, admin.getSpotsByType().get(ParkingSpotType.REGULAR).size());
+        assertEquals("R5-2", admin.getSpotsByType().get(ParkingSpotType.COMPACT).get(4).getParkingSpotId());
+        assertEquals(Set.of("R1", "R2", "R3", "R4", "R5"), admin.generateLotSummary().getByRow().keySet());
+        assertEquals(1, new ShardedLotAdmin(1, "REGULAR", 8).shardCount());
+    }
+
+    @Test
+    public void testGateStealsFromNeighbourWhenHomeShardIsFull() throws Exception {
+        admin = new ShardedLotAdmin(4, "REGULAR,REGULAR", 2);
+        List<String> spotIds = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            spotIds.add(admin.parkVehicle("C" + i, VehicleType.CAR).get(0).getParkingSpotId());
+        }
+        // Home shard (rows 1-2) fills first, then the neighbouring shard (rows 3-4)
+        assertEquals(List.of("R1-1", "R1-2", "R2-1", "R2-2", "R3-1", "R3-2", "R4-1", "R4-2"), spotIds);
+        assertThrows(ParkingUnavailableException.class, () -> admin.parkVehicle("C8", VehicleType.CAR));
+
+        admin.removeVehicle("C5");
+        assertEquals("R3-2", admin.parkVehicle("C9", VehicleType.CAR).get(0).getParkingSpotId());
+        assertTrue(admin.generateLotSummary().isFull());
+    }
+
+    @Test
+    public void testBatchOverflowsHomeShardIntoNeighbour() throws Exception {
+        admin = new ShardedLotAdmin(4, "REGULAR,REGULAR", 2);
+        admin.parkVehicle("C0", VehicleType.CAR);
+        List<Vehicle> batch = new ArrayList<>();
+        batch.add(new Vehicle("C0", VehicleType.CAR)); // already parked, must not be parked twice
+        for (int i = 1; i <= 8; i++) {
+            batch.add(new Vehicle("C" + i, VehicleType.CAR));
+        }
+
+        List<ParkingResult> results = admin.parkVehicles(batch);
+        assertEquals("R1-1", results.get(0).getSpots().get(0).getParkingSpotId());
+        assertEquals("R2-2", results.get(3).getSpots().get(0).getParkingSpotId());
+        assertEquals("R3-1", results.get(4).getSpots().get(0).getParkingSpotId());
+        assertEquals("R4-2", results.get(7).getSpots().get(0).getParkingSpotId());
+        assertFalse(results.get(8).isParked());
+        assertEquals(ParkingStatus.ALREADY_PARKED, results.get(0).getStatus());
+        assertEquals(ParkingStatus.OK, results.get(7).getStatus());
+        assertEquals(ParkingStatus.FULL, results.get(8).getStatus());
+        assertEquals(8, admin.getVehicleSpotsMap().size());
+
+        assertEquals(Arrays.asList(VehicleType.CAR, VehicleType.CAR, VehicleType.CAR, null),
+                admin.removeVehicles(List.of("C1", "C5", "C6", "unknown")));
+        assertEquals(3, admin.generateLotSummary().getAvailableSpots());
+        assertEquals(5, admin.getVehicleSpotsMap().size());
+    }
+
+    @Test
+    public void testVanSkipsShardWithoutAdjacentPair() throws Exception {
+        admin = new ShardedLotAdmin(2, "REGULAR,COMPACT,REGULAR", 2);
+        assertThrows(ParkingUnavailableException.class, () -> admin.parkVehicle("V1", VehicleType.VAN));
+
+        admin = new ShardedLotAdmin(2, "REGULAR,REGULAR", 2);
+        admin.parkVehicle("C1", VehicleType.CAR);
+        List<ParkingSpot> van = admin.parkVehicle("V1", VehicleType.VAN);
+        assertEquals(2, van.get(0).getRow());
+        assertEquals(2, admin.generateLotSummary().getVanCount());
+        assertEquals(van, admin.parkVehicle("V1", VehicleType.VAN));
+    }
+
+    @Test
+    public void testSingleShardMatchesRegularCompactLotAdmin() throws Exception {
+        String rowSequence = "COMPACT,REGULAR,REGULAR,COMPACT,REGULAR";
+        ParkingLotAdmin expected = new RegularCompactLotAdmin(20, rowSequence);
+        admin = new ShardedLotAdmin(20, rowSequence, 1);
+        LotAssertions.assertSameAllocations(expected, admin, 8, 3_000, 80);
+    }
+
+    @Test
+    public void testConcurrentGatesNeverShareSpots() throws Exception {
+        admin = new ShardedLotAdmin(40, "COMPACT,REGULAR,REGULAR,REGULAR", 4);
+        int gates = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(gates);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int gate = 0; gate < gates; gate++) {
+            int seed = gate;
+            futures.add(executor.submit(() -> {
+                start.await();
+                Random random = new Random(seed);
+                VehicleType[] types = VehicleType.values();
+                for (int step = 0; step < 20_000; step++) {
+                    String identifier = "V" + random.nextInt(250);
+                    if (random.nextInt(3) == 0) {
+                        admin.removeVehicle(identifier);
+                        continue;
+                    }
+                    try {
+                        admin.parkVehicle(identifier, types[random.nextInt(types.length)]);
+                    } catch (ParkingUnavailableException ignored) {
+                        // Every shard is full for this vehicle type
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Set<ParkingSpot> allocatedSpots = new HashSet<>();
+        admin.getVehicleSpotsMap().values().forEach(spots -> spots.forEach(spot -> {
+            assertTrue(allocatedSpots.add(spot), "Spot allocated twice: " + spot.getParkingSpotId());
+            assertFalse(spot.isAvailable());
+        }));
+        long occupiedSpots = admin.getSpotsByType().values().stream()
+                .flatMap(List::stream)
+                .filter(spot -> !spot.isAvailable())
+                .count();
+        assertEquals(allocatedSpots.size(), occupiedSpots);
+
+        ParkingLotSummary summary = admin.generateLotSummary();
+        assertEquals(occupiedSpots, summary.getOccupiedSpots());
+    }
+
+    @Test
+    public void testLastFreeSpotIsNeverRejected() throws Exception {
+        admin = new ShardedLotAdmin(16, "REGULAR,REGULAR,REGULAR,REGULAR", 8);
+        int gates = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(gates);
+        for (int round = 0; round < 200; round++) {
+            // Uneven quotas that add up to the 64 spots, so gates run out of home room and steal
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<ParkingStatus>>> futures = new ArrayList<>();
+            for (int gate = 0, first = 0; gate < gates; first += 2 * gate + 1, gate++) {
+                int from = first, to = first + 2 * gate + 1;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    ParkingAttempt attempt = new ParkingAttempt();
+                    List<ParkingStatus> statuses = new ArrayList<>();
+                    for (int i = from; i < to; i++) {
+                        statuses.add(admin.tryPark("C" + i, VehicleType.CAR, attempt));
+                    }
+                    return statuses;
+                }));
+            }
+            start.countDown();
+            for (Future<List<ParkingStatus>> future : futures) {
+                for (ParkingStatus status : future.get()) {
+                    assertEquals(ParkingStatus.OK, status, "round " + round);
+                }
+            }
+            assertTrue(admin.generateLotSummary().isFull());
+            assertEquals(ParkingStatus.FULL, admin.tryPark("C64", VehicleType.CAR, new ParkingAttempt()));
+
+            List<Future<?>> removals = new ArrayList<>();
+            for (int gate = 0; gate < gates; gate++) {
+                int first = gate;
+                removals.add(executor.submit(() -> {
+                    for (int i = first; i < 64; i += gates) {
+                        admin.removeVehicle("C" + i);
+                    }
+                }));
+            }
+            for (Future<?> removal : removals) {
+                removal.get();
+            }
+        }
+        executor.shutdown();
+        assertTrue(admin.generateLotSummary().isEmpty());
+    }
+}
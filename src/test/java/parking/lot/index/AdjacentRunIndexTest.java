@@ -0,0 +1,150 @@
+package parking.lot.index;
+
+import org.junit.jupiter.api.Test;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdjacentRunIndexTest {
+
+    @Test
+    public void testFindsLeftmostRunInFirstMatchingRow() {
+        // Row 0 has columns 1..8, row 1 has columns 1..8
+        int[] rows = new int[16];
+        int[] columns = new int[16];
+        for (int i = 0; i < 16; i++) {
+            rows[i] = i / 8;
+            columns[i] = i % 8 + 1;
+        }
+        AdjacentRunIndex index = new AdjacentRunIndex(rows, columns);
+        assertEquals(-1, index.findRun(1));
+
+        index.markFree(1);
+        index.markFree(2);
+        index.markFree(10);
+        index.markFree(11);
+        index.markFree(12);
+        assertEquals(3, index.longestRun());
+        assertEquals(1, index.findRun(2));
+        assertEquals(10, index.findRun(3));
+        assertEquals(-1, index.findRun(4));
+        assertEquals(11, index.nextInRow(10));
+
+        index.markOccupied(11);
+        assertEquals(-1, index.findRun(3));
+        assertEquals(2, index.longestRun());
+    }
+
+    @Test
+    public void testRunsDoNotCrossGapsOrRows() {
+        // Columns 1, 2 and 4 in row 0, column 1 in row 1
+        AdjacentRunIndex index = new AdjacentRunIndex(new int[]{0, 0, 0, 1}, new int[]{1, 2, 4, 1});
+        index.markFree(1);
+        index.markFree(2);
+        index.markFree(3);
+        assertEquals(-1, index.findRun(2));
+        assertEquals(-1, index.nextInRow(1));
+    }
+
+    @Test
+    public void testSharedCellRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new AdjacentRunIndex(new int[]{0, 0}, new int[]{1, 1}));
+    }
+
+    @Test
+    public void testMatchesBruteForceUnderRandomChurn() {
+        int rowCount = 40;
+        int width = 37;
+        int[] rows = new int[rowCount * width];
+        int[] columns = new int[rowCount * width];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = i / width;
+            columns[i] = i % width;
+        }
+        AdjacentRunIndex index = new AdjacentRunIndex(rows, columns);
+        boolean[] free = new boolean[rows.length];
+        Random random = new Random(11);
+        for (int step = 0; step < 50_000; step++) {
+            int position = random.nextInt(rows.length);
+            free[position] = random.nextInt(3) > 0;
+            if (free[position]) {
+                index.markFree(position);
+            } else {
+                index.markOccupied(position);
+            }
+            int length = 1 + random.nextInt(6);
+            assertEquals(bruteForceRun(free, width, length), index.findRun(length));
+        }
+    }
+
+    @Test
+    public void testIndexedSpotListFindsLongerRuns() throws Exception {
+        List<ParkingSpot> spots = new ArrayList<>();
+        for (int col = 1; col <= 6; col++) {
+            spots.add(new ParkingSpot("R1-" + col, ParkingSpotType.REGULAR));
+        }
+        IndexedSpotList indexed = IndexedSpotList.of(spots);
+        indexed.get(1).assignVehicle(new Vehicle("C1", VehicleType.CAR));
+
+        List<ParkingSpot> run = indexed.findAdjacentAvailable(4);
+        assertEquals(List.of(spots.get(2), spots.get(3), spots.get(4), spots.get(5)), run);
+
+        indexed.get(4).assignVehicle(new Vehicle("C2", VehicleType.CAR));
+        assertTrue(indexed.findAdjacentAvailable(3).isEmpty());
+        indexed.get(1).removeVehicle();
+        assertEquals(List.of(spots.get(0), spots.get(1), spots.get(2)), indexed.findAdjacentAvailable(3));
+    }
+
+    @Test
+    public void testThreeToFiveSpotRunsStayWithinRowsOnFragmentedLot() throws Exception {
+        // Three rows of 6 with R1-1..3, R2-3 and R3-2 taken: R1-4..6 and R2-1..2 would make
+        // five in a row only across the row boundary
+        List<ParkingSpot> spots = new ArrayList<>();
+        for (int row = 1; row <= 3; row++) {
+            for (int col = 1; col <= 6; col++) {
+                spots.add(new ParkingSpot(row, col, ParkingSpotType.REGULAR));
+            }
+        }
+        IndexedSpotList indexed = IndexedSpotList.of(spots);
+        for (int position : new int[]{0, 1, 2, 8, 13}) {
+            spots.get(position).assignVehicle(new Vehicle("C" + position, VehicleType.CAR));
+        }
+
+        assertEquals(List.of("R1-4", "R1-5", "R1-6"), ids(indexed.findAdjacentAvailable(3)));
+        assertEquals(List.of("R3-3", "R3-4", "R3-5", "R3-6"), ids(indexed.findAdjacentAvailable(4)));
+        assertTrue(indexed.findAdjacentAvailable(5).isEmpty());
+
+        spots.get(13).removeVehicle();
+        assertEquals(List.of("R3-1", "R3-2", "R3-3", "R3-4", "R3-5"), ids(indexed.findAdjacentAvailable(5)));
+        spots.get(0).removeVehicle();
+        spots.get(1).removeVehicle();
+        spots.get(2).removeVehicle();
+        assertEquals(List.of("R1-1", "R1-2", "R1-3", "R1-4", "R1-5"), ids(indexed.findAdjacentAvailable(5)));
+    }
+
+    private static List<String> ids(List<ParkingSpot> spots) {
+        return spots.stream().map(ParkingSpot::getParkingSpotId).toList();
+    }
+
+    private static int bruteForceRun(boolean[] free, int width, int length) {
+        for (int rowStart = 0; rowStart < free.length; rowStart += width) {
+            int run = 0;
+            for (int col = 0; col < width; col++) {
+                run = free[rowStart + col] ? run + 1 : 0;
+                if (run == length) {
+                    return rowStart + col - length + 1;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,122 @@
+package parking.lot.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentFreeSpotIndexTest {
+
+    @Test
+    public void testNewIndexIsAllFree() {
+        ConcurrentFreeSpotIndex index = new ConcurrentFreeSpotIndex(130);
+        assertEquals(130, index.freeCount());
+        assertEquals(0, index.nextFree(0));
+        assertEquals(129, index.nextFree(129));
+        assertEquals(-1, index.nextFree(130));
+        assertEquals(-1, new ConcurrentFreeSpotIndex(0).claimNextFree(0));
+    }
+
+    @Test
+    public void testClaimAndRelease() {
+        ConcurrentFreeSpotIndex index = new ConcurrentFreeSpotIndex(5_000);
+        for (int i = 0; i < 4_999; i++) {
+            assertEquals(i, index.claimNextFree(0));
+        }
+        assertEquals(4_999, index.claimNextFree(0));
+        assertEquals(-1, index.claimNextFree(0));
+        assertEquals(0, index.freeCount());
+
+        index.release(4_097);
+        assertTrue(index.isFree(4_097));
+        assertFalse(index.tryClaim(4_098));
+        assertEquals(4_097, index.claimNextFree(0));
+        assertThrows(IllegalStateException.class, () -> {
+            index.release(10);
+            index.release(10);
+        });
+    }
+
+    @Test
+    public void testRunsRespectAdjacencyAndWordBoundaries() {
+        ConcurrentFreeSpotIndex index = new ConcurrentFreeSpotIndex(128);
+        long[] adjacency = {-1L, -1L};
+        adjacency[0] &= ~(1L << 1); // positions 1 and 2 are in different rows
+        assertTrue(index.tryClaim(0));
+        assertEquals(2, index.nextRun(0, 2, adjacency));
+
+        for (int i = 2; i < 63; i++) {
+            assertTrue(index.tryClaim(i));
+        }
+        assertEquals(63, index.claimNextRun(0, 2, adjacency));
+        assertFalse(index.isFree(64));
+        assertTrue(index.isFree(1));
+
+        index.releaseRun(63, 2);
+        assertFalse(index.tryClaimRun(62, 3));
+        assertTrue(index.isFree(63));
+        assertTrue(index.isFree(64));
+    }
+
+    @Test
+    public void testConcurrentClaimsNeverOverlap() throws InterruptedException {
+        ConcurrentFreeSpotIndex index = new ConcurrentFreeSpotIndex(10_000);
+        long[] adjacency = new long[(10_000 + 63) / 64];
+        Arrays.fill(adjacency, 0x5555_5555_5555_5555L); // pairs (0,1), (2,3), ...
+        ConcurrentLinkedQueue<Integer> claimed = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            boolean pairs = t % 2 == 0;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int round = 0; round < 20_000; round++) {
+                    int position = pairs ? index.claimNextRun(0, 2, adjacency) : index.claimNextFree(0);
+                    if (position < 0) {
+                        continue;
+                    }
+                    if (round % 3 == 0) {
+                        claimed.add(position);
+                        claimed.add(pairs ? position + 1 : -1);
+                    } else if (pairs) {
+                        index.releaseRun(position, 2);
+                    } else {
+                        index.release(position);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        boolean[] taken = new boolean[10_000];
+        int count = 0;
+        for (int position : claimed) {
+            if (position >= 0) {
+                assertFalse(taken[position], "Position claimed twice: " + position);
+                assertFalse(index.isFree(position));
+                taken[position] = true;
+                count++;
+            }
+        }
+        assertEquals(10_000 - count, index.freeCount());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(!taken[i], index.isFree(i));
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package parking.lot.index;
+
+import org.junit.jupiter.api.Test;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FreeSpotIndexTest {
+
+    @Test
+    public void testNewIndexHasNoFreePositions() {
+        FreeSpotIndex index = new FreeSpotIndex(100);
+        assertEquals(100, index.size());
+        assertEquals(0, index.freeCount());
+        assertEquals(-1, index.firstFree());
+    }
+
+    @Test
+    public void testEmptyIndex() {
+        FreeSpotIndex index = new FreeSpotIndex(0);
+        assertEquals(-1, index.firstFree());
+        assertThrows(IndexOutOfBoundsException.class, () -> index.markFree(0));
+    }
+
+    @Test
+    public void testMarkFreeAndOccupied() {
+        FreeSpotIndex index = new FreeSpotIndex(10_000);
+        index.markFree(9_999);
+        index.markFree(4_097);
+        assertEquals(2, index.freeCount());
+        assertEquals(4_097, index.firstFree());
+        assertEquals(9_999, index.nextFree(4_098));
+
+        index.markOccupied(4_097);
+        assertFalse(index.isFree(4_097));
+        assertEquals(9_999, index.firstFree());
+
+        index.markOccupied(9_999);
+        assertEquals(-1, index.firstFree());
+        assertEquals(0, index.freeCount());
+    }
+
+    @Test
+    public void testRepeatedMarksAreIdempotent() {
+        FreeSpotIndex index = new FreeSpotIndex(64);
+        index.markFree(3);
+        index.markFree(3);
+        assertEquals(1, index.freeCount());
+        index.markOccupied(3);
+        index.markOccupied(3);
+        assertEquals(0, index.freeCount());
+    }
+
+    @Test
+    public void testMatchesLinearScanUnderRandomChurn() {
+        int size = 300_000;
+        FreeSpotIndex index = new FreeSpotIndex(size);
+        boolean[] free = new boolean[size];
+        Random random = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            int position = random.nextInt(size);
+            if (random.nextBoolean()) {
+                index.markFree(position);
+                free[position] = true;
+            } else {
+                index.markOccupied(position);
+                free[position] = false;
+            }
+            if (i % 1_000 == 0) {
+                int from = random.nextInt(size);
+                assertEquals(linearNextFree(free, from), index.nextFree(from));
+            }
+        }
+        assertEquals(linearNextFree(free, 0), index.firstFree());
+    }
+
+    @Test
+    public void testRangeCountsMatchLinearScan() {
+        int size = 1_000;
+        FreeSpotIndex index = new FreeSpotIndex(size);
+        boolean[] free = new boolean[size];
+        Random random = new Random(9);
+        for (int i = 0; i < size; i++) {
+            if (random.nextInt(3) > 0) {
+                index.markFree(i);
+                free[i] = true;
+            }
+        }
+        for (int i = 0; i < 2_000; i++) {
+            int from = random.nextInt(size + 1);
+            int to = from + random.nextInt(size - from + 1);
+            int expectedFree = 0;
+            int expectedOccupied = -1;
+            for (int position = from; position < to; position++) {
+                if (free[position]) {
+                    expectedFree++;
+                } else if (expectedOccupied < 0) {
+                    expectedOccupied = position;
+                }
+            }
+            assertEquals(expectedFree, index.freeCount(from, to), from + ".." + to);
+            assertEquals(expectedOccupied, index.nextOccupied(from, to), from + ".." + to);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> index.freeCount(0, size + 1));
+    }
+
+    @Test
+    public void testIndexedSpotListTracksSpotChanges() {
+        List<ParkingSpot> spots = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            spots.add(new ParkingSpot("R1-" + i, ParkingSpotType.REGULAR));
+        }
+        IndexedSpotList indexed = IndexedSpotList.of(spots);
+        assertEquals(3, indexed.availableCount());
+
+        indexed.get(0).assignVehicle(new Vehicle("C1", VehicleType.CAR));
+        assertSame(indexed.get(1), indexed.firstAvailable());
+
+        indexed.get(1).assignVehicle(new Vehicle("C2", VehicleType.CAR));
+        indexed.get(2).assignVehicle(new Vehicle("C3", VehicleType.CAR));
+        assertNull(indexed.firstAvailable());
+
+        indexed.get(0).removeVehicle();
+        assertTrue(indexed.get(0).isAvailable());
+        assertSame(indexed.get(0), indexed.firstAvailable());
+        assertEquals(1, indexed.availableCount());
+    }
+
+    @Test
+    public void testLazyIndexedSpotListCreatesSpotsOnFirstUse() throws Exception {
+        int[] created = new int[1];
+        IndexedSpotList indexed = IndexedSpotList.lazy(5_000, position -> {
+            created[0]++;
+            return new ParkingSpot(position / 10 + 1, position % 10 + 1, ParkingSpotType.REGULAR);
+        });
+        assertEquals(5_000, indexed.size());
+        assertEquals(5_000, indexed.availableCount());
+        assertEquals(0, created[0]);
+
+        ParkingSpot first = indexed.firstAvailable();
+        assertEquals("R1-1", first.getParkingSpotId());
+        assertSame(first, indexed.get(0));
+        assertEquals(1, created[0]);
+
+        first.assignVehicle(new Vehicle("C1", VehicleType.CAR));
+        assertFalse(indexed.isAvailable(0));
+        assertEquals("R1-2", indexed.firstAvailable().getParkingSpotId());
+
+        // building the adjacent-run index reads every spot's coordinates without keeping the spots
+        List<ParkingSpot> pair = indexed.findAdjacentAvailable(2);
+        assertEquals("R1-2", pair.get(0).getParkingSpotId());
+        assertSame(pair.get(1), indexed.get(2));
+        assertNotSame(indexed.peek(4_999), indexed.peek(4_999));
+        assertSame(indexed.get(1), indexed.peek(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> indexed.get(5_000));
+    }
+
+    @Test
+    public void testLazyListWithRowsFindsRunsWithoutCreatingSpots() throws Exception {
+        int[] rowColumns = {1, 2, 4, 5, 6}; // column 3 is another type
+        SpotRows rows = new SpotRows() {
+            @Override
+            public int rowCount() {
+                return 1_000;
+            }
+
+            @Override
+            public int rowStart(int row) {
+                return row * rowColumns.length;
+            }
+
+            @Override
+            public int rowOf(int position) {
+                return position / rowColumns.length;
+            }
+
+            @Override
+            public int[] columns(int row) {
+                return rowColumns;
+            }
+        };
+        int[] created = new int[1];
+        IndexedSpotList indexed = IndexedSpotList.lazy(5_000, position -> {
+            created[0]++;
+            return new ParkingSpot(position / 5 + 1, rowColumns[position % 5], ParkingSpotType.REGULAR);
+        }, rows, null);
+
+        List<ParkingSpot> triple = indexed.findAdjacentAvailable(3);
+        assertEquals(List.of("R1-4", "R1-5", "R1-6"), triple.stream().map(ParkingSpot::getParkingSpotId).toList());
+        assertEquals(3, created[0]);
+        assertTrue(indexed.findAdjacentAvailable(4).isEmpty());
+
+        indexed.get(1).assignVehicle(new Vehicle("C1", VehicleType.CAR));
+        indexed.get(3).assignVehicle(new Vehicle("C2", VehicleType.CAR));
+        assertEquals("R2-1", indexed.findAdjacentAvailable(2).get(0).getParkingSpotId());
+        indexed.get(3).removeVehicle();
+        assertEquals("R1-4", indexed.findAdjacentAvailable(2).get(0).getParkingSpotId());
+        assertEquals(6, created[0]);
+    }
+
+    private static int linearNextFree(boolean[] free, int from) {
+        for (int i = from; i < free.length; i++) {
+            if (free[i]) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,137 @@
+package parking.lot.index;
+
+import org.junit.jupiter.api.Test;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NearestFreeIndexTest {
+
+    @Test
+    public void testFindsNearestFreePositionLowestFirstOnTies() {
+        NearestFreeIndex index = new NearestFreeIndex(new int[]{5, 2, 7, 2}, new int[]{0, 0, 0, 0}, new int[]{0, 1, 2, 3});
+        assertEquals(-1, index.nearestFree());
+        for (int i = 0; i < 4; i++) {
+            index.markFree(i);
+        }
+        assertEquals(1, index.nearestFree());
+        index.markOccupied(1);
+        assertEquals(3, index.nearestFree());
+        index.markOccupied(3);
+        assertEquals(0, index.nearestFree());
+        index.markFree(1);
+        assertEquals(1, index.nearestFree());
+    }
+
+    @Test
+    public void testRunsAreRankedByTheirFarthestPosition() {
+        // row 0: distances 9 1 8 | row 1: distances 4 5 6
+        NearestFreeIndex index = new NearestFreeIndex(new int[]{9, 1, 8, 4, 5, 6},
+                new int[]{0, 0, 0, 1, 1, 1}, new int[]{1, 2, 3, 1, 2, 3});
+        for (int i = 0; i < 6; i++) {
+            index.markFree(i);
+        }
+        assertEquals(3, index.nearestRun(2));
+        assertEquals(4, index.nextInRow(3));
+        index.markOccupied(4);
+        assertEquals(1, index.nearestRun(2));
+        assertEquals(0, index.nearestRun(3));
+        index.markOccupied(2);
+        assertEquals(0, index.nearestRun(2));
+        assertEquals(-1, index.nearestRun(3));
+    }
+
+    @Test
+    public void testRunsDoNotCrossGapsOrRows() {
+        NearestFreeIndex index = new NearestFreeIndex(new int[]{0, 0, 0, 0}, new int[]{0, 0, 1, 1}, new int[]{1, 3, 1, 2});
+        for (int i = 0; i < 4; i++) {
+            index.markFree(i);
+        }
+        assertEquals(2, index.nearestRun(2));
+        index.markOccupied(3);
+        assertEquals(-1, index.nearestRun(2));
+        assertThrows(IllegalArgumentException.class,
+                () -> new NearestFreeIndex(new int[]{0, 0}, new int[]{0, 0}, new int[]{1, 1}));
+    }
+
+    @Test
+    public void testMatchesBruteForceUnderRandomChurn() {
+        int rowCount = 30;
+        int width = 23;
+        int[] rows = new int[rowCount * width];
+        int[] columns = new int[rowCount * width];
+        int[] distances = new int[rowCount * width];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = i / width;
+            columns[i] = i % width;
+            distances[i] = Math.min(rows[i] + columns[i], (rowCount - rows[i]) + (width - columns[i]));
+        }
+        NearestFreeIndex index = new NearestFreeIndex(distances, rows, columns);
+        boolean[] free = new boolean[rows.length];
+        Random random = new Random(7);
+        for (int step = 0; step < 50_000; step++) {
+            int position = random.nextInt(rows.length);
+            free[position] = random.nextInt(3) > 0;
+            if (free[position]) {
+                index.markFree(position);
+            } else {
+                index.markOccupied(position);
+            }
+            int length = 1 + random.nextInt(4);
+            assertEquals(bruteForceRun(free, distances, width, length), index.nearestRun(length));
+        }
+    }
+
+    @Test
+    public void testIndexedSpotListFollowsOccupancy() throws Exception {
+        List<ParkingSpot> spots = new ArrayList<>();
+        for (int col = 1; col <= 5; col++) {
+            spots.add(new ParkingSpot("R1-" + col, ParkingSpotType.REGULAR));
+        }
+        IndexedSpotList indexed = IndexedSpotList.of(spots);
+        ToIntFunction<ParkingSpot> fromRightEnd = spot -> 6 - spot.getColumn();
+
+        assertEquals(spots.get(4), indexed.nearestAvailable(fromRightEnd));
+        indexed.get(4).assignVehicle(new Vehicle("C1", VehicleType.CAR));
+        assertEquals(spots.get(3), indexed.nearestAvailable(fromRightEnd));
+        assertEquals(List.of(spots.get(2), spots.get(3)), indexed.findNearestAdjacentAvailable(2, fromRightEnd));
+
+        indexed.get(2).assignVehicle(new Vehicle("C2", VehicleType.CAR));
+        assertEquals(List.of(spots.get(0), spots.get(1)), indexed.findNearestAdjacentAvailable(2, fromRightEnd));
+        indexed.get(0).assignVehicle(new Vehicle("C3", VehicleType.CAR));
+        assertTrue(indexed.findNearestAdjacentAvailable(2, fromRightEnd).isEmpty());
+        indexed.get(1).assignVehicle(new Vehicle("C4", VehicleType.CAR));
+        indexed.get(3).assignVehicle(new Vehicle("C5", VehicleType.CAR));
+        assertNull(indexed.nearestAvailable(fromRightEnd));
+    }
+
+    private static int bruteForceRun(boolean[] free, int[] distances, int width, int length) {
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int start = 0; start < free.length; start++) {
+            if (start % width + length > width) {
+                continue;
+            }
+            int distance = 0;
+            for (int i = start; i < start + length && distance != Integer.MAX_VALUE; i++) {
+                distance = free[i] ? Math.max(distance, distances[i]) : Integer.MAX_VALUE;
+            }
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = start;
+            }
+        }
+        return best;
+    }
+}
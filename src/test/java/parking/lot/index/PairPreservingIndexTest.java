@@ -0,0 +1,118 @@
+package parking.lot.index;
+
+import org.junit.jupiter.api.Test;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class PairPreservingIndexTest {
+
+    @Test
+    public void testPrefersIsolatedPositionsThenOddRunEnds() {
+        // one row of 8: free runs 0-1 (even), 3-5 (odd) and 7 (isolated)
+        PairPreservingIndex index = new PairPreservingIndex(new int[8], new int[]{0, 1, 2, 3, 4, 5, 6, 7});
+        for (int position : new int[]{0, 1, 3, 4, 5, 7}) {
+            index.markFree(position);
+        }
+        assertEquals(7, index.firstPairNeutralFree());
+        index.markOccupied(7);
+        assertEquals(3, index.firstPairNeutralFree());
+        index.markOccupied(3);
+        assertEquals(-1, index.firstPairNeutralFree());
+        index.markFree(2);
+        // run 0-2 is now odd
+        assertEquals(0, index.firstPairNeutralFree());
+        index.markFree(3);
+        assertEquals(-1, index.firstPairNeutralFree());
+    }
+
+    @Test
+    public void testRunsDoNotCrossGapsOrRows() {
+        // row 0 columns 1, 2, 4 and row 1 column 1
+        PairPreservingIndex index = new PairPreservingIndex(new int[]{0, 0, 0, 1}, new int[]{1, 2, 4, 1});
+        for (int i = 0; i < 4; i++) {
+            index.markFree(i);
+        }
+        assertEquals(2, index.firstPairNeutralFree());
+        index.markOccupied(2);
+        assertEquals(3, index.firstPairNeutralFree());
+        index.markOccupied(3);
+        assertEquals(-1, index.firstPairNeutralFree());
+    }
+
+    @Test
+    public void testMatchesBruteForceUnderRandomChurn() {
+        // rows wider than a word, so runs cross the bitset's word boundaries
+        int rowCount = 12;
+        int width = 97;
+        int[] rows = new int[rowCount * width];
+        int[] columns = new int[rowCount * width];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = i / width;
+            columns[i] = i % width;
+        }
+        PairPreservingIndex index = new PairPreservingIndex(rows, columns);
+        boolean[] free = new boolean[rows.length];
+        Random random = new Random(11);
+        for (int step = 0; step < 50_000; step++) {
+            int position = random.nextInt(rows.length);
+            free[position] = random.nextInt(5) > 0;
+            if (free[position]) {
+                index.markFree(position);
+            } else {
+                index.markOccupied(position);
+            }
+            assertEquals(bruteForce(free, width), index.firstPairNeutralFree());
+        }
+    }
+
+    @Test
+    public void testIndexedSpotListFollowsOccupancy() throws Exception {
+        List<ParkingSpot> spots = new ArrayList<>();
+        for (int col = 1; col <= 4; col++) {
+            spots.add(new ParkingSpot(1, col, ParkingSpotType.REGULAR));
+        }
+        IndexedSpotList indexed = IndexedSpotList.of(spots);
+
+        assertEquals(spots.get(0), indexed.leastFragmentingAvailable());
+        indexed.get(0).assignVehicle(new Vehicle("C1", VehicleType.CAR));
+        assertEquals(spots.get(1), indexed.leastFragmentingAvailable());
+        indexed.get(2).assignVehicle(new Vehicle("C2", VehicleType.CAR));
+        assertEquals(spots.get(1), indexed.leastFragmentingAvailable());
+        indexed.get(2).removeVehicle();
+        indexed.get(1).assignVehicle(new Vehicle("C3", VehicleType.CAR));
+        indexed.get(2).assignVehicle(new Vehicle("C4", VehicleType.CAR));
+        assertEquals(spots.get(3), indexed.leastFragmentingAvailable());
+        indexed.get(3).assignVehicle(new Vehicle("C5", VehicleType.CAR));
+        assertNull(indexed.leastFragmentingAvailable());
+    }
+
+    private static int bruteForce(boolean[] free, int width) {
+        int firstOddRunEnd = -1;
+        for (int start = 0; start < free.length; start++) {
+            if (!free[start] || (start % width > 0 && free[start - 1])) {
+                continue;
+            }
+            int end = start;
+            while (end + 1 < free.length && (end + 1) % width > 0 && free[end + 1]) {
+                end++;
+            }
+            int length = end - start + 1;
+            if (length == 1) {
+                return start;
+            }
+            if (length % 2 == 1 && firstOddRunEnd < 0) {
+                firstOddRunEnd = start;
+            }
+        }
+        return firstOddRunEnd;
+    }
+}
@@ -0,0 +1,93 @@
+package parking.lot.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VehicleIndexTest {
+
+    @Test
+    public void testPutGetAndRemove() {
+        VehicleIndex index = new VehicleIndex();
+        assertEquals(VehicleIndex.ABSENT, index.get("AB-123"));
+
+        assertEquals(VehicleIndex.ABSENT, index.put("AB-123", 7));
+        assertEquals(7, index.get(new String("AB-123")));
+        assertTrue(index.contains("AB-123"));
+        assertEquals(1, index.size());
+
+        assertEquals(7, index.put("AB-123", 9));
+        assertEquals(9, index.get("AB-123"));
+        assertEquals(1, index.size());
+
+        assertEquals(9, index.remove("AB-123"));
+        assertFalse(index.contains("AB-123"));
+        assertEquals(VehicleIndex.ABSENT, index.remove("AB-123"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testRejectsNegativeHandle() {
+        VehicleIndex index = new VehicleIndex();
+        assertThrows(IllegalArgumentException.class, () -> index.put("AB-123", -1));
+        assertThrows(IllegalArgumentException.class, () -> new VehicleIndex(-1));
+    }
+
+    @Test
+    public void testGrowsBeyondExpectedSize() {
+        VehicleIndex index = new VehicleIndex(4);
+        for (int i = 0; i < 10_000; i++) {
+            index.put("P" + i, i);
+        }
+        assertEquals(10_000, index.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, index.get("P" + i));
+        }
+    }
+
+    @Test
+    public void testRemovalKeepsCollidingEntriesReachable() {
+        // "Aa" and "BB" share a hash code, so they always probe the same run
+        VehicleIndex index = new VehicleIndex();
+        index.put("Aa", 1);
+        index.put("BB", 2);
+        index.put("AaAa", 3);
+        index.put("BBBB", 4);
+        index.put("AaBB", 5);
+
+        assertEquals(1, index.remove("Aa"));
+        assertEquals(2, index.get("BB"));
+        assertEquals(3, index.remove("AaAa"));
+        assertEquals(4, index.get("BBBB"));
+        assertEquals(5, index.get("AaBB"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testMatchesHashMapUnderRandomChurn() {
+        VehicleIndex index = new VehicleIndex();
+        Map<String, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            String identifier = "V" + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                Integer previous = expected.remove(identifier);
+                assertEquals(previous != null ? previous : VehicleIndex.ABSENT, index.remove(identifier));
+            } else {
+                Integer previous = expected.put(identifier, i);
+                assertEquals(previous != null ? previous : VehicleIndex.ABSENT, index.put(identifier, i));
+            }
+        }
+        assertEquals(expected.size(), index.size());
+        Map<String, Integer> actual = new HashMap<>();
+        index.forEach((identifier, handle) -> actual.put(identifier, (int) handle));
+        assertEquals(expected, actual);
+    }
+}
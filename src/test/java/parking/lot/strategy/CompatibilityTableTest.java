@@ -0,0 +1,102 @@
+package parking.lot.strategy;
+
+import org.junit.jupiter.api.Test;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+import parking.lot.index.IndexedSpotList;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompatibilityTableTest {
+
+    @Test
+    public void testDefaultTableMatchesLotRules() {
+        CompatibilityTable table = CompatibilityTable.DEFAULT;
+
+        int motorcycle = table.candidateStart(VehicleType.MOTORCYCLE);
+        assertEquals(2, table.candidateEnd(VehicleType.MOTORCYCLE) - motorcycle);
+        assertEquals(ParkingSpotType.COMPACT, table.spotType(motorcycle));
+        assertEquals(ParkingSpotType.REGULAR, table.spotType(motorcycle + 1));
+
+        int car = table.candidateStart(VehicleType.CAR);
+        assertEquals(1, table.candidateEnd(VehicleType.CAR) - car);
+        assertEquals(ParkingSpotType.REGULAR, table.spotType(car));
+        assertEquals(1, table.span(car));
+
+        int van = table.candidateStart(VehicleType.VAN);
+        assertEquals(1, table.candidateEnd(VehicleType.VAN) - van);
+        assertEquals(ParkingSpotType.REGULAR, table.spotType(van));
+        assertEquals(2, table.span(van));
+    }
+
+    @Test
+    public void testVehicleTypeWithoutCandidatesIsNeverParked() {
+        CompatibilityTable table = CompatibilityTable.builder()
+                .allow(VehicleType.CAR, ParkingSpotType.REGULAR, 1)
+                .build();
+        assertEquals(table.candidateStart(VehicleType.VAN), table.candidateEnd(VehicleType.VAN));
+
+        Map<ParkingSpotType, List<ParkingSpot>> map = lot(ParkingSpotType.REGULAR, 4);
+        assertTrue(new RegularCompactAllocationStrategy(table)
+                .findParkingSpot(new Vehicle("V1", VehicleType.VAN), map).isEmpty());
+    }
+
+    @Test
+    public void testCandidatesAreTriedInOrder() {
+        // cars prefer compact spots, then two adjacent regular spots
+        CompatibilityTable table = CompatibilityTable.builder()
+                .allow(VehicleType.CAR, ParkingSpotType.COMPACT, 1)
+                .allow(VehicleType.CAR, ParkingSpotType.REGULAR, 2)
+                .build();
+        for (boolean indexed : new boolean[]{true, false}) {
+            Map<ParkingSpotType, List<ParkingSpot>> map = new EnumMap<>(ParkingSpotType.class);
+            map.putAll(lot(ParkingSpotType.COMPACT, 1));
+            map.putAll(lot(ParkingSpotType.REGULAR, 3));
+            if (indexed) {
+                map.replaceAll((type, spots) -> IndexedSpotList.of(spots));
+            }
+            RegularCompactAllocationStrategy strategy = new RegularCompactAllocationStrategy(table);
+
+            assertEquals(List.of("R1-1"), park(strategy, map, "C1"));
+            assertEquals(List.of("R1-1", "R1-2"), park(strategy, map, "C2"));
+            assertTrue(park(strategy, map, "C3").isEmpty());
+        }
+    }
+
+    @Test
+    public void testRejectsInvalidCandidates() {
+        CompatibilityTable.Builder builder = CompatibilityTable.builder();
+        assertThrows(IllegalArgumentException.class, () -> builder.allow(null, ParkingSpotType.REGULAR, 1));
+        assertThrows(IllegalArgumentException.class, () -> builder.allow(VehicleType.CAR, null, 1));
+        assertThrows(IllegalArgumentException.class, () -> builder.allow(VehicleType.CAR, ParkingSpotType.REGULAR, 0));
+    }
+
+    private static Map<ParkingSpotType, List<ParkingSpot>> lot(ParkingSpotType type, int columns) {
+        List<ParkingSpot> spots = new ArrayList<>();
+        for (int col = 1; col <= columns; col++) {
+            spots.add(new ParkingSpot(1, col, type));
+        }
+        Map<ParkingSpotType, List<ParkingSpot>> map = new EnumMap<>(ParkingSpotType.class);
+        map.put(type, spots);
+        return map;
+    }
+
+    private static List<String> park(SpotAllocationStrategy strategy, Map<ParkingSpotType, List<ParkingSpot>> map,
+                                     String identifier) {
+        Vehicle vehicle = new Vehicle(identifier, VehicleType.CAR);
+        List<ParkingSpot> spots = strategy.findParkingSpot(vehicle, map);
+        for (ParkingSpot spot : spots) {
+            spot.assignVehicle(vehicle);
+        }
+        return spots.stream().map(ParkingSpot::getParkingSpotId).toList();
+    }
+}
@@ -0,0 +1,93 @@
+package parking.lot.strategy;
+
+import org.junit.jupiter.api.Test;
+import parking.domain.Entrance;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+import parking.lot.index.IndexedSpotList;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NearestEntranceAllocationStrategyTest {
+
+    @Test
+    public void testParksNearestToAnyEntrance() {
+        // three rows of REGULAR,COMPACT,REGULAR,REGULAR,REGULAR; entrances beside R1-1 and past R3-5
+        for (boolean indexed : new boolean[]{true, false}) {
+            Map<ParkingSpotType, List<ParkingSpot>> map = lot(3, indexed);
+            NearestEntranceAllocationStrategy strategy =
+                    new NearestEntranceAllocationStrategy(List.of(Entrance.parse("R1-0"), Entrance.parse("R3-6")));
+
+            assertEquals(List.of("R1-1"), park(strategy, map, "C1", VehicleType.CAR));
+            assertEquals(List.of("R3-5"), park(strategy, map, "C2", VehicleType.CAR));
+            // R2-1, R2-5 and R3-4 are all 2 away; the first in lot order wins
+            assertEquals(List.of("R2-1"), park(strategy, map, "C3", VehicleType.CAR));
+            assertEquals(List.of("R1-2"), park(strategy, map, "M1", VehicleType.MOTORCYCLE));
+            // a pair is as near as its farther spot: R2-4/R2-5 and R3-3/R3-4 are both 3 away
+            assertEquals(List.of("R2-4", "R2-5"), park(strategy, map, "V1", VehicleType.VAN));
+            assertEquals(List.of("R3-4"), park(strategy, map, "C4", VehicleType.CAR));
+            assertEquals(List.of("R1-3", "R1-4"), park(strategy, map, "V2", VehicleType.VAN));
+        }
+    }
+
+    @Test
+    public void testMotorcycleFallsBackToNearestRegularSpot() {
+        for (boolean indexed : new boolean[]{true, false}) {
+            Map<ParkingSpotType, List<ParkingSpot>> map = lot(2, indexed);
+            NearestEntranceAllocationStrategy strategy = new NearestEntranceAllocationStrategy(List.of(Entrance.DEFAULT));
+            assertEquals(List.of("R1-2"), park(strategy, map, "M1", VehicleType.MOTORCYCLE));
+            assertEquals(List.of("R2-2"), park(strategy, map, "M2", VehicleType.MOTORCYCLE));
+            assertEquals(List.of("R1-1"), park(strategy, map, "M3", VehicleType.MOTORCYCLE));
+        }
+    }
+
+    @Test
+    public void testNoFreeRunReturnsEmptyList() {
+        Map<ParkingSpotType, List<ParkingSpot>> map = lot(1, true);
+        NearestEntranceAllocationStrategy strategy = new NearestEntranceAllocationStrategy(List.of(Entrance.DEFAULT));
+        assertEquals(List.of("R1-3", "R1-4"), park(strategy, map, "V1", VehicleType.VAN));
+        assertTrue(strategy.findParkingSpot(new Vehicle("V2", VehicleType.VAN), map).isEmpty());
+    }
+
+    @Test
+    public void testRejectsMissingOrMalformedEntrances() {
+        assertThrows(IllegalArgumentException.class, () -> new NearestEntranceAllocationStrategy(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> Entrance.parse("X1-0"));
+        assertThrows(IllegalArgumentException.class, () -> Entrance.parse("R-1"));
+        assertEquals(new Entrance(2, 7), Entrance.parse(" r2-7 "));
+    }
+
+    private static Map<ParkingSpotType, List<ParkingSpot>> lot(int rows, boolean indexed) {
+        ParkingSpotType[] layout = {ParkingSpotType.REGULAR, ParkingSpotType.COMPACT, ParkingSpotType.REGULAR,
+                ParkingSpotType.REGULAR, ParkingSpotType.REGULAR};
+        Map<ParkingSpotType, List<ParkingSpot>> map = new EnumMap<>(ParkingSpotType.class);
+        for (int row = 1; row <= rows; row++) {
+            for (int col = 1; col <= layout.length; col++) {
+                map.computeIfAbsent(layout[col - 1], k -> new ArrayList<>()).add(new ParkingSpot(row, col, layout[col - 1]));
+            }
+        }
+        if (indexed) {
+            map.replaceAll((type, spots) -> IndexedSpotList.of(spots));
+        }
+        return map;
+    }
+
+    private static List<String> park(SpotAllocationStrategy strategy, Map<ParkingSpotType, List<ParkingSpot>> map,
+                                     String identifier, VehicleType type) {
+        Vehicle vehicle = new Vehicle(identifier, type);
+        List<ParkingSpot> spots = strategy.findParkingSpot(vehicle, map);
+        for (ParkingSpot spot : spots) {
+            spot.assignVehicle(vehicle);
+        }
+        return spots.stream().map(ParkingSpot::getParkingSpotId).toList();
+    }
+}
@@ -0,0 +1,99 @@
+package parking.lot.strategy;
+
+import org.junit.jupiter.api.Test;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+import parking.lot.index.IndexedSpotList;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NextFitAllocationStrategyTest {
+
+    @Test
+    public void testContinuesAfterPreviousAllocationAndWrapsAround() {
+        // two rows of REGULAR,COMPACT,REGULAR
+        for (boolean indexed : new boolean[]{true, false}) {
+            Map<ParkingSpotType, List<ParkingSpot>> map = lot(2, indexed);
+            NextFitAllocationStrategy strategy = new NextFitAllocationStrategy();
+
+            assertEquals(List.of("R1-1"), park(strategy, map, "C1", VehicleType.CAR));
+            assertEquals(List.of("R1-3"), park(strategy, map, "C2", VehicleType.CAR));
+            free(map, "R1-1");
+            // R1-1 is free again, but the search carries on from R1-3
+            assertEquals(List.of("R2-1"), park(strategy, map, "C3", VehicleType.CAR));
+            assertEquals(List.of("R2-3"), park(strategy, map, "C4", VehicleType.CAR));
+            assertEquals(List.of("R1-1"), park(strategy, map, "C5", VehicleType.CAR));
+            assertTrue(strategy.findParkingSpot(new Vehicle("C6", VehicleType.CAR), map).isEmpty());
+        }
+    }
+
+    @Test
+    public void testKeepsOneCursorPerSpotType() {
+        for (boolean indexed : new boolean[]{true, false}) {
+            Map<ParkingSpotType, List<ParkingSpot>> map = lot(2, indexed);
+            NextFitAllocationStrategy strategy = new NextFitAllocationStrategy();
+
+            assertEquals(List.of("R1-1"), park(strategy, map, "C1", VehicleType.CAR));
+            assertEquals(List.of("R1-2"), park(strategy, map, "M1", VehicleType.MOTORCYCLE));
+            assertEquals(List.of("R2-2"), park(strategy, map, "M2", VehicleType.MOTORCYCLE));
+            // compact spots are full: the motorcycle continues the regular cursor
+            assertEquals(List.of("R1-3"), park(strategy, map, "M3", VehicleType.MOTORCYCLE));
+            assertEquals(List.of("R2-1"), park(strategy, map, "C2", VehicleType.CAR));
+        }
+    }
+
+    @Test
+    public void testVansArePlacedFirstFit() {
+        Map<ParkingSpotType, List<ParkingSpot>> map = new EnumMap<>(ParkingSpotType.class);
+        List<ParkingSpot> row = new ArrayList<>();
+        for (int col = 1; col <= 4; col++) {
+            row.add(new ParkingSpot(1, col, ParkingSpotType.REGULAR));
+        }
+        map.put(ParkingSpotType.REGULAR, IndexedSpotList.of(row));
+        NextFitAllocationStrategy strategy = new NextFitAllocationStrategy();
+
+        assertEquals(List.of("R1-1"), park(strategy, map, "C1", VehicleType.CAR));
+        free(map, "R1-1");
+        assertEquals(List.of("R1-1", "R1-2"), park(strategy, map, "V1", VehicleType.VAN));
+        assertEquals(List.of("R1-3"), park(strategy, map, "C2", VehicleType.CAR));
+    }
+
+    private static Map<ParkingSpotType, List<ParkingSpot>> lot(int rows, boolean indexed) {
+        ParkingSpotType[] layout = {ParkingSpotType.REGULAR, ParkingSpotType.COMPACT, ParkingSpotType.REGULAR};
+        Map<ParkingSpotType, List<ParkingSpot>> map = new EnumMap<>(ParkingSpotType.class);
+        for (int row = 1; row <= rows; row++) {
+            for (int col = 1; col <= layout.length; col++) {
+                map.computeIfAbsent(layout[col - 1], k -> new ArrayList<>()).add(new ParkingSpot(row, col, layout[col - 1]));
+            }
+        }
+        if (indexed) {
+            map.replaceAll((type, spots) -> IndexedSpotList.of(spots));
+        }
+        return map;
+    }
+
+    private static void free(Map<ParkingSpotType, List<ParkingSpot>> map, String spotId) {
+        map.values().stream()
+                .flatMap(List::stream)
+                .filter(spot -> spot.getParkingSpotId().equals(spotId))
+                .forEach(ParkingSpot::removeVehicle);
+    }
+
+    private static List<String> park(SpotAllocationStrategy strategy, Map<ParkingSpotType, List<ParkingSpot>> map,
+                                     String identifier, VehicleType type) {
+        Vehicle vehicle = new Vehicle(identifier, type);
+        List<ParkingSpot> spots = strategy.findParkingSpot(vehicle, map);
+        for (ParkingSpot spot : spots) {
+            spot.assignVehicle(vehicle);
+        }
+        return spots.stream().map(ParkingSpot::getParkingSpotId).toList();
+    }
+}
@@ -0,0 +1,122 @@
+package parking.lot.strategy;
+
+import org.junit.jupiter.api.Test;
+import parking.domain.ParkingSpot;
+import parking.domain.Vehicle;
+import parking.enums.ParkingSpotType;
+import parking.enums.VehicleType;
+import parking.lot.index.IndexedSpotList;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PairPreservingAllocationStrategyTest {
+
+    @Test
+    public void testCarsKeepAdjacentPairsFreeForVans() {
+        // two rows of REGULAR x3, COMPACT, REGULAR x2
+        for (boolean indexed : new boolean[]{true, false}) {
+            Map<ParkingSpotType, List<ParkingSpot>> map = lot(2, indexed);
+            PairPreservingAllocationStrategy strategy = new PairPreservingAllocationStrategy();
+
+            // R1-1..R1-3 is an odd run, so taking its end keeps a pair
+            assertEquals(List.of("R1-1"), park(strategy, map, "C1", VehicleType.CAR));
+            assertEquals(List.of("R2-1"), park(strategy, map, "C2", VehicleType.CAR));
+            // only even runs are left: first-fit
+            assertEquals(List.of("R1-2"), park(strategy, map, "C3", VehicleType.CAR));
+            // R1-3 is isolated now
+            assertEquals(List.of("R1-3"), park(strategy, map, "C4", VehicleType.CAR));
+            assertEquals(List.of("R1-5"), park(strategy, map, "C5", VehicleType.CAR));
+            assertEquals(List.of("R1-6"), park(strategy, map, "C6", VehicleType.CAR));
+            assertEquals(List.of("R2-2", "R2-3"), park(strategy, map, "V1", VehicleType.VAN));
+            assertEquals(List.of("R2-5", "R2-6"), park(strategy, map, "V2", VehicleType.VAN));
+        }
+    }
+
+    @Test
+    public void testParksVanThatFirstFitWouldReject() {
+        // R1-1..R1-3 free, R1-5 free, R1-6 taken
+        for (SpotAllocationStrategy strategy : List.of(new RegularCompactAllocationStrategy(),
+                new PairPreservingAllocationStrategy())) {
+            Map<ParkingSpotType, List<ParkingSpot>> map = lot(1, true);
+            map.get(ParkingSpotType.REGULAR).get(4).assignVehicle(new Vehicle("C0", VehicleType.CAR));
+            park(strategy, map, "C1", VehicleType.CAR);
+            park(strategy, map, "C2", VehicleType.CAR);
+            boolean vanParked = !strategy.findParkingSpot(new Vehicle("V1", VehicleType.VAN), map).isEmpty();
+            assertEquals(strategy instanceof PairPreservingAllocationStrategy, vanParked);
+        }
+    }
+
+    @Test
+    public void testMotorcyclePrefersCompactThenKeepsPairsFree() {
+        for (boolean indexed : new boolean[]{true, false}) {
+            Map<ParkingSpotType, List<ParkingSpot>> map = lot(1, indexed);
+            PairPreservingAllocationStrategy strategy = new PairPreservingAllocationStrategy();
+            assertEquals(List.of("R1-4"), park(strategy, map, "M1", VehicleType.MOTORCYCLE));
+            assertEquals(List.of("R1-1"), park(strategy, map, "M2", VehicleType.MOTORCYCLE));
+            assertEquals(List.of("R1-2"), park(strategy, map, "M3", VehicleType.MOTORCYCLE));
+            assertEquals(List.of("R1-3"), park(strategy, map, "M4", VehicleType.MOTORCYCLE));
+        }
+    }
+
+    @Test
+    public void testKeepsPairsFreeOnSpotTypesTheTableTakesRunsOf() {
+        CompatibilityTable compactVans = CompatibilityTable.builder()
+                .allow(VehicleType.MOTORCYCLE, ParkingSpotType.COMPACT, 1)
+                .allow(VehicleType.VAN, ParkingSpotType.COMPACT, 2)
+                .build();
+        CompatibilityTable noVans = CompatibilityTable.builder()
+                .allow(VehicleType.MOTORCYCLE, ParkingSpotType.COMPACT, 1)
+                .build();
+        for (boolean indexed : new boolean[]{true, false}) {
+            // R1-1, R1-2 and R1-4 free, R1-3 taken
+            Map<ParkingSpotType, List<ParkingSpot>> map = compactRow(indexed);
+            PairPreservingAllocationStrategy strategy = new PairPreservingAllocationStrategy(compactVans);
+            assertEquals(List.of("R1-4"), park(strategy, map, "M1", VehicleType.MOTORCYCLE));
+            assertEquals(List.of("R1-1", "R1-2"), park(strategy, map, "V1", VehicleType.VAN));
+
+            map = compactRow(indexed);
+            assertEquals(List.of("R1-1"), park(new PairPreservingAllocationStrategy(noVans), map, "M1", VehicleType.MOTORCYCLE));
+        }
+    }
+
+    private static Map<ParkingSpotType, List<ParkingSpot>> compactRow(boolean indexed) {
+        List<ParkingSpot> spots = new ArrayList<>();
+        for (int col = 1; col <= 4; col++) {
+            spots.add(new ParkingSpot(1, col, ParkingSpotType.COMPACT));
+        }
+        spots.get(2).assignVehicle(new Vehicle("M0", VehicleType.MOTORCYCLE));
+        Map<ParkingSpotType, List<ParkingSpot>> map = new EnumMap<>(ParkingSpotType.class);
+        map.put(ParkingSpotType.COMPACT, indexed ? IndexedSpotList.of(spots) : spots);
+        return map;
+    }
+
+    private static Map<ParkingSpotType, List<ParkingSpot>> lot(int rows, boolean indexed) {
+        ParkingSpotType[] layout = {ParkingSpotType.REGULAR, ParkingSpotType.REGULAR, ParkingSpotType.REGULAR,
+                ParkingSpotType.COMPACT, ParkingSpotType.REGULAR, ParkingSpotType.REGULAR};
+        Map<ParkingSpotType, List<ParkingSpot>> map = new EnumMap<>(ParkingSpotType.class);
+        for (int row = 1; row <= rows; row++) {
+            for (int col = 1; col <= layout.length; col++) {
+                map.computeIfAbsent(layout[col - 1], k -> new ArrayList<>()).add(new ParkingSpot(row, col, layout[col - 1]));
+            }
+        }
+        if (indexed) {
+            map.replaceAll((type, spots) -> IndexedSpotList.of(spots));
+        }
+        return map;
+    }
+
+    private static List<String> park(SpotAllocationStrategy strategy, Map<ParkingSpotType, List<ParkingSpot>> map,
+                                     String identifier, VehicleType type) {
+        Vehicle vehicle = new Vehicle(identifier, type);
+        List<ParkingSpot> spots = strategy.findParkingSpot(vehicle, map);
+        for (ParkingSpot spot : spots) {
+            spot.assignVehicle(vehicle);
+        }
+        return spots.stream().map(ParkingSpot::getParkingSpotId).toList();
+    }
+}
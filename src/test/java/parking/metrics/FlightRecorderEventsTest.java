@@ -0,0 +1,116 @@
+package parking.metrics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import parking.enums.ParkingLotAdminType;
+import parking.enums.VehicleType;
+import parking.lot.ParkingLot;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FlightRecorderEventsTest {
+
+    private static final List<String> EVENT_NAMES =
+            List.of("parking.ParkVehicle", "parking.RemoveVehicle", "parking.SpotSearch", "parking.LotSummary");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testParkRemoveSearchAndSummaryAreRecorded() throws Exception {
+        ParkingLot lot = new ParkingLot(1, "REGULAR,COMPACT,REGULAR,COMPACT,REGULAR", ParkingLotAdminType.COMPACT_REGULAR);
+        List<RecordedEvent> events = record(() -> {
+            lot.parkVehicle("M1", VehicleType.MOTORCYCLE);
+            lot.parkVehicle("M2", VehicleType.MOTORCYCLE);
+            lot.parkVehicle("M3", VehicleType.MOTORCYCLE);
+            assertThrows(Exception.class, () -> lot.parkVehicle("V1", VehicleType.VAN));
+            lot.removeVehicle("M3");
+            lot.removeVehicle("X");
+            lot.generateLotSummary();
+        });
+
+        List<RecordedEvent> parks = ofType(events, "parking.ParkVehicle");
+        assertEquals(4, parks.size());
+        RecordedEvent fallback = parks.get(2);
+        assertEquals("M3", fallback.getString("vehicle"));
+        assertEquals("OK", fallback.getString("status"));
+        assertEquals("R1-1", fallback.getString("spots"));
+        assertEquals(1, fallback.getInt("candidatesInspected"));
+        RecordedEvent van = parks.get(3);
+        assertEquals("VAN", van.getString("vehicleType"));
+        assertEquals("FULL", van.getString("status"));
+        assertEquals("", van.getString("spots"));
+        assertEquals(2, van.getLong("regularFree"));
+        assertEquals(0, van.getLong("compactFree"));
+
+        List<RecordedEvent> searches = ofType(events, "parking.SpotSearch");
+        assertEquals(4, searches.size());
+        assertEquals("COMPACT,REGULAR", searches.get(2).getString("spotTypesSearched"));
+        assertEquals(2, searches.get(2).getInt("candidatesInspected"));
+        assertEquals("REGULAR", searches.get(3).getString("spotTypesSearched"));
+        assertEquals("", searches.get(3).getString("spots"));
+
+        List<RecordedEvent> removes = ofType(events, "parking.RemoveVehicle");
+        assertEquals(2, removes.size());
+        assertEquals("MOTORCYCLE", removes.get(0).getString("vehicleType"));
+        assertEquals("R1-1", removes.get(0).getString("spots"));
+        assertEquals("", removes.get(1).getString("vehicleType"));
+
+        List<RecordedEvent> summaries = ofType(events, "parking.LotSummary");
+        assertEquals(1, summaries.size());
+        assertEquals(5, summaries.get(0).getLong("totalSpots"));
+        assertEquals(3, summaries.get(0).getLong("availableSpots"));
+        assertTrue(summaries.get(0).getDuration().toNanos() >= 0);
+    }
+
+    @Test
+    public void testNothingIsRecordedForDisabledEvents() throws Exception {
+        ParkingLot lot = new ParkingLot(1, "REGULAR,REGULAR", ParkingLotAdminType.COMPACT_REGULAR);
+        List<RecordedEvent> events = record(() -> {
+            lot.parkVehicle("C1", VehicleType.CAR);
+            lot.removeVehicle("C1");
+        }, "parking.RemoveVehicle");
+        assertEquals(List.of("parking.RemoveVehicle"),
+                events.stream().map(event -> event.getEventType().getName()).toList());
+    }
+
+    private interface Workload {
+        void run() throws Exception;
+    }
+
+    private List<RecordedEvent> record(Workload workload, String... enabled) throws Exception {
+        Path file = tempDir.resolve("parking.jfr");
+        List<String> enabledNames = enabled.length > 0 ? List.of(enabled) : EVENT_NAMES;
+        try (Recording recording = new Recording()) {
+            for (String name : EVENT_NAMES) {
+                if (enabledNames.contains(name)) {
+                    recording.enable(name).withoutThreshold();
+                } else {
+                    recording.disable(name);
+                }
+            }
+            recording.start();
+            workload.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("parking."))
+                .toList();
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .toList();
+    }
+}
@@ -0,0 +1,61 @@
+package parking.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyRecorderTest {
+
+    @Test
+    public void testEmptyRecorder() {
+        LatencyStats stats = new LatencyRecorder().snapshot();
+        assertEquals(0, stats.getCount());
+        assertEquals(0, stats.getMeanNanos());
+        assertEquals(0, stats.getP99Nanos());
+        assertEquals(0, stats.getMaxNanos());
+    }
+
+    @Test
+    public void testPercentilesStayWithinBucketPrecision() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (long nanos = 100; nanos <= 100_000; nanos += 100) {
+            recorder.record(nanos);
+        }
+        LatencyStats stats = recorder.snapshot();
+        assertEquals(1_000, stats.getCount());
+        assertEquals(50_050, stats.getMeanNanos());
+        assertWithinPrecision(50_000, stats.getP50Nanos());
+        assertWithinPrecision(99_000, stats.getP99Nanos());
+        assertEquals(100_000, stats.getP999Nanos());
+        assertEquals(100_000, stats.getMaxNanos());
+    }
+
+    @Test
+    public void testConcurrentRecordingLosesNothing() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long latency = (t + 1) * 1_000;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    recorder.record(latency);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        LatencyStats stats = recorder.snapshot();
+        assertEquals(200_000, stats.getCount());
+        assertEquals(2_500, stats.getMeanNanos());
+        assertEquals(4_000, stats.getMaxNanos());
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.125, "Expected ~" + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,52 @@
+package parking.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogLinearBucketsTest {
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LogLinearBuckets buckets = new LogLinearBuckets(3);
+        for (long value = 0; value < 16; value++) {
+            assertEquals(value, buckets.highestValueIn(buckets.indexOf(value)));
+        }
+    }
+
+    @Test
+    public void testBucketsStayWithinRelativePrecision() {
+        for (int bits : new int[]{3, 5}) {
+            LogLinearBuckets buckets = new LogLinearBuckets(bits);
+            int previous = -1;
+            for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 / 2 + 1) {
+                int index = buckets.indexOf(value);
+                long highest = buckets.highestValueIn(index);
+                assertTrue(index >= previous && index < buckets.bucketCount());
+                assertTrue(highest >= value && highest - value <= value >> bits, bits + " bits, " + value);
+                previous = index;
+            }
+            assertEquals(buckets.bucketCount() - 1, buckets.indexOf(Long.MAX_VALUE));
+            assertEquals(Long.MAX_VALUE, buckets.highestValueIn(buckets.bucketCount() - 1));
+        }
+    }
+
+    @Test
+    public void testValueAtPercentile() {
+        LogLinearBuckets buckets = new LogLinearBuckets(3);
+        long[] counts = new long[buckets.bucketCount()];
+        counts[buckets.indexOf(5)] = 9;
+        counts[buckets.indexOf(1_000)] = 1;
+        assertEquals(5, buckets.valueAtPercentile(counts, 10, 1_000, 90));
+        assertEquals(1_000, buckets.valueAtPercentile(counts, 10, 1_000, 100));
+        assertEquals(0, buckets.valueAtPercentile(new long[buckets.bucketCount()], 0, 0, 50));
+    }
+
+    @Test
+    public void testRejectsOutOfRangeBits() {
+        assertThrows(IllegalArgumentException.class, () -> new LogLinearBuckets(0));
+        assertThrows(IllegalArgumentException.class, () -> new LogLinearBuckets(17));
+    }
+}
@@ -0,0 +1,79 @@
+package parking.metrics;
+
+import org.junit.jupiter.api.Test;
+import parking.enums.ParkingStatus;
+import parking.enums.VehicleType;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParkingLotMetricsTest {
+
+    @Test
+    public void testSnapshotIsDetachedFromLaterRecording() {
+        ParkingLotMetrics metrics = new ParkingLotMetrics(1);
+        metrics.recordPark(VehicleType.CAR, ParkingStatus.OK, metrics.startTimer());
+        metrics.recordPark(VehicleType.CAR, ParkingStatus.FULL, metrics.startTimer());
+        metrics.recordRemove(VehicleType.CAR, metrics.startTimer());
+        metrics.recordRemove(null, metrics.startTimer());
+        MetricsSnapshot snapshot = metrics.snapshot();
+
+        metrics.recordPark(VehicleType.CAR, ParkingStatus.OK, metrics.startTimer());
+        metrics.recordMotorcycleFallback();
+
+        assertEquals(1, snapshot.getParkCount(VehicleType.CAR, ParkingStatus.OK));
+        assertEquals(1, snapshot.getParkCount(VehicleType.CAR, ParkingStatus.FULL));
+        assertEquals(0, snapshot.getParkCount(VehicleType.VAN, ParkingStatus.OK));
+        assertEquals(2, snapshot.getParkLatency(VehicleType.CAR).getCount());
+        assertEquals(1, snapshot.getRemoveCount(VehicleType.CAR));
+        assertEquals(1, snapshot.getRemoveLatency(VehicleType.CAR).getCount());
+        assertEquals(1, snapshot.getRemoveMisses());
+        assertEquals(0, snapshot.getMotorcycleFallbacks());
+        assertEquals(2, metrics.snapshot().getParkCount(VehicleType.CAR, ParkingStatus.OK));
+    }
+
+    @Test
+    public void testSampledLatencyKeepsExactCounts() {
+        ParkingLotMetrics metrics = new ParkingLotMetrics(8);
+        for (int i = 0; i < 80_000; i++) {
+            metrics.recordPark(VehicleType.MOTORCYCLE, ParkingStatus.OK, metrics.startTimer());
+        }
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(80_000, snapshot.getParkCount(VehicleType.MOTORCYCLE, ParkingStatus.OK));
+        assertEquals(10_000, snapshot.getParkLatency(VehicleType.MOTORCYCLE).getCount(), 500);
+        assertThrows(IllegalArgumentException.class, () -> new ParkingLotMetrics(0));
+    }
+
+    @Test
+    public void testAttributesReadableOverJmx() throws Exception {
+        ParkingLotMetrics metrics = new ParkingLotMetrics(1);
+        metrics.recordPark(VehicleType.VAN, ParkingStatus.FULL, metrics.startTimer());
+        metrics.recordVanFragmentationRejection();
+        metrics.recordSummary(10_000);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        ObjectName name = metrics.registerMBean("jmx-test");
+        try {
+            assertEquals(1L, server.getAttribute(name, "VanFragmentationRejections"));
+            TabularData rejected = (TabularData) server.getAttribute(name, "RejectedCounts");
+            assertEquals(1L, rejected.get(new Object[]{"VAN"}).get("value"));
+            TabularData parkLatency = (TabularData) server.getAttribute(name, "ParkLatency");
+            CompositeData vanLatency = (CompositeData) parkLatency.get(new Object[]{"VAN"}).get("value");
+            assertEquals(1L, vanLatency.get("count"));
+            CompositeData summaryLatency = (CompositeData) server.getAttribute(name, "SummaryLatency");
+            assertEquals(1L, summaryLatency.get("count"));
+
+            assertThrows(IllegalStateException.class, () -> new ParkingLotMetrics().registerMBean("jmx-test"));
+        } finally {
+            ParkingLotMetrics.unregisterMBean("jmx-test");
+        }
+        assertFalse(server.isRegistered(name));
+    }
+}